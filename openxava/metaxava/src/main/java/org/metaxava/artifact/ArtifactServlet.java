@@ -0,0 +1,189 @@
+package org.metaxava.artifact;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ArtifactServlet - Generated files from ArtifactStore, with strong ETags
+ *
+ * Mapped to /artifacts/* in web.xml. Like /metrics, only loopback clients
+ * are served: the endpoint bypasses OpenXava's login.
+ *
+ *   curl http://localhost:8080/metaxava/artifacts/runs/                  # run names
+ *   curl http://localhost:8080/metaxava/artifacts/runs/sales-42          # manifest
+ *   curl http://localhost:8080/metaxava/artifacts/runs/sales-42/com/acme/Invoice.java
+ *   curl http://localhost:8080/metaxava/artifacts/<sha-256>
+ *
+ * CACHING:
+ * The ETag of a file is its content hash, so it is the same under every
+ * run and application that produced the same bytes, and a client that
+ * sends it back in If-None-Match gets 304 without a body. Hash URLs never
+ * change content and are cacheable for a year; run URLs are revalidated.
+ * Clients that accept gzip (Accept-Encoding with q > 0) get the stored
+ * object as is, under its own strong ETag "<hash>-gz": the two encodings
+ * are different bytes, so they must not share a strong validator.
+ * If-None-Match with either tag revalidates (same content).
+ *
+ * @author MetaXava Artifact Store Session 2026-10-19
+ */
+public class ArtifactServlet extends HttpServlet {
+
+    private static final String RUNS = "/runs/";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Artifacts are only served to localhost");
+            return;
+        }
+        String path = Optional.ofNullable(request.getPathInfo()).orElse("/");
+        ArtifactStore store = ArtifactStore.shared();
+
+        if (path.equals(RUNS) || path.equals("/runs")) {
+            response.setContentType("text/plain; charset=UTF-8");
+            response.setHeader("Cache-Control", "no-store");
+            response.getWriter().write(String.join("\n", store.runs()) + "\n");
+        } else if (path.startsWith(RUNS)) {
+            String rest = path.substring(RUNS.length());
+            int slash = rest.indexOf('/');
+            Optional<ArtifactStore.Manifest> manifest = store.manifest(slash < 0 ? rest : rest.substring(0, slash));
+            if (manifest.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, "No such run");
+            } else if (slash < 0) {
+                writeManifest(manifest.get(), response);
+            } else {
+                Optional<ArtifactStore.Entry> entry = manifest.get().find(rest.substring(slash + 1));
+                if (entry.isEmpty()) {
+                    response.sendError(HttpServletResponse.SC_NOT_FOUND, "No such file in run");
+                } else {
+                    serve(store, entry.get().hash(), contentType(entry.get().path()), "no-cache", request, response);
+                }
+            }
+        } else {
+            serve(store, path.substring(1), "text/plain; charset=UTF-8", "public, max-age=31536000, immutable",
+                  request, response);
+        }
+    }
+
+    /**
+     * Strong validator of an artifact's identity encoding: its quoted hash
+     */
+    public static String etag(String hash) {
+        return '"' + hash + '"';
+    }
+
+    /**
+     * Strong validator of one encoding: "<hash>" or, gzipped, "<hash>-gz"
+     */
+    public static String etag(String hash, boolean gzip) {
+        return gzip ? '"' + hash + "-gz\"" : etag(hash);
+    }
+
+    /**
+     * If-None-Match (weak comparison, as RFC 9110 specifies for it) matches
+     * the artifact in either encoding
+     */
+    public static boolean notModified(String ifNoneMatch, String hash) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag(hash, false)) || candidate.equals(etag(hash, true))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Does Accept-Encoding allow gzip? (RFC 9110 12.5.3)
+     *
+     * gzip or x-gzip with q > 0, or * with q > 0 when gzip isn't listed;
+     * "gzip;q=0" refuses it even if * is accepted. A malformed q counts as 0.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Optional<Boolean> gzip = Optional.empty();
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = quality(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Optional.of(accepted && gzip.orElse(true));
+            } else if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return gzip.orElse(wildcard);
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void serve(ArtifactStore store, String hash, String contentType, String cacheControl,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> object = store.compressed(hash);
+        if (object.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "No such artifact");
+            return;
+        }
+        boolean gzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+        response.setHeader("ETag", etag(hash, gzip));
+        response.setHeader("Cache-Control", cacheControl);
+        response.setHeader("Vary", "Accept-Encoding");
+        if (notModified(request.getHeader("If-None-Match"), hash)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(contentType);
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.setContentLengthLong(Files.size(object.get()));
+            Files.copy(object.get(), response.getOutputStream());
+        } else {
+            byte[] content = store.read(hash).orElseThrow();
+            response.setContentLength(content.length);
+            response.getOutputStream().write(content);
+        }
+    }
+
+    private static void writeManifest(ArtifactStore.Manifest manifest, HttpServletResponse response) throws IOException {
+        StringBuilder out = new StringBuilder(manifest.entries().size() * 120);
+        out.append("# ").append(manifest.run()).append(' ').append(manifest.createdAt()).append('\n');
+        for (ArtifactStore.Entry entry : manifest.entries()) {
+            out.append(entry.hash()).append(' ').append(entry.size()).append(' ').append(entry.path()).append('\n');
+        }
+        response.setContentType("text/plain; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.getWriter().write(out.toString());
+    }
+
+    private static String contentType(String path) {
+        return path.endsWith(".java") ? "text/x-java-source; charset=UTF-8" : "text/plain; charset=UTF-8";
+    }
+}
@@ -0,0 +1,492 @@
+package org.metaxava.artifact;
+
+import org.metaxava.codegen.CodeGenerator;
+import org.metaxava.codegen.GeneratedFile;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.PreparedModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ArtifactStore - Content-addressed, compressed storage for generated files
+ *
+ * LAYOUT (under the store's root):
+ *   objects/ab/cdef...gz   one file per distinct content, gzip, named by the
+ *                          SHA-256 of the uncompressed bytes
+ *   runs/<run>.manifest    one line per generated file: hash size path
+ *
+ * A run records only its manifest: a file that an earlier run (of any
+ * application) already produced costs one manifest line. Keeping every
+ * run for audit therefore grows with what changed, not with model size.
+ *
+ * USAGE:
+ *   ArtifactStore store = ArtifactStore.shared();
+ *   Manifest manifest = store.generate("sales-42", prepared, JavaTarget.JAVA_21);
+ *
+ *   try (Recorder recorder = store.recorder("sales-43")) {   // any generator's sink
+ *       CodeGenerator.generate(prepared, target, recorder);
+ *       recorder.finish();
+ *   }
+ *   store.read(manifest.find("com/acme/Invoice.java").orElseThrow().hash());
+ *
+ * RULES:
+ * - Objects are immutable: written to a temporary file, then moved into
+ *   place; a put of existing content only touches its modification time
+ * - Runs are immutable too: recording an existing run name fails
+ * - collectGarbage() deletes objects no manifest references, except those
+ *   an open Recorder of this store holds (its run has no manifest yet) and
+ *   those touched after it started (a bare put() may be about to use them)
+ *
+ * PINNING:
+ * A Recorder pins what it stored until finish() has written the manifest
+ * or close() abandons the run. Storing a file and collecting garbage
+ * exclude each other (a read-write lock: recorders share it, GC takes it
+ * alone), so GC never deletes an object between a recorder's put() and
+ * its entry. Pins are per ArtifactStore instance: two processes sharing a
+ * directory only have the modification-time rule.
+ *
+ * Served over HTTP with strong ETags by ArtifactServlet; ProjectServlet
+ * records every project it generates into shared().
+ *
+ * @author MetaXava Artifact Store Session 2026-10-19
+ */
+public final class ArtifactStore {
+
+    public static final String DIRECTORY_PROPERTY = "metaxava.artifacts";
+    public static final Path DEFAULT_DIRECTORY = Path.of("target", "artifacts");
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern RUN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String OBJECT_SUFFIX = ".gz";
+
+    private static volatile ArtifactStore shared;
+
+    private final Path objects;
+    private final Path runs;
+    private final ReadWriteLock collection = new ReentrantReadWriteLock();
+    private final Set<Recorder> recording = ConcurrentHashMap.newKeySet();
+
+    private ArtifactStore(Path root) {
+        this.objects = root.resolve("objects");
+        this.runs = root.resolve("runs");
+    }
+
+    /**
+     * Open a store, creating its directories if needed
+     */
+    public static ArtifactStore open(Path root) throws IOException {
+        ArtifactStore store = new ArtifactStore(root);
+        Files.createDirectories(store.objects);
+        Files.createDirectories(store.runs);
+        return store;
+    }
+
+    /**
+     * The server's store: -Dmetaxava.artifacts, default target/artifacts
+     */
+    public static ArtifactStore shared() {
+        ArtifactStore store = shared;
+        if (store == null) {
+            synchronized (ArtifactStore.class) {
+                store = shared;
+                if (store == null) {
+                    String directory = System.getProperty(DIRECTORY_PROPERTY);
+                    try {
+                        store = open(directory == null ? DEFAULT_DIRECTORY : Path.of(directory));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    shared = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * One generated file of a run
+     *
+     * @param hash SHA-256 of the content, lowercase hex
+     * @param size Uncompressed bytes
+     */
+    public record Entry(String path, String hash, long size) {
+    }
+
+    /**
+     * The files a run produced, in generation order
+     */
+    public record Manifest(String run, Instant createdAt, List<Entry> entries) {
+
+        public Manifest {
+            entries = List.copyOf(entries);
+        }
+
+        public Optional<Entry> find(String path) {
+            return entries.stream().filter(entry -> entry.path().equals(path)).findFirst();
+        }
+
+        public long logicalBytes() {
+            return entries.stream().mapToLong(Entry::size).sum();
+        }
+    }
+
+    /**
+     * @param logicalBytes What the runs' files would take stored whole and uncompressed
+     * @param storedBytes  What the objects take on disk
+     */
+    public record Stats(int runs, int objects, long logicalBytes, long storedBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%d runs, %d objects, %d bytes generated, %d bytes stored (%.1f%%)",
+                                 runs, objects, logicalBytes, storedBytes,
+                                 logicalBytes == 0 ? 0.0 : 100.0 * storedBytes / logicalBytes);
+        }
+    }
+
+    // ========== Objects ==========
+
+    /**
+     * Store content under its hash (once)
+     *
+     * @return The hash
+     */
+    public String put(byte[] content) throws IOException {
+        String hash = hash(content);
+        Path object = objectPath(hash);
+        if (Files.exists(object)) {
+            Files.setLastModifiedTime(object, FileTime.from(Instant.now()));
+            return hash;
+        }
+        Files.createDirectories(object.getParent());
+        Path temporary = Files.createTempFile(object.getParent(), hash.substring(2, 10), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+                out.write(content);
+            }
+            moveIntoPlace(temporary, object);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return hash;
+    }
+
+    public String put(String content) throws IOException {
+        return put(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean contains(String hash) {
+        return HASH.matcher(hash).matches() && Files.exists(objectPath(hash));
+    }
+
+    /**
+     * The gzip file of an object, for serving it without decompressing
+     */
+    public Optional<Path> compressed(String hash) {
+        return contains(hash) ? Optional.of(objectPath(hash)) : Optional.empty();
+    }
+
+    /**
+     * Decompressed content, checked against its hash
+     *
+     * @throws IllegalStateException if the object is corrupt
+     */
+    public Optional<byte[]> read(String hash) throws IOException {
+        Optional<Path> object = compressed(hash);
+        if (object.isEmpty()) {
+            return Optional.empty();
+        }
+        byte[] content;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(object.get()))) {
+            content = in.readAllBytes();
+        }
+        if (!hash(content).equals(hash)) {
+            throw new IllegalStateException("Artifact " + hash + " is corrupt: " + object.get());
+        }
+        return Optional.of(content);
+    }
+
+    // ========== Runs ==========
+
+    /**
+     * Collects a run's files; finish() writes its manifest
+     *
+     * A Consumer<GeneratedFile>, so it can be any generator's sink.
+     * IOExceptions are rethrown as UncheckedIOException. Until finish() or
+     * close(), collectGarbage() keeps the objects it stored (PINNING).
+     */
+    public final class Recorder implements Consumer<GeneratedFile>, AutoCloseable {
+
+        private final String run;
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Recorder(String run) {
+            this.run = run;
+        }
+
+        @Override
+        public void accept(GeneratedFile file) {
+            byte[] content = file.content().getBytes(StandardCharsets.UTF_8);
+            collection.readLock().lock();
+            try {
+                if (!recording.contains(this)) {
+                    throw new IllegalStateException("Run '" + run + "' is finished or closed");
+                }
+                String hash = put(content);
+                synchronized (entries) {
+                    entries.add(new Entry(file.path(), hash, content.length));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                collection.readLock().unlock();
+            }
+        }
+
+        /**
+         * Write the manifest; from then on it, not this recorder, keeps the objects
+         */
+        public Manifest finish() throws IOException {
+            collection.readLock().lock();
+            try {
+                if (!recording.contains(this)) {
+                    throw new IllegalStateException("Run '" + run + "' is finished or closed");
+                }
+                Manifest manifest;
+                synchronized (entries) {
+                    manifest = new Manifest(run, Instant.now(), entries);
+                }
+                writeManifest(manifest);
+                recording.remove(this);
+                return manifest;
+            } finally {
+                collection.readLock().unlock();
+            }
+        }
+
+        /**
+         * Abandon the run if finish() wasn't called: its objects become garbage
+         */
+        @Override
+        public void close() {
+            recording.remove(this);
+        }
+
+        private void pinned(Set<String> hashes) {
+            synchronized (entries) {
+                entries.forEach(entry -> hashes.add(entry.hash()));
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the run name isn't [A-Za-z0-9._-]
+     * @throws IllegalStateException    if the run was already recorded
+     */
+    public Recorder recorder(String run) {
+        if (!RUN.matcher(run).matches()) {
+            throw new IllegalArgumentException("Invalid run name '" + run + "'");
+        }
+        if (Files.exists(manifestPath(run))) {
+            throw new IllegalStateException("Run '" + run + "' is already recorded");
+        }
+        Recorder recorder = new Recorder(run);
+        recording.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * Generate a model for one target straight into the store
+     */
+    public Manifest generate(String run, PreparedModel model, JavaTarget target) throws IOException {
+        try (Recorder recorder = recorder(run)) {
+            CodeGenerator.generate(model, target, recorder);
+            return recorder.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public Optional<Manifest> manifest(String run) throws IOException {
+        if (!RUN.matcher(run).matches() || !Files.exists(manifestPath(run))) {
+            return Optional.empty();
+        }
+        List<String> lines = Files.readAllLines(manifestPath(run), StandardCharsets.UTF_8);
+        Instant createdAt = Instant.parse(lines.get(0).substring("# ".length()));
+        List<Entry> entries = new ArrayList<>(lines.size() - 1);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(" ", 3);
+            entries.add(new Entry(fields[2], fields[0], Long.parseLong(fields[1])));
+        }
+        return Optional.of(new Manifest(run, createdAt, entries));
+    }
+
+    /**
+     * Run names, oldest first
+     */
+    public List<String> runs() throws IOException {
+        try (Stream<Path> files = Files.list(runs)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(MANIFEST_SUFFIX))
+                .sorted((a, b) -> lastModified(a).compareTo(lastModified(b)))
+                .map(file -> {
+                    String name = file.getFileName().toString();
+                    return name.substring(0, name.length() - MANIFEST_SUFFIX.length());
+                })
+                .toList();
+        }
+    }
+
+    /**
+     * Forget a run; its objects stay until collectGarbage()
+     */
+    public boolean delete(String run) throws IOException {
+        return RUN.matcher(run).matches() && Files.deleteIfExists(manifestPath(run));
+    }
+
+    /**
+     * Delete objects that no manifest or open Recorder references
+     *
+     * Recorders wait while it runs (PINNING).
+     *
+     * @return Number of objects deleted
+     */
+    public int collectGarbage() throws IOException {
+        collection.writeLock().lock();
+        try {
+            FileTime started = FileTime.from(Instant.now());
+            Set<String> referenced = new HashSet<>();
+            recording.forEach(recorder -> recorder.pinned(referenced));
+            for (String run : runs()) {
+                manifest(run).ifPresent(manifest -> manifest.entries().forEach(entry -> referenced.add(entry.hash())));
+            }
+            int deleted = 0;
+            for (Path object : objectFiles()) {
+                String hash = hashOf(object);
+                if (!referenced.contains(hash) && lastModified(object).compareTo(started) < 0
+                    && Files.deleteIfExists(object)) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        } finally {
+            collection.writeLock().unlock();
+        }
+    }
+
+    public Stats stats() throws IOException {
+        List<String> names = runs();
+        long logical = 0;
+        for (String run : names) {
+            logical += manifest(run).map(Manifest::logicalBytes).orElse(0L);
+        }
+        List<Path> files = objectFiles();
+        long stored = 0;
+        for (Path object : files) {
+            stored += Files.size(object);
+        }
+        return new Stats(names.size(), files.size(), logical, stored);
+    }
+
+    // ========== Helpers ==========
+
+    public static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void writeManifest(Manifest manifest) throws IOException {
+        StringBuilder out = new StringBuilder(64 + manifest.entries().size() * 120);
+        out.append("# ").append(manifest.createdAt()).append('\n');
+        for (Entry entry : manifest.entries()) {
+            out.append(entry.hash()).append(' ').append(entry.size()).append(' ').append(entry.path()).append('\n');
+        }
+        Path temporary = Files.createTempFile(runs, manifest.run(), ".tmp");
+        try {
+            Files.writeString(temporary, out, StandardCharsets.UTF_8);
+            try {
+                Files.createLink(manifestPath(manifest.run()), temporary);  // complete, and fails if recorded meanwhile
+            } catch (UnsupportedOperationException e) {
+                Files.move(temporary, manifestPath(manifest.run()));
+            }
+        } catch (FileAlreadyExistsException e) {
+            throw new IllegalStateException("Run '" + manifest.run() + "' is already recorded", e);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Another thread may have stored the same content meanwhile: same bytes, keep either
+     */
+    private static void moveIntoPlace(Path temporary, Path object) throws IOException {
+        try {
+            Files.move(temporary, object, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temporary, object);
+            } catch (FileAlreadyExistsException stored) {
+                // Stored concurrently
+            }
+        }
+    }
+
+    private Path objectPath(String hash) {
+        return objects.resolve(hash.substring(0, 2)).resolve(hash.substring(2) + OBJECT_SUFFIX);
+    }
+
+    private Path manifestPath(String run) {
+        return runs.resolve(run + MANIFEST_SUFFIX);
+    }
+
+    private static String hashOf(Path object) {
+        String name = object.getFileName().toString();
+        return object.getParent().getFileName() + name.substring(0, name.length() - OBJECT_SUFFIX.length());
+    }
+
+    private List<Path> objectFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(objects, 2)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(OBJECT_SUFFIX)).toList();
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.metaxava.bootstrap;
+
+import org.metaxava.model.OXDBType;
+import org.metaxava.profile.Operation;
+import org.metaxava.profile.OperationProfiler;
+import javax.persistence.EntityManager;
+import java.sql.JDBCType;
+import java.util.List;
+
+/**
+ * DialectBootstrap - Populate the five built-in target dialects
+ *
+ * DESIGN:
+ * Same pattern as JDBCTypeBootstrap: idempotent (skips if any dialect
+ * exists), runs in its own transaction. definitions() is also the source
+ * of DialectCatalog.builtIn(), so the catalog works without a database.
+ *
+ * SOURCES OF THE NUMBERS (conservative, current LTS versions):
+ * - H2 2.x: VARCHAR 1,000,000,000, NUMERIC 100000
+ * - PostgreSQL: VARCHAR 10485760, NUMERIC 1000, identifiers 63 bytes
+ * - MySQL 8 (utf8mb4): VARCHAR 16383 chars (65535-byte row), CHAR 255,
+ *   DECIMAL 65, identifiers 64
+ * - Oracle (MAX_STRING_SIZE=STANDARD): VARCHAR2 4000, CHAR 2000, RAW 2000,
+ *   NUMBER 38, identifiers 128 (12.2+), no BOOLEAN before 23ai
+ * - SQL Server: VARCHAR 8000, NUMERIC 38, identifiers 128,
+ *   2100 bind parameters per statement
+ *
+ * @author MetaXava Dialect Catalog Session 2026-10-19
+ */
+public class DialectBootstrap {
+
+    /**
+     * Bootstrap built-in dialects
+     *
+     * @param em EntityManager for persistence
+     * @return Number of dialects created (0 if already bootstrapped)
+     */
+    public static int bootstrap(EntityManager em) {
+        try (Operation operation = OperationProfiler.begin("bootstrap", "DialectBootstrap", em)) {
+            return bootstrapDialects(em);
+        }
+    }
+
+    private static int bootstrapDialects(EntityManager em) {
+        Long count = em.createQuery("SELECT COUNT(d) FROM OXDBType d", Long.class)
+                       .getSingleResult();
+        if (count > 0) {
+            System.out.println("Dialects already bootstrapped (" + count + " dialects)");
+            return 0;
+        }
+
+        List<OXDBType> dialects = definitions();
+
+        em.getTransaction().begin();
+        for (OXDBType dialect : dialects) {
+            em.persist(dialect);
+        }
+        em.getTransaction().commit();
+
+        System.out.println("Bootstrapped " + dialects.size() + " dialects");
+        return dialects.size();
+    }
+
+    /**
+     * Fresh (transient) definitions of the built-in dialects
+     */
+    public static List<OXDBType> definitions() {
+        return List.of(h2(), postgreSql(), mySql(), oracle(), sqlServer());
+    }
+
+    private static OXDBType h2() {
+        return new OXDBType("H2", "org.hibernate.dialect.H2Dialect")
+            .withTemplate(JDBCType.VARCHAR, "VARCHAR({length})")
+            .withTemplate(JDBCType.CHAR, "CHAR({length})")
+            .withTemplate(JDBCType.LONGVARCHAR, "CLOB")
+            .withTemplate(JDBCType.CLOB, "CLOB")
+            .withTemplate(JDBCType.INTEGER, "INTEGER")
+            .withTemplate(JDBCType.BIGINT, "BIGINT")
+            .withTemplate(JDBCType.SMALLINT, "SMALLINT")
+            .withTemplate(JDBCType.TINYINT, "TINYINT")
+            .withTemplate(JDBCType.NUMERIC, "NUMERIC({precision},{scale})")
+            .withTemplate(JDBCType.DECIMAL, "DECIMAL({precision},{scale})")
+            .withTemplate(JDBCType.DOUBLE, "DOUBLE PRECISION")
+            .withTemplate(JDBCType.FLOAT, "REAL")
+            .withTemplate(JDBCType.DATE, "DATE")
+            .withTemplate(JDBCType.TIME, "TIME")
+            .withTemplate(JDBCType.TIMESTAMP, "TIMESTAMP")
+            .withTemplate(JDBCType.BOOLEAN, "BOOLEAN")
+            .withTemplate(JDBCType.VARBINARY, "VARBINARY({length})")
+            .withTemplate(JDBCType.BLOB, "BLOB")
+            .withLimits(1_000_000_000, 1_000_000_000, 1_000_000_000, 100_000, 256)
+            .withBulkLoad("INSERT INTO {table} SELECT * FROM CSVREAD('{source}')", null, 65_535, true);
+    }
+
+    private static OXDBType postgreSql() {
+        return new OXDBType("PostgreSQL", "org.hibernate.dialect.PostgreSQLDialect")
+            .withTemplate(JDBCType.VARCHAR, "VARCHAR({length})")
+            .withTemplate(JDBCType.CHAR, "CHAR({length})")
+            .withTemplate(JDBCType.LONGVARCHAR, "TEXT")
+            .withTemplate(JDBCType.CLOB, "TEXT")
+            .withTemplate(JDBCType.INTEGER, "INTEGER")
+            .withTemplate(JDBCType.BIGINT, "BIGINT")
+            .withTemplate(JDBCType.SMALLINT, "SMALLINT")
+            .withTemplate(JDBCType.TINYINT, "SMALLINT")
+            .withTemplate(JDBCType.NUMERIC, "NUMERIC({precision},{scale})")
+            .withTemplate(JDBCType.DECIMAL, "DECIMAL({precision},{scale})")
+            .withTemplate(JDBCType.DOUBLE, "DOUBLE PRECISION")
+            .withTemplate(JDBCType.FLOAT, "REAL")
+            .withTemplate(JDBCType.DATE, "DATE")
+            .withTemplate(JDBCType.TIME, "TIME")
+            .withTemplate(JDBCType.TIMESTAMP, "TIMESTAMP")
+            .withTemplate(JDBCType.BOOLEAN, "BOOLEAN")
+            .withTemplate(JDBCType.VARBINARY, "BYTEA")
+            .withTemplate(JDBCType.BLOB, "BYTEA")
+            .withLimits(10_485_760, 10_485_760, 1_073_741_823, 1000, 63)
+            .withBulkLoad("COPY {table} FROM STDIN WITH (FORMAT csv)", "reWriteBatchedInserts=true",
+                          32_767, true);
+    }
+
+    private static OXDBType mySql() {
+        return new OXDBType("MySQL", "org.hibernate.dialect.MySQLDialect")
+            .withTemplate(JDBCType.VARCHAR, "VARCHAR({length})")
+            .withTemplate(JDBCType.CHAR, "CHAR({length})")
+            .withTemplate(JDBCType.LONGVARCHAR, "LONGTEXT")
+            .withTemplate(JDBCType.CLOB, "LONGTEXT")
+            .withTemplate(JDBCType.INTEGER, "INT")
+            .withTemplate(JDBCType.BIGINT, "BIGINT")
+            .withTemplate(JDBCType.SMALLINT, "SMALLINT")
+            .withTemplate(JDBCType.TINYINT, "TINYINT")
+            .withTemplate(JDBCType.NUMERIC, "DECIMAL({precision},{scale})")
+            .withTemplate(JDBCType.DECIMAL, "DECIMAL({precision},{scale})")
+            .withTemplate(JDBCType.DOUBLE, "DOUBLE")
+            .withTemplate(JDBCType.FLOAT, "FLOAT")
+            .withTemplate(JDBCType.DATE, "DATE")
+            .withTemplate(JDBCType.TIME, "TIME")
+            .withTemplate(JDBCType.TIMESTAMP, "DATETIME(6)")
+            .withTemplate(JDBCType.BOOLEAN, "BOOLEAN")
+            .withTemplate(JDBCType.VARBINARY, "VARBINARY({length})")
+            .withTemplate(JDBCType.BLOB, "LONGBLOB")
+            .withLimits(16_383, 255, 65_535, 65, 64)
+            .withBulkLoad("LOAD DATA LOCAL INFILE '{source}' INTO TABLE {table} " +
+                          "FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"'",
+                          "rewriteBatchedStatements=true", 65_535, true);
+    }
+
+    private static OXDBType oracle() {
+        return new OXDBType("Oracle", "org.hibernate.dialect.OracleDialect")
+            .withTemplate(JDBCType.VARCHAR, "VARCHAR2({length} CHAR)")
+            .withTemplate(JDBCType.CHAR, "CHAR({length} CHAR)")
+            .withTemplate(JDBCType.LONGVARCHAR, "CLOB")
+            .withTemplate(JDBCType.CLOB, "CLOB")
+            .withTemplate(JDBCType.INTEGER, "NUMBER(10,0)")
+            .withTemplate(JDBCType.BIGINT, "NUMBER(19,0)")
+            .withTemplate(JDBCType.SMALLINT, "NUMBER(5,0)")
+            .withTemplate(JDBCType.TINYINT, "NUMBER(3,0)")
+            .withTemplate(JDBCType.NUMERIC, "NUMBER({precision},{scale})")
+            .withTemplate(JDBCType.DECIMAL, "NUMBER({precision},{scale})")
+            .withTemplate(JDBCType.DOUBLE, "BINARY_DOUBLE")
+            .withTemplate(JDBCType.FLOAT, "BINARY_FLOAT")
+            .withTemplate(JDBCType.DATE, "DATE")
+            .withTemplate(JDBCType.TIME, "DATE")
+            .withTemplate(JDBCType.TIMESTAMP, "TIMESTAMP")
+            .withTemplate(JDBCType.BOOLEAN, "NUMBER(1,0)")
+            .withTemplate(JDBCType.VARBINARY, "RAW({length})")
+            .withTemplate(JDBCType.BLOB, "BLOB")
+            .withLimits(4000, 2000, 2000, 38, 128)
+            .withBulkLoad(null, null, 65_535, false);
+    }
+
+    private static OXDBType sqlServer() {
+        return new OXDBType("SQLServer", "org.hibernate.dialect.SQLServerDialect")
+            .withTemplate(JDBCType.VARCHAR, "VARCHAR({length})")
+            .withTemplate(JDBCType.CHAR, "CHAR({length})")
+            .withTemplate(JDBCType.LONGVARCHAR, "VARCHAR(MAX)")
+            .withTemplate(JDBCType.CLOB, "VARCHAR(MAX)")
+            .withTemplate(JDBCType.INTEGER, "INT")
+            .withTemplate(JDBCType.BIGINT, "BIGINT")
+            .withTemplate(JDBCType.SMALLINT, "SMALLINT")
+            .withTemplate(JDBCType.TINYINT, "SMALLINT")
+            .withTemplate(JDBCType.NUMERIC, "NUMERIC({precision},{scale})")
+            .withTemplate(JDBCType.DECIMAL, "DECIMAL({precision},{scale})")
+            .withTemplate(JDBCType.DOUBLE, "FLOAT(53)")
+            .withTemplate(JDBCType.FLOAT, "REAL")
+            .withTemplate(JDBCType.DATE, "DATE")
+            .withTemplate(JDBCType.TIME, "TIME")
+            .withTemplate(JDBCType.TIMESTAMP, "DATETIME2")
+            .withTemplate(JDBCType.BOOLEAN, "BIT")
+            .withTemplate(JDBCType.VARBINARY, "VARBINARY({length})")
+            .withTemplate(JDBCType.BLOB, "VARBINARY(MAX)")
+            .withLimits(8000, 8000, 8000, 38, 128)
+            .withBulkLoad("BULK INSERT {table} FROM '{source}' WITH (FORMAT = 'CSV')",
+                          "useBulkCopyForBatchInsert=true", 2100, true);
+    }
+}
@@ -10,6 +10,9 @@ import org.metaxava.model.OXDateType;
 import org.metaxava.model.OXSqlDateType;
 import org.metaxava.model.OXSqlTimeType;
 import org.metaxava.model.OXSqlTimestampType;
+import org.metaxava.profile.Operation;
+import org.metaxava.profile.OperationProfiler;
+import org.metaxava.types.BuiltInTypeTables;
 import javax.persistence.EntityManager;
 import java.sql.JDBCType;
 import java.util.ArrayList;
@@ -22,7 +25,7 @@ import java.util.stream.Collectors;
  * TypeSystemBootstrap - Bootstrap primitives + wrappers + JDBC types + mappings
  *
  * CURRENT SCOPE:
- * 1. JDBCTypeMetadata (16 types with rich metadata)
+ * 1. JDBCTypeMetadata (the 16 core types of BuiltInTypeDefinitions)
  * 2. OXPrimitiveType (8 Java primitives)
  * 3. OXPrimitiveWrapperType (8 wrapper types: Integer, Boolean, etc.)
  * 4. Bidirectional primitive ↔ wrapper relationships
@@ -46,16 +49,53 @@ public class TypeSystemBootstrap {
      * Caller must manage transaction boundaries.
      * This method does NOT begin/commit transactions.
      *
+     * PROFILING:
+     * Runs as a "bootstrap" Operation (JFR event + Hibernate counters).
+     *
      * @param em EntityManager (must have active transaction)
      * @return Bootstrap result message
      */
     public static String bootstrap(EntityManager em) {
+        try (Operation operation = OperationProfiler.begin("bootstrap", "TypeSystemBootstrap", em)) {
+            return bootstrapTypeSystem(em);
+        }
+    }
+
+    /**
+     * Tables of the @Version entities (OXType, JDBCTypeMetadata, OXDBType)
+     */
+    private static final List<String> VERSIONED_TABLES = List.of("ox_type", "jdbc_type_metadata", "ox_db_type");
+
+    /**
+     * Sets version = 0 where an existing row has none
+     *
+     * WHY:
+     * The version column is nullable so that hbm2ddl update can add it to
+     * a populated table on any database; rows that predate it get NULL,
+     * and Hibernate can't update a row whose version is NULL (the
+     * WHERE version = ? never matches). Cheap when there is nothing to
+     * fix: one UPDATE per table, matching no rows.
+     *
+     * @return Rows backfilled
+     */
+    static int backfillVersions(EntityManager em) {
+        int backfilled = 0;
+        for (String table : VERSIONED_TABLES) {
+            backfilled += em.createNativeQuery("UPDATE " + table + " SET version = 0 WHERE version IS NULL")
+                            .executeUpdate();
+        }
+        return backfilled;
+    }
+
+    private static String bootstrapTypeSystem(EntityManager em) {
         // Check if already bootstrapped
         Long jdbcCount = em.createQuery("SELECT COUNT(t) FROM JDBCTypeMetadata t", Long.class)
                           .getSingleResult();
 
         if (jdbcCount > 0) {
-            return "Type system already bootstrapped";
+            int backfilled = backfillVersions(em);
+            return backfilled == 0 ? "Type system already bootstrapped"
+                                   : "Type system already bootstrapped (" + backfilled + " versions backfilled)";
         }
 
         System.out.println("=== MetaXava Type System Bootstrap ===\n");
@@ -148,88 +188,20 @@ public class TypeSystemBootstrap {
     }
 
     /**
-     * PHASE 1: Create JDBC type metadata (16 common types)
+     * PHASE 1: Create JDBC type metadata (core types of BuiltInTypeDefinitions)
+     *
+     * Same rows JDBCTypeBootstrap creates, restricted to core = true. The
+     * annotation processor guarantees every type mapped below is core.
      */
     private static Map<JDBCType, JDBCTypeMetadata> createJDBCTypes(EntityManager em) {
         Map<JDBCType, JDBCTypeMetadata> types = new HashMap<>();
+        for (JDBCTypeMetadata type : BuiltInTypeTables.newCoreJdbcTypeMetadata()) {
+            types.put(type.getJdbcType(), persist(em, type));
+        }
 
-        // STRING TYPES
-        types.put(JDBCType.VARCHAR, persist(em, new JDBCTypeMetadata(
-            JDBCType.VARCHAR, "STRING", "Variable-length character string"
-        ).withLength(true, 4000).withUsage(true, true)));
-
-        types.put(JDBCType.CHAR, persist(em, new JDBCTypeMetadata(
-            JDBCType.CHAR, "STRING", "Fixed-length character string"
-        ).withLength(true, 2000).withUsage(false, true)));
-
-        types.put(JDBCType.CLOB, persist(em, new JDBCTypeMetadata(
-            JDBCType.CLOB, "STRING", "Character Large Object"
-        ).withLength(false, null).withUsage(true, false)
-         .withPortabilityNotes("Oracle: CLOB, SQL Server: VARCHAR(MAX)")));
-
-        // NUMERIC TYPES
-        types.put(JDBCType.INTEGER, persist(em, new JDBCTypeMetadata(
-            JDBCType.INTEGER, "NUMERIC", "32-bit signed integer"
-        ).withLength(false, null).withUsage(true, true)));
-
-        types.put(JDBCType.BIGINT, persist(em, new JDBCTypeMetadata(
-            JDBCType.BIGINT, "NUMERIC", "64-bit signed integer"
-        ).withLength(false, null).withUsage(true, true)));
-
-        types.put(JDBCType.SMALLINT, persist(em, new JDBCTypeMetadata(
-            JDBCType.SMALLINT, "NUMERIC", "16-bit signed integer"
-        ).withLength(false, null).withUsage(false, true)));
-
-        types.put(JDBCType.TINYINT, persist(em, new JDBCTypeMetadata(
-            JDBCType.TINYINT, "NUMERIC", "8-bit signed integer"
-        ).withLength(false, null).withUsage(false, false)
-         .withPortabilityNotes("MySQL: 0-255, SQL Server: -128-127")));
-
-        types.put(JDBCType.NUMERIC, persist(em, new JDBCTypeMetadata(
-            JDBCType.NUMERIC, "NUMERIC", "Exact numeric with precision/scale"
-        ).withPrecisionScale(true, 38, 10).withUsage(true, true)));
-
-        types.put(JDBCType.DECIMAL, persist(em, new JDBCTypeMetadata(
-            JDBCType.DECIMAL, "NUMERIC", "Exact numeric (equivalent to NUMERIC)"
-        ).withPrecisionScale(true, 38, 10).withUsage(true, true)));
-
-        types.put(JDBCType.DOUBLE, persist(em, new JDBCTypeMetadata(
-            JDBCType.DOUBLE, "NUMERIC", "Double precision floating-point"
-        ).withLength(false, null).withUsage(false, true)
-         .withPortabilityNotes("Approximate arithmetic - not for money")));
-
-        types.put(JDBCType.FLOAT, persist(em, new JDBCTypeMetadata(
-            JDBCType.FLOAT, "NUMERIC", "Floating-point"
-        ).withLength(false, null).withUsage(false, true)
-         .withPortabilityNotes("Approximate arithmetic - not for money")));
-
-        // TEMPORAL TYPES
-        types.put(JDBCType.DATE, persist(em, new JDBCTypeMetadata(
-            JDBCType.DATE, "TEMPORAL", "Date without time"
-        ).withLength(false, null).withUsage(true, true)));
-
-        types.put(JDBCType.TIME, persist(em, new JDBCTypeMetadata(
-            JDBCType.TIME, "TEMPORAL", "Time without date"
-        ).withLength(false, null).withUsage(false, true)));
-
-        types.put(JDBCType.TIMESTAMP, persist(em, new JDBCTypeMetadata(
-            JDBCType.TIMESTAMP, "TEMPORAL", "Date and time with fractional seconds"
-        ).withLength(false, null).withUsage(true, true)));
-
-        // BOOLEAN TYPE
-        types.put(JDBCType.BOOLEAN, persist(em, new JDBCTypeMetadata(
-            JDBCType.BOOLEAN, "BOOLEAN", "Boolean true/false"
-        ).withLength(false, null).withUsage(true, false)
-         .withPortabilityNotes("Oracle: NUMBER(1), SQL Server: BIT")));
-
-        // BINARY TYPES
-        types.put(JDBCType.VARBINARY, persist(em, new JDBCTypeMetadata(
-            JDBCType.VARBINARY, "BINARY", "Variable-length binary data"
-        ).withLength(true, 8000).withUsage(true, true)));
-
-        System.out.println("  Created: VARCHAR, CHAR, CLOB, INTEGER, BIGINT, SMALLINT, TINYINT,");
-        System.out.println("           NUMERIC, DECIMAL, DOUBLE, FLOAT, DATE, TIME, TIMESTAMP,");
-        System.out.println("           BOOLEAN, VARBINARY");
+        System.out.println("  Created: " + BuiltInTypeTables.CORE_JDBC_TYPES.stream()
+                                               .map(JDBCType::getName)
+                                               .collect(Collectors.joining(", ")));
 
         return types;
     }
@@ -240,14 +212,9 @@ public class TypeSystemBootstrap {
     private static Map<String, OXPrimitiveType> createPrimitiveTypes(EntityManager em) {
         Map<String, OXPrimitiveType> primitives = new HashMap<>();
 
-        primitives.put("byte", createPrimitive(em, "byte", "Byte"));
-        primitives.put("short", createPrimitive(em, "short", "Short"));
-        primitives.put("int", createPrimitive(em, "int", "Integer"));
-        primitives.put("long", createPrimitive(em, "long", "Long"));
-        primitives.put("float", createPrimitive(em, "float", "Float"));
-        primitives.put("double", createPrimitive(em, "double", "Double"));
-        primitives.put("char", createPrimitive(em, "char", "Character"));
-        primitives.put("boolean", createPrimitive(em, "boolean", "Boolean"));
+        for (String name : BuiltInTypeTables.PRIMITIVE_NAMES) {
+            primitives.put(name, createPrimitive(em, name, BuiltInTypeTables.wrapperSimpleName(name)));
+        }
 
         return primitives;
     }
@@ -353,14 +320,9 @@ public class TypeSystemBootstrap {
     private static Map<String, OXPrimitiveWrapperType> createWrapperTypes(EntityManager em) {
         Map<String, OXPrimitiveWrapperType> wrappers = new HashMap<>();
 
-        wrappers.put("byte", createWrapper(em, OXPrimitiveWrapperType.BYTE_SIMPLE_NAME));
-        wrappers.put("short", createWrapper(em, OXPrimitiveWrapperType.SHORT_SIMPLE_NAME));
-        wrappers.put("int", createWrapper(em, OXPrimitiveWrapperType.INTEGER_SIMPLE_NAME));
-        wrappers.put("long", createWrapper(em, OXPrimitiveWrapperType.LONG_SIMPLE_NAME));
-        wrappers.put("float", createWrapper(em, OXPrimitiveWrapperType.FLOAT_SIMPLE_NAME));
-        wrappers.put("double", createWrapper(em, OXPrimitiveWrapperType.DOUBLE_SIMPLE_NAME));
-        wrappers.put("char", createWrapper(em, OXPrimitiveWrapperType.CHARACTER_SIMPLE_NAME));
-        wrappers.put("boolean", createWrapper(em, OXPrimitiveWrapperType.BOOLEAN_SIMPLE_NAME));
+        for (String name : BuiltInTypeTables.PRIMITIVE_NAMES) {
+            wrappers.put(name, createWrapper(em, BuiltInTypeTables.wrapperSimpleName(name)));
+        }
 
         return wrappers;
     }
@@ -385,14 +347,9 @@ public class TypeSystemBootstrap {
             Map<String, OXPrimitiveType> primitives,
             Map<String, OXPrimitiveWrapperType> wrappers) {
 
-        wirePrimitiveWrapper(primitives.get("byte"), wrappers.get("byte"));
-        wirePrimitiveWrapper(primitives.get("short"), wrappers.get("short"));
-        wirePrimitiveWrapper(primitives.get("int"), wrappers.get("int"));
-        wirePrimitiveWrapper(primitives.get("long"), wrappers.get("long"));
-        wirePrimitiveWrapper(primitives.get("float"), wrappers.get("float"));
-        wirePrimitiveWrapper(primitives.get("double"), wrappers.get("double"));
-        wirePrimitiveWrapper(primitives.get("char"), wrappers.get("char"));
-        wirePrimitiveWrapper(primitives.get("boolean"), wrappers.get("boolean"));
+        for (String name : BuiltInTypeTables.PRIMITIVE_NAMES) {
+            wirePrimitiveWrapper(primitives.get(name), wrappers.get(name));
+        }
 
         System.out.println("  → byte ↔ Byte, short ↔ Short, int ↔ Integer, long ↔ Long");
         System.out.println("  → float ↔ Float, double ↔ Double, char ↔ Character, boolean ↔ Boolean");
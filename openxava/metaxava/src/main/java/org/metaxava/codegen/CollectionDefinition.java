@@ -0,0 +1,17 @@
+package org.metaxava.codegen;
+
+/**
+ * CollectionDefinition - A @OneToMany collection of an EntityDefinition
+ *
+ * @param elementType Qualified name of another generated entity
+ * @param mappedBy    Reference property of the element entity pointing back to the owner
+ * @param fetch       How the collection is traversed (see FetchStrategy)
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public record CollectionDefinition(String name, String elementType, String mappedBy, FetchHints fetch) {
+
+    public static CollectionDefinition of(String name, String elementType, String mappedBy) {
+        return new CollectionDefinition(name, elementType, mappedBy, FetchHints.DEFAULT);
+    }
+}
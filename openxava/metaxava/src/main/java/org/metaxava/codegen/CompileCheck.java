@@ -0,0 +1,505 @@
+package org.metaxava.codegen;
+
+import org.metaxava.registry.TypeModel;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * CompileCheck - Compile generated sources in-process, right after generation
+ *
+ * WHY:
+ * A template or type mapping mistake otherwise shows up when the generated
+ * project's Maven build fails, minutes later. This runs javac
+ * (javax.tools.JavaCompiler) on the freshly generated sources, in memory,
+ * against the same class path the generated project uses (OpenXava,
+ * javax.persistence, Lombok as annotation processor).
+ *
+ * DESIGN:
+ * - Sources never touch the disk: an in-memory file manager serves every
+ *   generated file on the source path, and class files go to a sink
+ * - Entities are split into batches (an entity and its Summary stay
+ *   together), compiled in parallel, one file manager per worker thread.
+ *   A batch compiles its own files; referenced entities of other batches
+ *   are read from the source path (-implicit:none: checked, not emitted)
+ * - Every diagnostic maps back to its entity, and to the property and
+ *   its OXType (or referenced entity) when the line is about one
+ * - compile() keeps the class files (in memory) instead, for loading
+ *   them (HotDeployment)
+ *
+ * USAGE:
+ *   CompileCheck.Report report = CompileCheck.check(types, entities, JavaTarget.JAVA_21,
+ *                                                   CompileCheck.classPath(loader), threads);
+ *   report.errors().forEach(System.out::println);
+ *
+ * @author MetaXava Compile Check Session 2026-10-19
+ */
+public final class CompileCheck {
+
+    public static final int DEFAULT_BATCH_ENTITIES = 125;
+
+    private CompileCheck() {
+    }
+
+    /**
+     * Where a diagnostic comes from in the model
+     *
+     * @param entity   Qualified name of the entity whose file it is in
+     * @param property Property whose declaration or accessor the line belongs to
+     * @param typeName The property's type in the model (OXType name or entity)
+     */
+    public record Origin(String entity, Optional<String> property, Optional<String> typeName) {
+
+        @Override
+        public String toString() {
+            return entity + property.map(name -> "." + name).orElse("") + typeName.map(type -> " (" + type + ")").orElse("");
+        }
+    }
+
+    public record Problem(Origin origin, String path, long line, Diagnostic.Kind kind, String message) {
+
+        @Override
+        public String toString() {
+            return kind + " " + origin + ": " + path + ":" + line + ": " + message;
+        }
+    }
+
+    /**
+     * @param units Source files compiled
+     */
+    public record Report(int units, int batches, int threads, long millis, List<Problem> problems) {
+
+        public Report {
+            problems = List.copyOf(problems);
+        }
+
+        public List<Problem> errors() {
+            return problems.stream().filter(problem -> problem.kind() == Diagnostic.Kind.ERROR).toList();
+        }
+
+        public boolean ok() {
+            return errors().isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d units in %d batches on %d threads: %d errors (%d ms)",
+                                 ok() ? "✓" : "✗", units, batches, threads, errors().size(), millis);
+        }
+    }
+
+    /**
+     * A check that kept its class files
+     *
+     * @param classes Class file bytes by binary name; complete only if the report is ok()
+     */
+    public record Compilation(Report report, Map<String, byte[]> classes) {
+
+        public Compilation {
+            classes = Map.copyOf(classes);
+        }
+    }
+
+    /**
+     * Generate and compile, DEFAULT_BATCH_ENTITIES entities per batch
+     *
+     * @param classPath What the generated project compiles against (see classPath(ClassLoader))
+     * @throws IllegalArgumentException on an invalid model (CodeGenerator.prepare)
+     * @throws IllegalStateException    if the runtime has no compiler (a JRE)
+     */
+    public static Report check(TypeModel types, List<EntityDefinition> entities, JavaTarget target,
+                               String classPath, int threads) {
+        return check(types, entities, target, classPath, threads, DEFAULT_BATCH_ENTITIES);
+    }
+
+    public static Report check(TypeModel types, List<EntityDefinition> entities, JavaTarget target,
+                               String classPath, int threads, int batchEntities) {
+        return run(types, entities, target, classPath, threads, batchEntities, Optional.empty());
+    }
+
+    /**
+     * check(), keeping the class files
+     */
+    public static Compilation compile(TypeModel types, List<EntityDefinition> entities, JavaTarget target,
+                                      String classPath, int threads) {
+        Map<String, byte[]> classes = new ConcurrentHashMap<>(entities.size() * 2);
+        Report report = run(types, entities, target, classPath, threads, DEFAULT_BATCH_ENTITIES, Optional.of(classes));
+        return new Compilation(report, classes);
+    }
+
+    private static Report run(TypeModel types, List<EntityDefinition> entities, JavaTarget target, String classPath,
+                              int threads, int batchEntities, Optional<Map<String, byte[]>> classes) {
+        if (threads < 1 || batchEntities < 1) {
+            throw new IllegalArgumentException("threads and batchEntities must be positive");
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler in this runtime (a JDK is required)");
+        }
+        long start = System.nanoTime();
+
+        Map<String, List<Source>> byEntity = new HashMap<>(entities.size() * 2);
+        Map<String, List<Source>> byPackage = new HashMap<>();
+        List<Source> all = new ArrayList<>(entities.size() * 2);
+        CodeGenerator.generate(CodeGenerator.prepare(types, entities), target, file -> {
+            Source source = new Source(file);
+            all.add(source);
+            byPackage.computeIfAbsent(source.packageName(), name -> new ArrayList<>()).add(source);
+        });
+        Map<String, EntityDefinition> definitions = new HashMap<>(entities.size() * 2);
+        for (EntityDefinition entity : entities) {
+            definitions.put(entity.qualifiedName(), entity);
+        }
+        for (Source source : all) {
+            byEntity.computeIfAbsent(entityOf(source, definitions), name -> new ArrayList<>()).add(source);
+        }
+
+        List<List<Source>> batches = new ArrayList<>();
+        List<Source> batch = new ArrayList<>();
+        int inBatch = 0;
+        for (EntityDefinition entity : entities) {
+            batch.addAll(byEntity.getOrDefault(entity.qualifiedName(), List.of()));
+            if (++inBatch == batchEntities) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                inBatch = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        List<String> options = options(target, classPath);
+        int workers = Math.min(threads, Math.max(1, batches.size()));
+        Set<Problem> problems = Collections.synchronizedSet(new LinkedHashSet<>());
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> running = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                running.add(pool.submit(() -> {
+                    try (InMemoryFileManager files = new InMemoryFileManager(
+                             compiler.getStandardFileManager(null, Locale.ROOT, null), byPackage, classes)) {
+                        for (int b = next.getAndIncrement(); b < batches.size(); b = next.getAndIncrement()) {
+                            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+                            compiler.getTask(null, files, diagnostics, options, null, batches.get(b)).call();
+                            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                                if (diagnostic.getKind() != Diagnostic.Kind.NOTE) {
+                                    problems.add(problem(diagnostic, definitions));
+                                }
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Compile check interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Compile check failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Problem> sorted = new ArrayList<>(problems);
+        sorted.sort(Comparator.comparing(Problem::path).thenComparingLong(Problem::line));
+        return new Report(all.size(), batches.size(), workers, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                          sorted);
+    }
+
+    /**
+     * Class path of a class loader chain (URLClassLoaders, e.g. the webapp's) plus java.class.path
+     */
+    public static String classPath(ClassLoader loader) {
+        Set<String> entries = new LinkedHashSet<>();
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            if (current instanceof URLClassLoader urls) {
+                for (URL url : urls.getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            entries.add(Path.of(url.toURI()).toString());
+                        } catch (URISyntaxException | IllegalArgumentException e) {
+                            // Not a local file: javac couldn't read it either
+                        }
+                    }
+                }
+            }
+        }
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static List<String> options(JavaTarget target, String classPath) {
+        int runtime = Runtime.version().feature();
+        List<String> options = new ArrayList<>(List.of(
+            "-classpath", classPath,
+            "--release", String.valueOf(Math.min(target.release(), runtime)),
+            "-implicit:none", "-nowarn", "-encoding", "UTF-8"));
+        if (runtime >= 21) {
+            options.add("-proc:full");  // Lombok; JDK 23+ no longer runs processors by default
+        }
+        return options;
+    }
+
+    /**
+     * The entity a generated file belongs to: Invoice.java and InvoiceSummary.java → Invoice
+     */
+    private static String entityOf(Source source, Map<String, EntityDefinition> definitions) {
+        String name = source.binaryName();
+        if (!definitions.containsKey(name) && name.endsWith("Summary")) {
+            name = name.substring(0, name.length() - "Summary".length());
+        }
+        return name;
+    }
+
+    private static Problem problem(Diagnostic<? extends JavaFileObject> diagnostic,
+                                   Map<String, EntityDefinition> definitions) {
+        String message = diagnostic.getMessage(Locale.ROOT);
+        if (!(diagnostic.getSource() instanceof Source source)) {
+            return new Problem(new Origin("-", Optional.empty(), Optional.empty()), "-", diagnostic.getLineNumber(),
+                               diagnostic.getKind(), message);
+        }
+        String entity = entityOf(source, definitions);
+        Optional<PropertyDefinition> property = Optional.empty();
+        EntityDefinition definition = definitions.get(entity);
+        if (definition != null) {
+            property = propertyNamed(message, definition);
+            if (property.isEmpty() && diagnostic.getLineNumber() > 0) {
+                property = propertyAt(source.lines(), (int) diagnostic.getLineNumber(), definition);
+            }
+        }
+        return new Problem(new Origin(entity, property.map(PropertyDefinition::name),
+                                      property.map(PropertyDefinition::typeName)),
+                           source.path(), diagnostic.getLineNumber(), diagnostic.getKind(), message);
+    }
+
+    /**
+     * The property whose type the message names ("class Money", "package com.acme.money")
+     */
+    private static Optional<PropertyDefinition> propertyNamed(String message, EntityDefinition entity) {
+        for (PropertyDefinition property : entity.properties()) {
+            String typeName = property.typeName();
+            int dot = typeName.lastIndexOf('.');
+            if (dot < 0) {
+                continue;
+            }
+            String simpleName = typeName.substring(dot + 1);
+            if (message.contains(typeName) || message.contains("package " + typeName.substring(0, dot) + " ")
+                || message.matches("(?s).*\\bclass " + Pattern.quote(simpleName) + "\\b.*")) {
+                return Optional.of(property);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The property named on the line, else on the nearest field declaration above it
+     */
+    private static Optional<PropertyDefinition> propertyAt(String[] lines, int line, EntityDefinition entity) {
+        for (int i = line - 1; i >= 0 && i >= line - 8; i--) {
+            String text = lines[i];
+            for (PropertyDefinition property : entity.properties()) {
+                String name = property.name();
+                String getter = Character.toUpperCase(name.charAt(0)) + name.substring(1) + "(";
+                if (text.contains(" " + name + ";") || text.contains(" " + name + ",") || text.contains(" " + name + ")")
+                    || text.contains("get" + getter) || text.contains("is" + getter)) {
+                    return Optional.of(property);
+                }
+            }
+            if (i < line - 1 && (text.isBlank() || text.contains("{"))) {
+                break;  // only the line itself and the annotations right above it
+            }
+        }
+        return Optional.empty();
+    }
+
+    // ========== In-memory files ==========
+
+    private static final class Source extends SimpleJavaFileObject {
+
+        private final GeneratedFile file;
+        private final String binaryName;
+        private String[] lines;
+
+        Source(GeneratedFile file) {
+            super(URI.create("string:///" + file.path()), Kind.SOURCE);
+            this.file = file;
+            this.binaryName = file.path().substring(0, file.path().length() - Kind.SOURCE.extension.length())
+                                  .replace('/', '.');
+        }
+
+        String path() {
+            return file.path();
+        }
+
+        String binaryName() {
+            return binaryName;
+        }
+
+        String packageName() {
+            int dot = binaryName.lastIndexOf('.');
+            return dot < 0 ? "" : binaryName.substring(0, dot);
+        }
+
+        synchronized String[] lines() {
+            if (lines == null) {
+                lines = file.content().split("\n", -1);
+            }
+            return lines;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return file.content();
+        }
+    }
+
+    /**
+     * Class files of a check, and anything else javac writes, are discarded
+     */
+    private static final class Discarded extends SimpleJavaFileObject {
+
+        Discarded(String className, Kind kind) {
+            super(URI.create("discarded:///" + className.replace('.', '/') + kind.extension), kind);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+    }
+
+    /**
+     * A class file, kept by binary name when javac closes it
+     */
+    private static final class Kept extends SimpleJavaFileObject {
+
+        private final String className;
+        private final Map<String, byte[]> classes;
+
+        Kept(String className, Map<String, byte[]> classes) {
+            super(URI.create("kept:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.className = className;
+            this.classes = classes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream(4096) {
+                @Override
+                public void close() {
+                    classes.put(className, toByteArray());
+                }
+            };
+        }
+    }
+
+    private static final class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private final Map<String, List<Source>> byPackage;
+        private final Optional<Map<String, byte[]>> classes;
+
+        InMemoryFileManager(StandardJavaFileManager standard, Map<String, List<Source>> byPackage,
+                            Optional<Map<String, byte[]>> classes) {
+            super(standard);
+            this.byPackage = byPackage;
+            this.classes = classes;
+        }
+
+        @Override
+        public boolean hasLocation(Location location) {
+            return location == StandardLocation.SOURCE_PATH || super.hasLocation(location);
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds,
+                                             boolean recurse) throws IOException {
+            if (location == StandardLocation.SOURCE_PATH) {
+                if (!kinds.contains(JavaFileObject.Kind.SOURCE)) {
+                    return List.of();
+                }
+                List<JavaFileObject> sources = new ArrayList<>(byPackage.getOrDefault(packageName, List.of()));
+                if (recurse) {
+                    byPackage.forEach((name, files) -> {
+                        if (name.startsWith(packageName + ".")) {
+                            sources.addAll(files);
+                        }
+                    });
+                }
+                return sources;
+            }
+            return super.list(location, packageName, kinds, recurse);
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            return file instanceof Source source ? source.binaryName() : super.inferBinaryName(location, file);
+        }
+
+        @Override
+        public boolean isSameFile(FileObject a, FileObject b) {
+            return a instanceof Source || b instanceof Source ? a == b : super.isSameFile(a, b);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            if (kind == JavaFileObject.Kind.CLASS && classes.isPresent()) {
+                return new Kept(className, classes.get());
+            }
+            return new Discarded(className, kind);
+        }
+
+        @Override
+        public FileObject getFileForOutput(Location location, String packageName, String relativeName,
+                                           FileObject sibling) {
+            return new Discarded(packageName + "." + relativeName, JavaFileObject.Kind.OTHER);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.metaxava.codegen;
+
+import org.metaxava.registry.TypeModel;
+
+/**
+ * CompileCheckBenchmark - Time of CompileCheck on a large generated model
+ *
+ * USAGE:
+ *   java -cp ... org.metaxava.codegen.CompileCheckBenchmark [entities] [rounds] [threads]
+ *   defaults: 1,000 entities (2,000 classes), 3 rounds, one thread per CPU
+ *
+ * Checks GenerationBenchmark.entities() for JAVA_21 in batches of
+ * DEFAULT_BATCH_ENTITIES against this JVM's class path. Round 1 includes
+ * javac's warm-up. Timings are printed, never asserted: CompileCheckTest
+ * checks the batching (units, batches, no errors) instead, which doesn't
+ * depend on the machine.
+ *
+ * RESULTS (1 CPU, JDK 21.0.1, 1,000 entities, 1 thread):
+ *   round 1: 2,000 classes in 8 batches, 49.5 s (40 classes/s, cold javac)
+ *   round 2: 26.8 s (75 classes/s)
+ *   round 3: 17.4 s (115 classes/s)
+ * Batches run in parallel, so expect roughly a core's share per thread
+ * on bigger machines.
+ *
+ * @author MetaXava Compile Check Session 2026-10-19
+ */
+public class CompileCheckBenchmark {
+
+    public static void main(String[] args) {
+        int entityCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        TypeModel types = GenerationBenchmark.typeModel();
+        String classPath = CompileCheck.classPath(CompileCheckBenchmark.class.getClassLoader());
+        for (int round = 1; round <= rounds; round++) {
+            CompileCheck.Report report = CompileCheck.check(types, GenerationBenchmark.entities(entityCount),
+                                                            JavaTarget.JAVA_21, classPath, threads);
+            if (!report.ok()) {
+                throw new IllegalStateException("Generated sources don't compile: " +
+                                                report.errors().stream().limit(5).toList());
+            }
+            System.out.printf("✓ round %d: %,d classes in %d batches on %d threads, %,d ms (%.0f classes/s)%n",
+                              round, report.units(), report.batches(), report.threads(), report.millis(),
+                              report.units() * 1000.0 / Math.max(1, report.millis()));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.metaxava.codegen;
+
+import java.util.List;
+
+/**
+ * EntityDefinition - An entity to generate, as modeled by the user
+ *
+ * @param properties  Persistent properties (the generated id is implicit)
+ * @param collections @OneToMany collections, each mapped by a reference of its element entity
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public record EntityDefinition(String packageName, String simpleName, List<PropertyDefinition> properties,
+                               List<CollectionDefinition> collections) {
+
+    public EntityDefinition {
+        properties = List.copyOf(properties);
+        collections = List.copyOf(collections);
+    }
+
+    public EntityDefinition(String packageName, String simpleName, List<PropertyDefinition> properties) {
+        this(packageName, simpleName, properties, List.of());
+    }
+
+    public String qualifiedName() {
+        return packageName + "." + simpleName;
+    }
+}
@@ -0,0 +1,45 @@
+package org.metaxava.codegen;
+
+import org.metaxava.graph.DependencyGraph;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * EntityGraph - Which generated entities reference which
+ *
+ * Node i is the i-th EntityDefinition (iteration order). An entity depends
+ * on every generated entity one of its properties references (@ManyToOne,
+ * a foreign key column). Collections add no edge: their foreign key is the
+ * element's reference, already an edge. A self-reference is a one-node cycle.
+ *
+ * @author MetaXava Scheduling Session 2026-10-19
+ */
+public final class EntityGraph {
+
+    private EntityGraph() {
+    }
+
+    /**
+     * @throws IllegalArgumentException on duplicate entity names
+     */
+    public static DependencyGraph of(Collection<EntityDefinition> entities) {
+        DependencyGraph.Builder builder = DependencyGraph.builder();
+        Set<String> generated = new HashSet<>(entities.size() * 4 / 3 + 1);
+        for (EntityDefinition entity : entities) {
+            if (!generated.add(entity.qualifiedName())) {
+                throw new IllegalArgumentException("Duplicate entity " + entity.qualifiedName());
+            }
+            builder.node(entity.qualifiedName());
+        }
+        for (EntityDefinition entity : entities) {
+            for (PropertyDefinition property : entity.properties()) {
+                if (generated.contains(property.typeName())) {
+                    builder.dependsOn(entity.qualifiedName(), property.typeName());
+                }
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,54 @@
+package org.metaxava.codegen;
+
+/**
+ * FetchHints - How a relationship is expected to be traversed
+ *
+ * Modeled with the relationship (PropertyDefinition for references,
+ * CollectionDefinition for collections) and turned into mapping and
+ * query choices by FetchStrategy. The WebDSL metamodel records the same
+ * two hints on Relationship (access, expectedSize).
+ *
+ * @param expectedSize Expected elements per owner (collections); ignored for references
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public record FetchHints(Access access, int expectedSize) {
+
+    public enum Access {
+        /** Shown on every row of a list or of a master-detail collection */
+        LIST,
+        /** Shown when a single owner is opened */
+        DETAIL,
+        /** Seldom traversed */
+        RARE
+    }
+
+    /**
+     * No hints modeled: loaded on demand, foreign key indexed
+     */
+    public static final FetchHints DEFAULT = new FetchHints(Access.DETAIL, 0);
+
+    /**
+     * @throws IllegalArgumentException on a null access or a negative size
+     */
+    public FetchHints {
+        if (access == null) {
+            throw new IllegalArgumentException("access is required");
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must be >= 0, was " + expectedSize);
+        }
+    }
+
+    public static FetchHints list(int expectedSize) {
+        return new FetchHints(Access.LIST, expectedSize);
+    }
+
+    public static FetchHints detail(int expectedSize) {
+        return new FetchHints(Access.DETAIL, expectedSize);
+    }
+
+    public static FetchHints rare() {
+        return new FetchHints(Access.RARE, 0);
+    }
+}
@@ -0,0 +1,56 @@
+package org.metaxava.codegen;
+
+import org.metaxava.codegen.FetchHints.Access;
+
+/**
+ * FetchStrategy - Mapping and query choices inferred from FetchHints
+ *
+ * RULES (mirrored by the fetch*() functions in webdsl/metamodel/metamodel.app):
+ *
+ * Reference (@ManyToOne, always LAZY)
+ * - LIST:   @BatchSize on the target class, so list and master-detail rows
+ *           that show it load their targets LIST_BATCH_SIZE at a time
+ *           instead of one per row. No fetch join: OpenXava builds the
+ *           list (Tab) query itself, joining the references it displays,
+ *           so a named list query would never run (the WebDSL listing
+ *           pages, which write their own query, do join fetch)
+ * - not RARE: index the foreign key column
+ *
+ * Collection (@OneToMany)
+ * - never join fetched: a fetch join under a row limit makes Hibernate
+ *   page in memory
+ * - LIST:   @BatchSize, bounded so one batch loads about BATCH_ROW_BUDGET
+ *           elements (LIST_BATCH_SIZE owners at most, none below 2)
+ * - expectedSize > LARGE_COLLECTION: extra-lazy, so size() and
+ *   contains() query instead of loading every element
+ * - not RARE: index the foreign key on the element side (mappedBy)
+ *
+ * @param batchSize       @BatchSize: on the collection, or on the target class of a reference; 0 = none
+ * @param extraLazy       Collection mapped with LazyCollectionOption.EXTRA
+ * @param indexForeignKey Index the foreign key column
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public record FetchStrategy(int batchSize, boolean extraLazy, boolean indexForeignKey) {
+
+    public static final int LIST_BATCH_SIZE = 32;
+    public static final int BATCH_ROW_BUDGET = 1000;
+    public static final int LARGE_COLLECTION = 100;
+
+    public static FetchStrategy forReference(FetchHints hints) {
+        boolean list = hints.access() == Access.LIST;
+        return new FetchStrategy(list ? LIST_BATCH_SIZE : 0, false, hints.access() != Access.RARE);
+    }
+
+    public static FetchStrategy forCollection(FetchHints hints) {
+        int batchSize = 0;
+        if (hints.access() == Access.LIST) {
+            batchSize = Math.min(LIST_BATCH_SIZE, BATCH_ROW_BUDGET / Math.max(1, hints.expectedSize()));
+            if (batchSize < 2) {
+                batchSize = 0;
+            }
+        }
+        return new FetchStrategy(batchSize, hints.expectedSize() > LARGE_COLLECTION,
+                                 hints.access() != Access.RARE);
+    }
+}
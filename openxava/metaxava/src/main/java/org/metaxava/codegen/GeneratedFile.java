@@ -0,0 +1,11 @@
+package org.metaxava.codegen;
+
+/**
+ * GeneratedFile - One generated source file
+ *
+ * @param path Source-root relative path ("com/acme/Customer.java")
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public record GeneratedFile(String path, String content) {
+}
@@ -0,0 +1,133 @@
+package org.metaxava.codegen;
+
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.nio.file.Path;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * GenerationBenchmark - Files/sec for one model generated for every Java target
+ *
+ * USAGE:
+ *   java -cp ... org.metaxava.codegen.GenerationBenchmark [entities] [rounds] [outputDir]
+ *   defaults: 5000 entities, 5 rounds, in-memory (no outputDir)
+ *
+ * Prepares the model once, then generates it for JAVA_8 ... JAVA_25 each
+ * round. Round 1 includes JIT warm-up; later rounds are steady state.
+ * Fails (IllegalStateException) if any round re-parses a template.
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public class GenerationBenchmark {
+
+    /**
+     * One target's run
+     */
+    public record Result(JavaTarget target, int files, long bytes, long elapsedNanos) {
+
+        public double filesPerSecond() {
+            return files * 1_000_000_000.0 / Math.max(1, elapsedNanos);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int entityCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Optional<Path> output = args.length > 2 ? Optional.of(Path.of(args[2])) : Optional.empty();
+
+        TemplateCatalog.preload();
+        int parsesAtStart = TemplateCatalog.parses();
+        long prepareStart = System.nanoTime();
+        PreparedModel prepared = CodeGenerator.prepare(typeModel(), entities(entityCount));
+        long prepareNanos = System.nanoTime() - prepareStart;
+        System.out.printf("Prepared %d entities in %d ms (%d distinct types resolved)%n",
+                          prepared.entities().size(), prepareNanos / 1_000_000, prepared.resolvedTypes());
+
+        for (int round = 1; round <= rounds; round++) {
+            long files = 0;
+            long nanos = 0;
+            for (JavaTarget target : JavaTarget.values()) {
+                Result result = output.isPresent()
+                    ? runToDisk(prepared, target, output.get().resolve("java" + target.release()))
+                    : run(prepared, target);
+                files += result.files();
+                nanos += result.elapsedNanos();
+                System.out.printf("  round %d %-8s %6d files %8.0f files/sec%n",
+                                  round, target, result.files(), result.filesPerSecond());
+            }
+            System.out.printf("✓ round %d: %d files, %.0f files/sec%n", round, files, files * 1e9 / nanos);
+        }
+
+        if (TemplateCatalog.parses() != parsesAtStart) {
+            throw new IllegalStateException("Templates re-parsed during generation: " +
+                                            (TemplateCatalog.parses() - parsesAtStart));
+        }
+        System.out.println("✓ Templates parsed once (" + parsesAtStart + " parses for " +
+                           JavaTarget.values().length + " targets)");
+    }
+
+    /**
+     * Generate in memory (bytes counted so the work can't be optimized away)
+     */
+    public static Result run(PreparedModel prepared, JavaTarget target) {
+        long[] bytes = new long[1];
+        long start = System.nanoTime();
+        int files = CodeGenerator.generate(prepared, target, file -> bytes[0] += file.content().length());
+        return new Result(target, files, bytes[0], System.nanoTime() - start);
+    }
+
+    public static Result runToDisk(PreparedModel prepared, JavaTarget target, Path sourceRoot) throws Exception {
+        long start = System.nanoTime();
+        int files = CodeGenerator.writeTo(prepared, target, sourceRoot);
+        return new Result(target, files, 0, System.nanoTime() - start);
+    }
+
+    // ========== Synthetic model ==========
+
+    /**
+     * Basic types the synthetic entities use (same names and JDBC types as the bootstrap)
+     */
+    public static TypeModel typeModel() {
+        return TypeModel.EMPTY.withTypes(List.of(
+            primitive("int", JDBCType.INTEGER),
+            primitive("boolean", JDBCType.BOOLEAN),
+            reference("java.lang", "String", "STRING", JDBCType.VARCHAR),
+            reference("java.math", "BigDecimal", "BIG_DECIMAL", JDBCType.NUMERIC),
+            reference("java.util", "Date", "DATE", JDBCType.TIMESTAMP)));
+    }
+
+    /**
+     * Entities spread over 50 packages; each references the previous one
+     */
+    public static List<EntityDefinition> entities(int count) {
+        List<EntityDefinition> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<PropertyDefinition> properties = new ArrayList<>();
+            properties.add(new PropertyDefinition("name", "java.lang.String", true, 100));
+            properties.add(new PropertyDefinition("code", "java.lang.String", false, 20));
+            properties.add(PropertyDefinition.of("quantity", "int"));
+            properties.add(PropertyDefinition.of("active", "boolean"));
+            properties.add(PropertyDefinition.of("amount", "java.math.BigDecimal"));
+            properties.add(PropertyDefinition.of("created", "java.util.Date"));
+            if (i > 0) {
+                properties.add(PropertyDefinition.of("parent", entities.get(i - 1).qualifiedName()));
+            }
+            entities.add(new EntityDefinition("com.acme.module" + (i % 50), "Entity" + i, properties));
+        }
+        return entities;
+    }
+
+    private static TypeSnapshot primitive(String name, JDBCType jdbcType) {
+        return new TypeSnapshot(name, "PRIMITIVE", Optional.empty(), Optional.empty(),
+                                Optional.of(jdbcType), List.of(jdbcType), Optional.empty());
+    }
+
+    private static TypeSnapshot reference(String packageName, String simpleName, String kind, JDBCType jdbcType) {
+        return new TypeSnapshot(packageName + "." + simpleName, kind, Optional.of(packageName), Optional.of(simpleName),
+                                Optional.of(jdbcType), List.of(jdbcType), Optional.empty());
+    }
+}
@@ -0,0 +1,51 @@
+package org.metaxava.codegen;
+
+/**
+ * JavaTarget - Java release the generated code must compile on
+ *
+ * The generator runs on Java 25; generated applications target any
+ * release OpenXava supports. Each target selects a template set
+ * (see TemplateCatalog): records from Java 17 (final since 16),
+ * hand-written value classes before.
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public enum JavaTarget {
+
+    JAVA_8(8),
+    JAVA_11(11),
+    JAVA_17(17),
+    JAVA_21(21),
+    JAVA_25(25);
+
+    private final int release;
+
+    JavaTarget(int release) {
+        this.release = release;
+    }
+
+    /**
+     * javac --release value
+     */
+    public int release() {
+        return release;
+    }
+
+    public boolean supportsRecords() {
+        return release >= 16;
+    }
+
+    /**
+     * Target for a release number
+     *
+     * @throws IllegalArgumentException if the release is not a supported target
+     */
+    public static JavaTarget of(int release) {
+        for (JavaTarget target : values()) {
+            if (target.release == release) {
+                return target;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported Java target " + release + ", expected 8, 11, 17, 21 or 25");
+    }
+}
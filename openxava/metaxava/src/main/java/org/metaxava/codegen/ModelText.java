@@ -0,0 +1,153 @@
+package org.metaxava.codegen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ModelText - EntityDefinitions as plain text, one line per member
+ *
+ * FORMAT:
+ *   # comment
+ *   entity com.acme.sales.Invoice
+ *     number java.lang.String required length=20
+ *     customer com.acme.sales.Customer fetch=list
+ *     lines com.acme.sales.InvoiceLine mappedBy=invoice fetch=list:50
+ *
+ * A member line is "name type" followed by options. With mappedBy it is a
+ * collection (CollectionDefinition), otherwise a property. fetch is
+ * list, detail or rare, optionally with the expected size after a colon.
+ * Indentation is free. This is what clients POST to ProjectServlet; the
+ * WebDSL metamodel emits it from its page openxavaModel.
+ *
+ * @author MetaXava Project Archive Session 2026-10-19
+ */
+public final class ModelText {
+
+    private ModelText() {
+    }
+
+    /**
+     * @throws IllegalArgumentException on a malformed line (the message names it)
+     */
+    public static List<EntityDefinition> parse(Reader text) throws IOException {
+        List<EntityDefinition> entities = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(text);
+        String packageName = null;
+        String simpleName = null;
+        List<PropertyDefinition> properties = new ArrayList<>();
+        List<CollectionDefinition> collections = new ArrayList<>();
+        int number = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            number++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] words = trimmed.split("\\s+");
+            if (words[0].equals("entity")) {
+                if (words.length != 2 || words[1].lastIndexOf('.') <= 0) {
+                    throw new IllegalArgumentException("Line " + number + ": expected 'entity <package>.<Name>'");
+                }
+                if (simpleName != null) {
+                    entities.add(new EntityDefinition(packageName, simpleName, properties, collections));
+                }
+                int dot = words[1].lastIndexOf('.');
+                packageName = words[1].substring(0, dot);
+                simpleName = words[1].substring(dot + 1);
+                properties = new ArrayList<>();
+                collections = new ArrayList<>();
+            } else if (simpleName == null) {
+                throw new IllegalArgumentException("Line " + number + ": member before the first entity");
+            } else if (words.length < 2) {
+                throw new IllegalArgumentException("Line " + number + ": expected '<name> <type> [options]'");
+            } else {
+                member(words, number, properties, collections);
+            }
+        }
+        if (simpleName != null) {
+            entities.add(new EntityDefinition(packageName, simpleName, properties, collections));
+        }
+        return entities;
+    }
+
+    public static String format(List<EntityDefinition> entities) {
+        StringBuilder out = new StringBuilder(entities.size() * 160);
+        for (EntityDefinition entity : entities) {
+            out.append("entity ").append(entity.qualifiedName()).append('\n');
+            for (PropertyDefinition property : entity.properties()) {
+                out.append("  ").append(property.name()).append(' ').append(property.typeName());
+                if (property.required()) {
+                    out.append(" required");
+                }
+                if (property.length() > 0) {
+                    out.append(" length=").append(property.length());
+                }
+                fetch(out, property.fetch());
+                out.append('\n');
+            }
+            for (CollectionDefinition collection : entity.collections()) {
+                out.append("  ").append(collection.name()).append(' ').append(collection.elementType())
+                   .append(" mappedBy=").append(collection.mappedBy());
+                fetch(out, collection.fetch());
+                out.append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static void member(String[] words, int number, List<PropertyDefinition> properties,
+                               List<CollectionDefinition> collections) {
+        boolean required = false;
+        int length = 0;
+        FetchHints fetch = FetchHints.DEFAULT;
+        String mappedBy = null;
+        for (int i = 2; i < words.length; i++) {
+            String option = words[i];
+            try {
+                if (option.equals("required")) {
+                    required = true;
+                } else if (option.startsWith("length=")) {
+                    length = Integer.parseInt(option.substring("length=".length()));
+                } else if (option.startsWith("mappedBy=")) {
+                    mappedBy = option.substring("mappedBy=".length());
+                } else if (option.startsWith("fetch=")) {
+                    fetch = fetchHints(option.substring("fetch=".length()));
+                } else {
+                    throw new IllegalArgumentException("unknown option");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + number + ": invalid option '" + option + "'", e);
+            }
+        }
+        if (mappedBy == null) {
+            properties.add(new PropertyDefinition(words[0], words[1], required, length, fetch));
+        } else if (required || length > 0) {
+            throw new IllegalArgumentException("Line " + number + ": a collection takes no required or length");
+        } else {
+            collections.add(new CollectionDefinition(words[0], words[1], mappedBy, fetch));
+        }
+    }
+
+    /**
+     * "list", "list:50", "rare"
+     */
+    private static FetchHints fetchHints(String value) {
+        int colon = value.indexOf(':');
+        FetchHints.Access access = FetchHints.Access.valueOf(
+            (colon < 0 ? value : value.substring(0, colon)).toUpperCase(Locale.ROOT));
+        return new FetchHints(access, colon < 0 ? 0 : Integer.parseInt(value.substring(colon + 1)));
+    }
+
+    private static void fetch(StringBuilder out, FetchHints fetch) {
+        if (!fetch.equals(FetchHints.DEFAULT)) {
+            out.append(" fetch=").append(fetch.access().name().toLowerCase(Locale.ROOT));
+            if (fetch.expectedSize() > 0) {
+                out.append(':').append(fetch.expectedSize());
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.metaxava.codegen;
+
+import org.metaxava.graph.DependencyGraph;
+
+import java.util.List;
+
+/**
+ * PreparedModel - Entities with every type resolved, ready for any target
+ *
+ * DESIGN:
+ * Everything that doesn't depend on the Java target is computed once by
+ * CodeGenerator.prepare(): type names (simple unless two clash in one
+ * file), sorted imports, getter names, JPA/OpenXava annotations, fetch
+ * mappings and list queries (FetchStrategy). Generating the same model for five
+ * targets renders five times but resolves once.
+ *
+ * @param typeModelVersion Version of the TypeModel the types were resolved against
+ * @param levels           Entities by dependency level (EntityGraph); node i is entities().get(i)
+ * @param resolvedTypes    Distinct type names resolved (not per property, not per file)
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public record PreparedModel(long typeModelVersion, List<Entity> entities, DependencyGraph.Levels levels,
+                            int resolvedTypes) {
+
+    public PreparedModel {
+        entities = List.copyOf(entities);
+    }
+
+    /**
+     * @param imports          Sorted qualified names (java.lang and same-package types excluded)
+     * @param entityImports    imports plus what only the entity class needs (collection types)
+     * @param classAnnotations Annotation lines above the entity class (indexes, batch size)
+     * @param collections      Rendered collection fields, each preceded by a blank line; possibly empty
+     * @param path             Source-root relative path without the ".java" suffix
+     */
+    public record Entity(String packageName, String simpleName, List<String> imports,
+                         List<String> entityImports, String classAnnotations,
+                         List<Property> properties, String collections, String path) {
+
+        public Entity {
+            imports = List.copyOf(imports);
+            entityImports = List.copyOf(entityImports);
+            properties = List.copyOf(properties);
+        }
+    }
+
+    /**
+     * @param type        Simple type name as written in the source
+     * @param annotations Annotation lines (indented, newline-terminated), possibly empty
+     */
+    public record Property(String name, String type, String getter, String annotations) {
+    }
+}
@@ -0,0 +1,26 @@
+package org.metaxava.codegen;
+
+/**
+ * PropertyDefinition - One property of an EntityDefinition
+ *
+ * @param typeName Name of an OXType in the TypeModel ("int", "java.lang.String"),
+ *                 or the qualified name of another generated entity (→ @ManyToOne)
+ * @param length   Column length for length-bearing JDBC types; 0 = JPA default
+ * @param fetch    How a @ManyToOne is traversed (see FetchStrategy); ignored for basic types
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public record PropertyDefinition(String name, String typeName, boolean required, int length, FetchHints fetch) {
+
+    public PropertyDefinition(String name, String typeName, boolean required, int length) {
+        this(name, typeName, required, length, FetchHints.DEFAULT);
+    }
+
+    public static PropertyDefinition of(String name, String typeName) {
+        return new PropertyDefinition(name, typeName, false, 0);
+    }
+
+    public static PropertyDefinition reference(String name, String entityName, FetchHints fetch) {
+        return new PropertyDefinition(name, entityName, false, 0, fetch);
+    }
+}
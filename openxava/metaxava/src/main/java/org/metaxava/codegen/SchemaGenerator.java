@@ -0,0 +1,463 @@
+package org.metaxava.codegen;
+
+import org.metaxava.dialect.CompiledDialect;
+import org.metaxava.graph.DependencyGraph;
+import org.metaxava.graph.LevelScheduler;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * SchemaGenerator - DDL for generated entities, in an order that runs without retries
+ *
+ * STATEMENT ORDER:
+ * 1. CREATE TABLE, dependency level by level (EntityGraph): a table's
+ *    inline FOREIGN KEY constraints only name tables of lower levels,
+ *    which already exist. Tables are rendered on a worker pool
+ *    (LevelScheduler) and assembled in level order.
+ * 2. CREATE INDEX for the foreign key columns FetchStrategy indexes
+ *    (the same columns as the entities' @Table(indexes)).
+ * 3. ALTER TABLE ... ADD CONSTRAINT for references inside a cycle
+ *    (including self-references): no creation order satisfies those,
+ *    so they are added once every table exists.
+ *
+ * DELTA (delta()): from the tables and columns a database already has
+ * (Column, as DatabaseMetaData.getColumns() reports them), only additions:
+ * CREATE TABLE for new entities, ALTER TABLE ... ADD for new columns, then
+ * their indexes and foreign keys. Nothing is dropped or retyped; what the
+ * model no longer has is reported as retained. A primitive column added
+ * to an existing table gets its Java default (0, FALSE, ' ') so the
+ * existing rows load; another required column is added nullable (and
+ * reported): the rows have no value.
+ *
+ * The one change in place is relaxing NOT NULL (dropNotNull(), per
+ * built-in dialect), on a retained column and on one the model made
+ * optional: otherwise inserts of the new entities fail on it. A dialect
+ * without a known statement refuses the delta. A kept column whose type
+ * family, character length or required-ness differs from the model is
+ * reported, never altered: that would need a data migration.
+ *
+ * NAMING: table = entity simple name, column = property name (Hibernate
+ * defaults), reference column = CodeGenerator.joinColumn (declared by the
+ * generated @JoinColumn), id BIGINT.
+ * Constraint and index names longer than the dialect allows are
+ * shortened with a hash suffix.
+ *
+ * USAGE:
+ *   Schema schema = SchemaGenerator.generate(registry.current(), entities, h2, threads);
+ *   schema.statements().forEach(sql -> em.createNativeQuery(sql).executeUpdate());
+ *
+ * @author MetaXava Scheduling Session 2026-10-19
+ */
+public final class SchemaGenerator {
+
+    private static final String PRIMITIVE = "PRIMITIVE";
+
+    private static final Set<JDBCType> NUMERIC = EnumSet.of(
+        JDBCType.TINYINT, JDBCType.SMALLINT, JDBCType.INTEGER, JDBCType.BIGINT, JDBCType.REAL, JDBCType.FLOAT,
+        JDBCType.DOUBLE, JDBCType.NUMERIC, JDBCType.DECIMAL);
+
+    private static final Set<JDBCType> CHARACTER = EnumSet.of(
+        JDBCType.CHAR, JDBCType.VARCHAR, JDBCType.NCHAR, JDBCType.NVARCHAR);
+
+    /**
+     * @param statements DDL in execution order
+     * @param levels     Entities by level; node i is the i-th entity passed in
+     * @param report     How table rendering was scheduled
+     */
+    public record Schema(List<String> statements, DependencyGraph.Levels levels, LevelScheduler.Report report) {
+
+        public Schema {
+            statements = List.copyOf(statements);
+        }
+    }
+
+    /**
+     * @param statements DDL in execution order; empty if the database already matches
+     * @param notes      What the delta leaves as it is (retained tables and columns, nullable additions)
+     */
+    public record Delta(List<String> statements, List<String> notes) {
+
+        public Delta {
+            statements = List.copyOf(statements);
+            notes = List.copyOf(notes);
+        }
+    }
+
+    /**
+     * An existing column, as DatabaseMetaData.getColumns() reports it
+     *
+     * @param jdbcType DATA_TYPE (OTHER for vendor codes)
+     * @param size     COLUMN_SIZE: length of character types, precision of numeric ones
+     * @param scale    DECIMAL_DIGITS
+     * @param nullable NULLABLE is not columnNoNulls
+     */
+    public record Column(String name, JDBCType jdbcType, int size, int scale, boolean nullable) {
+    }
+
+    /**
+     * @param notNull Primitive Java type: the column can't hold null
+     */
+    private record ColumnType(JDBCType jdbcType, boolean notNull) {
+    }
+
+    private SchemaGenerator() {
+    }
+
+    /**
+     * @param threads Worker threads; 1 renders on the calling thread
+     * @throws IllegalArgumentException on duplicate tables, unknown types, types the
+     *                                  dialect can't store or invalid collections
+     */
+    public static Schema generate(TypeModel model, List<EntityDefinition> entities, CompiledDialect dialect,
+                                  int threads) {
+        DependencyGraph.Levels levels = EntityGraph.of(entities).levels();
+        Map<String, Set<String>> indexes = CodeGenerator.foreignKeyIndexes(entities);
+        Map<String, String> tables = tableNames(entities);
+        Map<String, ColumnType> columnTypes = columnTypes(model, entities, tables, dialect);
+
+        String[] creates = new String[entities.size()];
+        LevelScheduler.Report report = LevelScheduler.run(
+            levels, node -> creates[node] = createTable(node, entities.get(node), levels, tables, columnTypes, dialect),
+            threads);
+
+        List<String> statements = new ArrayList<>(creates.length * 2);
+        for (int node : levels.order()) {
+            statements.add(creates[node]);
+        }
+        for (EntityDefinition entity : entities) {
+            String table = entity.simpleName();
+            for (String column : indexes.getOrDefault(entity.qualifiedName(), Set.of())) {
+                statements.add(index(table, column, dialect));
+            }
+        }
+        for (int node : levels.order()) {
+            EntityDefinition entity = entities.get(node);
+            for (PropertyDefinition property : entity.properties()) {
+                String target = tables.get(property.typeName());
+                if (target != null && levels.deferred(node, node(levels, property.typeName()))) {
+                    statements.add("ALTER TABLE " + entity.simpleName() + " ADD " +
+                                   foreignKey(entity.simpleName(), property.name(), target, dialect));
+                }
+            }
+        }
+        return new Schema(statements, levels, report);
+    }
+
+    /**
+     * DDL that adds what the entities need to an existing schema
+     *
+     * @param existing Columns by table name, as the database reports them (names compared case-insensitively)
+     * @throws IllegalArgumentException as generate(), or if a NOT NULL must be relaxed and the
+     *                                  dialect has no known statement for it
+     */
+    public static Delta delta(TypeModel model, List<EntityDefinition> entities, Map<String, List<Column>> existing,
+                              CompiledDialect dialect) {
+        DependencyGraph.Levels levels = EntityGraph.of(entities).levels();
+        Map<String, Set<String>> indexes = CodeGenerator.foreignKeyIndexes(entities);
+        Map<String, String> tables = tableNames(entities);
+        Map<String, ColumnType> columnTypes = columnTypes(model, entities, tables, dialect);
+        Map<String, Map<String, Column>> present = new TreeMap<>();
+        existing.forEach((table, columns) -> {
+            Map<String, Column> byName = new TreeMap<>();
+            columns.forEach(column -> byName.put(upper(column.name()), column));
+            present.put(upper(table), byName);
+        });
+
+        List<String> creates = new ArrayList<>();
+        List<String> relaxations = new ArrayList<>();
+        List<String> additions = new ArrayList<>();
+        List<String> indexStatements = new ArrayList<>();
+        List<String> constraints = new ArrayList<>();
+        List<String> notes = new ArrayList<>();
+        for (int node : levels.order()) {
+            EntityDefinition entity = entities.get(node);
+            String table = entity.simpleName();
+            Set<String> entityIndexes = indexes.getOrDefault(entity.qualifiedName(), Set.of());
+            Map<String, Column> columns = present.remove(upper(table));
+            if (columns == null) {
+                creates.add(createTable(node, entity, levels, tables, columnTypes, dialect));
+                for (String column : entityIndexes) {
+                    indexStatements.add(index(table, column, dialect));
+                }
+                for (PropertyDefinition property : entity.properties()) {
+                    String target = tables.get(property.typeName());
+                    if (target != null && levels.deferred(node, node(levels, property.typeName()))) {
+                        constraints.add("ALTER TABLE " + table + " ADD " +
+                                        foreignKey(table, property.name(), target, dialect));
+                    }
+                }
+                continue;
+            }
+
+            Set<String> modelColumns = new HashSet<>();
+            modelColumns.add("ID");
+            for (PropertyDefinition property : entity.properties()) {
+                String target = tables.get(property.typeName());
+                String column = target == null ? property.name() : CodeGenerator.joinColumn(property.name());
+                modelColumns.add(upper(column));
+                Column current = columns.get(upper(column));
+                if (current != null) {
+                    ColumnType type = target == null ? columnTypes.get(property.typeName()) : null;
+                    compare(table, current, type == null ? JDBCType.BIGINT : type.jdbcType(), property.length(),
+                            property.required() || type != null && type.notNull(), dialect, relaxations, notes);
+                    continue;
+                }
+                StringBuilder out = new StringBuilder(96).append("ALTER TABLE ").append(table).append(" ADD ")
+                                                         .append(column).append(' ');
+                if (target != null) {
+                    dialect.render(out, JDBCType.BIGINT, 0, 0, 0);
+                    constraints.add("ALTER TABLE " + table + " ADD " + foreignKey(table, property.name(), target, dialect));
+                } else {
+                    ColumnType type = columnTypes.get(property.typeName());
+                    int typeStart = out.length();
+                    dialect.render(out, type.jdbcType(), property.length(), 0, 0);
+                    Optional<String> zero = type.notNull()
+                        ? zero(type.jdbcType(), out.substring(typeStart)) : Optional.empty();
+                    if (zero.isPresent()) {
+                        out.append(" DEFAULT ").append(zero.get()).append(" NOT NULL");
+                    } else if (type.notNull() || property.required()) {
+                        notes.add(table + "." + column + " added nullable: existing rows have no value");
+                    }
+                }
+                additions.add(out.toString());
+                if (entityIndexes.contains(column)) {
+                    indexStatements.add(index(table, column, dialect));
+                }
+            }
+            for (Map.Entry<String, Column> column : columns.entrySet()) {
+                if (modelColumns.contains(column.getKey())) {
+                    continue;
+                }
+                if (column.getValue().nullable()) {
+                    notes.add(table + "." + column.getKey() + " retained: not in the model");
+                } else {
+                    relaxations.add(dropNotNull(table, column.getValue(), dialect));
+                    notes.add(table + "." + column.getKey() + " retained, made nullable: not in the model");
+                }
+            }
+        }
+        present.keySet().forEach(table -> notes.add(table + " retained: not in the model"));
+
+        List<String> statements = new ArrayList<>(creates);
+        statements.addAll(relaxations);
+        statements.addAll(additions);
+        statements.addAll(indexStatements);
+        statements.addAll(constraints);
+        return new Delta(statements, notes);
+    }
+
+    /**
+     * Report how a kept column differs from the model; relax a NOT NULL the model dropped
+     *
+     * @param length The property's length (<= 0: the default), compared on character columns
+     */
+    private static void compare(String table, Column current, JDBCType expected, int length, boolean notNull,
+                                CompiledDialect dialect, List<String> relaxations, List<String> notes) {
+        String column = table + "." + upper(current.name());
+        if (!compatible(expected, current.jdbcType())) {
+            notes.add(column + " is " + current.jdbcType() + " in the database, " + expected +
+                      " in the model: not altered");
+        } else if (CHARACTER.contains(expected) && CHARACTER.contains(current.jdbcType())) {
+            int modelLength = length <= 0 ? CompiledDialect.DEFAULT_LENGTH : length;
+            if (modelLength != current.size()) {
+                notes.add(column + " has length " + current.size() + " in the database, " + modelLength +
+                          " in the model: not altered");
+            }
+        }
+        if (notNull && current.nullable()) {
+            notes.add(column + " is nullable in the database, required in the model: not altered");
+        } else if (!notNull && !current.nullable()) {
+            relaxations.add(dropNotNull(table, current, dialect));
+            notes.add(column + " made nullable: optional in the model");
+        }
+    }
+
+    /**
+     * Same family: a value of one fits the other without a data migration
+     *
+     * Oracle stores BOOLEAN as NUMBER(1) and TIME as DATE (reported TIMESTAMP).
+     */
+    private static boolean compatible(JDBCType expected, JDBCType actual) {
+        String family = family(expected);
+        String actualFamily = family(actual);
+        return family.equals(actualFamily)
+               || family.equals("BOOLEAN") && actualFamily.equals("NUMBER")
+               || (expected == JDBCType.TIME || expected == JDBCType.DATE) && actual == JDBCType.TIMESTAMP;
+    }
+
+    private static String family(JDBCType jdbcType) {
+        if (NUMERIC.contains(jdbcType)) {
+            return jdbcType == JDBCType.REAL || jdbcType == JDBCType.FLOAT || jdbcType == JDBCType.DOUBLE
+                ? "APPROXIMATE" : "NUMBER";
+        }
+        return switch (jdbcType) {
+            case CHAR, VARCHAR, NCHAR, NVARCHAR, LONGVARCHAR, LONGNVARCHAR, CLOB, NCLOB -> "TEXT";
+            case BINARY, VARBINARY, LONGVARBINARY, BLOB -> "BINARY";
+            case BOOLEAN, BIT -> "BOOLEAN";
+            case TIME, TIME_WITH_TIMEZONE -> "TIME";
+            case TIMESTAMP, TIMESTAMP_WITH_TIMEZONE -> "TIMESTAMP";
+            default -> jdbcType.name();
+        };
+    }
+
+    /**
+     * ALTER TABLE that lets a column hold null, in the built-in dialects' syntax (DialectBootstrap)
+     *
+     * MySQL and SQL Server restate the column type: it is rendered from what the database reports.
+     *
+     * @throws IllegalArgumentException for another dialect: the deploy is refused
+     */
+    private static String dropNotNull(String table, Column column, CompiledDialect dialect) {
+        String name = column.name();
+        return switch (upper(dialect.name())) {
+            case "H2", "HSQLDB" -> "ALTER TABLE " + table + " ALTER COLUMN " + name + " SET NULL";
+            case "POSTGRESQL" -> "ALTER TABLE " + table + " ALTER COLUMN " + name + " DROP NOT NULL";
+            case "ORACLE" -> "ALTER TABLE " + table + " MODIFY (" + name + " NULL)";
+            case "MYSQL" -> "ALTER TABLE " + table + " MODIFY " + name + " " + reportedType(column, dialect) + " NULL";
+            case "SQLSERVER" -> "ALTER TABLE " + table + " ALTER COLUMN " + name + " " +
+                                reportedType(column, dialect) + " NULL";
+            default -> throw new IllegalArgumentException(
+                table + "." + name + " is NOT NULL but not required by the model, and " + dialect.name() +
+                " has no known statement to relax it: drop the constraint by hand first");
+        };
+    }
+
+    private static String reportedType(Column column, CompiledDialect dialect) {
+        if (!dialect.supports(column.jdbcType())) {
+            throw new IllegalArgumentException(dialect.name() + " can't restate the type of " + column.name() +
+                                               " (" + column.jdbcType() + ") to relax its NOT NULL");
+        }
+        return dialect.columnType(column.jdbcType(), column.size(), column.size(), column.scale());
+    }
+
+    /**
+     * The Java default of a primitive as a literal of its column type
+     */
+    private static Optional<String> zero(JDBCType jdbcType, String columnType) {
+        if (NUMERIC.contains(jdbcType)) {
+            return Optional.of("0");
+        }
+        return switch (jdbcType) {
+            case BOOLEAN, BIT -> Optional.of(upper(columnType).contains("BOOL") ? "FALSE" : "0");
+            case CHAR, NCHAR, VARCHAR, NVARCHAR -> Optional.of("' '");
+            default -> Optional.empty();
+        };
+    }
+
+    private static String upper(String identifier) {
+        return identifier.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Table name by entity qualified name
+     */
+    private static Map<String, String> tableNames(List<EntityDefinition> entities) {
+        Map<String, String> tables = new HashMap<>(entities.size() * 4 / 3 + 1);
+        Set<String> used = new HashSet<>(entities.size() * 4 / 3 + 1);
+        for (EntityDefinition entity : entities) {
+            if (!used.add(entity.simpleName().toUpperCase())) {
+                throw new IllegalArgumentException("Duplicate table " + entity.simpleName() + " (" +
+                                                   entity.qualifiedName() + ")");
+            }
+            tables.put(entity.qualifiedName(), entity.simpleName());
+        }
+        return tables;
+    }
+
+    /**
+     * Preferred JDBC type of every non-entity property type, checked against the dialect up front
+     */
+    private static Map<String, ColumnType> columnTypes(TypeModel model, List<EntityDefinition> entities,
+                                                       Map<String, String> tables, CompiledDialect dialect) {
+        Map<String, ColumnType> types = new HashMap<>();
+        for (EntityDefinition entity : entities) {
+            for (PropertyDefinition property : entity.properties()) {
+                String typeName = property.typeName();
+                if (tables.containsKey(typeName) || types.containsKey(typeName)) {
+                    continue;
+                }
+                TypeSnapshot type = model.type(typeName).orElseThrow(() -> new IllegalArgumentException(
+                    "Unknown type " + typeName + " (not in TypeModel v" + model.version() + " nor generated)"));
+                JDBCType jdbcType = type.preferredJdbcType().orElseThrow(() -> new IllegalArgumentException(
+                    "Type " + typeName + " has no preferred JDBC type"));
+                if (!dialect.supports(jdbcType)) {
+                    throw new IllegalArgumentException(dialect.name() + " has no column type for " + jdbcType +
+                                                       " (" + entity.qualifiedName() + "." + property.name() + ")");
+                }
+                types.put(typeName, new ColumnType(jdbcType, PRIMITIVE.equals(type.kind())));
+            }
+        }
+        return types;
+    }
+
+    private static String createTable(int node, EntityDefinition entity, DependencyGraph.Levels levels,
+                                      Map<String, String> tables, Map<String, ColumnType> columnTypes,
+                                      CompiledDialect dialect) {
+        StringBuilder out = new StringBuilder(256);
+        out.append("CREATE TABLE ").append(entity.simpleName()).append(" (\n    id ");
+        dialect.render(out, JDBCType.BIGINT, 0, 0, 0).append(" NOT NULL");
+        List<String> foreignKeys = new ArrayList<>();
+        for (PropertyDefinition property : entity.properties()) {
+            String target = tables.get(property.typeName());
+            boolean notNull = property.required();
+            out.append(",\n    ");
+            if (target != null) {
+                out.append(CodeGenerator.joinColumn(property.name())).append(' ');
+                dialect.render(out, JDBCType.BIGINT, 0, 0, 0);
+                if (!levels.deferred(node, node(levels, property.typeName()))) {
+                    foreignKeys.add(foreignKey(entity.simpleName(), property.name(), target, dialect));
+                }
+            } else {
+                ColumnType type = columnTypes.get(property.typeName());
+                out.append(property.name()).append(' ');
+                dialect.render(out, type.jdbcType(), property.length(), 0, 0);
+                notNull |= type.notNull();
+            }
+            if (notNull) {
+                out.append(" NOT NULL");
+            }
+        }
+        out.append(",\n    PRIMARY KEY (id)");
+        for (String foreignKey : foreignKeys) {
+            out.append(",\n    ").append(foreignKey);
+        }
+        return out.append("\n)").toString();
+    }
+
+    private static String index(String table, String column, CompiledDialect dialect) {
+        return "CREATE INDEX " + identifier("idx_" + table + "_" + column, dialect) + " ON " + table + " (" + column + ")";
+    }
+
+    private static String foreignKey(String table, String property, String target, CompiledDialect dialect) {
+        return "CONSTRAINT " + identifier("fk_" + table + "_" + property, dialect) + " FOREIGN KEY (" +
+               CodeGenerator.joinColumn(property) + ") REFERENCES " + target + " (id)";
+    }
+
+    private static int node(DependencyGraph.Levels levels, String entityName) {
+        return levels.graph().indexOf(entityName).orElseThrow();
+    }
+
+    /**
+     * The name itself if the dialect allows it, otherwise a prefix plus 8 hex digits of its hash
+     */
+    static String identifier(String name, CompiledDialect dialect) {
+        if (dialect.fitsIdentifier(name)) {
+            return name;
+        }
+        String hash = String.format("%08x", name.hashCode());
+        int prefix = Math.max(1, dialect.maxIdentifierLength() - hash.length() - 1);
+        return name.substring(0, Math.min(prefix, name.length())) + "_" + hash;
+    }
+}
@@ -0,0 +1,226 @@
+package org.metaxava.codegen;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Template - A code template parsed into an executable node tree
+ *
+ * SYNTAX:
+ * - {{slot}}                       value from the model (see Slot)
+ * - {{#section}} ... {{/section}}  repeat body per import / entity import / property
+ * A section tag alone on its line removes that line (as in Mustache),
+ * so templates can read like the code they produce.
+ *
+ * TYPED SLOTS:
+ * Slot names resolve to enum constants at parse time, and each slot is
+ * checked against the section it appears in ({{type}} only inside
+ * {{#properties}}, {{import}} only inside {{#imports}}). A typo fails
+ * once, at startup, with IllegalArgumentException - not per file.
+ *
+ * RENDERING:
+ * Walks the node array and appends literals and pre-resolved values
+ * (PreparedModel). No string scanning, no map lookups, no type resolution.
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public final class Template {
+
+    /**
+     * Values a template can ask for, and the section each one needs
+     */
+    enum Slot {
+        PACKAGE("package", null),
+        CLASS_NAME("className", null),
+        RELEASE("release", null),
+        CLASS_ANNOTATIONS("classAnnotations", null),
+        COLLECTIONS("collections", null),
+        IMPORT("import", Section.IMPORTS),
+        ENTITY_IMPORT("entityImport", Section.ENTITY_IMPORTS),
+        NAME("name", Section.PROPERTIES),
+        TYPE("type", Section.PROPERTIES),
+        GETTER("getter", Section.PROPERTIES),
+        ANNOTATIONS("annotations", Section.PROPERTIES);
+
+        private final String key;
+        private final Section section;
+
+        Slot(String key, Section section) {
+            this.key = key;
+            this.section = section;
+        }
+    }
+
+    enum Section {
+        IMPORTS("imports"),
+        ENTITY_IMPORTS("entityImports"),
+        PROPERTIES("properties");
+
+        private final String key;
+
+        Section(String key) {
+            this.key = key;
+        }
+    }
+
+    private sealed interface Node permits Literal, SlotRef, Loop {
+    }
+
+    private record Literal(String text) implements Node {
+    }
+
+    private record SlotRef(Slot slot) implements Node {
+    }
+
+    private record Loop(Section section, Node[] body) implements Node {
+    }
+
+    private final String name;
+    private final Node[] nodes;
+
+    private Template(String name, Node[] nodes) {
+        this.name = name;
+        this.nodes = nodes;
+    }
+
+    // ========== Parsing ==========
+
+    /**
+     * Parse a template (once; TemplateCatalog caches the result)
+     *
+     * @throws IllegalArgumentException on unknown slots, misplaced slots or unbalanced sections
+     */
+    public static Template parse(String name, String text) {
+        Deque<List<Node>> bodies = new ArrayDeque<>();
+        Deque<Section> open = new ArrayDeque<>();
+        bodies.push(new ArrayList<>());
+
+        int from = 0;
+        int start;
+        while ((start = text.indexOf("{{", from)) >= 0) {
+            int end = text.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalArgumentException(name + ": unterminated tag at offset " + start);
+            }
+            String tag = text.substring(start + 2, end).trim();
+            int literalEnd = start;
+            int next = end + 2;
+            boolean sectionTag = tag.startsWith("#") || tag.startsWith("/");
+            int lineStart = text.lastIndexOf('\n', start - 1) + 1;
+            if (sectionTag && lineStart >= from && text.substring(lineStart, start).isBlank() &&
+                (next == text.length() || text.charAt(next) == '\n')) {
+                // Standalone section tag: the whole line disappears from the output
+                literalEnd = lineStart;
+                next = Math.min(next + 1, text.length());
+            }
+            if (literalEnd > from) {
+                bodies.peek().add(new Literal(text.substring(from, literalEnd)));
+            }
+            if (tag.startsWith("#")) {
+                Section section = section(name, tag.substring(1));
+                if (open.contains(section)) {
+                    throw new IllegalArgumentException(name + ": nested {{#" + section.key + "}}");
+                }
+                open.push(section);
+                bodies.push(new ArrayList<>());
+            } else if (tag.startsWith("/")) {
+                Section section = section(name, tag.substring(1));
+                if (open.isEmpty() || open.peek() != section) {
+                    throw new IllegalArgumentException(name + ": unexpected {{/" + section.key + "}}");
+                }
+                open.pop();
+                Node[] body = bodies.pop().toArray(new Node[0]);
+                bodies.peek().add(new Loop(section, body));
+            } else {
+                Slot slot = slot(name, tag);
+                if (slot.section != null && !open.contains(slot.section)) {
+                    throw new IllegalArgumentException(name + ": {{" + slot.key + "}} outside {{#" +
+                                                       slot.section.key + "}}");
+                }
+                bodies.peek().add(new SlotRef(slot));
+            }
+            from = next;
+        }
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException(name + ": unclosed {{#" + open.peek().key + "}}");
+        }
+        if (from < text.length()) {
+            bodies.peek().add(new Literal(text.substring(from)));
+        }
+        return new Template(name, bodies.pop().toArray(new Node[0]));
+    }
+
+    private static Slot slot(String template, String key) {
+        for (Slot slot : Slot.values()) {
+            if (slot.key.equals(key)) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException(template + ": unknown slot {{" + key + "}}");
+    }
+
+    private static Section section(String template, String key) {
+        for (Section section : Section.values()) {
+            if (section.key.equals(key)) {
+                return section;
+            }
+        }
+        throw new IllegalArgumentException(template + ": unknown section {{#" + key + "}}");
+    }
+
+    // ========== Rendering ==========
+
+    /**
+     * Append this template rendered for one entity
+     */
+    public void render(StringBuilder out, PreparedModel.Entity entity, JavaTarget target) {
+        render(nodes, out, entity, target, null, null);
+    }
+
+    private static void render(Node[] nodes, StringBuilder out, PreparedModel.Entity entity, JavaTarget target,
+                               PreparedModel.Property property, String importName) {
+        for (Node node : nodes) {
+            switch (node) {
+                case Literal literal -> out.append(literal.text());
+                case SlotRef ref -> {
+                    switch (ref.slot()) {
+                        case PACKAGE -> out.append(entity.packageName());
+                        case CLASS_NAME -> out.append(entity.simpleName());
+                        case RELEASE -> out.append(target.release());
+                        case CLASS_ANNOTATIONS -> out.append(entity.classAnnotations());
+                        case COLLECTIONS -> out.append(entity.collections());
+                        case IMPORT, ENTITY_IMPORT -> out.append(importName);
+                        case NAME -> out.append(property.name());
+                        case TYPE -> out.append(property.type());
+                        case GETTER -> out.append(property.getter());
+                        case ANNOTATIONS -> out.append(property.annotations());
+                    }
+                }
+                case Loop loop -> {
+                    if (loop.section() == Section.IMPORTS || loop.section() == Section.ENTITY_IMPORTS) {
+                        List<String> imports = loop.section() == Section.IMPORTS
+                            ? entity.imports() : entity.entityImports();
+                        for (String imported : imports) {
+                            render(loop.body(), out, entity, target, property, imported);
+                        }
+                    } else {
+                        for (PreparedModel.Property each : entity.properties()) {
+                            render(loop.body(), out, entity, target, each, importName);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "Template[" + name + ", " + nodes.length + " nodes]";
+    }
+}
@@ -0,0 +1,180 @@
+package org.metaxava.codegen;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TemplateCatalog - Compiled templates per Java target, parsed once
+ *
+ * FILES PER ENTITY:
+ * - <Name>.java        OpenXava JPA entity (same shape on every target),
+ *                      with collections and fetch mappings (FetchStrategy)
+ * - <Name>Summary.java read-only value view of the properties:
+ *                      record on Java 17+, final class with equals/hashCode on 8/11
+ *
+ * CACHING:
+ * All templates are parsed when this class initializes (MetaXava.main
+ * touches it at startup). Targets sharing a template text share the
+ * compiled Template instance. parses() counts Template.parse calls, so
+ * tests and GenerationBenchmark can prove generation never re-parses.
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+public final class TemplateCatalog {
+
+    /**
+     * Templates of one Java target
+     */
+    public record TargetTemplates(JavaTarget target, Template entity, Template summary) {
+    }
+
+    static final String ENTITY = """
+        package {{package}};
+
+        {{#entityImports}}
+        import {{entityImport}};
+        {{/entityImports}}
+        import javax.persistence.*;
+
+        import org.openxava.annotations.*;
+
+        import lombok.*;
+
+        /**
+         * {{className}} - Generated by MetaXava (Java {{release}})
+         */
+        @Entity
+        {{classAnnotations}}@Getter @Setter
+        public class {{className}} {
+
+            @Id
+            @GeneratedValue
+            @Hidden
+            private Long id;
+        {{#properties}}
+
+        {{annotations}}    private {{type}} {{name}};
+        {{/properties}}
+        {{collections}}}
+        """;
+
+    static final String SUMMARY_CLASS = """
+        package {{package}};
+
+        {{#imports}}
+        import {{import}};
+        {{/imports}}
+        import java.io.Serializable;
+        import java.util.Objects;
+
+        /**
+         * {{className}}Summary - Read-only view of {{className}}, generated by MetaXava (Java {{release}})
+         */
+        public final class {{className}}Summary implements Serializable {
+
+            private final Long id;
+        {{#properties}}
+            private final {{type}} {{name}};
+        {{/properties}}
+
+            public {{className}}Summary(Long id{{#properties}}, {{type}} {{name}}{{/properties}}) {
+                this.id = id;
+        {{#properties}}
+                this.{{name}} = {{name}};
+        {{/properties}}
+            }
+
+            public static {{className}}Summary of({{className}} entity) {
+                return new {{className}}Summary(entity.getId(){{#properties}}, entity.{{getter}}(){{/properties}});
+            }
+
+            public Long getId() {
+                return id;
+            }
+        {{#properties}}
+
+            public {{type}} {{getter}}() {
+                return {{name}};
+            }
+        {{/properties}}
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) return true;
+                if (!(o instanceof {{className}}Summary)) return false;
+                {{className}}Summary other = ({{className}}Summary) o;
+                return Objects.equals(id, other.id){{#properties}}
+                    && Objects.equals({{name}}, other.{{name}}){{/properties}};
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(id{{#properties}}, {{name}}{{/properties}});
+            }
+        }
+        """;
+
+    static final String SUMMARY_RECORD = """
+        package {{package}};
+
+        {{#imports}}
+        import {{import}};
+        {{/imports}}
+        import java.io.Serializable;
+
+        /**
+         * {{className}}Summary - Read-only view of {{className}}, generated by MetaXava (Java {{release}})
+         */
+        public record {{className}}Summary(Long id{{#properties}}, {{type}} {{name}}{{/properties}})
+                implements Serializable {
+
+            public static {{className}}Summary of({{className}} entity) {
+                return new {{className}}Summary(entity.getId(){{#properties}}, entity.{{getter}}(){{/properties}});
+            }
+        }
+        """;
+
+    private static final AtomicInteger PARSES = new AtomicInteger();
+    private static final Map<JavaTarget, TargetTemplates> TEMPLATES = compileAll();
+
+    private TemplateCatalog() {
+    }
+
+    private static Map<JavaTarget, TargetTemplates> compileAll() {
+        Map<String, Template> compiled = new IdentityHashMap<>();   // one parse per template text
+        Map<JavaTarget, TargetTemplates> templates = new EnumMap<>(JavaTarget.class);
+        for (JavaTarget target : JavaTarget.values()) {
+            Template entity = compiled.computeIfAbsent(ENTITY, text -> parse("Entity", text));
+            Template summary = target.supportsRecords()
+                ? compiled.computeIfAbsent(SUMMARY_RECORD, text -> parse("SummaryRecord", text))
+                : compiled.computeIfAbsent(SUMMARY_CLASS, text -> parse("SummaryClass", text));
+            templates.put(target, new TargetTemplates(target, entity, summary));
+        }
+        return templates;
+    }
+
+    private static Template parse(String name, String text) {
+        PARSES.incrementAndGet();
+        return Template.parse(name, text);
+    }
+
+    public static TargetTemplates forTarget(JavaTarget target) {
+        return TEMPLATES.get(target);
+    }
+
+    /**
+     * Template.parse calls made by the catalog since startup
+     */
+    public static int parses() {
+        return PARSES.get();
+    }
+
+    /**
+     * Force initialization (parse everything at startup, not on first generation)
+     */
+    public static int preload() {
+        return TEMPLATES.size();
+    }
+}
@@ -0,0 +1,92 @@
+package org.metaxava.codegen;
+
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * TypeResolver - Resolve property type names once per generation model
+ *
+ * Each distinct type name is looked up in the TypeModel (or among the
+ * entities being generated) the first time it is seen; every later
+ * property of that type reuses the cached Resolved value.
+ *
+ * Not thread-safe: one resolver per CodeGenerator.prepare() call.
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+final class TypeResolver {
+
+    private static final String PRIMITIVE = "PRIMITIVE";
+
+    private static final Set<JDBCType> LENGTH_TYPES = Set.of(
+        JDBCType.VARCHAR, JDBCType.CHAR, JDBCType.NVARCHAR, JDBCType.NCHAR, JDBCType.VARBINARY);
+
+    /**
+     * @param packageName Empty for primitives
+     * @param entity      A generated entity (mapped as @ManyToOne)
+     * @param hasLength   Preferred JDBC type takes a length (@Column(length = n) applies)
+     */
+    record Resolved(String qualifiedName, String packageName, String simpleName,
+                    boolean primitive, boolean entity, boolean hasLength) {
+
+        boolean needsImportFrom(String fromPackage) {
+            return !primitive && !"java.lang".equals(packageName) && !packageName.equals(fromPackage);
+        }
+    }
+
+    private final TypeModel model;
+    private final Map<String, EntityDefinition> entities;
+    private final Map<String, Resolved> cache = new HashMap<>();
+
+    TypeResolver(TypeModel model, Collection<EntityDefinition> entities) {
+        this.model = model;
+        this.entities = new HashMap<>(entities.size() * 4 / 3 + 1);
+        for (EntityDefinition entity : entities) {
+            if (this.entities.putIfAbsent(entity.qualifiedName(), entity) != null) {
+                throw new IllegalArgumentException("Duplicate entity " + entity.qualifiedName());
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the name is neither a model type nor a generated entity
+     */
+    Resolved resolve(String typeName) {
+        Resolved resolved = cache.get(typeName);
+        if (resolved == null) {
+            resolved = lookup(typeName);
+            cache.put(typeName, resolved);
+        }
+        return resolved;
+    }
+
+    int resolvedTypes() {
+        return cache.size();
+    }
+
+    private Resolved lookup(String typeName) {
+        EntityDefinition entity = entities.get(typeName);
+        if (entity != null) {
+            return new Resolved(typeName, entity.packageName(), entity.simpleName(), false, true, false);
+        }
+        Optional<TypeSnapshot> found = model.type(typeName);
+        if (found.isEmpty()) {
+            throw new IllegalArgumentException("Unknown type " + typeName +
+                                               " (not in TypeModel v" + model.version() + " nor generated)");
+        }
+        TypeSnapshot type = found.get();
+        boolean hasLength = type.preferredJdbcType().map(LENGTH_TYPES::contains).orElse(false);
+        if (PRIMITIVE.equals(type.kind())) {
+            return new Resolved(typeName, "", typeName, true, false, hasLength);
+        }
+        return new Resolved(typeName, type.packageName().orElse(""), type.simpleName().orElse(typeName),
+                            false, false, hasLength);
+    }
+}
@@ -0,0 +1,75 @@
+package org.metaxava.deploy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * GenerationClassLoader - The classes of one hot-deployed generation
+ *
+ * Defines the compiled bytes it was given and nothing else; everything
+ * else (OpenXava, javax.persistence, the JDK) comes from the parent, the
+ * webapp loader. Its own classes are loaded child-first, so a generation
+ * never picks up a same-named class of the parent or of an older
+ * generation. Once the generation's EntityManagerFactory is closed and no
+ * request holds it, the loader and all its classes can be collected.
+ *
+ * Class files are also served as resources (getResourceAsStream), for
+ * providers that read bytes to enhance or scan them.
+ *
+ * @author MetaXava Hot Deploy Session 2026-10-19
+ */
+final class GenerationClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final Map<String, byte[]> classes;
+
+    GenerationClassLoader(String name, Map<String, byte[]> classes, ClassLoader parent) {
+        super(name, parent);
+        this.classes = Map.copyOf(classes);
+    }
+
+    Map<String, byte[]> classes() {
+        return classes;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!classes.containsKey(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                loaded = findClass(name);
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classes.get(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        if (name.endsWith(".class")) {
+            byte[] bytes = classes.get(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+            if (bytes != null) {
+                return new ByteArrayInputStream(bytes);
+            }
+        }
+        return super.getResourceAsStream(name);
+    }
+}
@@ -0,0 +1,122 @@
+package org.metaxava.deploy;
+
+import javax.persistence.SharedCacheMode;
+import javax.persistence.ValidationMode;
+import javax.persistence.spi.ClassTransformer;
+import javax.persistence.spi.PersistenceUnitInfo;
+import javax.persistence.spi.PersistenceUnitTransactionType;
+import javax.sql.DataSource;
+import java.net.URL;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * GenerationUnit - The persistence unit of one generation, without persistence.xml
+ *
+ * The managed classes are the generated entities, listed explicitly
+ * (excludeUnlistedClasses, nothing to scan), loaded by the generation's
+ * class loader. Connections come from the given DataSource (non-JTA).
+ *
+ * @author MetaXava Hot Deploy Session 2026-10-19
+ */
+final class GenerationUnit implements PersistenceUnitInfo {
+
+    static final String PROVIDER = "org.hibernate.jpa.HibernatePersistenceProvider";
+
+    private final String name;
+    private final List<String> managedClasses;
+    private final GenerationClassLoader loader;
+    private final DataSource dataSource;
+
+    GenerationUnit(String name, List<String> managedClasses, GenerationClassLoader loader, DataSource dataSource) {
+        this.name = name;
+        this.managedClasses = List.copyOf(managedClasses);
+        this.loader = loader;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public String getPersistenceUnitName() {
+        return name;
+    }
+
+    @Override
+    public String getPersistenceProviderClassName() {
+        return PROVIDER;
+    }
+
+    @Override
+    public PersistenceUnitTransactionType getTransactionType() {
+        return PersistenceUnitTransactionType.RESOURCE_LOCAL;
+    }
+
+    @Override
+    public DataSource getJtaDataSource() {
+        return null;  // PersistenceUnitInfo contract: null when not JTA
+    }
+
+    @Override
+    public DataSource getNonJtaDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public List<String> getMappingFileNames() {
+        return List.of();
+    }
+
+    @Override
+    public List<URL> getJarFileUrls() {
+        return List.of();
+    }
+
+    @Override
+    public URL getPersistenceUnitRootUrl() {
+        return null;  // No archive: the classes exist only in memory
+    }
+
+    @Override
+    public List<String> getManagedClassNames() {
+        return managedClasses;
+    }
+
+    @Override
+    public boolean excludeUnlistedClasses() {
+        return true;
+    }
+
+    @Override
+    public SharedCacheMode getSharedCacheMode() {
+        return SharedCacheMode.NONE;
+    }
+
+    @Override
+    public ValidationMode getValidationMode() {
+        return ValidationMode.NONE;
+    }
+
+    @Override
+    public Properties getProperties() {
+        return new Properties();
+    }
+
+    @Override
+    public String getPersistenceXMLSchemaVersion() {
+        return "2.2";
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return loader;
+    }
+
+    @Override
+    public void addTransformer(ClassTransformer transformer) {
+        // Classes are defined once, from compiled bytes: no load-time weaving
+    }
+
+    @Override
+    public ClassLoader getNewTempClassLoader() {
+        return new GenerationClassLoader(loader.getName() + "-temp", loader.classes(), loader.getParent());
+    }
+}
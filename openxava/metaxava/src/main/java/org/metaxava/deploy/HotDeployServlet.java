@@ -0,0 +1,187 @@
+package org.metaxava.deploy;
+
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.ModelText;
+import org.metaxava.dialect.DialectCatalog;
+import org.metaxava.registry.TypeModel;
+import org.openxava.jpa.XPersistence;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.persistence.EntityManager;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * HotDeployServlet - Deploy a model into the running server, no restart
+ *
+ * Mapped to /deploy/* in web.xml. Like /metrics, only loopback clients are
+ * served: the endpoint bypasses OpenXava's login.
+ *
+ *   curl -s --data-binary @sales.model 'http://localhost:8080/metaxava/deploy/sales?target=21'
+ *   curl -s http://localhost:8080/metaxava/deploy/sales     # current generation, rows per entity
+ *   curl -s http://localhost:8080/metaxava/deploy           # every deployment
+ *
+ * POST: the body is the model as ModelText (as for /project). Each name
+ * after /deploy/ is its own HotDeployment, in the database schema of that
+ * name of MetaXava's data source (jdbc/metaxavaDS). The answer is the
+ * deployment report: 200 deployed, 422 compile errors (the previous
+ * generation keeps serving), 400 invalid model.
+ *
+ * PARAMETERS (POST):
+ *   target=21        Java release the sources are compiled for
+ *   dialect=H2       renders the schema delta on a deployment's first POST
+ *                    (H2's DDL is what MetaXava's HSQLDB accepts)
+ *
+ * @author MetaXava Hot Deploy Session 2026-10-19
+ */
+public class HotDeployServlet extends HttpServlet {
+
+    private static final int MAX_MODEL_CHARS = 8 * 1024 * 1024;
+    private static final String DATA_SOURCE = "java:comp/env/jdbc/metaxavaDS";
+
+    private final Map<String, HotDeployment> deployments = new TreeMap<>();
+    private DataSource dataSource;
+
+    @Override
+    public void init() throws ServletException {
+        try {
+            dataSource = (DataSource) new InitialContext().lookup(DATA_SOURCE);
+        } catch (NamingException e) {
+            throw new ServletException("No data source " + DATA_SOURCE, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (deployments) {
+            deployments.values().forEach(HotDeployment::close);
+            deployments.clear();
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!local(request, response)) {
+            return;
+        }
+        StringBuilder out = new StringBuilder();
+        Optional<String> name = name(request);
+        if (name.isEmpty()) {
+            synchronized (deployments) {
+                deployments.forEach((app, deployment) -> out.append(app).append('\t').append(
+                    deployment.current().map(Object::toString).orElse("nothing deployed")).append('\n'));
+            }
+        } else {
+            Optional<HotDeployment> deployment = deployment(name.get());
+            if (deployment.isEmpty() || deployment.get().current().isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, "Nothing deployed as " + name.get());
+                return;
+            }
+            try (HotDeployment.Lease lease = deployment.get().lease()) {
+                out.append(lease.generation()).append('\n');
+                for (EntityDefinition entity : lease.generation().entities()) {
+                    long rows = lease.entityManager()
+                                     .createQuery("SELECT COUNT(e) FROM " + entity.simpleName() + " e", Long.class)
+                                     .getSingleResult();
+                    out.append(entity.qualifiedName()).append('\t').append(rows).append('\n');
+                }
+            }
+        }
+        response.setContentType("text/plain; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(out.toString());
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!local(request, response)) {
+            return;
+        }
+        Optional<String> name = name(request);
+        if (name.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "POST to /deploy/<name>");
+            return;
+        }
+        request.setCharacterEncoding("UTF-8");
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        for (int n = request.getReader().read(buffer); n >= 0; n = request.getReader().read(buffer)) {
+            text.append(buffer, 0, n);
+            if (text.length() > MAX_MODEL_CHARS) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Model text over 8M characters");
+                return;
+            }
+        }
+
+        HotDeployment.Deployment report;
+        try {
+            List<EntityDefinition> entities = ModelText.parse(new StringReader(text.toString()));
+            if (entities.isEmpty()) {
+                throw new IllegalArgumentException("The model has no entities");
+            }
+            JavaTarget target = JavaTarget.of(Integer.parseInt(parameter(request, "target", "21")));
+            TypeModel types;
+            EntityManager em = XPersistence.createManager();
+            try {
+                types = TypeModel.load(em);
+            } finally {
+                em.close();
+            }
+            HotDeployment deployment;
+            synchronized (deployments) {
+                deployment = deployments.get(name.get());
+                if (deployment == null) {
+                    deployment = new HotDeployment(dataSource, name.get(),
+                                                   DialectCatalog.builtIn().require(parameter(request, "dialect", "H2")),
+                                                   getClass().getClassLoader(), HotDeployment.jpa());
+                    deployments.put(name.get(), deployment);
+                }
+            }
+            report = deployment.deploy(types, entities, target);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        response.setStatus(report.deployed() ? HttpServletResponse.SC_OK : 422);
+        response.setContentType("text/plain; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(report.toString());
+    }
+
+    private Optional<HotDeployment> deployment(String name) {
+        synchronized (deployments) {
+            return Optional.ofNullable(deployments.get(name));
+        }
+    }
+
+    private static Optional<String> name(HttpServletRequest request) {
+        String path = request.getPathInfo();
+        return path == null || path.length() < 2 ? Optional.empty() : Optional.of(path.substring(1));
+    }
+
+    private static String parameter(HttpServletRequest request, String name, String defaultValue) {
+        String value = request.getParameter(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private static boolean local(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Deployments are only served to localhost");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,507 @@
+package org.metaxava.deploy;
+
+import org.metaxava.codegen.CompileCheck;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.SchemaGenerator;
+import org.metaxava.dialect.CompiledDialect;
+import org.metaxava.registry.TypeModel;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.spi.PersistenceProvider;
+import javax.persistence.spi.PersistenceProviderResolverHolder;
+import javax.persistence.spi.PersistenceUnitInfo;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * HotDeployment - Regenerated entities swapped into the running server
+ *
+ * WHY:
+ * Iterating on a model meant generating a project, building it and
+ * (re)starting AppServer: minutes per change. This keeps the server up and
+ * replaces only what the model determines: the entity classes, their
+ * EntityManagerFactory and their tables.
+ *
+ * DEPLOY (one at a time; requests keep being served meanwhile):
+ * 1. Generate and compile in memory (CompileCheck.compile). Compile errors
+ *    end the deploy here: nothing else changed, the report says why
+ * 2. Define the classes in a fresh GenerationClassLoader (child of the
+ *    webapp loader): no class of an older generation is ever reused
+ * 3. Build the EntityManagerFactory for exactly those classes, through the
+ *    JPA provider SPI (no persistence.xml, no scanning)
+ * 4. Apply the schema delta in place (SchemaGenerator.delta against the
+ *    live tables of the deployment's schema): additions, and NOT NULL
+ *    relaxed where the model dropped it; data kept
+ * 5. Swap: the new generation becomes current atomically
+ *
+ * SWAP:
+ * Requests take a Lease on the current generation. An old generation is
+ * retired at the swap but its EntityManagerFactory is only closed when its
+ * last lease is closed: a request never sees its factory closed under it,
+ * and a request started after the swap always gets the new one.
+ *
+ * SCHEMA:
+ * Each deployment owns a database schema, never the data source's own one
+ * (nor PUBLIC or a system schema), created on first deploy. Every deploy
+ * creates hibernate_sequence (what @GeneratedValue ids use) if the schema
+ * lacks it, also when the schema was made outside MetaXava. Hibernate itself
+ * never changes the schema (action none): what was applied is exactly the
+ * reported delta. Statements are not transactional on most databases: a
+ * failing statement leaves the earlier (additive) ones in place. The DDL
+ * runs on a pooled connection switched to the deployment's schema, and
+ * switched back before it returns to the pool.
+ *
+ * USAGE:
+ *   HotDeployment deployment = new HotDeployment(dataSource, "SALES", h2, webappLoader, HotDeployment.jpa());
+ *   System.out.println(deployment.deploy(types, entities, JavaTarget.JAVA_21));
+ *   try (HotDeployment.Lease lease = deployment.lease()) {
+ *       lease.entityManager().createQuery("SELECT i FROM Invoice i").getResultList();
+ *   }
+ *
+ * @author MetaXava Hot Deploy Session 2026-10-19
+ */
+public final class HotDeployment implements AutoCloseable {
+
+    private static final String SEQUENCE = "hibernate_sequence";
+    private static final Pattern SCHEMA = Pattern.compile("[A-Za-z][A-Za-z0-9_]{0,62}");
+
+    // Default and system schemas of the supported databases: never a deployment's
+    private static final Set<String> RESERVED = Set.of(
+        "PUBLIC", "INFORMATION_SCHEMA", "SYSTEM_LOBS", "SYS", "SYSTEM", "DBO", "PG_CATALOG");
+
+    /**
+     * Builds a generation's EntityManagerFactory (jpa() in production; tests substitute it)
+     */
+    @FunctionalInterface
+    public interface Factories {
+        EntityManagerFactory create(PersistenceUnitInfo unit, Map<String, Object> properties);
+    }
+
+    /**
+     * One deployed version of the model: its classes and their EntityManagerFactory
+     */
+    public static final class Generation {
+
+        private final long version;
+        private final List<EntityDefinition> entities;
+        private final GenerationClassLoader loader;
+        private final EntityManagerFactory factory;
+        private final Instant deployedAt = Instant.now();
+        private final AtomicInteger holds = new AtomicInteger(1);  // 1 while current, +1 per lease
+
+        private Generation(long version, List<EntityDefinition> entities, GenerationClassLoader loader,
+                           EntityManagerFactory factory) {
+            this.version = version;
+            this.entities = List.copyOf(entities);
+            this.loader = loader;
+            this.factory = factory;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public List<EntityDefinition> entities() {
+            return entities;
+        }
+
+        public ClassLoader classLoader() {
+            return loader;
+        }
+
+        public Instant deployedAt() {
+            return deployedAt;
+        }
+
+        /**
+         * Retired and without leases: the factory is closed
+         */
+        public boolean isClosed() {
+            return holds.get() == 0;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the generation has no such class
+         */
+        public Class<?> entityClass(String qualifiedName) {
+            if (!loader.classes().containsKey(qualifiedName)) {
+                throw new IllegalArgumentException("Generation " + version + " has no class " + qualifiedName);
+            }
+            try {
+                return loader.loadClass(qualifiedName);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private boolean hold() {
+            for (int n = holds.get(); n > 0; n = holds.get()) {
+                if (holds.compareAndSet(n, n + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void release() {
+            if (holds.decrementAndGet() == 0) {
+                factory.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "v" + version + " (" + entities.size() + " entities, " + loader.classes().size() +
+                   " classes, deployed " + deployedAt + ")";
+        }
+    }
+
+    /**
+     * A request's hold on one generation; close it when the request ends
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final Generation generation;
+        private Optional<EntityManager> entityManager = Optional.empty();
+        private boolean closed;
+
+        private Lease(Generation generation) {
+            this.generation = generation;
+        }
+
+        public Generation generation() {
+            return generation;
+        }
+
+        /**
+         * The lease's EntityManager, created on first use and closed with the lease
+         */
+        public EntityManager entityManager() {
+            if (closed) {
+                throw new IllegalStateException("Lease closed");
+            }
+            if (entityManager.isEmpty()) {
+                entityManager = Optional.of(generation.factory.createEntityManager());
+            }
+            return entityManager.get();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                entityManager.ifPresent(EntityManager::close);
+                generation.release();
+            }
+        }
+    }
+
+    /**
+     * @param version Current version after the deploy (unchanged if it failed to compile)
+     * @param schema  The applied delta; empty if the sources didn't compile
+     */
+    public record Deployment(long version, CompileCheck.Report compile, Optional<SchemaGenerator.Delta> schema,
+                             long millis) {
+
+        public boolean deployed() {
+            return compile.ok();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append(deployed() ? "✓ Deployed v" + version : "✗ Not deployed, still v" + version)
+               .append(" (").append(millis).append(" ms)\n");
+            out.append("  ").append(compile).append('\n');
+            for (CompileCheck.Problem error : compile.errors()) {
+                out.append("    ").append(error.toString().replace("\n", "\n      ")).append('\n');
+            }
+            schema.ifPresent(delta -> {
+                out.append("  ").append(delta.statements().size()).append(" schema statements\n");
+                delta.statements().forEach(sql -> out.append("    ").append(sql.replace("\n", " ")).append('\n'));
+                delta.notes().forEach(note -> out.append("    note: ").append(note).append('\n'));
+            });
+            return out.toString();
+        }
+    }
+
+    private final DataSource dataSource;
+    private final String schema;
+    private final CompiledDialect dialect;
+    private final ClassLoader parent;
+    private final String classPath;
+    private final Factories factories;
+    private final AtomicReference<Optional<Generation>> current = new AtomicReference<>(Optional.empty());
+    private long versions;
+
+    /**
+     * @param schema  Database schema the deployment owns ([A-Za-z][A-Za-z0-9_]*)
+     * @param dialect Renders the schema delta's column types
+     * @param parent  Loader of the generated classes' dependencies, e.g. the webapp's
+     */
+    public HotDeployment(DataSource dataSource, String schema, CompiledDialect dialect, ClassLoader parent,
+                         Factories factories) {
+        if (!SCHEMA.matcher(schema).matches()) {
+            throw new IllegalArgumentException("Invalid schema name '" + schema + "'");
+        }
+        if (RESERVED.contains(schema.toUpperCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Schema " + schema + " is reserved for the database");
+        }
+        this.dataSource = dataSource;
+        this.schema = schema;
+        this.dialect = dialect;
+        this.parent = parent;
+        this.classPath = CompileCheck.classPath(parent);
+        this.factories = factories;
+    }
+
+    /**
+     * The JPA provider the classpath registers as org.hibernate.jpa.HibernatePersistenceProvider
+     */
+    public static Factories jpa() {
+        return (unit, properties) -> {
+            for (PersistenceProvider provider :
+                     PersistenceProviderResolverHolder.getPersistenceProviderResolver().getPersistenceProviders()) {
+                if (provider.getClass().getName().equals(unit.getPersistenceProviderClassName())) {
+                    return provider.createContainerEntityManagerFactory(unit, properties);
+                }
+            }
+            throw new IllegalStateException("No JPA provider " + unit.getPersistenceProviderClassName());
+        };
+    }
+
+    public String schema() {
+        return schema;
+    }
+
+    public Optional<Generation> current() {
+        return current.get();
+    }
+
+    /**
+     * Hold the current generation until the lease is closed
+     *
+     * @throws IllegalStateException if nothing is deployed
+     */
+    public Lease lease() {
+        while (true) {
+            Generation generation = current.get().orElseThrow(
+                () -> new IllegalStateException("Nothing deployed in " + schema));
+            if (generation.hold()) {
+                return new Lease(generation);
+            }
+            // Retired between get() and hold(): its successor is already current
+        }
+    }
+
+    /**
+     * Compile, load, migrate and swap in the model
+     *
+     * @throws IllegalArgumentException on an invalid model, or if the schema is the data source's own
+     *                                  (nothing changed)
+     * @throws IllegalStateException    if the factory can't be built or a schema statement fails;
+     *                                  the current generation keeps serving
+     */
+    public synchronized Deployment deploy(TypeModel types, List<EntityDefinition> entities, JavaTarget target) {
+        long start = System.nanoTime();
+        long live = current.get().map(Generation::version).orElse(0L);
+        CompileCheck.Compilation compilation = CompileCheck.compile(
+            types, entities, target, classPath, Runtime.getRuntime().availableProcessors());
+        if (!compilation.report().ok()) {
+            return new Deployment(live, compilation.report(), Optional.empty(), millisSince(start));
+        }
+
+        long version = ++versions;
+        GenerationClassLoader loader = new GenerationClassLoader(
+            "metaxava-" + schema.toLowerCase(Locale.ROOT) + "-v" + version, compilation.classes(), parent);
+        EntityManagerFactory factory = factory(version, entities, loader);
+        SchemaGenerator.Delta delta;
+        try {
+            delta = migrate(types, entities);
+        } catch (RuntimeException e) {
+            factory.close();
+            throw e;
+        }
+
+        Optional<Generation> previous = current.getAndSet(
+            Optional.of(new Generation(version, entities, loader, factory)));
+        previous.ifPresent(Generation::release);
+        return new Deployment(version, compilation.report(), Optional.of(delta), millisSince(start));
+    }
+
+    /**
+     * Retire the current generation (closed once its leases are)
+     */
+    @Override
+    public void close() {
+        current.getAndSet(Optional.empty()).ifPresent(Generation::release);
+    }
+
+    private EntityManagerFactory factory(long version, List<EntityDefinition> entities, GenerationClassLoader loader) {
+        List<String> managed = new ArrayList<>(entities.size());
+        for (EntityDefinition entity : entities) {
+            managed.add(entity.qualifiedName());
+        }
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("javax.persistence.schema-generation.database.action", "none");
+        properties.put("hibernate.hbm2ddl.auto", "none");
+        properties.put("hibernate.archive.autodetection", "none");
+        properties.put("hibernate.default_schema", schema);
+        properties.put("hibernate.classLoaders", List.of(loader));
+
+        GenerationUnit unit = new GenerationUnit(loader.getName(), managed, loader, dataSource);
+        Thread thread = Thread.currentThread();
+        ClassLoader context = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            return factories.create(unit, properties);
+        } finally {
+            thread.setContextClassLoader(context);
+        }
+    }
+
+    private SchemaGenerator.Delta migrate(TypeModel types, List<EntityDefinition> entities) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String stored = stored(metaData, schema);
+            String original = connection.getSchema();
+            if (stored.equalsIgnoreCase(original)) {
+                throw new IllegalArgumentException("Schema " + schema + " is the data source's own schema");
+            }
+            boolean exists;
+            try (ResultSet schemas = metaData.getSchemas(null, stored)) {
+                exists = schemas.next();
+            }
+            if (!exists) {
+                statement.execute("CREATE SCHEMA " + schema);
+            }
+            // The connection is pooled: it must go back in the schema it came out with
+            connection.setSchema(stored);
+            try {
+                if (!sequenceExists(connection, stored, stored(metaData, SEQUENCE))) {
+                    statement.execute("CREATE SEQUENCE " + SEQUENCE + " START WITH 1 INCREMENT BY 1");
+                }
+                SchemaGenerator.Delta delta = SchemaGenerator.delta(types, entities, columns(metaData, stored), dialect);
+                for (String sql : delta.statements()) {
+                    try {
+                        statement.execute(sql);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Schema delta failed at: " + sql + ": " + e.getMessage(), e);
+                    }
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                return delta;
+            } finally {
+                connection.setSchema(original);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema " + schema + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Columns by table name in the schema, as the database stores and types them
+     */
+    private static Map<String, List<SchemaGenerator.Column>> columns(DatabaseMetaData metaData, String schema)
+            throws SQLException {
+        Map<String, List<SchemaGenerator.Column>> tables = new HashMap<>();
+        try (ResultSet rows = metaData.getTables(null, schema, "%", new String[] {"TABLE", "BASE TABLE"})) {
+            while (rows.next()) {
+                tables.put(rows.getString("TABLE_NAME"), new ArrayList<>());
+            }
+        }
+        try (ResultSet rows = metaData.getColumns(null, schema, "%", "%")) {
+            while (rows.next()) {
+                List<SchemaGenerator.Column> columns = tables.get(rows.getString("TABLE_NAME"));
+                if (columns != null) {
+                    columns.add(new SchemaGenerator.Column(rows.getString("COLUMN_NAME"), jdbcType(rows.getInt("DATA_TYPE")),
+                                                           rows.getInt("COLUMN_SIZE"), rows.getInt("DECIMAL_DIGITS"),
+                                                           rows.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static JDBCType jdbcType(int dataType) {
+        try {
+            return JDBCType.valueOf(dataType);
+        } catch (IllegalArgumentException e) {
+            return JDBCType.OTHER;  // vendor type code
+        }
+    }
+
+    /**
+     * Whether the schema has the sequence: the SEQUENCE table type where the driver reports it,
+     * otherwise INFORMATION_SCHEMA.SEQUENCES (HSQLDB, H2, PostgreSQL, SQL Server), then Oracle's ALL_SEQUENCES
+     */
+    private static boolean sequenceExists(Connection connection, String schema, String sequence) throws SQLException {
+        try (ResultSet rows = connection.getMetaData().getTables(null, schema, sequence, new String[] {"SEQUENCE"})) {
+            if (rows.next()) {
+                return true;
+            }
+        }
+        SQLException missing;
+        try {
+            return exists(connection, "SELECT 1 FROM INFORMATION_SCHEMA.SEQUENCES " +
+                                      "WHERE SEQUENCE_SCHEMA = ? AND SEQUENCE_NAME = ?", schema, sequence);
+        } catch (SQLException e) {
+            missing = e;
+        }
+        try {
+            return exists(connection, "SELECT 1 FROM ALL_SEQUENCES WHERE SEQUENCE_OWNER = ? AND SEQUENCE_NAME = ?",
+                          schema, sequence);
+        } catch (SQLException e) {
+            e.addSuppressed(missing);
+            throw e;
+        }
+    }
+
+    private static boolean exists(Connection connection, String sql, String... parameters) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                query.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet rows = query.executeQuery()) {
+                return rows.next();
+            }
+        }
+    }
+
+    /**
+     * An unquoted identifier as the database folds it
+     */
+    private static String stored(DatabaseMetaData metaData, String identifier) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? identifier.toLowerCase(Locale.ROOT) : identifier;
+    }
+
+    private static long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
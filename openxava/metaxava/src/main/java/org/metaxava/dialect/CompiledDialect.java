@@ -0,0 +1,223 @@
+package org.metaxava.dialect;
+
+import org.metaxava.model.OXDBType;
+
+import java.sql.JDBCType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * CompiledDialect - An OXDBType compiled into lookup tables
+ *
+ * DESIGN:
+ * - EnumMap<JDBCType, Renderer>: rendering a column type is an array
+ *   index plus appends (EnumMap is ordinal-indexed)
+ * - Size limits are folded into the renderers at compile time:
+ *   VARCHAR over the limit delegates to the CLOB renderer, VARBINARY to
+ *   BLOB; oversized CHAR/NUMERIC/DECIMAL throw IllegalArgumentException
+ * - Immutable and detached from JPA: safe to share across threads and
+ *   to keep after the EntityManager that loaded the OXDBType is closed
+ *
+ * DEFAULTS (same as JPA @Column / Hibernate):
+ * length <= 0 → 255; precision <= 0 → (19, 2)
+ *
+ * @author MetaXava Dialect Catalog Session 2026-10-19
+ */
+public final class CompiledDialect {
+
+    public static final int DEFAULT_LENGTH = 255;
+    public static final int DEFAULT_PRECISION = 19;
+    public static final int DEFAULT_SCALE = 2;
+
+    private final String name;
+    private final String hibernateDialect;
+    private final EnumMap<JDBCType, Renderer> renderers = new EnumMap<>(JDBCType.class);
+    private final int maxVarcharLength;
+    private final int maxCharLength;
+    private final int maxVarbinaryLength;
+    private final int maxNumericPrecision;
+    private final int maxIdentifierLength;
+    private final String bulkLoadTemplate;
+    private final String batchRewriteProperty;
+    private final int maxBindParameters;
+    private final boolean supportsMultiRowInsert;
+
+    private CompiledDialect(OXDBType source) {
+        this.name = source.getName();
+        this.hibernateDialect = source.getHibernateDialect();
+        this.maxVarcharLength = source.getMaxVarcharLength();
+        this.maxCharLength = source.getMaxCharLength();
+        this.maxVarbinaryLength = source.getMaxVarbinaryLength();
+        this.maxNumericPrecision = source.getMaxNumericPrecision();
+        this.maxIdentifierLength = source.getMaxIdentifierLength();
+        this.bulkLoadTemplate = source.getBulkLoadTemplate();
+        this.batchRewriteProperty = source.getBatchRewriteProperty();
+        this.maxBindParameters = source.getMaxBindParameters();
+        this.supportsMultiRowInsert = source.isSupportsMultiRowInsert();
+
+        for (Map.Entry<JDBCType, String> entry : source.getTypeTemplates().entrySet()) {
+            renderers.put(entry.getKey(), Renderer.compile(entry.getValue()));
+        }
+        foldLimits();
+    }
+
+    /**
+     * Compile a dialect (templates parsed here, once)
+     *
+     * @throws IllegalArgumentException if a template is malformed
+     */
+    public static CompiledDialect compile(OXDBType source) {
+        return new CompiledDialect(source);
+    }
+
+    private void foldLimits() {
+        Renderer clob = renderers.get(JDBCType.CLOB);
+        Renderer blob = renderers.get(JDBCType.BLOB);
+        overflow(JDBCType.VARCHAR, maxVarcharLength, clob);
+        overflow(JDBCType.VARBINARY, maxVarbinaryLength, blob);
+        overflow(JDBCType.CHAR, maxCharLength, null);
+        limitPrecision(JDBCType.NUMERIC);
+        limitPrecision(JDBCType.DECIMAL);
+    }
+
+    private void overflow(JDBCType jdbcType, int maxLength, Renderer large) {
+        Renderer base = renderers.get(jdbcType);
+        if (base == null) {
+            return;
+        }
+        renderers.put(jdbcType, (out, length, precision, scale) -> {
+            if (length <= maxLength) {
+                base.render(out, length, precision, scale);
+            } else if (large != null) {
+                large.render(out, length, precision, scale);
+            } else {
+                throw new IllegalArgumentException(name + " " + jdbcType + " length " + length +
+                                                   " exceeds " + maxLength);
+            }
+        });
+    }
+
+    private void limitPrecision(JDBCType jdbcType) {
+        Renderer base = renderers.get(jdbcType);
+        if (base == null) {
+            return;
+        }
+        renderers.put(jdbcType, (out, length, precision, scale) -> {
+            if (precision > maxNumericPrecision) {
+                throw new IllegalArgumentException(name + " " + jdbcType + " precision " + precision +
+                                                   " exceeds " + maxNumericPrecision);
+            }
+            if (scale > precision) {
+                throw new IllegalArgumentException(jdbcType + " scale " + scale +
+                                                   " exceeds precision " + precision);
+            }
+            base.render(out, length, precision, scale);
+        });
+    }
+
+    // ========== Rendering ==========
+
+    public boolean supports(JDBCType jdbcType) {
+        return renderers.containsKey(jdbcType);
+    }
+
+    /**
+     * Append the column type for a JDBC type (JPA defaults for non-positive sizes)
+     *
+     * @throws IllegalArgumentException if the dialect can't store the type or a limit is exceeded
+     */
+    public StringBuilder render(StringBuilder out, JDBCType jdbcType, int length, int precision, int scale) {
+        Renderer renderer = renderers.get(jdbcType);
+        if (renderer == null) {
+            throw new IllegalArgumentException(name + " has no column type for " + jdbcType);
+        }
+        if (precision <= 0) {
+            precision = DEFAULT_PRECISION;
+            scale = DEFAULT_SCALE;
+        }
+        renderer.render(out, length <= 0 ? DEFAULT_LENGTH : length, precision, Math.max(scale, 0));
+        return out;
+    }
+
+    public String columnType(JDBCType jdbcType, int length, int precision, int scale) {
+        return render(new StringBuilder(32), jdbcType, length, precision, scale).toString();
+    }
+
+    public String columnType(JDBCType jdbcType) {
+        return columnType(jdbcType, 0, 0, 0);
+    }
+
+    // ========== Limits ==========
+
+    public boolean fitsIdentifier(String identifier) {
+        return identifier.length() <= maxIdentifierLength;
+    }
+
+    public int maxVarcharLength() {
+        return maxVarcharLength;
+    }
+
+    public int maxCharLength() {
+        return maxCharLength;
+    }
+
+    public int maxVarbinaryLength() {
+        return maxVarbinaryLength;
+    }
+
+    public int maxNumericPrecision() {
+        return maxNumericPrecision;
+    }
+
+    public int maxIdentifierLength() {
+        return maxIdentifierLength;
+    }
+
+    // ========== Bulk load ==========
+
+    /**
+     * Native bulk-load statement, if the dialect has one reachable over JDBC
+     */
+    public Optional<String> bulkLoadStatement(String table, String source) {
+        if (bulkLoadTemplate == null) {
+            return Optional.empty();
+        }
+        return Optional.of(bulkLoadTemplate.replace("{table}", table).replace("{source}", source));
+    }
+
+    public Optional<String> batchRewriteProperty() {
+        return Optional.ofNullable(batchRewriteProperty);
+    }
+
+    /**
+     * Rows per INSERT statement for a table of the given width
+     *
+     * 1 without multi-row INSERT; otherwise bounded by the bind-parameter cap
+     */
+    public int maxRowsPerInsert(int columns) {
+        if (!supportsMultiRowInsert || columns <= 0) {
+            return 1;
+        }
+        return Math.max(1, maxBindParameters / columns);
+    }
+
+    public int maxBindParameters() {
+        return maxBindParameters;
+    }
+
+    // ========== Identity ==========
+
+    public String name() {
+        return name;
+    }
+
+    public Optional<String> hibernateDialect() {
+        return Optional.ofNullable(hibernateDialect);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledDialect[" + name + ", " + renderers.size() + " JDBC types]";
+    }
+}
@@ -0,0 +1,100 @@
+package org.metaxava.dialect;
+
+import org.metaxava.bootstrap.DialectBootstrap;
+import org.metaxava.model.OXDBType;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * DialectCatalog - Every target dialect, compiled once
+ *
+ * USAGE:
+ *   CompiledDialect oracle = DialectCatalog.builtIn().require("Oracle");
+ *   oracle.columnType(JDBCType.VARCHAR, 8000, 0, 0);   // "CLOB"
+ *
+ * SOURCES:
+ * - builtIn(): DialectBootstrap's definitions, compiled at class
+ *   initialization (MetaXava.main touches it at startup)
+ * - load(em): persisted OXDBTypes, including user edits
+ * Names are matched case-insensitively ("postgresql" finds "PostgreSQL").
+ *
+ * @author MetaXava Dialect Catalog Session 2026-10-19
+ */
+public final class DialectCatalog {
+
+    private final Map<String, CompiledDialect> dialects;
+
+    private DialectCatalog(Map<String, CompiledDialect> dialects) {
+        this.dialects = dialects;
+    }
+
+    private static final class BuiltIn {
+        static final DialectCatalog CATALOG = compile(DialectBootstrap.definitions());
+    }
+
+    /**
+     * Built-in dialects (H2, PostgreSQL, MySQL, Oracle, SQLServer)
+     */
+    public static DialectCatalog builtIn() {
+        return BuiltIn.CATALOG;
+    }
+
+    /**
+     * Compile persisted dialects (on the caller's thread; EntityManager is not thread-safe)
+     */
+    public static DialectCatalog load(EntityManager em) {
+        return compile(em.createQuery("SELECT d FROM OXDBType d ORDER BY d.name", OXDBType.class)
+                         .getResultList());
+    }
+
+    /**
+     * @throws IllegalArgumentException on malformed templates or duplicate names
+     */
+    public static DialectCatalog compile(Collection<OXDBType> sources) {
+        Map<String, CompiledDialect> dialects = new LinkedHashMap<>();
+        for (OXDBType source : sources) {
+            CompiledDialect dialect = CompiledDialect.compile(source);
+            if (dialects.putIfAbsent(key(dialect.name()), dialect) != null) {
+                throw new IllegalArgumentException("Duplicate dialect: " + dialect.name());
+            }
+        }
+        return new DialectCatalog(Map.copyOf(dialects));
+    }
+
+    public Optional<CompiledDialect> dialect(String name) {
+        return Optional.ofNullable(dialects.get(key(name)));
+    }
+
+    public CompiledDialect require(String name) {
+        return dialect(name).orElseThrow(() ->
+            new IllegalArgumentException("Unknown dialect " + name + ", known: " + names()));
+    }
+
+    public SortedSet<String> names() {
+        SortedSet<String> names = new TreeSet<>();
+        for (CompiledDialect dialect : dialects.values()) {
+            names.add(dialect.name());
+        }
+        return names;
+    }
+
+    public int size() {
+        return dialects.size();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "DialectCatalog" + names();
+    }
+}
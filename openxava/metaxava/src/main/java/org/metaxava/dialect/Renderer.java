@@ -0,0 +1,77 @@
+package org.metaxava.dialect;
+
+import org.metaxava.model.OXDBType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renderer - Compiled column type template of one dialect and JDBC type
+ *
+ * COMPILATION:
+ * compile() parses an OXDBType template once into literal segments and
+ * placeholder slots. render() only appends: no parsing, no regex, no
+ * String.format. Templates without placeholders ("INTEGER", "VARCHAR(MAX)")
+ * append one constant.
+ *
+ * @author MetaXava Dialect Catalog Session 2026-10-19
+ */
+@FunctionalInterface
+public interface Renderer {
+
+    /**
+     * Append the column type
+     *
+     * @param length    Resolved length (ignored unless the template uses {length})
+     * @param precision Resolved precision
+     * @param scale     Resolved scale
+     */
+    void render(StringBuilder out, int length, int precision, int scale);
+
+    /**
+     * Compile a template with {length}, {precision} and {scale} placeholders
+     *
+     * @throws IllegalArgumentException on unknown or unterminated placeholders
+     */
+    static Renderer compile(String template) {
+        if (template.indexOf('{') < 0) {
+            return (out, length, precision, scale) -> out.append(template);
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();   // 0 = length, 1 = precision, 2 = scale
+        int from = 0;
+        int open;
+        while ((open = template.indexOf('{', from)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder in template: " + template);
+            }
+            String placeholder = template.substring(open, close + 1);
+            literals.add(template.substring(from, open));
+            slots.add(switch (placeholder) {
+                case OXDBType.LENGTH -> 0;
+                case OXDBType.PRECISION -> 1;
+                case OXDBType.SCALE -> 2;
+                default -> throw new IllegalArgumentException("Unknown placeholder " + placeholder +
+                                                              " in template: " + template);
+            });
+            from = close + 1;
+        }
+        String tail = template.substring(from);
+
+        String[] literalArray = literals.toArray(new String[0]);
+        int[] slotArray = slots.stream().mapToInt(Integer::intValue).toArray();
+        return (out, length, precision, scale) -> {
+            for (int i = 0; i < slotArray.length; i++) {
+                out.append(literalArray[i]);
+                out.append(switch (slotArray[i]) {
+                    case 0 -> length;
+                    case 1 -> precision;
+                    default -> scale;
+                });
+            }
+            out.append(tail);
+        };
+    }
+}
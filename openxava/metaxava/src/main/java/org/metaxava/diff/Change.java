@@ -0,0 +1,40 @@
+package org.metaxava.diff;
+
+import java.util.Optional;
+
+/**
+ * Change - One entry of a ModelDiff
+ *
+ * KINDS (before / after):
+ * - ADDED:   - / type or summary of the new element
+ * - REMOVED: type or summary of the old element / -
+ * - RENAMED: old path / new path (matched by identical or similar content)
+ * - RETYPED: old type / new type (property or collection element type,
+ *            preferred JDBC type of a basic type)
+ * - CHANGED: old summary / new summary (same type, other attributes)
+ *
+ * @param path Entity qualified name, "<entity>.<member>" or the type name;
+ *             the new path for renames and changes inside renamed entities
+ *
+ * @author MetaXava Model Diff Session 2026-10-19
+ */
+public record Change(Kind kind, Element element, String path, Optional<String> before, Optional<String> after) {
+
+    public enum Kind {
+        ADDED, REMOVED, RENAMED, RETYPED, CHANGED
+    }
+
+    public enum Element {
+        ENTITY, PROPERTY, COLLECTION, TYPE
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder().append(kind).append(' ')
+                                               .append(element.name().toLowerCase()).append(' ').append(path);
+        if (before.isPresent() || after.isPresent()) {
+            out.append(": ").append(before.orElse("-")).append(" -> ").append(after.orElse("-"));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package org.metaxava.diff;
+
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.registry.TypeModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DiffBenchmark - Hashing and diff time of two large model versions
+ *
+ * USAGE:
+ *   java -cp ... org.metaxava.diff.DiffBenchmark [entities] [rounds]
+ *   defaults: 25,000 entities (about 200k tree elements), 5 rounds
+ *
+ * The second version retypes one property in every 2,500th entity, adds
+ * one entity and removes another (edited()). Round 1 includes JIT warm-up.
+ * Timings are printed, never asserted: ModelDiffTest checks the structural
+ * cost (nodes visited) instead, which doesn't depend on the machine.
+ *
+ * @author MetaXava Model Diff Session 2026-10-19
+ */
+public class DiffBenchmark {
+
+    public static void main(String[] args) {
+        int entityCount = args.length > 0 ? Integer.parseInt(args[0]) : 25_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        TypeModel types = GenerationBenchmark.typeModel();
+        List<EntityDefinition> before = GenerationBenchmark.entities(entityCount);
+        List<EntityDefinition> after = edited(before);
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            ModelTree oldTree = ModelTree.of(types, before);
+            ModelTree newTree = ModelTree.of(types, after);
+            long hashNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            ModelDiff diff = ModelDiff.between(oldTree, newTree);
+            long diffNanos = System.nanoTime() - start;
+            System.out.printf("✓ round %d: %,d elements hashed twice in %,d ms, %d changes diffed in %.2f ms " +
+                              "(%d nodes visited)%n", round, oldTree.size(), hashNanos / 1_000_000,
+                              diff.changes().size(), diffNanos / 1e6, diff.nodesVisited());
+        }
+    }
+
+    /**
+     * before with one property retyped in every 2,500th entity, one entity added and the last removed
+     */
+    public static List<EntityDefinition> edited(List<EntityDefinition> before) {
+        List<EntityDefinition> after = new ArrayList<>(before);
+        for (int i = 0; i < before.size(); i += 2_500) {
+            EntityDefinition entity = after.get(i);
+            List<PropertyDefinition> properties = new ArrayList<>(entity.properties());
+            properties.set(2, PropertyDefinition.of("quantity", "java.math.BigDecimal"));
+            after.set(i, new EntityDefinition(entity.packageName(), entity.simpleName(), properties));
+        }
+        after.add(new EntityDefinition("com.acme.extra", "Audit", List.of(PropertyDefinition.of("when", "java.util.Date"))));
+        after.remove(before.size() - 1);
+        return after;
+    }
+}
@@ -0,0 +1,268 @@
+package org.metaxava.diff;
+
+import org.metaxava.diff.ModelTree.Buckets;
+import org.metaxava.diff.ModelTree.Element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ModelDiff - Minimal change set between two ModelTrees
+ *
+ * ALGORITHM:
+ * 1. Walk both hash tries together; a pair of nodes with equal hashes is
+ *    skipped whole. Where the trie shapes differ (a leaf on one side), the
+ *    two sides are flattened and merged by name.
+ * 2. Same name, different hash: entities recurse into their members;
+ *    members and types become RETYPED (type differs) or CHANGED.
+ * 3. Per scope (model entities, one entity's members, types), what was
+ *    removed and what was added is paired into RENAMED:
+ *    - identical body (everything but the name), unique on both sides
+ *    - entities only: members similar enough (Jaccard >= SIMILARITY over
+ *      member hashes), then diffed member by member under the new name
+ *    Similarity is tried while at most RENAME_CANDIDATES entities remain
+ *    on each side; the rest stays ADDED / REMOVED.
+ *
+ * Cost: nodes visited (nodesVisited) grow with the changes times the trie
+ * depth (log32 of the model size), not with the model size.
+ *
+ * @param changes      Sorted by path, then kind
+ * @param nodesVisited Trie nodes and elements compared (hash mismatches)
+ *
+ * @author MetaXava Model Diff Session 2026-10-19
+ */
+public record ModelDiff(List<Change> changes, int nodesVisited) {
+
+    public static final double SIMILARITY = 0.6;
+    public static final int RENAME_CANDIDATES = 64;
+
+    public ModelDiff {
+        changes = List.copyOf(changes);
+    }
+
+    public static ModelDiff between(ModelTree before, ModelTree after) {
+        Walk walk = new Walk();
+        if (before.hash() != after.hash()) {
+            walk.scope(before.entities(), after.entities(), "");
+            walk.scope(before.types(), after.types(), "");
+        }
+        walk.changes.sort(Comparator.comparing(Change::path).thenComparing(Change::kind));
+        return new ModelDiff(walk.changes, walk.visited);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public long count(Change.Kind kind) {
+        return changes.stream().filter(change -> change.kind() == kind).count();
+    }
+
+    /**
+     * State of one diff: changes found and nodes visited
+     */
+    private static final class Walk {
+
+        private final List<Change> changes = new ArrayList<>();
+        private int visited;
+
+        /**
+         * Diff one keyed collection, then pair its removals and additions
+         *
+         * @param prefix "" for entities and types, "<entity>." for members
+         */
+        void scope(Buckets before, Buckets after, String prefix) {
+            List<Element> removed = new ArrayList<>();
+            List<Element> added = new ArrayList<>();
+            walk(before, after, prefix, removed, added);
+            if (!removed.isEmpty() || !added.isEmpty()) {
+                pair(removed, added, prefix);
+            }
+        }
+
+        private void walk(Buckets before, Buckets after, String prefix, List<Element> removed, List<Element> added) {
+            if (before == after || before != null && after != null && before.hash == after.hash) {
+                return;
+            }
+            visited++;
+            if (before != null && after != null && !before.isLeaf() && !after.isLeaf()) {
+                for (int i = 0; i < ModelTree.FANOUT; i++) {
+                    walk(before.children[i], after.children[i], prefix, removed, added);
+                }
+                return;
+            }
+            List<Element> left = new ArrayList<>();
+            List<Element> right = new ArrayList<>();
+            if (before != null) {
+                before.collect(left);
+            }
+            if (after != null) {
+                after.collect(right);
+            }
+            left.sort(Comparator.comparing(Element::name));
+            right.sort(Comparator.comparing(Element::name));
+            int l = 0;
+            int r = 0;
+            while (l < left.size() || r < right.size()) {
+                int order = l == left.size() ? 1 : r == right.size() ? -1 :
+                            left.get(l).name().compareTo(right.get(r).name());
+                if (order < 0) {
+                    removed.add(left.get(l++));
+                } else if (order > 0) {
+                    added.add(right.get(r++));
+                } else {
+                    Element old = left.get(l++);
+                    Element now = right.get(r++);
+                    if (old.hash() != now.hash()) {
+                        compare(old, now, prefix + now.name());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Same name, different content
+         */
+        private void compare(Element before, Element after, String path) {
+            visited++;
+            if (before.kind() == Change.Element.ENTITY && after.kind() == Change.Element.ENTITY) {
+                scope(before.members(), after.members(), path + ".");
+            } else if (before.kind() != after.kind() || !before.type().equals(after.type())) {
+                changes.add(new Change(Change.Kind.RETYPED, after.kind(), path,
+                                       Optional.of(before.type()), Optional.of(after.type())));
+            } else {
+                changes.add(new Change(Change.Kind.CHANGED, after.kind(), path,
+                                       Optional.of(before.summary()), Optional.of(after.summary())));
+            }
+        }
+
+        private void pair(List<Element> removed, List<Element> added, String prefix) {
+            boolean[] removedPaired = new boolean[removed.size()];
+            boolean[] addedPaired = new boolean[added.size()];
+
+            // Identical bodies, matched one-to-one only
+            Map<Long, Integer> removedByBody = new HashMap<>();
+            for (int i = 0; i < removed.size(); i++) {
+                removedByBody.merge(key(removed.get(i)), i, (first, second) -> -1);
+            }
+            Map<Long, Integer> addedByBody = new HashMap<>();
+            for (int i = 0; i < added.size(); i++) {
+                addedByBody.merge(key(added.get(i)), i, (first, second) -> -1);
+            }
+            for (int a = 0; a < added.size(); a++) {
+                long key = key(added.get(a));
+                Integer r = removedByBody.get(key);
+                if (r != null && r >= 0 && addedByBody.get(key) == a) {
+                    renamed(removed.get(r), added.get(a), prefix);
+                    removedPaired[r] = true;
+                    addedPaired[a] = true;
+                }
+            }
+
+            // Entities with similar members
+            List<Integer> oldEntities = unpairedEntities(removed, removedPaired);
+            List<Integer> newEntities = unpairedEntities(added, addedPaired);
+            if (!oldEntities.isEmpty() && !newEntities.isEmpty() &&
+                oldEntities.size() <= RENAME_CANDIDATES && newEntities.size() <= RENAME_CANDIDATES) {
+                for (int a : newEntities) {
+                    long[] members = memberHashes(added.get(a));
+                    int best = -1;
+                    double bestSimilarity = SIMILARITY;
+                    for (int r : oldEntities) {
+                        if (!removedPaired[r]) {
+                            double similarity = jaccard(memberHashes(removed.get(r)), members);
+                            if (similarity >= bestSimilarity) {
+                                best = r;
+                                bestSimilarity = similarity;
+                            }
+                        }
+                    }
+                    if (best >= 0) {
+                        renamed(removed.get(best), added.get(a), prefix);
+                        scope(removed.get(best).members(), added.get(a).members(), prefix + added.get(a).name() + ".");
+                        removedPaired[best] = true;
+                        addedPaired[a] = true;
+                    }
+                }
+            }
+
+            for (int i = 0; i < removed.size(); i++) {
+                if (!removedPaired[i]) {
+                    Element element = removed.get(i);
+                    changes.add(new Change(Change.Kind.REMOVED, element.kind(), prefix + element.name(),
+                                           describe(element), Optional.empty()));
+                }
+            }
+            for (int i = 0; i < added.size(); i++) {
+                if (!addedPaired[i]) {
+                    Element element = added.get(i);
+                    changes.add(new Change(Change.Kind.ADDED, element.kind(), prefix + element.name(),
+                                           Optional.empty(), describe(element)));
+                }
+            }
+        }
+
+        private void renamed(Element before, Element after, String prefix) {
+            changes.add(new Change(Change.Kind.RENAMED, after.kind(), prefix + after.name(),
+                                   Optional.of(prefix + before.name()), Optional.of(prefix + after.name())));
+        }
+
+        private static long key(Element element) {
+            return ModelTree.combine(element.kind().ordinal(), element.body());
+        }
+
+        private static List<Integer> unpairedEntities(List<Element> elements, boolean[] paired) {
+            List<Integer> entities = new ArrayList<>();
+            for (int i = 0; i < elements.size(); i++) {
+                if (!paired[i] && elements.get(i).kind() == Change.Element.ENTITY) {
+                    entities.add(i);
+                }
+            }
+            return entities;
+        }
+
+        private static long[] memberHashes(Element entity) {
+            List<Element> members = new ArrayList<>(entity.members().size);
+            entity.members().collect(members);
+            long[] hashes = new long[members.size()];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = members.get(i).hash();
+            }
+            Arrays.sort(hashes);
+            return hashes;
+        }
+
+        private static double jaccard(long[] left, long[] right) {
+            if (left.length == 0 && right.length == 0) {
+                return 1;
+            }
+            int common = 0;
+            int l = 0;
+            int r = 0;
+            while (l < left.length && r < right.length) {
+                if (left[l] < right[r]) {
+                    l++;
+                } else if (left[l] > right[r]) {
+                    r++;
+                } else {
+                    common++;
+                    l++;
+                    r++;
+                }
+            }
+            return (double) common / (left.length + right.length - common);
+        }
+
+        private static Optional<String> describe(Element element) {
+            if (element.kind() == Change.Element.ENTITY) {
+                return Optional.of(element.members().size + " members");
+            }
+            return Optional.of(element.summary());
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.metaxava.diff;
+
+import org.metaxava.codegen.CollectionDefinition;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ModelTree - Merkle-hashed snapshot of a model version
+ *
+ * STRUCTURE:
+ *   root
+ *   ├── entities (EntityDefinition)          keyed by qualified name
+ *   │     └── members (properties, collections)  keyed by name
+ *   └── types (TypeModel snapshots)          keyed by type name
+ *
+ * Every element carries a 64-bit subtree hash: its name plus its body
+ * (the attributes and, for entities, the members' hashes). Each keyed
+ * collection is a hash trie (Buckets): FANOUT-way on the name hash, a
+ * sorted leaf once at most LEAF_SIZE elements remain. The trie shape
+ * depends only on the set of names, so two versions share structure
+ * wherever they share content, and equal hashes mean equal subtrees.
+ *
+ * ModelDiff compares two trees top-down and never enters a subtree whose
+ * hash matches: its cost follows the number of changes, not the model size.
+ *
+ * Hashes are 64-bit (FNV-1a then a murmur3 finalizer): a collision among
+ * 200k elements has odds around 1e-9, and would hide one change.
+ *
+ * USAGE:
+ *   ModelTree before = ModelTree.of(oldTypes, oldEntities);
+ *   ModelTree after = ModelTree.of(registry.current(), entities);
+ *   ModelDiff.between(before, after).changes().forEach(System.out::println);
+ *
+ * @author MetaXava Model Diff Session 2026-10-19
+ */
+public final class ModelTree {
+
+    static final int FANOUT_BITS = 5;
+    static final int FANOUT = 1 << FANOUT_BITS;
+    static final int LEAF_SIZE = 16;
+
+    /**
+     * A named node; members is EMPTY for everything but entities
+     *
+     * @param body    Hash of everything but the name (rename detection)
+     * @param hash    Hash of name and body
+     * @param type    Property/collection type or preferred JDBC type ("" for entities)
+     * @param summary Readable attributes for CHANGED entries
+     */
+    record Element(Change.Element kind, String name, long nameHash, long body, long hash,
+                   String type, String summary, Buckets members) {
+    }
+
+    /**
+     * Hash trie node: either a leaf (elements sorted by name) or FANOUT children (null = empty)
+     */
+    static final class Buckets {
+
+        static final Buckets EMPTY = new Buckets(0x9e3779b97f4a7c15L, 0, new Element[0], null);
+
+        final long hash;
+        final int size;
+        final Element[] leaf;
+        final Buckets[] children;
+
+        private Buckets(long hash, int size, Element[] leaf, Buckets[] children) {
+            this.hash = hash;
+            this.size = size;
+            this.leaf = leaf;
+            this.children = children;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        static Buckets of(List<Element> elements) {
+            return elements.isEmpty() ? EMPTY : build(elements.toArray(new Element[0]), 0);
+        }
+
+        private static Buckets build(Element[] elements, int depth) {
+            int shift = depth * FANOUT_BITS;
+            if (elements.length <= LEAF_SIZE || shift + FANOUT_BITS > Long.SIZE) {
+                Arrays.sort(elements, Comparator.comparing(Element::name));
+                long hash = 0x2545f4914f6cdd1dL;
+                for (Element element : elements) {
+                    hash = combine(hash, element.hash());
+                }
+                return new Buckets(hash, elements.length, elements, null);
+            }
+            int[] counts = new int[FANOUT];
+            for (Element element : elements) {
+                counts[(int) (element.nameHash() >>> shift) & (FANOUT - 1)]++;
+            }
+            Element[][] split = new Element[FANOUT][];
+            for (int i = 0; i < FANOUT; i++) {
+                split[i] = new Element[counts[i]];
+            }
+            int[] fill = new int[FANOUT];
+            for (Element element : elements) {
+                int bucket = (int) (element.nameHash() >>> shift) & (FANOUT - 1);
+                split[bucket][fill[bucket]++] = element;
+            }
+            Buckets[] children = new Buckets[FANOUT];
+            long hash = 0x632be59bd9b4e019L;
+            for (int i = 0; i < FANOUT; i++) {
+                if (counts[i] > 0) {
+                    children[i] = build(split[i], depth + 1);
+                    hash = combine(hash, combine(i, children[i].hash));
+                }
+            }
+            return new Buckets(hash, elements.length, null, children);
+        }
+
+        /**
+         * Every element below this node
+         */
+        void collect(List<Element> out) {
+            if (isLeaf()) {
+                out.addAll(Arrays.asList(leaf));
+                return;
+            }
+            for (Buckets child : children) {
+                if (child != null) {
+                    child.collect(out);
+                }
+            }
+        }
+    }
+
+    private final Buckets entities;
+    private final Buckets types;
+    private final long hash;
+    private final int size;
+
+    private ModelTree(Buckets entities, Buckets types, int size) {
+        this.entities = entities;
+        this.types = types;
+        this.hash = combine(entities.hash, types.hash);
+        this.size = size;
+    }
+
+    /**
+     * Hash every element of a model version (O(n))
+     */
+    public static ModelTree of(TypeModel model, Collection<EntityDefinition> entityDefinitions) {
+        List<Element> entities = new ArrayList<>(entityDefinitions.size());
+        int size = 0;
+        for (EntityDefinition entity : entityDefinitions) {
+            List<Element> members = new ArrayList<>(entity.properties().size() + entity.collections().size());
+            for (PropertyDefinition property : entity.properties()) {
+                members.add(property(property));
+            }
+            for (CollectionDefinition collection : entity.collections()) {
+                members.add(collection(collection));
+            }
+            Buckets buckets = Buckets.of(members);
+            entities.add(element(Change.Element.ENTITY, entity.qualifiedName(), buckets.hash, "", "", buckets));
+            size += 1 + members.size();
+        }
+
+        List<Element> types = new ArrayList<>(model.types().size());
+        for (TypeSnapshot type : model.types().values()) {
+            types.add(type(type));
+        }
+        size += types.size();
+        return new ModelTree(Buckets.of(entities), Buckets.of(types), size);
+    }
+
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Entities, members and types
+     */
+    public int size() {
+        return size;
+    }
+
+    Buckets entities() {
+        return entities;
+    }
+
+    Buckets types() {
+        return types;
+    }
+
+    // ========== Elements ==========
+
+    private static Element property(PropertyDefinition property) {
+        String summary = property.typeName() + (property.required() ? ", required" : "") +
+                         (property.length() > 0 ? ", length " + property.length() : "") +
+                         ", fetch " + property.fetch().access() + "/" + property.fetch().expectedSize();
+        long body = combine(hash(property.typeName()),
+                            combine(property.required() ? 1 : 0,
+                                    combine(property.length(),
+                                            combine(property.fetch().access().ordinal(),
+                                                    property.fetch().expectedSize()))));
+        return element(Change.Element.PROPERTY, property.name(), body, property.typeName(), summary, Buckets.EMPTY);
+    }
+
+    private static Element collection(CollectionDefinition collection) {
+        String summary = collection.elementType() + ", mappedBy " + collection.mappedBy() +
+                         ", fetch " + collection.fetch().access() + "/" + collection.fetch().expectedSize();
+        long body = combine(hash("collection"),
+                            combine(hash(collection.elementType()),
+                                    combine(hash(collection.mappedBy()),
+                                            combine(collection.fetch().access().ordinal(),
+                                                    collection.fetch().expectedSize()))));
+        return element(Change.Element.COLLECTION, collection.name(), body, collection.elementType(), summary,
+                       Buckets.EMPTY);
+    }
+
+    /**
+     * Package and simple name follow from the type name, so they stay out of the body
+     */
+    private static Element type(TypeSnapshot type) {
+        String preferred = type.preferredJdbcType().map(JDBCType::getName).orElse("");
+        long body = combine(hash(type.kind()), hash(preferred));
+        for (JDBCType compatible : type.compatibleJdbcTypes()) {
+            body = combine(body, compatible.ordinal());
+        }
+        body = combine(body, hash(type.counterpart().orElse("")));
+        String summary = type.kind() + (preferred.isEmpty() ? "" : ", " + preferred) +
+                         (type.compatibleJdbcTypes().isEmpty() ? "" : ", compatible " + type.compatibleJdbcTypes()) +
+                         type.counterpart().map(counterpart -> ", counterpart " + counterpart).orElse("");
+        return element(Change.Element.TYPE, type.name(), body, preferred, summary, Buckets.EMPTY);
+    }
+
+    private static Element element(Change.Element kind, String name, long body, String type, String summary,
+                                   Buckets members) {
+        long nameHash = hash(name);
+        return new Element(kind, name, nameHash, body, combine(nameHash, combine(kind.ordinal(), body)),
+                           type, summary, members);
+    }
+
+    // ========== Hashing ==========
+
+    static long hash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    static long combine(long hash, long value) {
+        return mix(hash * 0x9e3779b97f4a7c15L + value);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ModelTree[%,d elements, %,d entities, %,d types, hash %016x]",
+                             size, entities.size, types.size, hash);
+    }
+}
@@ -0,0 +1,37 @@
+package org.metaxava.edit;
+
+/**
+ * EditConflictException - An edit lost every optimistic-lock race it ran
+ *
+ * Carries what the editor needs to offer a manual merge: which entity,
+ * and the version the last attempt was based on. The UI reloads the entity,
+ * shows the other modeler's changes and lets the user re-apply theirs.
+ *
+ * @author MetaXava Optimistic Locking Session 2026-10-19
+ */
+public class EditConflictException extends RuntimeException {
+
+    private final Class<?> entityType;
+    private final Object entityId;
+    private final int attempts;
+
+    public EditConflictException(Class<?> entityType, Object entityId, int attempts, Throwable cause) {
+        super(String.format("%s[%s] was modified concurrently; edit abandoned after %d attempt(s)",
+                            entityType.getSimpleName(), entityId, attempts), cause);
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.attempts = attempts;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Object getEntityId() {
+        return entityId;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,119 @@
+package org.metaxava.edit;
+
+import org.hibernate.StaleStateException;
+import org.metaxava.journal.ModelJournal;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * OptimisticEditor - Retry/merge path for optimistic-lock conflicts
+ *
+ * DESIGN RATIONALE:
+ * OXType and JDBCTypeMetadata carry @Version, so a stale edit fails at flush
+ * instead of overwriting a concurrent one. What to do next depends on the edit:
+ *
+ * 1. RETRY (automatic): the edit is expressed as an intent (Consumer) rather
+ *    than a detached snapshot. On conflict we reload the entity in a fresh
+ *    EntityManager and re-apply the intent on top of the winner's state.
+ *    Works for field-level intents: "set description", "add JDBC mapping".
+ *
+ * 2. MERGE (manual): after maxAttempts the conflict is surfaced as
+ *    EditConflictException. The editor reloads, shows both versions and
+ *    lets the user decide (OpenXava shows the message on the view).
+ *
+ * Each attempt is its own transaction; nothing is held across attempts.
+ * Attempts commit through ModelJournal, so a successful edit is journaled
+ * in the transaction that makes it.
+ * A small randomized backoff keeps hot rows (shared JDBCTypeMetadata) from
+ * livelocking when many editors collide.
+ *
+ * USAGE:
+ *   OptimisticEditor.edit(emf, JDBCTypeMetadata.class, id,
+ *       metadata -> metadata.setDescription("..."), 5);
+ *
+ * @author MetaXava Optimistic Locking Session 2026-10-19
+ */
+public class OptimisticEditor {
+
+    public static final int DEFAULT_ATTEMPTS = 5;
+
+    private static final long BASE_BACKOFF_NANOS = 200_000;  // 0.2 ms
+
+    /**
+     * Load, apply and commit an edit, retrying on optimistic-lock conflicts
+     *
+     * @param emf Factory for per-attempt EntityManagers
+     * @param entityType Entity class
+     * @param id Entity id
+     * @param edit Intent to apply to the freshly loaded entity (may run more than once)
+     * @param maxAttempts Attempts before surfacing EditConflictException
+     * @return Number of attempts used (1 = no conflict)
+     */
+    public static <T> int edit(EntityManagerFactory emf, Class<T> entityType, Object id,
+                               Consumer<T> edit, int maxAttempts) {
+        RuntimeException lastConflict = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            EntityManager em = emf.createEntityManager();
+            try {
+                ModelJournal.begin(em);
+                T entity = em.find(entityType, id);
+                if (entity == null) {
+                    throw new EntityNotFoundException(entityType.getSimpleName() + "[" + id + "] not found");
+                }
+                edit.accept(entity);
+                ModelJournal.commit(em);
+                return attempt;
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                lastConflict = e;
+                backoff(attempt);
+            } finally {
+                if (em.getTransaction().isActive()) {
+                    em.getTransaction().rollback();
+                }
+                em.close();
+            }
+        }
+        throw new EditConflictException(entityType, id, maxAttempts, lastConflict);
+    }
+
+    public static <T> int edit(EntityManagerFactory emf, Class<T> entityType, Object id, Consumer<T> edit) {
+        return edit(emf, entityType, id, edit, DEFAULT_ATTEMPTS);
+    }
+
+    /**
+     * Is this failure an optimistic-lock conflict (possibly wrapped by commit)?
+     *
+     * Providers report conflicts as OptimisticLockException, either directly
+     * (flush) or as the cause of a RollbackException (commit).
+     */
+    public static boolean isConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockException) {
+                return true;
+            }
+            // Hibernate's StaleStateException family, when not translated to JPA
+            if (t instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void backoff(int attempt) {
+        long max = BASE_BACKOFF_NANOS << Math.min(attempt, 6);
+        long nanos = ThreadLocalRandom.current().nextLong(max);
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package org.metaxava.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * DependencyGraph - Immutable "depends on" graph in int-indexed adjacency arrays
+ *
+ * REPRESENTATION (compressed sparse rows):
+ *   names[i]                                  node i, in insertion order
+ *   targets[offsets[i] .. offsets[i + 1])     nodes that i depends on
+ * Two int arrays for the whole graph: no per-node lists, no boxing.
+ *
+ * ALGORITHMS (iterative, O(V + E), no recursion depth limit):
+ * - levels(): Tarjan's strongly connected components, then the level of
+ *   each component in the condensed DAG. Level 0 depends on nothing; a
+ *   node's level is one above its highest dependency. Nodes on a cycle
+ *   share one component and therefore one level.
+ *
+ * USAGE:
+ *   DependencyGraph graph = DependencyGraph.builder()
+ *       .dependsOn("Order", "Customer")
+ *       .dependsOn("OrderLine", "Order")
+ *       .build();
+ *   Levels levels = graph.levels();        // [Customer] [Order] [OrderLine]
+ *   LevelScheduler.run(levels, task, threads);
+ *
+ * Built by EntityGraph (MetaXava generated entities). The WebDSL metamodel
+ * generator orders DomainEntity / Relationship with a Java 8 port of levels()
+ * (webdsl/metamodel/nativejava/depgraph/EntityLevels.java).
+ *
+ * @author MetaXava Scheduling Session 2026-10-19
+ */
+public final class DependencyGraph {
+
+    private final String[] names;
+    private final Map<String, Integer> index;
+    private final int[] offsets;
+    private final int[] targets;
+
+    private DependencyGraph(String[] names, Map<String, Integer> index, int[] offsets, int[] targets) {
+        this.names = names;
+        this.index = index;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects nodes and edges; duplicate edges are kept once
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private int edges;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a node (no-op if present)
+         */
+        public Builder node(String name) {
+            indexOf(name);
+            return this;
+        }
+
+        /**
+         * Record that 'from' needs 'to' first (both added as nodes)
+         */
+        public Builder dependsOn(String from, String to) {
+            int source = indexOf(from);
+            int target = indexOf(to);
+            if (edges == this.from.length) {
+                this.from = Arrays.copyOf(this.from, edges * 2);
+                this.to = Arrays.copyOf(this.to, edges * 2);
+            }
+            this.from[edges] = source;
+            this.to[edges] = target;
+            edges++;
+            return this;
+        }
+
+        public DependencyGraph build() {
+            int n = names.size();
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < edges; e++) {
+                offsets[from[e] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] targets = new int[edges];
+            int[] fill = Arrays.copyOf(offsets, n);
+            for (int e = 0; e < edges; e++) {
+                targets[fill[from[e]]++] = to[e];
+            }
+
+            // Sort and deduplicate each row in place, then compact
+            int write = 0;
+            int[] compactOffsets = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                int start = offsets[i];
+                int end = offsets[i + 1];
+                Arrays.sort(targets, start, end);
+                compactOffsets[i] = write;
+                for (int e = start; e < end; e++) {
+                    if (e == start || targets[e] != targets[e - 1]) {
+                        targets[write++] = targets[e];
+                    }
+                }
+            }
+            compactOffsets[n] = write;
+            return new DependencyGraph(names.toArray(new String[0]), new HashMap<>(index), compactOffsets,
+                                       Arrays.copyOf(targets, write));
+        }
+
+        private int indexOf(String name) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Node name is required");
+            }
+            Integer existing = index.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            index.put(name, names.size());
+            names.add(name);
+            return names.size() - 1;
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public String name(int node) {
+        return names[node];
+    }
+
+    public OptionalInt indexOf(String name) {
+        Integer node = index.get(name);
+        return node == null ? OptionalInt.empty() : OptionalInt.of(node);
+    }
+
+    /**
+     * Nodes 'node' depends on, ascending
+     */
+    public int[] dependencies(int node) {
+        return Arrays.copyOfRange(targets, offsets[node], offsets[node + 1]);
+    }
+
+    public boolean dependsOn(int from, int to) {
+        return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+    }
+
+    // ========== Levels ==========
+
+    /**
+     * Topological levels of the graph (see Levels)
+     */
+    public Levels levels() {
+        int n = names.length;
+        int[] component = new int[n];
+        int components = tarjan(component);
+
+        // Tarjan closes a component only after every component it reaches,
+        // so dependencies always have lower component numbers
+        int[] componentLevel = new int[components];
+        int[] componentSize = new int[components];
+        boolean[] componentCyclic = new boolean[components];
+        int[][] members = membersByComponent(component, components, componentSize);
+        int levelCount = 0;
+        for (int c = 0; c < components; c++) {
+            int level = 0;
+            for (int node : members[c]) {
+                for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                    int target = component[targets[e]];
+                    if (target == c) {
+                        componentCyclic[c] = true;        // cycle or self-reference
+                    } else {
+                        level = Math.max(level, componentLevel[target] + 1);
+                    }
+                }
+            }
+            componentLevel[c] = level;
+            levelCount = Math.max(levelCount, level + 1);
+        }
+
+        // Counting sort by level; insertion order inside a level
+        int[] levelOf = new int[n];
+        int[] width = new int[levelCount];
+        for (int i = 0; i < n; i++) {
+            levelOf[i] = componentLevel[component[i]];
+            width[levelOf[i]]++;
+        }
+        int[][] nodes = new int[levelCount][];
+        for (int l = 0; l < levelCount; l++) {
+            nodes[l] = new int[width[l]];
+        }
+        int[] fill = new int[levelCount];
+        for (int i = 0; i < n; i++) {
+            nodes[levelOf[i]][fill[levelOf[i]]++] = i;
+        }
+
+        List<List<String>> cycles = new ArrayList<>();
+        for (int c = 0; c < components; c++) {
+            if (componentCyclic[c]) {
+                List<String> cycle = new ArrayList<>(members[c].length);
+                for (int node : members[c]) {
+                    cycle.add(names[node]);
+                }
+                cycles.add(List.copyOf(cycle));
+            }
+        }
+        return new Levels(this, nodes, levelOf, component, List.copyOf(cycles));
+    }
+
+    /**
+     * Iterative Tarjan: component number per node, returns the component count
+     */
+    private int tarjan(int[] component) {
+        int n = names.length;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] next = new int[n];           // next edge to explore, per node
+        int[] call = new int[n];           // DFS call stack
+        int[] stack = new int[n];          // Tarjan's component stack
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+        int counter = 0;
+        int components = 0;
+        int sp = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int top = 0;
+            call[0] = root;
+            index[root] = low[root] = counter++;
+            next[root] = offsets[root];
+            stack[sp++] = root;
+            onStack[root] = true;
+
+            while (top >= 0) {
+                int v = call[top];
+                if (next[v] < offsets[v + 1]) {
+                    int w = targets[next[v]++];
+                    if (index[w] < 0) {
+                        index[w] = low[w] = counter++;
+                        next[w] = offsets[w];
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        call[++top] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                top--;
+                if (top >= 0) {
+                    int parent = call[top];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        onStack[w] = false;
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+            }
+        }
+        return components;
+    }
+
+    private static int[][] membersByComponent(int[] component, int components, int[] size) {
+        for (int c : component) {
+            size[c]++;
+        }
+        int[][] members = new int[components][];
+        for (int c = 0; c < components; c++) {
+            members[c] = new int[size[c]];
+        }
+        int[] fill = new int[components];
+        for (int i = 0; i < component.length; i++) {
+            members[component[i]][fill[component[i]]++] = i;
+        }
+        return members;
+    }
+
+    /**
+     * Nodes grouped by topological level
+     *
+     * Every dependency of a level-l node is at a level below l, except
+     * dependencies inside its own cycle (deferred(from, to) is true for those:
+     * DDL adds such foreign keys after all tables exist).
+     */
+    public static final class Levels {
+
+        private final DependencyGraph graph;
+        private final int[][] nodes;
+        private final int[] levelOf;
+        private final int[] component;
+        private final List<List<String>> cycles;
+
+        private Levels(DependencyGraph graph, int[][] nodes, int[] levelOf, int[] component,
+                       List<List<String>> cycles) {
+            this.graph = graph;
+            this.nodes = nodes;
+            this.levelOf = levelOf;
+            this.component = component;
+            this.cycles = cycles;
+        }
+
+        public DependencyGraph graph() {
+            return graph;
+        }
+
+        public int count() {
+            return nodes.length;
+        }
+
+        /**
+         * Nodes of one level, in insertion order
+         */
+        public int[] level(int level) {
+            return nodes[level].clone();
+        }
+
+        public int levelOf(int node) {
+            return levelOf[node];
+        }
+
+        /**
+         * Largest number of nodes that can run at once
+         */
+        public int maxWidth() {
+            int max = 0;
+            for (int[] level : nodes) {
+                max = Math.max(max, level.length);
+            }
+            return max;
+        }
+
+        /**
+         * Strongly connected components with a cycle (including self-references), by node name
+         */
+        public List<List<String>> cycles() {
+            return cycles;
+        }
+
+        public boolean acyclic() {
+            return cycles.isEmpty();
+        }
+
+        /**
+         * The edge from -> to closes a cycle: both ends are in one component
+         */
+        public boolean deferred(int from, int to) {
+            return component[from] == component[to];
+        }
+
+        /**
+         * All nodes, level by level
+         */
+        public int[] order() {
+            int[] order = new int[levelOf.length];
+            int i = 0;
+            for (int[] level : nodes) {
+                System.arraycopy(level, 0, order, i, level.length);
+                i += level.length;
+            }
+            return order;
+        }
+
+        @Override
+        public String toString() {
+            return "Levels[" + graph.size() + " nodes, " + nodes.length + " levels, max width " + maxWidth() +
+                   ", " + cycles.size() + " cycles]";
+        }
+    }
+}
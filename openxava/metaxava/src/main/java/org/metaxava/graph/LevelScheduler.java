@@ -0,0 +1,112 @@
+package org.metaxava.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * LevelScheduler - Run one task per graph node, level by level, on a worker pool
+ *
+ * CONTRACT:
+ * - every node of level l runs after every node of levels 0 .. l-1 has finished
+ * - nodes of one level run concurrently (split into up to threads * 4 chunks,
+ *   so uneven tasks still balance)
+ * - the first failure stops the run: later levels never start, and the
+ *   task's RuntimeException reaches the caller unchanged
+ *
+ * Tasks of one level must not depend on each other; cycles (see
+ * Levels.deferred) share a level and need a later step of their own,
+ * as SchemaGenerator does with deferred foreign keys.
+ *
+ * @author MetaXava Scheduling Session 2026-10-19
+ */
+public final class LevelScheduler {
+
+    /**
+     * @param levels   Levels run
+     * @param tasks    Tasks run (= graph nodes)
+     * @param maxWidth Widest level (upper bound on useful threads)
+     */
+    public record Report(int levels, int tasks, int maxWidth, int threads, long elapsedNanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%,d tasks in %d levels (max width %,d) on %d threads: %,d ms",
+                                 tasks, levels, maxWidth, threads, elapsedNanos / 1_000_000);
+        }
+    }
+
+    private LevelScheduler() {
+    }
+
+    /**
+     * @param task Receives the node index; called from pool threads
+     * @throws IllegalArgumentException if threads < 1
+     * @throws IllegalStateException    if the run is interrupted
+     */
+    public static Report run(DependencyGraph.Levels levels, IntConsumer task, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        long start = System.nanoTime();
+        int tasks = 0;
+        if (threads == 1) {
+            for (int l = 0; l < levels.count(); l++) {
+                for (int node : levels.level(l)) {
+                    task.accept(node);
+                    tasks++;
+                }
+            }
+            return new Report(levels.count(), tasks, levels.maxWidth(), 1, System.nanoTime() - start);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "metaxava-level-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int l = 0; l < levels.count(); l++) {
+                int[] nodes = levels.level(l);
+                for (Future<Void> chunk : pool.invokeAll(chunks(nodes, task, threads * 4))) {
+                    chunk.get();
+                }
+                tasks += nodes.length;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scheduled run interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException("Scheduled task failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Report(levels.count(), tasks, levels.maxWidth(), threads, System.nanoTime() - start);
+    }
+
+    private static List<Callable<Void>> chunks(int[] nodes, IntConsumer task, int maxChunks) {
+        int count = Math.min(nodes.length, maxChunks);
+        List<Callable<Void>> chunks = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            int from = (int) ((long) nodes.length * c / count);
+            int to = (int) ((long) nodes.length * (c + 1) / count);
+            chunks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    task.accept(nodes[i]);
+                }
+                return null;
+            });
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,424 @@
+package org.metaxava.image;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.JDBCType;
+
+/**
+ * ModelImage - Read-only, memory-mapped view of the MetaXava type model
+ *
+ * DESIGN RATIONALE:
+ * The code generator needs the whole type model but never writes it.
+ * Opening an EntityManagerFactory, connecting to the H2 server and hydrating
+ * JPA entities just to read ~40 rows dominates the startup of a headless run.
+ * An image file written by ModelImageWriter is mapped with FileChannel.map
+ * and navigated in place: no deserialization, no entity graph, no DB.
+ * Several generator processes mapping the same file share one page-cached copy.
+ *
+ * FILE LAYOUT (big-endian, all offsets absolute):
+ *
+ *   HEADER (48 bytes)
+ *     int magic            'MXIM'
+ *     int version          FORMAT_VERSION
+ *     int stringCount,  int stringIndexOffset,  int stringDataOffset
+ *     int jdbcCount,    int jdbcOffset
+ *     int typeCount,    int typeOffset
+ *     int mappingCount, int mappingOffset
+ *     int reserved
+ *
+ *   STRING TABLE
+ *     stringCount x (int offset, int length)   - offsets relative to stringDataOffset
+ *     UTF-8 bytes (deduplicated)
+ *
+ *   JDBC RECORDS (JDBC_RECORD_SIZE bytes each, ordered by JDBCType ordinal)
+ *     int jdbcTypeOrdinal, int category, int description, int portabilityNotes,
+ *     int jpaAnnotationPattern, int typicalMaxLength, int typicalMaxPrecision,
+ *     int typicalMaxScale, int flags
+ *
+ *   TYPE RECORDS (TYPE_RECORD_SIZE bytes each, ordered by name bytes)
+ *     int kind (discriminator), int name, int packageName, int simpleName,
+ *     int preferredJdbc, int mappingStart, int mappingCount, int counterpart
+ *
+ *   MAPPINGS
+ *     mappingCount x int jdbcIndex - each type owns a contiguous run
+ *
+ * NULLS:
+ * String references and nullable integers use NONE (-1).
+ *
+ * VALIDATION:
+ * The constructor checks every section, string entry and mapping run
+ * against the buffer's capacity, and every index stored in a record
+ * (string, JDBC ordinal, JDBC record, counterpart, mapping) against its
+ * table, so a truncated or corrupt file fails with IllegalStateException
+ * when opened instead of IndexOutOfBoundsException on some later read.
+ * It is one pass over the string index, the records and the mappings;
+ * strings themselves are not decoded.
+ *
+ * NAVIGATION:
+ * Types and JDBC metadata are addressed by dense record indexes (0..count-1).
+ * Accessors read straight from the mapped buffer; only string accessors allocate.
+ *
+ * @author MetaXava Model Image Session 2026-10-19
+ */
+public final class ModelImage {
+
+    public static final int MAGIC = 0x4D58494D;  // "MXIM"
+    public static final int FORMAT_VERSION = 1;
+    public static final int NONE = -1;
+
+    static final int HEADER_SIZE = 48;
+    static final int JDBC_RECORD_SIZE = 9 * Integer.BYTES;
+    static final int TYPE_RECORD_SIZE = 8 * Integer.BYTES;
+
+    // JDBC record flags
+    public static final int FLAG_SUPPORTS_LENGTH = 1;
+    public static final int FLAG_SUPPORTS_PRECISION = 1 << 1;
+    public static final int FLAG_SUPPORTS_SCALE = 1 << 2;
+    public static final int FLAG_COMMONLY_USED = 1 << 3;
+    public static final int FLAG_PORTABLE = 1 << 4;
+
+    private static final JDBCType[] JDBC_TYPES = JDBCType.values();
+
+    private final ByteBuffer buffer;
+    private final int stringCount;
+    private final int stringIndexOffset;
+    private final int stringDataOffset;
+    private final int jdbcCount;
+    private final int jdbcOffset;
+    private final int typeCount;
+    private final int typeOffset;
+    private final int mappingCount;
+    private final int mappingOffset;
+
+    ModelImage(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.capacity() < HEADER_SIZE) {
+            throw new IllegalStateException("Not a MetaXava model image (" + buffer.capacity() +
+                                            " bytes, shorter than the header)");
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a MetaXava model image (bad magic)");
+        }
+        int version = buffer.getInt(4);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported model image version: " + version);
+        }
+        this.stringCount = buffer.getInt(8);
+        this.stringIndexOffset = buffer.getInt(12);
+        this.stringDataOffset = buffer.getInt(16);
+        this.jdbcCount = buffer.getInt(20);
+        this.jdbcOffset = buffer.getInt(24);
+        this.typeCount = buffer.getInt(28);
+        this.typeOffset = buffer.getInt(32);
+        this.mappingCount = buffer.getInt(36);
+        this.mappingOffset = buffer.getInt(40);
+        checkRanges();
+    }
+
+    /**
+     * Every section, string and mapping run lies inside the buffer, every stored index
+     * inside its table (see VALIDATION)
+     */
+    private void checkRanges() {
+        int capacity = buffer.capacity();
+        checkSection("string index", stringIndexOffset, stringCount, 2 * Integer.BYTES, capacity);
+        checkSection("string data", stringDataOffset, 0, 0, capacity);
+        checkSection("JDBC records", jdbcOffset, jdbcCount, JDBC_RECORD_SIZE, capacity);
+        checkSection("type records", typeOffset, typeCount, TYPE_RECORD_SIZE, capacity);
+        checkSection("mappings", mappingOffset, mappingCount, Integer.BYTES, capacity);
+        for (int i = 0; i < stringCount; i++) {
+            int entry = stringIndexOffset + i * 2 * Integer.BYTES;
+            long offset = buffer.getInt(entry);
+            long length = buffer.getInt(entry + Integer.BYTES);
+            if (offset < 0 || length < 0 || stringDataOffset + offset + length > capacity) {
+                throw new IllegalStateException("Not a MetaXava model image (string " + i + " at " + offset +
+                                                "+" + length + " lies outside " + capacity + " bytes)");
+            }
+        }
+        for (int i = 0; i < typeCount; i++) {
+            long start = typeField(i, 5);
+            long count = typeField(i, 6);
+            if (start < 0 || count < 0 || start + count > mappingCount) {
+                throw new IllegalStateException("Not a MetaXava model image (type " + i + " maps " + start +
+                                                "+" + count + " of " + mappingCount + " mappings)");
+            }
+            checkIndex("type " + i + " kind", typeField(i, 0), stringCount, false);
+            checkIndex("type " + i + " name", typeField(i, 1), stringCount, false);
+            checkIndex("type " + i + " package name", typeField(i, 2), stringCount, true);
+            checkIndex("type " + i + " simple name", typeField(i, 3), stringCount, true);
+            checkIndex("type " + i + " preferred JDBC type", typeField(i, 4), jdbcCount, true);
+            checkIndex("type " + i + " counterpart", typeField(i, 7), typeCount, true);
+        }
+        for (int i = 0; i < jdbcCount; i++) {
+            checkIndex("JDBC record " + i + " type ordinal", jdbcField(i, 0), JDBC_TYPES.length, false);
+            for (int field = 1; field <= 4; field++) {
+                checkIndex("JDBC record " + i + " string field " + field, jdbcField(i, field), stringCount, true);
+            }
+        }
+        for (int i = 0; i < mappingCount; i++) {
+            checkIndex("mapping " + i, buffer.getInt(mappingOffset + i * Integer.BYTES), jdbcCount, false);
+        }
+    }
+
+    private static void checkIndex(String field, int index, int count, boolean nullable) {
+        if ((index < 0 || index >= count) && !(nullable && index == NONE)) {
+            throw new IllegalStateException("Not a MetaXava model image (" + field + " is " + index +
+                                            ", not in 0.." + (count - 1) + (nullable ? " or NONE)" : ")"));
+        }
+    }
+
+    private static void checkSection(String section, int offset, int count, int recordSize, int capacity) {
+        if (offset < HEADER_SIZE || count < 0 || offset + (long) count * recordSize > capacity) {
+            throw new IllegalStateException("Not a MetaXava model image (" + section + ": " + count + " x " +
+                                            recordSize + " bytes at " + offset + " exceed " + capacity + " bytes)");
+        }
+    }
+
+    /**
+     * Map an image file read-only
+     *
+     * The channel is closed immediately; the mapping stays valid until the
+     * ModelImage is garbage collected.
+     */
+    public static ModelImage open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ModelImage(mapped);
+        }
+    }
+
+    /**
+     * Wrap an in-memory image (tests, images shipped as resources)
+     */
+    public static ModelImage wrap(ByteBuffer image) {
+        return new ModelImage(image.asReadOnlyBuffer());
+    }
+
+    // ========== Counts ==========
+
+    public int stringCount() {
+        return stringCount;
+    }
+
+    public int jdbcCount() {
+        return jdbcCount;
+    }
+
+    public int typeCount() {
+        return typeCount;
+    }
+
+    public int mappingCount() {
+        return mappingCount;
+    }
+
+    // ========== String Table ==========
+
+    /**
+     * Decode string table entry (NONE → null)
+     */
+    public String string(int index) {
+        if (index == NONE) {
+            return null;
+        }
+        int entry = stringIndexOffset + index * 2 * Integer.BYTES;
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + Integer.BYTES);
+        byte[] bytes = new byte[length];
+        buffer.get(stringDataOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compare string table entry against UTF-8 bytes without decoding
+     *
+     * @return negative, zero or positive (unsigned lexicographic byte order)
+     */
+    int compareString(int index, byte[] other) {
+        int entry = stringIndexOffset + index * 2 * Integer.BYTES;
+        int offset = stringDataOffset + buffer.getInt(entry);
+        int length = buffer.getInt(entry + Integer.BYTES);
+        int common = Math.min(length, other.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(offset + i), other[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, other.length);
+    }
+
+    // ========== JDBC Records ==========
+
+    private int jdbcField(int jdbcIndex, int field) {
+        return buffer.getInt(jdbcOffset + jdbcIndex * JDBC_RECORD_SIZE + field * Integer.BYTES);
+    }
+
+    public JDBCType jdbcType(int jdbcIndex) {
+        return JDBC_TYPES[jdbcField(jdbcIndex, 0)];
+    }
+
+    public String jdbcCategory(int jdbcIndex) {
+        return string(jdbcField(jdbcIndex, 1));
+    }
+
+    public String jdbcDescription(int jdbcIndex) {
+        return string(jdbcField(jdbcIndex, 2));
+    }
+
+    public String jdbcPortabilityNotes(int jdbcIndex) {
+        return string(jdbcField(jdbcIndex, 3));
+    }
+
+    public String jdbcJpaAnnotationPattern(int jdbcIndex) {
+        return string(jdbcField(jdbcIndex, 4));
+    }
+
+    /**
+     * @return typical max length, or NONE if not applicable
+     */
+    public int jdbcTypicalMaxLength(int jdbcIndex) {
+        return jdbcField(jdbcIndex, 5);
+    }
+
+    public int jdbcTypicalMaxPrecision(int jdbcIndex) {
+        return jdbcField(jdbcIndex, 6);
+    }
+
+    public int jdbcTypicalMaxScale(int jdbcIndex) {
+        return jdbcField(jdbcIndex, 7);
+    }
+
+    public boolean jdbcHasFlag(int jdbcIndex, int flag) {
+        return (jdbcField(jdbcIndex, 8) & flag) != 0;
+    }
+
+    /**
+     * Find JDBC record by JDBCType (records are ordered by ordinal)
+     *
+     * @return record index, or NONE if the type is not in the image
+     */
+    public int indexOfJdbcType(JDBCType jdbcType) {
+        int low = 0;
+        int high = jdbcCount - 1;
+        int target = jdbcType.ordinal();
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int ordinal = jdbcField(mid, 0);
+            if (ordinal < target) {
+                low = mid + 1;
+            } else if (ordinal > target) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return NONE;
+    }
+
+    // ========== Type Records ==========
+
+    private int typeField(int typeIndex, int field) {
+        return buffer.getInt(typeOffset + typeIndex * TYPE_RECORD_SIZE + field * Integer.BYTES);
+    }
+
+    /**
+     * Discriminator value ("PRIMITIVE", "WRAPPER", "STRING", ...)
+     */
+    public String typeKind(int typeIndex) {
+        return string(typeField(typeIndex, 0));
+    }
+
+    public String typeName(int typeIndex) {
+        return string(typeField(typeIndex, 1));
+    }
+
+    public String typePackageName(int typeIndex) {
+        return string(typeField(typeIndex, 2));
+    }
+
+    public String typeSimpleName(int typeIndex) {
+        return string(typeField(typeIndex, 3));
+    }
+
+    /**
+     * @return JDBC record index of the preferred type, or NONE
+     */
+    public int preferredJdbc(int typeIndex) {
+        return typeField(typeIndex, 4);
+    }
+
+    public int compatibleJdbcCount(int typeIndex) {
+        return typeField(typeIndex, 6);
+    }
+
+    /**
+     * @return JDBC record index of the n-th compatible JDBC type
+     */
+    public int compatibleJdbc(int typeIndex, int n) {
+        if (n < 0 || n >= compatibleJdbcCount(typeIndex)) {
+            throw new IndexOutOfBoundsException("Mapping " + n + " of type " + typeIndex);
+        }
+        return buffer.getInt(mappingOffset + (typeField(typeIndex, 5) + n) * Integer.BYTES);
+    }
+
+    /**
+     * Is the JDBC type compatible with the type? (scans the type's mapping run)
+     */
+    public boolean isCompatible(int typeIndex, JDBCType jdbcType) {
+        int start = typeField(typeIndex, 5);
+        int count = typeField(typeIndex, 6);
+        int ordinal = jdbcType.ordinal();
+        for (int i = 0; i < count; i++) {
+            int jdbcIndex = buffer.getInt(mappingOffset + (start + i) * Integer.BYTES);
+            if (jdbcField(jdbcIndex, 0) == ordinal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Primitive ↔ wrapper counterpart
+     *
+     * @return type index of the wrapper (for primitives) or primitive (for wrappers), or NONE
+     */
+    public int counterpart(int typeIndex) {
+        return typeField(typeIndex, 7);
+    }
+
+    /**
+     * Find type by canonical name (binary search over name-ordered records)
+     *
+     * @return type index, or NONE if absent
+     */
+    public int indexOfType(String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = typeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareString(typeField(mid, 1), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return NONE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ModelImage[%d types, %d JDBC types, %d mappings, %d strings]",
+                typeCount, jdbcCount, mappingCount, stringCount);
+    }
+}
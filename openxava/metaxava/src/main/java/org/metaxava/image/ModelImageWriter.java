@@ -0,0 +1,285 @@
+package org.metaxava.image;
+
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXBasicReferenceType;
+import org.metaxava.model.OXBasicType;
+import org.metaxava.model.OXPrimitiveType;
+import org.metaxava.model.OXReferenceType;
+import org.metaxava.model.OXType;
+import org.metaxava.profile.Operation;
+import org.metaxava.profile.OperationProfiler;
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ModelImageWriter - Publish the type model as an immutable ModelImage file
+ *
+ * DESIGN:
+ * Reads JDBCTypeMetadata and OXType once through JPA, then encodes them into
+ * the layout documented in ModelImage. The image is a snapshot: later edits
+ * require publishing a new image.
+ *
+ * ATOMIC PUBLICATION:
+ * The image is written to a sibling temp file and moved over the target with
+ * ATOMIC_MOVE, so generators mapping the previous image never observe a
+ * half-written file (they keep their old mapping; new opens see the new file).
+ *
+ * ORDERING:
+ * - JDBC records by JDBCType ordinal (binary search by enum)
+ * - Type records by UTF-8 name bytes (binary search by name without decoding)
+ *
+ * @author MetaXava Model Image Session 2026-10-19
+ */
+public class ModelImageWriter {
+
+    /**
+     * Publish the model visible to the EntityManager as an image file
+     *
+     * TRANSACTION MANAGEMENT:
+     * Read-only; works with or without an active transaction.
+     *
+     * @param em EntityManager to read the model from
+     * @param target Image file to create or replace
+     * @return Size of the image in bytes
+     */
+    public static int write(EntityManager em, Path target) throws IOException {
+        try (Operation operation = OperationProfiler.begin("generation", "ModelImageWriter", em)) {
+            return publish(em, target);
+        }
+    }
+
+    private static int publish(EntityManager em, Path target) throws IOException {
+        List<JDBCTypeMetadata> jdbcTypes = em.createQuery(
+                "SELECT t FROM JDBCTypeMetadata t", JDBCTypeMetadata.class)
+            .getResultList();
+        List<OXType> types = em.createQuery("SELECT t FROM OXType t", OXType.class)
+            .getResultList();
+
+        ByteBuffer image = encode(jdbcTypes, types);
+
+        Path absolute = target.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (image.hasRemaining()) {
+                    channel.write(image);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        int size = image.limit();
+        System.out.println("Published model image " + absolute + " (" + types.size() + " types, " +
+                           jdbcTypes.size() + " JDBC types, " + size + " bytes)");
+        return size;
+    }
+
+    /**
+     * Encode model entities into an in-memory image
+     *
+     * Types whose JDBC mappings reference metadata outside {@code jdbcTypes}
+     * are rejected: an image must be self-contained.
+     *
+     * @return Buffer positioned at 0, limit = image size
+     */
+    public static ByteBuffer encode(List<JDBCTypeMetadata> jdbcTypes, List<OXType> types) {
+        StringTable strings = new StringTable();
+
+        // ----- JDBC records (ordered by ordinal) -----
+        List<JDBCTypeMetadata> jdbcSorted = new ArrayList<>(jdbcTypes);
+        jdbcSorted.sort(Comparator.comparingInt(t -> t.getJdbcType().ordinal()));
+        Map<JDBCTypeMetadata, Integer> jdbcIndex = new IdentityHashMap<>();
+        int[] jdbcRecords = new int[jdbcSorted.size() * 9];
+        for (int i = 0; i < jdbcSorted.size(); i++) {
+            JDBCTypeMetadata jdbc = jdbcSorted.get(i);
+            jdbcIndex.put(jdbc, i);
+            int r = i * 9;
+            jdbcRecords[r] = jdbc.getJdbcType().ordinal();
+            jdbcRecords[r + 1] = strings.add(jdbc.getCategory());
+            jdbcRecords[r + 2] = strings.add(jdbc.getDescription());
+            jdbcRecords[r + 3] = strings.add(jdbc.getPortabilityNotes());
+            jdbcRecords[r + 4] = strings.add(jdbc.getJpaAnnotationPattern());
+            jdbcRecords[r + 5] = orNone(jdbc.getTypicalMaxLength());
+            jdbcRecords[r + 6] = orNone(jdbc.getTypicalMaxPrecision());
+            jdbcRecords[r + 7] = orNone(jdbc.getTypicalMaxScale());
+            jdbcRecords[r + 8] = flags(jdbc);
+        }
+
+        // ----- Type records (ordered by UTF-8 name bytes) -----
+        List<OXType> typeSorted = new ArrayList<>(types);
+        typeSorted.sort((a, b) -> Arrays.compareUnsigned(utf8(a.getName()), utf8(b.getName())));
+        Map<OXType, Integer> typeIndex = new IdentityHashMap<>();
+        for (int i = 0; i < typeSorted.size(); i++) {
+            typeIndex.put(typeSorted.get(i), i);
+        }
+
+        int[] typeRecords = new int[typeSorted.size() * 8];
+        List<Integer> mappings = new ArrayList<>();
+        for (int i = 0; i < typeSorted.size(); i++) {
+            OXType type = typeSorted.get(i);
+            int r = i * 8;
+            typeRecords[r] = strings.add(type.kind());
+            typeRecords[r + 1] = strings.add(type.getName());
+            typeRecords[r + 2] = ModelImage.NONE;
+            typeRecords[r + 3] = ModelImage.NONE;
+            typeRecords[r + 4] = ModelImage.NONE;
+            typeRecords[r + 5] = mappings.size();
+            typeRecords[r + 6] = 0;
+            typeRecords[r + 7] = ModelImage.NONE;
+
+            if (type instanceof OXReferenceType reference) {
+                typeRecords[r + 2] = strings.add(reference.getPackageName());
+                typeRecords[r + 3] = strings.add(reference.getSimpleName());
+            }
+
+            if (type instanceof OXBasicType basic) {
+                if (basic.getPreferredJdbcType() != null) {
+                    typeRecords[r + 4] = resolve(jdbcIndex, basic.getPreferredJdbcType(), type);
+                }
+                if (basic.getCompatibleJdbcTypes() != null) {
+                    for (JDBCTypeMetadata compatible : basic.getCompatibleJdbcTypes()) {
+                        mappings.add(resolve(jdbcIndex, compatible, type));
+                    }
+                    typeRecords[r + 6] = basic.getCompatibleJdbcTypes().size();
+                }
+            }
+
+            OXType counterpart = null;
+            if (type instanceof OXPrimitiveType primitive) {
+                counterpart = primitive.getWrapperType();
+            } else if (type instanceof OXBasicReferenceType basicReference) {
+                counterpart = basicReference.getPrimitiveType();
+            }
+            if (counterpart != null && typeIndex.containsKey(counterpart)) {
+                typeRecords[r + 7] = typeIndex.get(counterpart);
+            }
+        }
+
+        // ----- Layout -----
+        int stringIndexOffset = ModelImage.HEADER_SIZE;
+        int stringDataOffset = stringIndexOffset + strings.size() * 2 * Integer.BYTES;
+        int jdbcOffset = align(stringDataOffset + strings.byteSize());
+        int typeOffset = jdbcOffset + jdbcSorted.size() * ModelImage.JDBC_RECORD_SIZE;
+        int mappingOffset = typeOffset + typeSorted.size() * ModelImage.TYPE_RECORD_SIZE;
+        int size = mappingOffset + mappings.size() * Integer.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(ModelImage.MAGIC)
+              .putInt(ModelImage.FORMAT_VERSION)
+              .putInt(strings.size()).putInt(stringIndexOffset).putInt(stringDataOffset)
+              .putInt(jdbcSorted.size()).putInt(jdbcOffset)
+              .putInt(typeSorted.size()).putInt(typeOffset)
+              .putInt(mappings.size()).putInt(mappingOffset)
+              .putInt(0);
+
+        strings.writeTo(buffer, stringIndexOffset, stringDataOffset);
+
+        buffer.position(jdbcOffset);
+        for (int value : jdbcRecords) {
+            buffer.putInt(value);
+        }
+        for (int value : typeRecords) {
+            buffer.putInt(value);
+        }
+        for (int value : mappings) {
+            buffer.putInt(value);
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    // ========== Helpers ==========
+
+    private static int resolve(Map<JDBCTypeMetadata, Integer> jdbcIndex, JDBCTypeMetadata jdbc, OXType owner) {
+        Integer index = jdbcIndex.get(jdbc);
+        if (index == null) {
+            throw new IllegalStateException(
+                "Type " + owner.getName() + " references JDBC type " + jdbc.getJdbcType() +
+                " that is not part of the image");
+        }
+        return index;
+    }
+
+    private static int flags(JDBCTypeMetadata jdbc) {
+        int flags = 0;
+        if (jdbc.isSupportsLength()) flags |= ModelImage.FLAG_SUPPORTS_LENGTH;
+        if (jdbc.isSupportsPrecision()) flags |= ModelImage.FLAG_SUPPORTS_PRECISION;
+        if (jdbc.isSupportsScale()) flags |= ModelImage.FLAG_SUPPORTS_SCALE;
+        if (jdbc.isCommonlyUsed()) flags |= ModelImage.FLAG_COMMONLY_USED;
+        if (jdbc.isPortable()) flags |= ModelImage.FLAG_PORTABLE;
+        return flags;
+    }
+
+    private static int orNone(Integer value) {
+        return value == null ? ModelImage.NONE : value;
+    }
+
+    private static int align(int offset) {
+        return (offset + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deduplicating UTF-8 string table
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> entries = new ArrayList<>();
+        private int byteSize;
+
+        int add(String s) {
+            if (s == null) {
+                return ModelImage.NONE;
+            }
+            return indexes.computeIfAbsent(s, key -> {
+                byte[] bytes = utf8(key);
+                entries.add(bytes);
+                byteSize += bytes.length;
+                return entries.size() - 1;
+            });
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        int byteSize() {
+            return byteSize;
+        }
+
+        void writeTo(ByteBuffer buffer, int indexOffset, int dataOffset) {
+            int offset = 0;
+            buffer.position(indexOffset);
+            for (byte[] bytes : entries) {
+                buffer.putInt(offset).putInt(bytes.length);
+                offset += bytes.length;
+            }
+            buffer.position(dataOffset);
+            for (byte[] bytes : entries) {
+                buffer.put(bytes);
+            }
+        }
+    }
+}
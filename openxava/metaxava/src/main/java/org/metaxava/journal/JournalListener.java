@@ -0,0 +1,62 @@
+package org.metaxava.journal;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * JournalListener - Feeds model edits to ModelJournal
+ *
+ * A Hibernate event listener, registered for every session by
+ * ModelEventIntegrator (hibernate.integrator_provider in persistence.xml).
+ * Callbacks run at flush, inside the editing transaction; ModelJournal
+ * buffers them per session and appends them just before that transaction
+ * commits. Entities other than OXType, JDBCTypeMetadata and OXDBType are
+ * ignored.
+ *
+ * @author MetaXava Model Journal Session 2026-10-19
+ */
+public class JournalListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (ModelJournal.journaled(event.getEntity())) {
+            ModelJournal.record(event.getSession(), event.getEntity(), ModelChange.Kind.CREATE);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (ModelJournal.journaled(event.getEntity())) {
+            ModelJournal.record(event.getSession(), event.getEntity(), ModelChange.Kind.UPDATE);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (ModelJournal.journaled(event.getEntity())) {
+            ModelJournal.record(event.getSession(), event.getEntity(), ModelChange.Kind.DELETE);
+        }
+    }
+
+    /**
+     * Entries are written before the commit, not after it
+     */
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Still abstract in Hibernate 5.6; Hibernate itself calls requiresPostCommitHandling
+     */
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+}
@@ -0,0 +1,68 @@
+package org.metaxava.journal;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * ModelChange - One row of the append-only model journal
+ *
+ * DESIGN:
+ * - sequence is assigned by ModelJournal under the journal head lock, so
+ *   sequences are gap-free and commit in order: a consumer that has seen
+ *   sequence n has seen everything before it
+ * - The row names the edited row (entityType + entityId, plus its key for
+ *   readers), it doesn't copy it: consumers reload what they need, or
+ *   rebuild from a ModelSnapshot
+ * - Rows are never updated; compaction deletes a prefix
+ *
+ * Keys: OXType name, JDBC type name, dialect name.
+ *
+ * @author MetaXava Model Journal Session 2026-10-19
+ */
+@Entity
+@Table(name = "ox_model_change")
+@Getter @Setter
+@NoArgsConstructor
+public class ModelChange {
+
+    public enum Kind {
+        CREATE, UPDATE, DELETE
+    }
+
+    /**
+     * Journal position, assigned (not generated)
+     */
+    @Id
+    @Column(name = "seq_no")
+    private Long sequence;
+
+    /**
+     * Entity class simple name: "OXBasicType", "JDBCTypeMetadata", "OXDBType"
+     */
+    @Column(name = "entity_type", length = 60, nullable = false)
+    private String entityType;
+
+    /**
+     * Row id; a rename keeps the id and changes the key
+     */
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "entity_key", length = 200, nullable = false)
+    private String entityKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_kind", length = 10, nullable = false)
+    private Kind kind;
+
+    /**
+     * @Version of the row after the change (before it, for deletes)
+     */
+    @Column(name = "entity_version")
+    private Long entityVersion;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+}
@@ -0,0 +1,427 @@
+package org.metaxava.journal;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.metaxava.image.ModelImage;
+import org.metaxava.image.ModelImageWriter;
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXDBType;
+import org.metaxava.model.OXType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockModeType;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ModelJournal - Append-only, sequence-numbered log of model edits
+ *
+ * DESIGN RATIONALE:
+ * Model edits are in-place UPDATEs: once committed, a derived artifact
+ * (search index, model image, generated code) can only learn what changed
+ * by reloading the whole model. The journal records every edit as a
+ * ModelChange row, written in the SAME transaction as the edit, so a
+ * consumer remembers an offset and reads only what came after it.
+ *
+ * WRITING:
+ * Every transaction is journaled, whoever opens it (OpenXava modules,
+ * bootstrap, OptimisticEditor, tests): JournalListener buffers the flush
+ * callbacks per Hibernate session; several changes to one row inside a
+ * transaction collapse into one entry (CREATE then UPDATE is a CREATE,
+ * CREATE then DELETE is nothing). Just before the transaction commits -
+ * after its final flush - the batch locks the journal head, numbers the
+ * entries and writes them, so sequences are gap-free and become visible
+ * in order. A rollback discards the batch.
+ *
+ * BULK STATEMENTS:
+ * JPQL/SQL UPDATE and DELETE bypass Hibernate's entity events and are not
+ * journaled; consumers only see their effect on their next full rebuild.
+ * Edit the model through entities.
+ *
+ * READING:
+ *   Tail tail = ModelJournal.tail(em, offset, 500);
+ *   if (tail.compacted()) { rebuild from latestSnapshot(), then tail from its sequence }
+ *   offset = tail.offset();
+ *
+ * COMPACTION:
+ * compact() stores the whole model as a ModelSnapshot (ModelImage bytes
+ * plus the OXDBType dialects, which the image doesn't hold) at the current
+ * head, and deletes all but the last retain entries. A consumer's rebuild
+ * is then "snapshot + short tail" instead of a full load.
+ *
+ * @author MetaXava Model Journal Session 2026-10-19
+ */
+public final class ModelJournal {
+
+    public static final int TAIL_PAGE = 1_000;
+
+    /**
+     * Open batches by session; weak, so a session abandoned mid-transaction isn't pinned
+     */
+    private static final Map<Object, Batch> BATCHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * One journal entry, detached from the EntityManager
+     *
+     * @param entityId      Database id of the edited row (stable across renames)
+     * @param entityVersion @Version after the change (before it, for deletes)
+     */
+    public record Entry(long sequence, String entityType, long entityId, String entityKey,
+                        ModelChange.Kind kind, long entityVersion, Instant recordedAt) {
+    }
+
+    /**
+     * A page of entries
+     *
+     * @param offset    Sequence to pass to the next tail() call
+     * @param compacted Entries after the requested offset were compacted away;
+     *                  entries is empty, rebuild from latestSnapshot()
+     */
+    public record Tail(List<Entry> entries, long offset, boolean compacted) {
+
+        public Tail {
+            entries = List.copyOf(entries);
+        }
+    }
+
+    /**
+     * The model as of sequence: replay entries after it to catch up
+     *
+     * @param dialects Detached copies of every OXDBType (DialectCatalog.compile() them)
+     */
+    public record Snapshot(long sequence, Instant createdAt, ModelImage image, List<OXDBType> dialects) {
+
+        public Snapshot {
+            dialects = List.copyOf(dialects);
+        }
+    }
+
+    private record Pending(String entityType, long entityId, String entityKey, ModelChange.Kind kind,
+                           long entityVersion) {
+    }
+
+    /**
+     * One session's changes in its current transaction
+     *
+     * Several changes to one row collapse into one entry (see WRITING).
+     * The ActionQueue keeps before-completion processes of a rolled-back
+     * transaction; a stale Batch is no longer in BATCHES and does nothing.
+     */
+    private static final class Batch implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        static final Batch EMPTY = new Batch();
+
+        private final Map<String, Pending> changes = new LinkedHashMap<>();
+
+        void add(Pending change) {
+            String slot = change.entityType() + '#' + change.entityId();
+            Pending earlier = changes.get(slot);
+            if (earlier == null) {
+                changes.put(slot, change);
+            } else if (earlier.kind() == ModelChange.Kind.CREATE && change.kind() == ModelChange.Kind.DELETE) {
+                changes.remove(slot);
+            } else {
+                ModelChange.Kind merged = earlier.kind() == ModelChange.Kind.CREATE ? ModelChange.Kind.CREATE :
+                                          change.kind() == ModelChange.Kind.DELETE ? ModelChange.Kind.DELETE :
+                                          ModelChange.Kind.UPDATE;
+                changes.put(slot, new Pending(change.entityType(), change.entityId(), change.entityKey(), merged,
+                                              change.entityVersion()));
+            }
+        }
+
+        int size() {
+            return changes.size();
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            if (BATCHES.remove(session, this)) {
+                append(session, new ArrayList<>(changes.values()));
+            }
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            BATCHES.remove(session, this);
+        }
+    }
+
+    private ModelJournal() {
+    }
+
+    // ========== Writing ==========
+
+    /**
+     * Begin a transaction (every transaction is journaled; kept for symmetry with commit())
+     */
+    public static void begin(EntityManager em) {
+        em.getTransaction().begin();
+    }
+
+    /**
+     * Flush the edits and commit; the entries are appended inside the commit
+     *
+     * @return Number of entries appended (0 if nothing was edited)
+     */
+    public static int commit(EntityManager em) {
+        em.flush();
+        int appended = BATCHES.getOrDefault(em.unwrap(SessionImplementor.class), Batch.EMPTY).size();
+        em.getTransaction().commit();
+        return appended;
+    }
+
+    /**
+     * Run work in its own transaction
+     */
+    public static <R> R inTransaction(EntityManagerFactory emf, Function<EntityManager, R> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            R result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    /**
+     * Is this entity one whose edits are journaled?
+     */
+    static boolean journaled(Object entity) {
+        return entity instanceof OXType || entity instanceof JDBCTypeMetadata || entity instanceof OXDBType;
+    }
+
+    /**
+     * Called by JournalListener at flush
+     *
+     * The first change in a transaction registers its Batch with the
+     * session's ActionQueue: appended before the commit, forgotten after
+     * it either way.
+     */
+    static void record(SessionImplementor session, Object entity, ModelChange.Kind kind) {
+        Batch batch = BATCHES.get(session);
+        if (batch == null) {
+            batch = new Batch();
+            BATCHES.put(session, batch);
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) batch);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) batch);
+        }
+        batch.add(pending(entity, kind));
+    }
+
+    private static Pending pending(Object entity, ModelChange.Kind kind) {
+        if (entity instanceof OXType type) {
+            return new Pending(type.getClass().getSimpleName(), type.getId(), type.getName(), kind,
+                               orZero(type.getVersion()));
+        } else if (entity instanceof JDBCTypeMetadata type) {
+            return new Pending(JDBCTypeMetadata.class.getSimpleName(), type.getId(), type.getJdbcType().getName(),
+                               kind, orZero(type.getVersion()));
+        } else if (entity instanceof OXDBType dialect) {
+            return new Pending(OXDBType.class.getSimpleName(), dialect.getId(), dialect.getName(), kind,
+                               orZero(dialect.getVersion()));
+        }
+        throw new IllegalArgumentException("Not a journaled model entity: " + entity.getClass().getName());
+    }
+
+    private static int append(EntityManager em, List<Pending> pending) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        ModelJournalHead head = lockHead(em);
+        Instant now = Instant.now();
+        long sequence = head.getLastSequence();
+        for (Pending change : pending) {
+            ModelChange row = new ModelChange();
+            row.setSequence(++sequence);
+            row.setEntityType(change.entityType());
+            row.setEntityId(change.entityId());
+            row.setEntityKey(change.entityKey());
+            row.setKind(change.kind());
+            row.setEntityVersion(change.entityVersion());
+            row.setRecordedAt(now);
+            em.persist(row);
+        }
+        head.setLastSequence(sequence);
+        em.flush();
+        return pending.size();
+    }
+
+    /**
+     * Lock the head row, creating it on first use
+     *
+     * The row is refreshed under the lock: a head this EntityManager
+     * already holds may be stale. Two transactions creating it at once
+     * collide on the primary key and one fails; that only happens on an
+     * empty journal.
+     */
+    private static ModelJournalHead lockHead(EntityManager em) {
+        ModelJournalHead head = em.find(ModelJournalHead.class, ModelJournalHead.ID);
+        if (head == null) {
+            head = new ModelJournalHead();
+            head.setId(ModelJournalHead.ID);
+            em.persist(head);
+            em.flush();
+        } else {
+            em.refresh(head, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return head;
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Entries after a sequence, oldest first
+     *
+     * TRANSACTION MANAGEMENT:
+     * Read-only; works with or without an active transaction.
+     *
+     * @param after Last sequence the consumer has applied (0 = from the start)
+     * @param limit Maximum entries to return
+     */
+    public static Tail tail(EntityManager em, long after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        // A query, not find(): a head cached by this EntityManager may predate a compaction
+        long compactedThrough = em.createQuery("SELECT h.compactedThrough FROM ModelJournalHead h", Long.class)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .orElse(0L);
+        if (after < compactedThrough) {
+            return new Tail(List.of(), after, true);
+        }
+        List<ModelChange> rows = em.createQuery(
+                "SELECT c FROM ModelChange c WHERE c.sequence > :after ORDER BY c.sequence", ModelChange.class)
+            .setParameter("after", after)
+            .setMaxResults(limit)
+            .getResultList();
+        // Sequences are gap-free: a gap means a compaction committed since the head was read
+        if (!rows.isEmpty() && rows.get(0).getSequence() != after + 1) {
+            return new Tail(List.of(), after, true);
+        }
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (ModelChange row : rows) {
+            entries.add(new Entry(row.getSequence(), row.getEntityType(), row.getEntityId(), row.getEntityKey(),
+                                  row.getKind(), orZero(row.getEntityVersion()), row.getRecordedAt()));
+        }
+        long offset = entries.isEmpty() ? after : entries.get(entries.size() - 1).sequence();
+        return new Tail(entries, offset, false);
+    }
+
+    /**
+     * Apply every entry after a sequence, page by page
+     *
+     * @return The new offset
+     * @throws IllegalStateException if entries after the offset were compacted
+     */
+    public static long replay(EntityManager em, long after, Consumer<Entry> consumer) {
+        long offset = after;
+        while (true) {
+            Tail tail = tail(em, offset, TAIL_PAGE);
+            if (tail.compacted()) {
+                throw new IllegalStateException("Journal entries after " + offset + " were compacted; " +
+                                                "rebuild from latestSnapshot() and replay from its sequence");
+            }
+            tail.entries().forEach(consumer);
+            if (tail.entries().size() < TAIL_PAGE) {
+                return tail.offset();
+            }
+            offset = tail.offset();
+        }
+    }
+
+    public static Optional<Snapshot> latestSnapshot(EntityManager em) {
+        return em.createQuery("SELECT s FROM ModelSnapshot s ORDER BY s.sequence DESC", ModelSnapshot.class)
+            .setMaxResults(1)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .map(ModelJournal::snapshot);
+    }
+
+    // ========== Compaction ==========
+
+    /**
+     * Snapshot the model at the current head and drop older entries
+     *
+     * TRANSACTION MANAGEMENT:
+     * Caller manages the transaction. The head stays locked until it ends,
+     * so no journaled commit lands between the snapshot and the deletion.
+     *
+     * @param retain Entries to keep behind the snapshot, for consumers that
+     *               are only slightly behind
+     */
+    public static Snapshot compact(EntityManager em, int retain) {
+        if (retain < 0) {
+            throw new IllegalArgumentException("retain must not be negative: " + retain);
+        }
+        ModelJournalHead head = lockHead(em);
+        long sequence = head.getLastSequence();
+
+        ModelSnapshot snapshot = em.find(ModelSnapshot.class, sequence);
+        if (snapshot == null || snapshot.getDialects() == null) {
+            List<JDBCTypeMetadata> jdbcTypes = em.createQuery(
+                    "SELECT t FROM JDBCTypeMetadata t", JDBCTypeMetadata.class)
+                .getResultList();
+            List<OXType> types = em.createQuery("SELECT t FROM OXType t", OXType.class)
+                .getResultList();
+            List<OXDBType> dialects = em.createQuery("SELECT d FROM OXDBType d ORDER BY d.name", OXDBType.class)
+                .getResultList();
+            ByteBuffer image = ModelImageWriter.encode(jdbcTypes, types);
+            byte[] bytes = new byte[image.remaining()];
+            image.get(bytes);
+
+            boolean created = snapshot == null;
+            if (created) {
+                snapshot = new ModelSnapshot();
+                snapshot.setSequence(sequence);
+            }
+            snapshot.setCreatedAt(Instant.now());
+            snapshot.setImage(bytes);
+            snapshot.setDialects(ModelSnapshot.encodeDialects(dialects));
+            if (created) {
+                em.persist(snapshot);
+            }
+        }
+        em.createQuery("DELETE FROM ModelSnapshot s WHERE s.sequence < :sequence")
+            .setParameter("sequence", sequence)
+            .executeUpdate();
+
+        long through = Math.max(head.getCompactedThrough(), sequence - retain);
+        int deleted = em.createQuery("DELETE FROM ModelChange c WHERE c.sequence <= :through")
+            .setParameter("through", through)
+            .executeUpdate();
+        head.setCompactedThrough(through);
+
+        System.out.println("Compacted model journal: snapshot at " + sequence + ", " + deleted +
+                           " entries deleted, tail starts after " + through);
+        return snapshot(snapshot);
+    }
+
+    private static Snapshot snapshot(ModelSnapshot snapshot) {
+        return new Snapshot(snapshot.getSequence(), snapshot.getCreatedAt(),
+                            ModelImage.wrap(ByteBuffer.wrap(snapshot.getImage())),
+                            ModelSnapshot.decodeDialects(snapshot.getDialects()));
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,38 @@
+package org.metaxava.journal;
+
+import javax.persistence.*;
+import lombok.*;
+
+/**
+ * ModelJournalHead - Single row holding the journal's positions
+ *
+ * Appending locks this row (PESSIMISTIC_WRITE) from sequence assignment
+ * to commit. That serializes journaled commits - only their last step,
+ * after the edits themselves are flushed - and is what makes sequences
+ * commit in order. Model edits are rare enough for one row to carry them.
+ *
+ * @author MetaXava Model Journal Session 2026-10-19
+ */
+@Entity
+@Table(name = "ox_journal_head")
+@Getter @Setter
+@NoArgsConstructor
+public class ModelJournalHead {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /**
+     * Last sequence appended (0 = empty journal)
+     */
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    /**
+     * Entries up to here were deleted; tailing from before it needs the snapshot
+     */
+    @Column(name = "compacted_through", nullable = false)
+    private long compactedThrough;
+}
@@ -0,0 +1,127 @@
+package org.metaxava.journal;
+
+import javax.persistence.*;
+import lombok.*;
+import org.metaxava.model.OXDBType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.JDBCType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ModelSnapshot - The whole model as of one journal sequence
+ *
+ * image holds ModelImageWriter bytes (the same format as the published
+ * image file), so a consumer rebuilds with ModelImage.wrap() and then
+ * replays the journal after sequence. The image has no dialects; they are
+ * in dialects, one record per OXDBType. Written by ModelJournal.compact();
+ * only the latest snapshot is kept.
+ *
+ * @author MetaXava Model Journal Session 2026-10-19
+ */
+@Entity
+@Table(name = "ox_model_snapshot")
+@Getter @Setter
+@NoArgsConstructor
+public class ModelSnapshot {
+
+    /**
+     * Last journal sequence included in the image
+     */
+    @Id
+    @Column(name = "seq_no")
+    private Long sequence;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Lob
+    @Column(name = "image", nullable = false)
+    private byte[] image;
+
+    /**
+     * encodeDialects() bytes; null in snapshots written before dialects were
+     * included (compact() rewrites such a snapshot)
+     */
+    @Lob
+    @Column(name = "dialects")
+    private byte[] dialects;
+
+    /**
+     * Every column of each dialect, DataOutput-encoded (a handful of small records)
+     */
+    static byte[] encodeDialects(List<OXDBType> dialects) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(dialects.size());
+            for (OXDBType dialect : dialects) {
+                out.writeLong(dialect.getId());
+                out.writeUTF(dialect.getName());
+                writeOptional(out, dialect.getHibernateDialect());
+                out.writeInt(dialect.getTypeTemplates().size());
+                for (Map.Entry<JDBCType, String> template : dialect.getTypeTemplates().entrySet()) {
+                    out.writeUTF(template.getKey().name());
+                    out.writeUTF(template.getValue());
+                }
+                out.writeInt(dialect.getMaxVarcharLength());
+                out.writeInt(dialect.getMaxCharLength());
+                out.writeInt(dialect.getMaxVarbinaryLength());
+                out.writeInt(dialect.getMaxNumericPrecision());
+                out.writeInt(dialect.getMaxIdentifierLength());
+                writeOptional(out, dialect.getBulkLoadTemplate());
+                writeOptional(out, dialect.getBatchRewriteProperty());
+                out.writeInt(dialect.getMaxBindParameters());
+                out.writeBoolean(dialect.isSupportsMultiRowInsert());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Detached OXDBTypes (version is not kept)
+     */
+    static List<OXDBType> decodeDialects(byte[] encoded) {
+        if (encoded == null) {
+            return List.of();
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            int count = in.readInt();
+            List<OXDBType> dialects = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                OXDBType dialect = new OXDBType(in.readUTF(), readOptional(in));
+                dialect.setId(id);
+                for (int templates = in.readInt(); templates > 0; templates--) {
+                    dialect.withTemplate(JDBCType.valueOf(in.readUTF()), in.readUTF());
+                }
+                dialect.withLimits(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                dialect.withBulkLoad(readOptional(in), readOptional(in), in.readInt(), in.readBoolean());
+                dialects.add(dialect);
+            }
+            return dialects;
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt dialects in model snapshot", e);
+        }
+    }
+
+    private static void writeOptional(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,55 @@
+package org.metaxava.load;
+
+/**
+ * LoadOperation - What a scripted modeler session does
+ *
+ * Through the server (HTTP, measured end to end):
+ * - BROWSE:        GET a type module's list page (TRAINING_PATHS, in turn)
+ * - GENERATE:      POST a model to /project and read the whole ZIP
+ *
+ * In-process (JPA on the server's database, see Workload):
+ * - CREATE_TYPE:   persist a basic type with three JDBC mappings
+ * - EDIT_MAPPINGS: move a session type's preferred JDBC type to the next
+ *                  compatible one (OptimisticEditor, journaled)
+ *
+ * @author MetaXava Load Test Session 2026-10-19
+ */
+public enum LoadOperation {
+
+    BROWSE("browse", true),
+    CREATE_TYPE("create", false),
+    EDIT_MAPPINGS("edit", false),
+    GENERATE("generate", true);
+
+    private final String key;
+    private final boolean throughServer;
+
+    LoadOperation(String key, boolean throughServer) {
+        this.key = key;
+        this.throughServer = throughServer;
+    }
+
+    /**
+     * Name in the mix argument and in report keys
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * false: run in the harness, not through the server's request path
+     */
+    public boolean throughServer() {
+        return throughServer;
+    }
+
+    public static LoadOperation ofKey(String key) {
+        for (LoadOperation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load operation '" + key + "', expected one of browse, create, " +
+                                           "edit, generate");
+    }
+}
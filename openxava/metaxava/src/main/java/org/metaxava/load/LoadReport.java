@@ -0,0 +1,208 @@
+package org.metaxava.load;
+
+import org.metaxava.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoadReport - Per-operation latency and throughput of one load-test run
+ *
+ * FORMAT:
+ * A properties file, one key per line in a fixed order, so two reports
+ * diff cleanly and one can serve as the next run's baseline:
+ *   sessions=2000
+ *   seconds=41.7
+ *   edit.count=32000
+ *   edit.p99Micros=48127
+ *   ...
+ *
+ * REGRESSIONS (regressionsFrom):
+ * An operation present in both reports regresses when
+ * - its p50 or p99 grew by more than threshold (and by MIN_DELTA_MICROS:
+ *   sub-millisecond jitter on fast operations is noise)
+ * - its throughput fell by more than threshold
+ * - its error rate grew by more than MAX_ERROR_RATE_INCREASE
+ * Compare runs with the same sessions, iterations and mix.
+ *
+ * format() lists operations through the server and in-process ones
+ * (LoadOperation.throughServer) under separate headings: the latter are
+ * database cost measured in the harness, not server latency.
+ *
+ * @author MetaXava Load Test Session 2026-10-19
+ */
+public record LoadReport(int sessions, int iterations, double seconds, Map<LoadOperation, Stats> operations) {
+
+    public static final long MIN_DELTA_MICROS = 1_000;
+    public static final double MAX_ERROR_RATE_INCREASE = 0.01;
+
+    /**
+     * One operation's numbers; latencies are LatencyHistogram.precise() bucket bounds
+     *
+     * @param throughput Completed operations per second over the measured window
+     */
+    public record Stats(long count, long errors, long p50Micros, long p90Micros, long p99Micros, long p999Micros,
+                        long maxMicros, double throughput) {
+
+        public static Stats of(LatencyHistogram latencies, long errors, double seconds) {
+            return new Stats(latencies.count(), errors,
+                             latencies.percentileMicros(50), latencies.percentileMicros(90),
+                             latencies.percentileMicros(99), latencies.percentileMicros(99.9),
+                             TimeUnit.NANOSECONDS.toMicros(latencies.maxNanos()),
+                             seconds > 0 ? latencies.count() / seconds : 0);
+        }
+
+        public double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    public LoadReport {
+        EnumMap<LoadOperation, Stats> copy = new EnumMap<>(LoadOperation.class);
+        copy.putAll(operations);
+        operations = Collections.unmodifiableMap(copy);
+    }
+
+    // ========== Comparison ==========
+
+    /**
+     * What got worse since the baseline, one line per finding (empty = pass)
+     *
+     * @param threshold Allowed relative change, e.g. 0.2 for 20%
+     */
+    public List<String> regressionsFrom(LoadReport baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<LoadOperation, Stats> entry : operations.entrySet()) {
+            Stats before = baseline.operations().get(entry.getKey());
+            if (before == null || before.count() == 0) {
+                continue;
+            }
+            Stats now = entry.getValue();
+            String name = entry.getKey().key();
+            latency(regressions, name + " p50", before.p50Micros(), now.p50Micros(), threshold);
+            latency(regressions, name + " p99", before.p99Micros(), now.p99Micros(), threshold);
+            if (now.throughput() < before.throughput() * (1 - threshold)) {
+                regressions.add(String.format("%s throughput %.1f/s -> %.1f/s (%+.0f%%)", name,
+                                              before.throughput(), now.throughput(),
+                                              percentChange(before.throughput(), now.throughput())));
+            }
+            if (now.errorRate() > before.errorRate() + MAX_ERROR_RATE_INCREASE) {
+                regressions.add(String.format("%s errors %.2f%% -> %.2f%%", name,
+                                              before.errorRate() * 100, now.errorRate() * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static void latency(List<String> regressions, String name, long before, long now, double threshold) {
+        if (now > before * (1 + threshold) && now - before > MIN_DELTA_MICROS) {
+            regressions.add(String.format("%s %.1f ms -> %.1f ms (%+.0f%%)", name, before / 1e3, now / 1e3,
+                                          percentChange(before, now)));
+        }
+    }
+
+    private static double percentChange(double before, double now) {
+        return before == 0 ? 0 : (now - before) * 100 / before;
+    }
+
+    // ========== Output ==========
+
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format(
+            "%d sessions x %d iterations, measured %.1fs%n" +
+            "  %-9s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            sessions, iterations, seconds,
+            "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (boolean throughServer : new boolean[] {true, false}) {
+            boolean heading = false;
+            for (Map.Entry<LoadOperation, Stats> entry : operations.entrySet()) {
+                if (entry.getKey().throughServer() != throughServer) {
+                    continue;
+                }
+                if (!heading) {
+                    out.append(throughServer ? "  through the server (HTTP):\n"
+                                             : "  in-process (JPA on the server's database, not via HTTP):\n");
+                    heading = true;
+                }
+                Stats stats = entry.getValue();
+                out.append(String.format("  %-9s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                                         entry.getKey().key(), stats.count(), stats.errors(), stats.throughput(),
+                                         stats.p50Micros() / 1e3, stats.p90Micros() / 1e3, stats.p99Micros() / 1e3,
+                                         stats.p999Micros() / 1e3, stats.maxMicros() / 1e3));
+            }
+        }
+        return out.toString();
+    }
+
+    public void write(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        try (Writer out = Files.newBufferedWriter(absolute, StandardCharsets.ISO_8859_1)) {
+            out.write("# MetaXava load report, " + Instant.now() + "\n");
+            line(out, "sessions", sessions);
+            line(out, "iterations", iterations);
+            line(out, "seconds", seconds);
+            for (Map.Entry<LoadOperation, Stats> entry : operations.entrySet()) {
+                String prefix = entry.getKey().key() + ".";
+                Stats stats = entry.getValue();
+                line(out, prefix + "count", stats.count());
+                line(out, prefix + "errors", stats.errors());
+                line(out, prefix + "p50Micros", stats.p50Micros());
+                line(out, prefix + "p90Micros", stats.p90Micros());
+                line(out, prefix + "p99Micros", stats.p99Micros());
+                line(out, prefix + "p999Micros", stats.p999Micros());
+                line(out, prefix + "maxMicros", stats.maxMicros());
+                line(out, prefix + "throughput", stats.throughput());
+            }
+        }
+    }
+
+    private static void line(Writer out, String key, Object value) throws IOException {
+        out.write(key + "=" + value + "\n");
+    }
+
+    public static LoadReport read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+            properties.load(in);
+        }
+        Map<LoadOperation, Stats> operations = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            String prefix = operation.key() + ".";
+            if (properties.containsKey(prefix + "count")) {
+                operations.put(operation, new Stats(
+                    longValue(properties, prefix + "count"), longValue(properties, prefix + "errors"),
+                    longValue(properties, prefix + "p50Micros"), longValue(properties, prefix + "p90Micros"),
+                    longValue(properties, prefix + "p99Micros"), longValue(properties, prefix + "p999Micros"),
+                    longValue(properties, prefix + "maxMicros"),
+                    Double.parseDouble(value(properties, prefix + "throughput"))));
+            }
+        }
+        return new LoadReport((int) longValue(properties, "sessions"), (int) longValue(properties, "iterations"),
+                              Double.parseDouble(value(properties, "seconds")), operations);
+    }
+
+    private static long longValue(Properties properties, String key) {
+        return Long.parseLong(value(properties, key));
+    }
+
+    private static String value(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Load report is missing '" + key + "'");
+        }
+        return value.trim();
+    }
+}
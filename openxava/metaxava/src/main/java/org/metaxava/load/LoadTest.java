@@ -0,0 +1,263 @@
+package org.metaxava.load;
+
+import org.apache.catalina.startup.Tomcat;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.run.MetaXavaServer;
+import org.metaxava.run.StartupTraining;
+import org.openxava.util.DBServer;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * LoadTest - Many concurrent modelers against an in-process MetaXava
+ *
+ * USAGE:
+ *   java -cp ... org.metaxava.load.LoadTest sessions=2000 iterations=10 \
+ *        report=target/load-report.properties
+ *   java -cp ... org.metaxava.load.LoadTest sessions=2000 iterations=10 \
+ *        baseline=load-baseline.properties threshold=0.2     # exit 1 on regression
+ *
+ * OPTIONS (name=value):
+ *   sessions=1000        concurrent sessions, one virtual thread each
+ *   iterations=10        script passes per session, after one warm-up pass
+ *   mix=browse=4,create=1,edit=2,generate=1   operations per pass (run in LoadOperation order)
+ *   think=0              mean pause between operations, ms (uniform 0..2x)
+ *   permits=20           concurrent in-process JPA operations (harness connection pool)
+ *   entities=20          entities in the model each GENERATE posts to /project
+ *   virtualThreads=false run the server's connector on virtual threads too
+ *   report=target/load-report.properties
+ *   baseline=<file>      earlier report to compare with
+ *   threshold=0.2        allowed relative regression (see LoadReport)
+ *
+ * RUN:
+ * 1. DBServer.start and MetaXavaServer.start (AppServer.run's setup, but
+ *    the Tomcat is returned instead of blocking) on the first free port
+ * 2. One GET per module page, so the webapp creates the schema; the type
+ *    system is bootstrapped if the database is empty
+ * 3. Every session runs one unrecorded warm-up pass (which also creates
+ *    the types its edits need); the measured window starts once all have
+ * 4. Report printed and written, server and in-process operations apart
+ *    (see Workload); the run's types and artifact runs are deleted
+ *
+ * @author MetaXava Load Test Session 2026-10-19
+ */
+public class LoadTest {
+
+    public static final String APPLICATION = "metaxava";
+    public static final String DEFAULT_MIX = "browse=4,create=1,edit=2,generate=1";
+
+    /**
+     * Run parameters (see OPTIONS)
+     *
+     * @param script Operations of one pass: the mix expanded, in LoadOperation order
+     */
+    public record Settings(int sessions, int iterations, List<LoadOperation> script, int thinkMillis,
+                           int jdbcPermits, int generatedEntities, boolean virtualThreads) {
+
+        public Settings {
+            if (sessions < 1 || iterations < 1 || jdbcPermits < 1) {
+                throw new IllegalArgumentException("sessions, iterations and permits must be positive");
+            }
+            if (script.isEmpty()) {
+                throw new IllegalArgumentException("The mix has no operations");
+            }
+            script = List.copyOf(script);
+        }
+
+        public static Settings of(Map<String, String> options) {
+            return new Settings(
+                Integer.parseInt(options.getOrDefault("sessions", "1000")),
+                Integer.parseInt(options.getOrDefault("iterations", "10")),
+                script(options.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(options.getOrDefault("think", "0")),
+                Integer.parseInt(options.getOrDefault("permits", "20")),
+                Integer.parseInt(options.getOrDefault("entities", "20")),
+                Boolean.parseBoolean(options.getOrDefault("virtualThreads", "false")));
+        }
+
+        /**
+         * "browse=2,edit=1" → [BROWSE, BROWSE, EDIT_MAPPINGS]
+         */
+        static List<LoadOperation> script(String mix) {
+            Map<LoadOperation, Integer> counts = new EnumMap<>(LoadOperation.class);
+            for (String part : mix.split(",")) {
+                String[] pair = part.trim().split("=", 2);
+                counts.merge(LoadOperation.ofKey(pair[0].trim()),
+                             pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1, Integer::sum);
+            }
+            List<LoadOperation> script = new ArrayList<>();
+            counts.forEach((operation, count) -> {
+                for (int i = 0; i < count; i++) {
+                    script.add(operation);
+                }
+            });
+            return script;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        Settings settings = Settings.of(options);
+
+        DBServer.start("metaxava-db");
+        Tomcat tomcat = MetaXavaServer.start(APPLICATION, settings.virtualThreads());
+        int status;
+        try {
+            URI base = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + "/" + APPLICATION);
+            LoadReport report = run(base, settings);
+            System.out.print(report.format());
+
+            Path reportFile = Path.of(options.getOrDefault("report", "target/load-report.properties"));
+            report.write(reportFile);
+            System.out.println("✓ Report written to " + reportFile.toAbsolutePath());
+
+            List<String> regressions = List.of();
+            if (options.containsKey("baseline")) {
+                double threshold = Double.parseDouble(options.getOrDefault("threshold", "0.2"));
+                regressions = report.regressionsFrom(LoadReport.read(Path.of(options.get("baseline"))), threshold);
+                regressions.forEach(regression -> System.out.println("✗ Regression: " + regression));
+                if (regressions.isEmpty()) {
+                    System.out.println("✓ No regression beyond " + Math.round(threshold * 100) + "% of the baseline");
+                }
+            }
+            status = regressions.isEmpty() ? 0 : 1;
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+        System.exit(status);  // DBServer's threads would keep the JVM alive
+    }
+
+    /**
+     * Drive the sessions against a running server
+     *
+     * @param base Application URL, e.g. http://localhost:8080/metaxava
+     */
+    public static LoadReport run(URI base, Settings settings) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        for (String path : StartupTraining.TRAINING_PATHS) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofMinutes(2)).GET().build();
+            int code = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (code >= 500) {
+                throw new IllegalStateException("Server not ready: " + path + " → " + code);
+            }
+        }
+
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("junit", Map.of(
+            "hibernate.connection.pool_size", String.valueOf(settings.jdbcPermits()),
+            "hibernate.show_sql", "false"));
+        try {
+            bootstrapIfEmpty(emf);
+            Workload workload = new Workload(base, client, emf, settings.jdbcPermits(),
+                                             "loadtest.run" + System.currentTimeMillis(),
+                                             settings.generatedEntities());
+            try {
+                return drive(workload, settings);
+            } finally {
+                System.out.println("✓ Deleted " + workload.cleanup() + " load-test types");
+            }
+        } finally {
+            emf.close();
+        }
+    }
+
+    private static LoadReport drive(Workload workload, Settings settings) throws Exception {
+        CountDownLatch warmedUp = new CountDownLatch(settings.sessions());
+        CountDownLatch measuring = new CountDownLatch(1);
+        List<Future<Void>> sessions = new ArrayList<>(settings.sessions());
+        long began;
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < settings.sessions(); s++) {
+                Workload.Session session = workload.new Session(s);
+                sessions.add(pool.submit(() -> {
+                    try {
+                        pass(session, settings, false);
+                    } finally {
+                        warmedUp.countDown();
+                    }
+                    measuring.await();
+                    for (int i = 0; i < settings.iterations(); i++) {
+                        pass(session, settings, true);
+                    }
+                    return null;
+                }));
+            }
+            warmedUp.await();
+            System.out.println("✓ " + settings.sessions() + " sessions warmed up, measuring");
+            began = System.nanoTime();
+            measuring.countDown();
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        for (Future<Void> session : sessions) {
+            session.get();
+        }
+
+        Map<LoadOperation, LoadReport.Stats> operations = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : settings.script()) {
+            operations.put(operation, LoadReport.Stats.of(workload.latencies(operation),
+                                                          workload.errors(operation), seconds));
+        }
+        return new LoadReport(settings.sessions(), settings.iterations(), seconds, operations);
+    }
+
+    private static void pass(Workload.Session session, Settings settings, boolean recorded)
+            throws InterruptedException {
+        for (LoadOperation operation : settings.script()) {
+            if (settings.thinkMillis() > 0) {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(2L * settings.thinkMillis() + 1));
+            }
+            session.perform(operation, recorded);
+        }
+    }
+
+    private static void bootstrapIfEmpty(EntityManagerFactory emf) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            long jdbcTypes = em.createQuery("SELECT COUNT(t) FROM JDBCTypeMetadata t", Long.class).getSingleResult();
+            if (jdbcTypes == 0) {
+                em.getTransaction().begin();
+                System.out.println(TypeSystemBootstrap.bootstrap(em));
+                em.getTransaction().commit();
+            }
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got '" + arg + "'");
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
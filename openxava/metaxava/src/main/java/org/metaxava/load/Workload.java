@@ -0,0 +1,251 @@
+package org.metaxava.load;
+
+import org.metaxava.artifact.ArtifactStore;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.ModelText;
+import org.metaxava.edit.OptimisticEditor;
+import org.metaxava.journal.ModelJournal;
+import org.metaxava.metrics.LatencyHistogram;
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXPrimitiveWrapperType;
+import org.metaxava.run.StartupTraining;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.JDBCType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Workload - The operations behind LoadOperation, and what they measured
+ *
+ * THROUGH THE SERVER:
+ * Browsing and generation go over HTTP to the running server, like a
+ * browser tab and a build: BROWSE GETs module pages, GENERATE POSTs the
+ * model to /project (ProjectServlet: TypeModel load, generation, ZIP
+ * streaming and artifact recording, behind the server's own pool and
+ * JdbcPermitFilter) and reads the whole response.
+ *
+ * IN-PROCESS (an adaptation, reported apart by LoadReport):
+ * Creating types and editing mappings have no endpoint: in the server
+ * they are OpenXava module actions, driven by forms and DWR calls a
+ * script can't replay faithfully. They run in the harness instead,
+ * against the server's database through the "junit" persistence unit
+ * (HSQLDB server on localhost:1666), with the same JPA code the actions
+ * run (ModelJournal, OptimisticEditor). A fair Semaphore sized to that
+ * unit's pool stands in for JdbcPermitFilter: sessions wait for a
+ * connection inside the measured latency instead of failing in Hibernate.
+ * Their numbers are database and journal cost, not server latency.
+ *
+ * Types created by a run live in their own package (runPackage); the
+ * projects it generates are recorded as artifact runs named after it.
+ * cleanup() deletes both.
+ *
+ * @author MetaXava Load Test Session 2026-10-19
+ */
+final class Workload {
+
+    static final List<JDBCType> MAPPINGS = List.of(JDBCType.CHAR, JDBCType.VARCHAR, JDBCType.CLOB);
+
+    private final URI base;
+    private final HttpClient client;
+    private final EntityManagerFactory emf;
+    private final Semaphore jdbcPermits;
+    private final String runPackage;
+    private final String modelText;
+    private final Map<LoadOperation, LatencyHistogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+
+    Workload(URI base, HttpClient client, EntityManagerFactory emf, int jdbcPermits, String runPackage,
+             int generatedEntities) {
+        this.base = base;
+        this.client = client;
+        this.emf = emf;
+        this.jdbcPermits = new Semaphore(jdbcPermits, true);
+        this.runPackage = runPackage;
+        this.modelText = ModelText.format(GenerationBenchmark.entities(generatedEntities));
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, LatencyHistogram.precise());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LatencyHistogram latencies(LoadOperation operation) {
+        return latencies.get(operation);
+    }
+
+    long errors(LoadOperation operation) {
+        return errors.get(operation).sum();
+    }
+
+    /**
+     * One modeler: its own HTTP session and the types it created
+     */
+    final class Session {
+
+        private final int number;
+        private final List<Long> types = new ArrayList<>();
+        private Optional<String> cookie = Optional.empty();
+        private int browsed;
+        private int created;
+
+        Session(int number) {
+            this.number = number;
+        }
+
+        /**
+         * Run one operation; failures are counted, never thrown
+         *
+         * @param recorded false for the warm-up pass
+         */
+        void perform(LoadOperation operation, boolean recorded) throws InterruptedException {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = switch (operation) {
+                    case BROWSE -> browse(this);
+                    case CREATE_TYPE -> createType(this);
+                    case EDIT_MAPPINGS -> editMappings(this);
+                    case GENERATE -> generate(this);
+                };
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (recorded) {
+                latencies.get(operation).record(System.nanoTime() - start);
+                if (!ok) {
+                    errors.get(operation).increment();
+                }
+            }
+        }
+    }
+
+    // ========== Operations ==========
+
+    private boolean browse(Session session) throws Exception {
+        String path = StartupTraining.TRAINING_PATHS.get(session.browsed++ % StartupTraining.TRAINING_PATHS.size());
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+            .timeout(Duration.ofSeconds(60)).GET();
+        session.cookie.ifPresent(cookie -> request.header("Cookie", cookie));
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (session.cookie.isEmpty()) {
+            session.cookie = response.headers().firstValue("Set-Cookie").map(header -> header.split(";", 2)[0]);
+        }
+        return response.statusCode() < 400;
+    }
+
+    /**
+     * A user-defined wrapper: it declares its persisted mappings (not a built-in type)
+     */
+    private boolean createType(Session session) throws InterruptedException {
+        String simpleName = "Value" + session.number + "x" + session.created++;
+        Long id = withConnection(() -> ModelJournal.inTransaction(emf, em -> {
+            List<JDBCTypeMetadata> mappings = new ArrayList<>(em.createQuery(
+                    "SELECT t FROM JDBCTypeMetadata t WHERE t.jdbcType IN :types", JDBCTypeMetadata.class)
+                .setParameter("types", MAPPINGS)
+                .getResultList());
+            JDBCTypeMetadata preferred = mappings.stream()
+                .filter(mapping -> mapping.getJdbcType() == JDBCType.VARCHAR)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("JDBC types are not bootstrapped"));
+            OXPrimitiveWrapperType type = OXPrimitiveWrapperType.builder()
+                .packageName(runPackage)
+                .simpleName(simpleName)
+                .compatibleJdbcTypes(mappings)
+                .preferredJdbcType(preferred)
+                .build();
+            em.persist(type);
+            return type.getId();
+        }));
+        session.types.add(id);
+        return true;
+    }
+
+    /**
+     * Needs a type from the session's warm-up pass; fails otherwise
+     */
+    private boolean editMappings(Session session) throws InterruptedException {
+        if (session.types.isEmpty()) {
+            return false;
+        }
+        Long id = session.types.get(ThreadLocalRandom.current().nextInt(session.types.size()));
+        withConnection(() -> OptimisticEditor.edit(emf, OXPrimitiveWrapperType.class, id, type -> {
+            List<JDBCTypeMetadata> compatible = new ArrayList<>(type.getCompatibleJdbcTypes());
+            compatible.sort(Comparator.comparingInt(mapping -> mapping.getJdbcType().ordinal()));
+            int current = compatible.indexOf(type.getPreferredJdbcType());
+            type.setPreferredJdbcType(compatible.get((current + 1) % compatible.size()));
+        }));
+        return true;
+    }
+
+    /**
+     * The project ZIP, read to the end: the server generates while it streams
+     */
+    private boolean generate(Session session) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create(base + "/project?target=21&artifactId=" + runPackage))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "text/plain; charset=UTF-8")
+            .POST(HttpRequest.BodyPublishers.ofString(modelText));
+        session.cookie.ifPresent(cookie -> request.header("Cookie", cookie));
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == 200;
+    }
+
+    private <T> T withConnection(Supplier<T> work) throws InterruptedException {
+        jdbcPermits.acquire();
+        try {
+            return work.get();
+        } finally {
+            jdbcPermits.release();
+        }
+    }
+
+    // ========== Setup ==========
+
+    /**
+     * Delete the types this run created, and its projects' artifact runs
+     *
+     * The runs are only found when the server shares this process's
+     * ArtifactStore.shared() (LoadTest.main starts it in-process).
+     *
+     * @return Number of types deleted
+     */
+    int cleanup() throws IOException {
+        ArtifactStore artifacts = ArtifactStore.shared();
+        int runs = 0;
+        for (String run : artifacts.runs()) {
+            if (run.startsWith("project-" + runPackage + "-") && artifacts.delete(run)) {
+                runs++;
+            }
+        }
+        if (runs > 0) {
+            System.out.println("✓ Deleted " + runs + " load-test artifact runs, " + artifacts.collectGarbage() +
+                               " objects");
+        }
+        return ModelJournal.inTransaction(emf, em -> {
+            List<OXPrimitiveWrapperType> types = em.createQuery(
+                    "SELECT t FROM OXPrimitiveWrapperType t WHERE t.packageName = :runPackage",
+                    OXPrimitiveWrapperType.class)
+                .setParameter("runPackage", runPackage)
+                .getResultList();
+            types.forEach(em::remove);
+            return types.size();
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package org.metaxava.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram - Lock-free, fixed-bucket latency histogram
+ *
+ * DESIGN:
+ * Buckets are powers of two in microseconds (1µs, 2µs, 4µs ... ~34s, +Inf).
+ * Recording is one numberOfLeadingZeros and one LongAdder increment, so it is
+ * cheap enough for hot paths like connection acquisition.
+ *
+ * PRECISION:
+ * Percentiles are reported as the upper bound of the bucket that contains
+ * them (at most 2x over-estimate). That is enough to tell 50µs from 50ms,
+ * which is what starvation diagnosis needs.
+ *
+ * precise() splits every power of two into PRECISE_SUB_BUCKETS linear
+ * buckets (the HdrHistogram layout, up to PRECISE_MAX_MICROS = 1 hour), so
+ * percentiles are at most 1/64 (1.6%) over: load-test reports are compared
+ * run to run, where 40ms and 60ms must not share a bucket. It costs about
+ * 1,700 buckets instead of 27.
+ *
+ * EXPORT:
+ * writePrometheus() emits a standard cumulative histogram
+ * (_bucket{le=...}, _sum, _count) in seconds, at the power-of-two bounds
+ * whatever the precision, so both kinds export the same series.
+ *
+ * @author MetaXava Connection Pool Session 2026-10-19
+ */
+public class LatencyHistogram {
+
+    /**
+     * Default layout: bucket i holds latencies <= 2^i microseconds; the last bucket is +Inf
+     */
+    public static final int BUCKETS = 27;
+
+    public static final int PRECISE_SUB_BUCKETS = 64;
+    public static final long PRECISE_MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final int subBucketBits;
+    private final LongAdder[] counts;
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        this(0, 1L << (BUCKETS - 2));
+    }
+
+    /**
+     * @param maxMicros Largest latency with a finite bucket; larger ones go to +Inf
+     */
+    private LatencyHistogram(int subBucketBits, long maxMicros) {
+        this.subBucketBits = subBucketBits;
+        this.counts = new LongAdder[index(maxMicros - 1) + 2];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Histogram with PRECISE_SUB_BUCKETS buckets per power of two, for load reports
+     */
+    public static LatencyHistogram precise() {
+        return new LatencyHistogram(Integer.numberOfTrailingZeros(PRECISE_SUB_BUCKETS), PRECISE_MAX_MICROS);
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts[Math.min(index(micros - 1), counts.length - 1)].increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long count() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public long sumNanos() {
+        return sumNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Upper bucket bound containing the given percentile, in microseconds
+     *
+     * @param percentile 0-100
+     * @return Bucket bound, Long.MAX_VALUE for the overflow bucket, 0 if empty
+     */
+    public long percentileMicros(double percentile) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                return upperBoundMicros(i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Append the # TYPE line of a histogram family; write it once, before its series
+     */
+    public static void writePrometheusType(StringBuilder out, String name) {
+        out.append("# TYPE ").append(name).append(" histogram\n");
+    }
+
+    /**
+     * Append a Prometheus histogram named {@code name} (seconds) with optional labels
+     *
+     * @param labels Label text without braces, e.g. {@code pool="metaxavaDS"}; empty for none
+     */
+    public void writePrometheus(StringBuilder out, String name, String labels) {
+        long[] snapshot = snapshot();
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            long bound = upperBoundMicros(i);
+            if (i < snapshot.length - 1 && Long.bitCount(bound) != 1) {
+                continue;
+            }
+            String le = i == snapshot.length - 1 ? "+Inf" : String.valueOf(bound / 1e6);
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(le).append("\"} ")
+               .append(cumulative).append('\n');
+        }
+        String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(braces).append(' ').append(sumNanos.sum() / 1e9).append('\n');
+        out.append(name).append("_count").append(braces).append(' ').append(cumulative).append('\n');
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Bucket of micros - 1: exact below 2 * sub-buckets, then sub-buckets per power of two
+     * (with no sub-bucket bits, bucket i holds 2^(i-1) < micros <= 2^i)
+     */
+    private int index(long value) {
+        int subBuckets = 1 << subBucketBits;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value | (2L * subBuckets - 1));
+        int shift = magnitude - subBucketBits;
+        return shift * subBuckets + (int) (value >>> shift);
+    }
+
+    /**
+     * Largest latency that falls into a bucket, in microseconds
+     */
+    private long upperBoundMicros(int bucket) {
+        if (bucket == counts.length - 1) {
+            return Long.MAX_VALUE;
+        }
+        int subBuckets = 1 << subBucketBits;
+        if (bucket < 2 * subBuckets) {
+            return bucket + 1;
+        }
+        int shift = bucket / subBuckets - 1;
+        long mantissa = bucket - (long) shift * subBuckets;
+        return (mantissa + 1) << shift;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%dµs p99=%dµs max=%dµs",
+                             count(), percentileMicros(50), percentileMicros(99),
+                             TimeUnit.NANOSECONDS.toMicros(maxNanos()));
+    }
+}
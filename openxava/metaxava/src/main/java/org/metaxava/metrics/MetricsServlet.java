@@ -0,0 +1,39 @@
+package org.metaxava.metrics;
+
+import org.metaxava.pool.InstrumentedDataSource;
+import org.metaxava.profile.OperationProfiler;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * MetricsServlet - Local Prometheus-format metrics endpoint
+ *
+ * Mapped to /metrics in web.xml. Only loopback clients are served: scrape it
+ * from a sidecar/agent on the same host, or curl it while diagnosing.
+ *
+ *   curl http://localhost:8080/metaxava/metrics
+ *
+ * @author MetaXava Connection Pool Session 2026-10-19
+ */
+public class MetricsServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Metrics are only served to localhost");
+            return;
+        }
+
+        StringBuilder out = new StringBuilder(8192);
+        InstrumentedDataSource.writePrometheus(out, InstrumentedDataSource.pools());
+        OperationProfiler.writePrometheus(out);
+
+        response.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(out.toString());
+    }
+}
@@ -2,6 +2,7 @@ package org.metaxava.model;
 
 import javax.persistence.*;
 import lombok.*;
+
 import java.sql.JDBCType;
 
 /**
@@ -26,6 +27,9 @@ import java.sql.JDBCType;
  * One row per JDBC type (static, populated at first run)
  * Example: JDBCType.VARCHAR → supportsLength=true, typical 4000 chars
  *
+ * SEARCH:
+ * description and portabilityNotes are full-text indexed (SearchIndexListener).
+ *
  * @author MetaXava Architecture Session 2025-10-28
  */
 @Entity
@@ -37,6 +41,17 @@ public class JDBCTypeMetadata {
     @GeneratedValue
     private Long id;
 
+    /**
+     * Optimistic lock version
+     *
+     * JDBC metadata rows are shared by every OXBasicType that maps to them,
+     * so pessimistic locks here would serialize unrelated editors.
+     * Conflicting edits are detected at flush instead.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /**
      * The JDBC type this metadata describes
      *
@@ -189,6 +204,9 @@ public class JDBCTypeMetadata {
      * - CLOB: "Oracle uses CLOB, SQL Server uses VARCHAR(MAX)"
      * - TEXT: "MySQL/PostgreSQL extension, use VARCHAR in standard SQL"
      * - BOOLEAN: "Not supported in Oracle (use NUMBER(1) instead)"
+     *
+     * Free text for humans only. DDL generation uses the per-dialect
+     * renderings of OXDBType (compiled by DialectCatalog).
      */
     @Column(length = 1000)
     private String portabilityNotes;
@@ -0,0 +1,59 @@
+package org.metaxava.model;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.metaxava.journal.JournalListener;
+import org.metaxava.search.SearchIndexListener;
+
+import java.util.List;
+
+/**
+ * ModelEventIntegrator - Registers MetaXava's Hibernate event listeners
+ *
+ * WHY NOT @EntityListeners:
+ * JPA callbacks don't see the Session they fire in, so a listener can't
+ * tie its work to that session's transaction. Hibernate listeners get the
+ * session, and through its ActionQueue can run work just before or just
+ * after the transaction completes - whoever opened it (OpenXava modules,
+ * bootstrap, tests, MetaXava's own editors).
+ *
+ * LISTENERS:
+ * - JournalListener: appends ModelJournal entries just before the commit
+ * - SearchIndexListener: updates ModelSearchIndex.shared() after the commit
+ *
+ * USAGE (persistence.xml, every unit that maps the model):
+ *   <property name="hibernate.integrator_provider"
+ *             value="org.metaxava.model.ModelEventIntegrator"/>
+ *
+ * @author MetaXava Model Journal Session 2026-10-19
+ */
+public class ModelEventIntegrator implements IntegratorProvider, Integrator {
+
+    @Override
+    public List<Integrator> getIntegrators() {
+        return List.of(this);
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        EventListenerRegistry listeners = serviceRegistry.getService(EventListenerRegistry.class);
+        JournalListener journal = new JournalListener();
+        listeners.appendListeners(EventType.POST_INSERT, journal);
+        listeners.appendListeners(EventType.POST_UPDATE, journal);
+        listeners.appendListeners(EventType.POST_DELETE, journal);
+        SearchIndexListener search = new SearchIndexListener();
+        listeners.appendListeners(EventType.POST_INSERT, search);
+        listeners.appendListeners(EventType.POST_UPDATE, search);
+        listeners.appendListeners(EventType.POST_DELETE, search);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -3,6 +3,7 @@ package org.metaxava.model;
 import javax.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.metaxava.types.BuiltInTypeTables;
 import java.sql.JDBCType;
 import java.util.List;
 
@@ -37,11 +38,11 @@ public class OXBigIntegerType extends OXBasicReferenceType {
 
     @Override
     public List<JDBCType> declareCompatibleJdbcTypes() {
-        return List.of(JDBCType.NUMERIC, JDBCType.DECIMAL, JDBCType.BIGINT);
+        return BuiltInTypeTables.compatibleJdbcTypes(QUALIFIED_NAME);
     }
 
     @Override
     public JDBCType declarePreferredJdbcType() {
-        return JDBCType.NUMERIC;
+        return BuiltInTypeTables.preferredJdbcType(QUALIFIED_NAME);
     }
 }
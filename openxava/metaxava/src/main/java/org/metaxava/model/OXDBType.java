@@ -1,5 +1,196 @@
 package org.metaxava.model;
 
-// TODO Define beast
+import javax.persistence.*;
+import lombok.*;
+import java.sql.JDBCType;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * OXDBType - Target database dialect (H2, PostgreSQL, MySQL, Oracle, SQL Server)
+ *
+ * DESIGN RATIONALE:
+ * JDBCTypeMetadata describes a JDBC type in the abstract; what a column
+ * actually looks like depends on the target database. portabilityNotes
+ * says so in prose ("Oracle: CLOB, SQL Server: VARCHAR(MAX)"), which a
+ * human can read but a DDL generator can't. OXDBType holds the same
+ * knowledge as data:
+ * - Type rendering: JDBCType → column type template
+ * - Size limits: VARCHAR/CHAR/VARBINARY lengths, NUMERIC precision, identifiers
+ * - Bulk-load capabilities: native loader, batch rewriting, bind-parameter cap
+ *
+ * TEMPLATES:
+ * Plain text with placeholders {length}, {precision}, {scale}:
+ * - "VARCHAR({length})", "VARCHAR2({length} CHAR)"
+ * - "NUMERIC({precision},{scale})", "NUMBER(10,0)", "VARCHAR(MAX)"
+ * Templates are parsed ONCE, when DialectCatalog compiles the dialect into
+ * an EnumMap<JDBCType, Renderer>. DDL generation never parses strings.
+ *
+ * OVERFLOW:
+ * A VARCHAR longer than maxVarcharLength renders as the dialect's CLOB,
+ * a VARBINARY longer than maxVarbinaryLength as its BLOB (what a DBA
+ * would do by hand). Oversized CHAR and NUMERIC are rejected.
+ *
+ * BOOTSTRAP:
+ * DialectBootstrap persists the five built-in dialects; users may edit
+ * limits/templates (e.g. Oracle with MAX_STRING_SIZE=EXTENDED).
+ *
+ * @author MetaXava Dialect Catalog Session 2026-10-19
+ */
+@Entity
+@Table(name = "ox_db_type")
+@Getter @Setter
 public class OXDBType {
+
+    public static final String LENGTH = "{length}";
+    public static final String PRECISION = "{precision}";
+    public static final String SCALE = "{scale}";
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * Optimistic lock version (see OXType)
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    /**
+     * Dialect name, unique
+     *
+     * Examples: "H2", "PostgreSQL", "MySQL", "Oracle", "SQLServer"
+     */
+    @Column(name = "dialect_name", length = 50, unique = true, nullable = false)
+    private String name;
+
+    /**
+     * Hibernate dialect class for generated persistence.xml
+     */
+    @Column(name = "hibernate_dialect", length = 200)
+    private String hibernateDialect;
+
+    /**
+     * Column type template per JDBC type
+     *
+     * DESIGN:
+     * - Missing key = the dialect can't store that JDBC type (rendering fails)
+     * - Stored as a map table (ox_db_type_rendering), one row per JDBC type
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "ox_db_type_rendering", joinColumns = @JoinColumn(name = "db_type_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "jdbc_type", length = 50)
+    @Column(name = "template", length = 100, nullable = false)
+    private Map<JDBCType, String> typeTemplates = new EnumMap<>(JDBCType.class);
+
+    // ========== Size limits ==========
+
+    /**
+     * Longest VARCHAR before overflowing to CLOB (characters)
+     *
+     * Examples: Oracle 4000, SQL Server 8000, MySQL 16383 (utf8mb4)
+     */
+    @Column(name = "max_varchar_length", nullable = false)
+    private int maxVarcharLength;
+
+    @Column(name = "max_char_length", nullable = false)
+    private int maxCharLength;
+
+    /**
+     * Longest VARBINARY before overflowing to BLOB (bytes)
+     */
+    @Column(name = "max_varbinary_length", nullable = false)
+    private int maxVarbinaryLength;
+
+    /**
+     * Largest NUMERIC/DECIMAL precision
+     *
+     * Examples: Oracle/SQL Server 38, MySQL 65, PostgreSQL 1000
+     */
+    @Column(name = "max_numeric_precision", nullable = false)
+    private int maxNumericPrecision;
+
+    /**
+     * Longest table/column name
+     *
+     * Examples: PostgreSQL 63, MySQL 64, Oracle/SQL Server 128
+     */
+    @Column(name = "max_identifier_length", nullable = false)
+    private int maxIdentifierLength;
+
+    // ========== Bulk-load capabilities ==========
+
+    /**
+     * Native bulk-load statement with {table} and {source} placeholders
+     *
+     * Examples:
+     * - PostgreSQL: "COPY {table} FROM STDIN WITH (FORMAT csv)"
+     * - MySQL: "LOAD DATA LOCAL INFILE '{source}' INTO TABLE {table} ..."
+     * - null: no SQL-level loader (Oracle uses SQL*Loader, outside JDBC)
+     */
+    @Column(name = "bulk_load_template", length = 300)
+    private String bulkLoadTemplate;
+
+    /**
+     * JDBC URL property that rewrites batches into multi-row statements
+     *
+     * Examples: "reWriteBatchedInserts=true" (PostgreSQL),
+     * "rewriteBatchedStatements=true" (MySQL)
+     */
+    @Column(name = "batch_rewrite_property", length = 100)
+    private String batchRewriteProperty;
+
+    /**
+     * Bind parameters per statement (caps multi-row INSERT width)
+     *
+     * Examples: SQL Server 2100, PostgreSQL 32767
+     */
+    @Column(name = "max_bind_parameters", nullable = false)
+    private int maxBindParameters;
+
+    @Column(name = "supports_multi_row_insert", nullable = false)
+    private boolean supportsMultiRowInsert;
+
+    // No-arg constructor (required by JPA)
+    public OXDBType() {}
+
+    // Constructor for bootstrap convenience
+    public OXDBType(String name, String hibernateDialect) {
+        this.name = name;
+        this.hibernateDialect = hibernateDialect;
+    }
+
+    /**
+     * Fluent builder methods for bootstrap
+     */
+    public OXDBType withTemplate(JDBCType jdbcType, String template) {
+        this.typeTemplates.put(jdbcType, template);
+        return this;
+    }
+
+    public OXDBType withLimits(int maxVarcharLength, int maxCharLength, int maxVarbinaryLength,
+                               int maxNumericPrecision, int maxIdentifierLength) {
+        this.maxVarcharLength = maxVarcharLength;
+        this.maxCharLength = maxCharLength;
+        this.maxVarbinaryLength = maxVarbinaryLength;
+        this.maxNumericPrecision = maxNumericPrecision;
+        this.maxIdentifierLength = maxIdentifierLength;
+        return this;
+    }
+
+    public OXDBType withBulkLoad(String bulkLoadTemplate, String batchRewriteProperty,
+                                 int maxBindParameters, boolean supportsMultiRowInsert) {
+        this.bulkLoadTemplate = bulkLoadTemplate;
+        this.batchRewriteProperty = batchRewriteProperty;
+        this.maxBindParameters = maxBindParameters;
+        this.supportsMultiRowInsert = supportsMultiRowInsert;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OXDBType[%s, %d type renderings]", name, typeTemplates.size());
+    }
 }
@@ -3,6 +3,7 @@ package org.metaxava.model;
 import javax.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.metaxava.types.BuiltInTypeTables;
 import java.sql.JDBCType;
 import java.util.List;
 
@@ -48,11 +49,11 @@ public class OXDateType extends OXBasicReferenceType {
 
     @Override
     public List<JDBCType> declareCompatibleJdbcTypes() {
-        return List.of(JDBCType.TIMESTAMP, JDBCType.DATE, JDBCType.TIME);
+        return BuiltInTypeTables.compatibleJdbcTypes(QUALIFIED_NAME);
     }
 
     @Override
     public JDBCType declarePreferredJdbcType() {
-        return JDBCType.TIMESTAMP;
+        return BuiltInTypeTables.preferredJdbcType(QUALIFIED_NAME);
     }
 }
@@ -3,8 +3,12 @@ package org.metaxava.model;
 import javax.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.metaxava.types.BuiltInTypeTables;
 import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 /**
  * OXPrimitiveWrapperType - Wrapper classes for Java primitives
@@ -26,26 +30,30 @@ import java.util.List;
 @Getter @Setter
 public class OXPrimitiveWrapperType extends OXBasicReferenceType {
 
-    // Constants for all 8 wrapper types
-    public static final String PACKAGE_NAME = "java.lang";
+    // Constants for all 8 wrapper types (generated from BuiltInTypeDefinitions)
+    public static final String PACKAGE_NAME = BuiltInTypeTables.WRAPPER_PACKAGE_NAME;
 
-    public static final String BYTE_SIMPLE_NAME = "Byte";
-    public static final String SHORT_SIMPLE_NAME = "Short";
-    public static final String INTEGER_SIMPLE_NAME = "Integer";
-    public static final String LONG_SIMPLE_NAME = "Long";
-    public static final String FLOAT_SIMPLE_NAME = "Float";
-    public static final String DOUBLE_SIMPLE_NAME = "Double";
-    public static final String CHARACTER_SIMPLE_NAME = "Character";
-    public static final String BOOLEAN_SIMPLE_NAME = "Boolean";
+    public static final String BYTE_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_BYTE_SIMPLE_NAME;
+    public static final String SHORT_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_SHORT_SIMPLE_NAME;
+    public static final String INTEGER_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_INTEGER_SIMPLE_NAME;
+    public static final String LONG_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_LONG_SIMPLE_NAME;
+    public static final String FLOAT_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_FLOAT_SIMPLE_NAME;
+    public static final String DOUBLE_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_DOUBLE_SIMPLE_NAME;
+    public static final String CHARACTER_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_CHARACTER_SIMPLE_NAME;
+    public static final String BOOLEAN_SIMPLE_NAME = BuiltInTypeTables.WRAPPER_BOOLEAN_SIMPLE_NAME;
 
-    public static final String BYTE_QUALIFIED_NAME = PACKAGE_NAME + "." + BYTE_SIMPLE_NAME;
-    public static final String SHORT_QUALIFIED_NAME = PACKAGE_NAME + "." + SHORT_SIMPLE_NAME;
-    public static final String INTEGER_QUALIFIED_NAME = PACKAGE_NAME + "." + INTEGER_SIMPLE_NAME;
-    public static final String LONG_QUALIFIED_NAME = PACKAGE_NAME + "." + LONG_SIMPLE_NAME;
-    public static final String FLOAT_QUALIFIED_NAME = PACKAGE_NAME + "." + FLOAT_SIMPLE_NAME;
-    public static final String DOUBLE_QUALIFIED_NAME = PACKAGE_NAME + "." + DOUBLE_SIMPLE_NAME;
-    public static final String CHARACTER_QUALIFIED_NAME = PACKAGE_NAME + "." + CHARACTER_SIMPLE_NAME;
-    public static final String BOOLEAN_QUALIFIED_NAME = PACKAGE_NAME + "." + BOOLEAN_SIMPLE_NAME;
+    public static final String BYTE_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_BYTE_QUALIFIED_NAME;
+    public static final String SHORT_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_SHORT_QUALIFIED_NAME;
+    public static final String INTEGER_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_INTEGER_QUALIFIED_NAME;
+    public static final String LONG_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_LONG_QUALIFIED_NAME;
+    public static final String FLOAT_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_FLOAT_QUALIFIED_NAME;
+    public static final String DOUBLE_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_DOUBLE_QUALIFIED_NAME;
+    public static final String CHARACTER_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_CHARACTER_QUALIFIED_NAME;
+    public static final String BOOLEAN_QUALIFIED_NAME = BuiltInTypeTables.WRAPPER_BOOLEAN_QUALIFIED_NAME;
+
+    private static final Set<String> BUILT_IN = Set.of(
+        BYTE_QUALIFIED_NAME, SHORT_QUALIFIED_NAME, INTEGER_QUALIFIED_NAME, LONG_QUALIFIED_NAME,
+        FLOAT_QUALIFIED_NAME, DOUBLE_QUALIFIED_NAME, CHARACTER_QUALIFIED_NAME, BOOLEAN_QUALIFIED_NAME);
 
     @Override
     public String getName() {
@@ -60,32 +68,45 @@ public class OXPrimitiveWrapperType extends OXBasicReferenceType {
     // ========== OXBasicType JDBC Declaration Methods ==========
 
     /**
-     * Delegate to primitive type - wrappers have same JDBC mappings as their primitives.
-     * Single source of truth: primitive type declarations.
+     * Same mappings as the primitive counterpart, looked up by qualified name
+     * in BuiltInTypeTables - no primitiveType wiring needed.
+     *
+     * A wrapper outside the eight java.lang ones (a user-defined type) has no
+     * table entry: it declares its primitiveType's mappings if wired, else its
+     * persisted ones (preferred first, then by JDBCType).
+     *
+     * @throws IllegalStateException if it is neither built in, wired nor mapped
      */
     @Override
     public List<JDBCType> declareCompatibleJdbcTypes() {
-        if (getPrimitiveType() == null) {
-            throw new IllegalStateException(
-                "Cannot declare JDBC types for wrapper " + getSimpleName() +
-                " - primitiveType relationship not yet wired"
-            );
+        if (BUILT_IN.contains(getQualifiedName())) {
+            return BuiltInTypeTables.compatibleJdbcTypes(getQualifiedName());
+        }
+        if (getPrimitiveType() != null) {
+            return getPrimitiveType().declareCompatibleJdbcTypes();
         }
-        return getPrimitiveType().declareCompatibleJdbcTypes();
+        JDBCType preferred = declarePreferredJdbcType();
+        List<JDBCType> compatible = new ArrayList<>(List.of(preferred));
+        getCompatibleJdbcTypes().stream()
+            .map(JDBCTypeMetadata::getJdbcType)
+            .filter(jdbcType -> jdbcType != preferred)
+            .sorted(Comparator.comparingInt(JDBCType::ordinal))
+            .forEach(compatible::add);
+        return compatible;
     }
 
-    /**
-     * Delegate to primitive type - wrappers have same JDBC mappings as their primitives.
-     * Single source of truth: primitive type declarations.
-     */
     @Override
     public JDBCType declarePreferredJdbcType() {
-        if (getPrimitiveType() == null) {
-            throw new IllegalStateException(
-                "Cannot declare preferred JDBC type for wrapper " + getSimpleName() +
-                " - primitiveType relationship not yet wired"
-            );
+        if (BUILT_IN.contains(getQualifiedName())) {
+            return BuiltInTypeTables.preferredJdbcType(getQualifiedName());
+        }
+        if (getPrimitiveType() != null) {
+            return getPrimitiveType().declarePreferredJdbcType();
+        }
+        if (getPreferredJdbcType() == null || getCompatibleJdbcTypes() == null) {
+            throw new IllegalStateException(getQualifiedName() + " is not a java.lang wrapper and has neither " +
+                                            "a primitive type nor JDBC mappings");
         }
-        return getPrimitiveType().declarePreferredJdbcType();
+        return getPreferredJdbcType().getJdbcType();
     }
 }
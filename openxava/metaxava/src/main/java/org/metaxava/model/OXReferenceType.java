@@ -25,6 +25,8 @@ import lombok.experimental.SuperBuilder;
  * VALIDATION:
  * Bean Validation annotations ensure Java identifier compliance.
  * Currently validates at persist time (JPA lifecycle).
+ * For bulk imports, ModelValidator checks a whole model up front
+ * (same identifier rules, plus cross-entity rules) and reports all violations.
  *
  * TODO: Review all existing types (OXPrimitiveType, etc.) for validation opportunities
  * TODO: Investigate fail-fast validation on entity construction
@@ -3,6 +3,7 @@ package org.metaxava.model;
 import javax.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.metaxava.types.BuiltInTypeTables;
 import java.sql.JDBCType;
 import java.util.List;
 
@@ -44,11 +45,11 @@ public class OXSqlTimeType extends OXBasicReferenceType {
 
     @Override
     public List<JDBCType> declareCompatibleJdbcTypes() {
-        return List.of(JDBCType.TIME, JDBCType.TIMESTAMP);
+        return BuiltInTypeTables.compatibleJdbcTypes(QUALIFIED_NAME);
     }
 
     @Override
     public JDBCType declarePreferredJdbcType() {
-        return JDBCType.TIME;
+        return BuiltInTypeTables.preferredJdbcType(QUALIFIED_NAME);
     }
 }
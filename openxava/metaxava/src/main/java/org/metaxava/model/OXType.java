@@ -23,6 +23,13 @@ import lombok.experimental.SuperBuilder;
  * 2. Enables shared join table for JDBC mappings (all OXBasicType implementations)
  * 3. Allows polymorphic queries: "SELECT t FROM OXType t WHERE ..."
  *
+ * SEARCH:
+ * SearchIndexListener (registered by ModelEventIntegrator) keeps ModelSearchIndex
+ * current with every committed edit.
+ *
+ * JOURNAL:
+ * JournalListener (registered by ModelEventIntegrator) journals every committed edit.
+ *
  * @author MetaXava Architecture Session 2025-10-27
  */
 @Entity
@@ -38,6 +45,27 @@ public abstract class OXType {
     @GeneratedValue
     private Long id;
 
+    /**
+     * Optimistic lock version
+     *
+     * DESIGN:
+     * - Concurrent editors never block each other; the loser fails at flush
+     *   (OptimisticLockException) instead of silently overwriting the winner
+     * - Declared on the root: SINGLE_TABLE means one version column for all kinds
+     * - Owned collections count as state: changing an OXBasicType's
+     *   compatibleJdbcTypes (type_jdbc_mappings) bumps the owning type's version
+     *
+     * - Rows that predate the column start at 0: hbm2ddl update adds it
+     *   nullable (a NOT NULL column can't be added to a populated table
+     *   without a vendor-specific default), and TypeSystemBootstrap
+     *   backfills the NULLs with an UPDATE (Hibernate can't version a NULL)
+     *
+     * See OptimisticEditor for the retry/merge path.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     // JDBC type mappings removed - now in OXBasicType interface (cross-cutting concern)
     // Only types implementing OXBasicType have JDBC mappings (primitives, String, BigDecimal, etc.)
     // Entities and embeddables do NOT have JDBC types (they're compositional)
@@ -89,6 +117,22 @@ public abstract class OXType {
      */
     public abstract String generateJavaType();
 
+    /**
+     * Discriminator value of this type's kind ("PRIMITIVE", "WRAPPER", "STRING", ...)
+     *
+     * Walks up from the runtime class so persistence proxies resolve to the
+     * nearest mapped subclass. Not a JPA property (no "get" prefix).
+     */
+    public String kind() {
+        for (Class<?> c = getClass(); c != null; c = c.getSuperclass()) {
+            DiscriminatorValue value = c.getAnnotation(DiscriminatorValue.class);
+            if (value != null) {
+                return value.value();
+            }
+        }
+        throw new IllegalStateException("No discriminator for " + getClass().getName());
+    }
+
     // TODO (FUTURE - Object Types): generateImport() belongs on object types, not here
     //
     // DESIGN RATIONALE FOR REMOVAL:
@@ -0,0 +1,503 @@
+package org.metaxava.pool;
+
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.metaxava.metrics.LatencyHistogram;
+import org.metaxava.profile.OperationProfiler;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * InstrumentedDataSource - DBCP2 pool with acquire/hold metrics and leak suspects
+ *
+ * WHY:
+ * Connection starvation is the most common production incident, and it is
+ * invisible from the outside: requests just get slow, then fail with a pool
+ * timeout. This wrapper measures the pool from the caller's side.
+ *
+ * METRICS:
+ * - Acquire latency histogram (every getConnection, including failures)
+ * - Hold time histogram (borrow → close)
+ * - Acquire timeouts vs other acquire failures
+ * - Active / idle / max / waiting gauges
+ * - Leak suspects: connections held longer than leakThreshold and still open
+ * - Abandoned leases: connections DBCP2 may have reclaimed (see LEASES)
+ *
+ * EXPORT:
+ * writePrometheus() groups samples of all pools by metric family, each
+ * under one # TYPE line: _total series are counters, the rest gauges or
+ * histograms.
+ *
+ * DESIGN:
+ * - Pooling, statement caching and abandoned-connection reclaim stay in DBCP2
+ *   (configured by InstrumentedDataSourceFactory); this class only observes.
+ * - Borrowed connections are wrapped in a dynamic proxy that intercepts
+ *   close(); every other call goes straight to the pooled connection.
+ * - Statements created from them are proxied too: each execute* call is
+ *   timed and reported to OperationProfiler on the executing thread.
+ * - Named instances register themselves so MetricsServlet can export them.
+ *
+ * BORROW GATE (virtual threads):
+ * gateBorrowers() puts a fair Semaphore in front of the pool: a permit is
+ * taken when a connection is borrowed and returned when that lease ends,
+ * so only code that actually holds a connection holds a permit (a DWR
+ * long-poll or a page that never touches JDBC holds none). A borrower that
+ * gets no permit in time fails with PermitTimeoutException; waiting
+ * virtual threads park on the semaphore without pinning a carrier.
+ *
+ * LEASES:
+ * A lease ends when its connection is closed, or once DBCP2 may reclaim
+ * it as abandoned: that bypasses our proxy, so close() never comes. Like
+ * DBCP2 (which goes by the connection's last use), abandonment is judged
+ * by inactivity, not age: a lease expires once it has been unused (no call
+ * on the connection or its statements) for removeAbandonedTimeout while
+ * abandoned removal is on. A long transaction that keeps working therefore
+ * keeps its gate permit. (The borrower's handle doesn't tell: after DBCP2
+ * reclaims it, isClosed() still answers false.) Expired leases are swept
+ * before each borrow and each metrics read: they stop counting as leak
+ * suspects, give back their permit, and record their hold time up to the
+ * sweep.
+ *
+ * @author MetaXava Connection Pool Session 2026-10-19
+ */
+public class InstrumentedDataSource implements DataSource, AutoCloseable {
+
+    private static final Map<String, InstrumentedDataSource> POOLS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final BasicDataSource delegate;
+    private final long leakThresholdNanos;
+
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Map<Long, Lease> openLeases = new ConcurrentHashMap<>();
+    private final AtomicLong leaseIds = new AtomicLong();
+    private volatile Optional<Gate> gate = Optional.empty();
+
+    /**
+     * A borrowed connection; permit says whether it took a gate permit
+     */
+    private static final class Lease {
+
+        private final long borrowed;
+        private final Optional<Gate> permit;
+        private volatile long lastUsed;
+
+        private Lease(long borrowed, Optional<Gate> permit) {
+            this.borrowed = borrowed;
+            this.permit = permit;
+            this.lastUsed = borrowed;
+        }
+
+        private void used() {
+            lastUsed = System.nanoTime();
+        }
+    }
+
+    private record Gate(Semaphore permits, long waitNanos) {
+    }
+
+    /**
+     * No gate permit within the wait: the pool is saturated by gated borrowers
+     *
+     * A transient connection failure; JdbcPermitFilter answers 503 for it.
+     */
+    public static class PermitTimeoutException extends SQLTransientConnectionException {
+
+        PermitTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    public InstrumentedDataSource(String name, BasicDataSource delegate, Duration leakThreshold) {
+        this.name = name;
+        this.delegate = delegate;
+        this.leakThresholdNanos = leakThreshold.toNanos();
+        InstrumentedDataSource previous = POOLS.put(name, this);
+        if (previous != null && previous != this) {
+            System.out.println("Replacing registered pool " + name);
+        }
+    }
+
+    /**
+     * Limit concurrent borrowers to permits, each waiting at most wait
+     *
+     * Size permits to maxTotal: borrowers then queue fairly on the gate
+     * instead of inside DBCP2, and time out with PermitTimeoutException.
+     */
+    public void gateBorrowers(int permits, Duration wait) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("The borrow gate needs at least 1 permit, got " + permits);
+        }
+        gate = Optional.of(new Gate(new Semaphore(permits, true), wait.toNanos()));
+    }
+
+    /**
+     * Gate permits currently free (empty if the pool is not gated)
+     */
+    public Optional<Integer> availablePermits() {
+        return gate.map(g -> g.permits().availablePermits());
+    }
+
+    /**
+     * All live instrumented pools (for export)
+     */
+    public static Collection<InstrumentedDataSource> pools() {
+        return Collections.unmodifiableCollection(POOLS.values());
+    }
+
+    // ========== DataSource ==========
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(() -> delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(() -> delegate.getConnection(username, password));
+    }
+
+    private interface Acquire {
+        Connection get() throws SQLException;
+    }
+
+    private Connection track(Acquire acquire) throws SQLException {
+        expireAbandoned();
+        Optional<Gate> permit = gate;
+        waiting.incrementAndGet();
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            if (permit.isPresent()) {
+                enter(permit.get());
+            }
+            try {
+                connection = acquire.get();
+            } catch (SQLException | RuntimeException e) {
+                permit.ifPresent(g -> g.permits().release());
+                throw e;
+            }
+        } catch (SQLException e) {
+            acquireLatency.record(System.nanoTime() - start);
+            if (e instanceof PermitTimeoutException || isTimeout(e)) {
+                timeouts.increment();
+            } else {
+                failures.increment();
+            }
+            throw e;
+        } finally {
+            waiting.decrementAndGet();
+        }
+        long borrowed = System.nanoTime();
+        acquireLatency.record(borrowed - start);
+        acquired.increment();
+
+        long id = leaseIds.incrementAndGet();
+        Lease lease = new Lease(borrowed, permit);
+        openLeases.put(id, lease);
+        return wrap(connection, id, lease);
+    }
+
+    private static void enter(Gate gate) throws SQLException {
+        boolean entered;
+        try {
+            entered = gate.permits().tryAcquire(gate.waitNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a connection permit", e);
+        }
+        if (!entered) {
+            throw new PermitTimeoutException("No connection permit within " +
+                                             TimeUnit.NANOSECONDS.toMillis(gate.waitNanos()) + " ms");
+        }
+    }
+
+    /**
+     * Forget a lease once: record its hold time and return its gate permit
+     *
+     * @return false if the lease had already ended (closed twice, or expired)
+     */
+    private boolean endLease(long lease) {
+        Lease ended = openLeases.remove(lease);
+        if (ended == null) {
+            return false;
+        }
+        holdTime.record(System.nanoTime() - ended.borrowed);
+        ended.permit.ifPresent(g -> g.permits().release());
+        return true;
+    }
+
+    /**
+     * End the leases DBCP2 may reclaim as abandoned: unused for removeAbandonedTimeout (see LEASES)
+     */
+    private void expireAbandoned() {
+        if (!delegate.getRemoveAbandonedOnBorrow() && !delegate.getRemoveAbandonedOnMaintenance()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long timeout = delegate.getRemoveAbandonedTimeoutDuration().toNanos();
+        openLeases.forEach((lease, open) -> {
+            if (now - open.lastUsed > timeout && endLease(lease)) {
+                abandoned.increment();
+            }
+        });
+    }
+
+    private Connection wrap(Connection connection, long id, Lease lease) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                    endLease(id);
+                } else {
+                    lease.used();
+                }
+                try {
+                    Object result = method.invoke(connection, args);
+                    if (result instanceof Statement && method.getReturnType().isInterface()) {
+                        return timed((Statement) result, method.getReturnType(), lease);
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    /**
+     * Proxy a Statement/PreparedStatement/CallableStatement so executions are profiled
+     * and count as use of the lease
+     */
+    private static Object timed(Statement statement, Class<?> type, Lease lease) {
+        return Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[]{type},
+            (proxy, method, args) -> {
+                lease.used();
+                if (!method.getName().startsWith("execute")) {
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+                long start = System.nanoTime();
+                try {
+                    return method.invoke(statement, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                } finally {
+                    OperationProfiler.recordStatement(System.nanoTime() - start);
+                }
+            });
+    }
+
+    /**
+     * DBCP2 reports exhaustion as SQLException caused by NoSuchElementException
+     */
+    private static boolean isTimeout(SQLException e) {
+        return e.getCause() instanceof NoSuchElementException;
+    }
+
+    // ========== Metrics ==========
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    public LatencyHistogram getHoldTime() {
+        return holdTime;
+    }
+
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Leases ended because DBCP2 may have reclaimed them as abandoned
+     */
+    public long getAbandoned() {
+        expireAbandoned();
+        return abandoned.sum();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public int getActive() {
+        return delegate.getNumActive();
+    }
+
+    public int getIdle() {
+        return delegate.getNumIdle();
+    }
+
+    public int getMaxTotal() {
+        return delegate.getMaxTotal();
+    }
+
+    /**
+     * Connections borrowed longer than the leak threshold and not yet closed
+     */
+    public int getLeakSuspects() {
+        expireAbandoned();
+        long now = System.nanoTime();
+        int suspects = 0;
+        for (Lease lease : openLeases.values()) {
+            if (now - lease.borrowed > leakThresholdNanos) {
+                suspects++;
+            }
+        }
+        return suspects;
+    }
+
+    /**
+     * Age of the oldest open lease in milliseconds (0 if none)
+     */
+    public long getOldestLeaseMillis() {
+        expireAbandoned();
+        long now = System.nanoTime();
+        long oldest = 0;
+        for (Lease lease : openLeases.values()) {
+            oldest = Math.max(oldest, now - lease.borrowed);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(oldest);
+    }
+
+    /**
+     * One exported metric family: its Prometheus type and per-pool value
+     */
+    private record Family(String name, String type, Function<InstrumentedDataSource, Number> value) {
+    }
+
+    private static final List<Family> FAMILIES = List.of(
+        new Family("metaxava_pool_acquired_total", "counter", InstrumentedDataSource::getAcquired),
+        new Family("metaxava_pool_timeouts_total", "counter", InstrumentedDataSource::getTimeouts),
+        new Family("metaxava_pool_failures_total", "counter", InstrumentedDataSource::getFailures),
+        new Family("metaxava_pool_abandoned_total", "counter", InstrumentedDataSource::getAbandoned),
+        new Family("metaxava_pool_active", "gauge", InstrumentedDataSource::getActive),
+        new Family("metaxava_pool_idle", "gauge", InstrumentedDataSource::getIdle),
+        new Family("metaxava_pool_max", "gauge", InstrumentedDataSource::getMaxTotal),
+        new Family("metaxava_pool_waiting", "gauge", InstrumentedDataSource::getWaiting),
+        new Family("metaxava_pool_leak_suspects", "gauge", InstrumentedDataSource::getLeakSuspects),
+        new Family("metaxava_pool_oldest_lease_seconds", "gauge", pool -> pool.getOldestLeaseMillis() / 1000.0));
+
+    /**
+     * Append the pools' metrics in Prometheus text format, one group per family
+     */
+    public static void writePrometheus(StringBuilder out, Collection<InstrumentedDataSource> pools) {
+        if (pools.isEmpty()) {
+            return;
+        }
+        LatencyHistogram.writePrometheusType(out, "metaxava_pool_acquire_seconds");
+        pools.forEach(pool -> pool.acquireLatency.writePrometheus(out, "metaxava_pool_acquire_seconds", pool.labels()));
+        LatencyHistogram.writePrometheusType(out, "metaxava_pool_hold_seconds");
+        pools.forEach(pool -> pool.holdTime.writePrometheus(out, "metaxava_pool_hold_seconds", pool.labels()));
+        for (Family family : FAMILIES) {
+            out.append("# TYPE ").append(family.name()).append(' ').append(family.type()).append('\n');
+            for (InstrumentedDataSource pool : pools) {
+                out.append(family.name()).append('{').append(pool.labels()).append("} ")
+                   .append(family.value().apply(pool)).append('\n');
+            }
+        }
+    }
+
+    private String labels() {
+        return "pool=\"" + name + "\"";
+    }
+
+    // ========== Lifecycle & plumbing ==========
+
+    @Override
+    public void close() throws SQLException {
+        POOLS.remove(name, this);
+        delegate.close();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        return delegate.unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) throws SQLException {
+        return type.isInstance(this) || delegate.isWrapperFor(type);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pool[%s active=%d/%d idle=%d waiting=%d timeouts=%d acquire %s]",
+                             name, getActive(), getMaxTotal(), getIdle(), getWaiting(),
+                             getTimeouts(), acquireLatency);
+    }
+}
@@ -0,0 +1,575 @@
+package org.metaxava.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * BuiltInTypesProcessor - Compile @BuiltInTypes into lookup tables
+ *
+ * BUILD:
+ * Runs in its own maven-compiler-plugin execution (proc=only) after the
+ * processor-only execution has compiled this package, and before the
+ * default compile (Lombok). It is JDK-only on purpose: it runs before any
+ * other MetaXava class exists, so it reads the definitions as annotation
+ * mirrors and never references project or java.sql classes.
+ *
+ * OUTPUT (next to the annotated class's package):
+ * - BuiltInTypeTables.java    static final tables + JDBCTypeMetadata factories
+ * Rows reach the database through those factories and em.persist() (never
+ * as generated SQL), so ids, the model journal and the search index stay
+ * in step.
+ *
+ * COMPILE-TIME ASSERTIONS (each one an error on the definition):
+ * - exactly one @BuiltInTypes; no duplicate JDBC types, primitives, wrappers or classes
+ * - JDBC type: known category, sizes consistent with the jpaPattern's %d placeholders
+ * - all eight Java primitives declared; wrappers are valid class names
+ * - reference types exist on the compile classpath
+ * - preferred is one of compatible; every mapped JDBC type is defined and core
+ *   (TypeSystemBootstrap only creates core types)
+ * Nothing is generated while an assertion fails.
+ *
+ * @author MetaXava Build Session 2026-10-19
+ */
+@SupportedAnnotationTypes(BuiltInTypesProcessor.ANNOTATION)
+public class BuiltInTypesProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "org.metaxava.types.BuiltInTypes";
+    static final String TABLES_CLASS = "BuiltInTypeTables";
+
+    private static final Set<String> CATEGORIES = Set.of("STRING", "NUMERIC", "TEMPORAL", "BINARY", "BOOLEAN", "OTHER");
+
+    record JdbcDef(String type, String category, String description, int maxLength, int maxPrecision,
+                   int maxScale, boolean common, boolean portable, String notes, String jpaPattern,
+                   boolean core, AnnotationValue source) {
+    }
+
+    /**
+     * A primitive, its wrapper, or a reference type: a name and its mappings
+     */
+    record MappedDef(String name, List<String> compatible, String preferred, AnnotationValue source) {
+    }
+
+    record PrimitiveDef(MappedDef mapping, String wrapper) {
+    }
+
+    private Messager messager;
+    private Element element;
+    private AnnotationMirror annotation;
+    private boolean failed;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        messager = processingEnv.getMessager();
+        for (TypeElement type : annotations) {
+            Set<? extends Element> annotated = round.getElementsAnnotatedWith(type);
+            if (annotated.size() != 1) {
+                for (Element each : annotated) {
+                    messager.printMessage(Diagnostic.Kind.ERROR,
+                                          "@BuiltInTypes must appear exactly once, found " + annotated.size(), each);
+                }
+                continue;
+            }
+            element = annotated.iterator().next();
+            annotation = mirror(element);
+            failed = false;
+            process();
+        }
+        return true;
+    }
+
+    private void process() {
+        Map<String, AnnotationValue> values = values(annotation);
+        List<JdbcDef> jdbcTypes = mirrors(values.get("jdbcTypes")).stream().map(this::jdbcDef).toList();
+        List<PrimitiveDef> primitives = mirrors(values.get("primitives")).stream().map(this::primitiveDef).toList();
+        List<MappedDef> references = mirrors(values.get("referenceTypes")).stream()
+            .map(source -> mappedDef(source, "qualifiedName")).toList();
+
+        Map<String, JdbcDef> byType = checkJdbcTypes(jdbcTypes);
+        checkPrimitives(primitives);
+        checkReferences(references, primitives);
+        for (PrimitiveDef primitive : primitives) {
+            checkMapping(primitive.mapping(), byType);
+        }
+        for (MappedDef reference : references) {
+            checkMapping(reference, byType);
+        }
+        if (failed) {
+            return;
+        }
+
+        String packageName = packageOf(element);
+        try {
+            try (Writer out = processingEnv.getFiler()
+                    .createSourceFile(packageName + "." + TABLES_CLASS, element).openWriter()) {
+                out.write(new TablesWriter(packageName, element.getSimpleName().toString(),
+                                           jdbcTypes, primitives, references).write());
+            }
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generated " + TABLES_CLASS + ": " + jdbcTypes.size() +
+                                  " JDBC types, " + primitives.size() + " primitives, " + references.size() +
+                                  " reference types");
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write built-in type tables: " + e, element);
+        }
+    }
+
+    // ========== Assertions ==========
+
+    private Map<String, JdbcDef> checkJdbcTypes(List<JdbcDef> jdbcTypes) {
+        Map<String, JdbcDef> byType = new LinkedHashMap<>();
+        for (JdbcDef def : jdbcTypes) {
+            if (byType.putIfAbsent(def.type(), def) != null) {
+                error(def.source(), "Duplicate JDBC type " + def.type());
+            }
+            if (!CATEGORIES.contains(def.category())) {
+                error(def.source(), def.type() + ": unknown category '" + def.category() + "', expected one of " +
+                                    CATEGORIES);
+            }
+            if (def.description().isBlank()) {
+                error(def.source(), def.type() + ": description is required");
+            }
+            if (def.maxLength() < 0 || def.maxPrecision() < 0 || def.maxScale() < 0) {
+                error(def.source(), def.type() + ": sizes must not be negative");
+            }
+            if (def.maxLength() > 0 && def.maxPrecision() > 0) {
+                error(def.source(), def.type() + ": a type has a length or a precision, not both");
+            }
+            if (def.maxScale() > def.maxPrecision()) {
+                error(def.source(), def.type() + ": maxScale " + def.maxScale() + " exceeds maxPrecision " +
+                                    def.maxPrecision());
+            }
+            int placeholders = def.jpaPattern().split("%d", -1).length - 1;
+            int expected = def.maxLength() > 0 ? 1 : def.maxPrecision() > 0 ? 2 : 0;
+            if (placeholders != expected) {
+                error(def.source(), def.type() + ": jpaPattern '" + def.jpaPattern() + "' has " + placeholders +
+                                    " %d placeholder(s), sizes declare " + expected);
+            }
+        }
+        return byType;
+    }
+
+    private void checkPrimitives(List<PrimitiveDef> primitives) {
+        Set<String> names = new HashSet<>();
+        Set<String> wrappers = new HashSet<>();
+        for (PrimitiveDef primitive : primitives) {
+            MappedDef mapping = primitive.mapping();
+            if (!isPrimitiveName(mapping.name())) {
+                error(mapping.source(), "'" + mapping.name() + "' is not a Java primitive type");
+            } else if (!names.add(mapping.name())) {
+                error(mapping.source(), "Duplicate primitive " + mapping.name());
+            }
+            if (!isClassName(primitive.wrapper())) {
+                error(mapping.source(), mapping.name() + ": invalid wrapper name '" + primitive.wrapper() + "'");
+            } else if (!wrappers.add(primitive.wrapper())) {
+                error(mapping.source(), "Wrapper " + primitive.wrapper() + " declared for two primitives");
+            }
+        }
+        for (TypeKind kind : TypeKind.values()) {
+            String name = kind.name().toLowerCase(Locale.ROOT);
+            if (kind.isPrimitive() && !names.contains(name)) {
+                error(annotation, "Primitive " + name + " is not declared");
+            }
+        }
+    }
+
+    private void checkReferences(List<MappedDef> references, List<PrimitiveDef> primitives) {
+        Set<String> names = new HashSet<>();
+        for (PrimitiveDef primitive : primitives) {
+            names.add("java.lang." + primitive.wrapper());
+        }
+        for (MappedDef reference : references) {
+            String name = reference.name();
+            if (!names.add(name)) {
+                error(reference.source(), "Duplicate built-in type " + name);
+            } else if (processingEnv.getElementUtils().getTypeElement(name) == null) {
+                error(reference.source(), "Class " + name + " not found");
+            }
+        }
+    }
+
+    private void checkMapping(MappedDef mapping, Map<String, JdbcDef> byType) {
+        if (mapping.compatible().isEmpty()) {
+            error(mapping.source(), mapping.name() + ": no compatible JDBC types");
+        }
+        if (new HashSet<>(mapping.compatible()).size() != mapping.compatible().size()) {
+            error(mapping.source(), mapping.name() + ": duplicate compatible JDBC types " + mapping.compatible());
+        }
+        if (!mapping.compatible().contains(mapping.preferred())) {
+            error(mapping.source(), mapping.name() + ": preferred " + mapping.preferred() +
+                                    " is not one of its compatible types " + mapping.compatible());
+        }
+        for (String jdbcType : mapping.compatible()) {
+            JdbcDef def = byType.get(jdbcType);
+            if (def == null) {
+                error(mapping.source(), mapping.name() + ": JDBC type " + jdbcType + " is not defined");
+            } else if (!def.core()) {
+                error(mapping.source(), mapping.name() + ": JDBC type " + jdbcType +
+                                        " is not core (TypeSystemBootstrap would not create it)");
+            }
+        }
+    }
+
+    private static boolean isPrimitiveName(String name) {
+        for (TypeKind kind : TypeKind.values()) {
+            if (kind.isPrimitive() && kind.name().toLowerCase(Locale.ROOT).equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isClassName(String name) {
+        return SourceVersion.isName(name) && name.indexOf('.') < 0 && Character.isUpperCase(name.charAt(0));
+    }
+
+    private void error(AnnotationValue source, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element, annotation, source);
+        failed = true;
+    }
+
+    private void error(AnnotationMirror source, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element, source);
+        failed = true;
+    }
+
+    // ========== Reading annotation mirrors ==========
+
+    private JdbcDef jdbcDef(AnnotationValue source) {
+        Map<String, AnnotationValue> values = values((AnnotationMirror) source.getValue());
+        return new JdbcDef(enumName(values.get("type")), string(values.get("category")),
+                           string(values.get("description")), integer(values.get("maxLength")),
+                           integer(values.get("maxPrecision")), integer(values.get("maxScale")),
+                           bool(values.get("common")), bool(values.get("portable")),
+                           string(values.get("notes")), string(values.get("jpaPattern")),
+                           bool(values.get("core")), source);
+    }
+
+    private PrimitiveDef primitiveDef(AnnotationValue source) {
+        Map<String, AnnotationValue> values = values((AnnotationMirror) source.getValue());
+        return new PrimitiveDef(mappedDef(source, "name"), string(values.get("wrapper")));
+    }
+
+    private MappedDef mappedDef(AnnotationValue source, String nameAttribute) {
+        Map<String, AnnotationValue> values = values((AnnotationMirror) source.getValue());
+        List<String> compatible = new ArrayList<>();
+        for (AnnotationValue value : list(values.get("compatible"))) {
+            compatible.add(enumName(value));
+        }
+        return new MappedDef(string(values.get(nameAttribute)), List.copyOf(compatible),
+                             enumName(values.get("preferred")), source);
+    }
+
+    private static AnnotationMirror mirror(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ANNOTATION)) {
+                return mirror;
+            }
+        }
+        throw new IllegalStateException("No @BuiltInTypes on " + element);
+    }
+
+    private Map<String, AnnotationValue> values(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> list(AnnotationValue value) {
+        return (List<? extends AnnotationValue>) value.getValue();
+    }
+
+    private static List<AnnotationValue> mirrors(AnnotationValue value) {
+        return new ArrayList<>(list(value));
+    }
+
+    private static String enumName(AnnotationValue value) {
+        return ((VariableElement) value.getValue()).getSimpleName().toString();
+    }
+
+    private static String string(AnnotationValue value) {
+        return (String) value.getValue();
+    }
+
+    private static int integer(AnnotationValue value) {
+        return (Integer) value.getValue();
+    }
+
+    private static boolean bool(AnnotationValue value) {
+        return (Boolean) value.getValue();
+    }
+
+    private static String packageOf(Element element) {
+        Element each = element;
+        while (!(each instanceof PackageElement)) {
+            each = each.getEnclosingElement();
+        }
+        return ((PackageElement) each).getQualifiedName().toString();
+    }
+
+    // ========== Output ==========
+
+    /**
+     * Writes BuiltInTypeTables and the bootstrap SQL
+     */
+    static final class TablesWriter {
+
+        private final String packageName;
+        private final String definitions;
+        private final List<JdbcDef> jdbcTypes;
+        private final List<PrimitiveDef> primitives;
+        private final List<MappedDef> references;
+        private final StringBuilder out = new StringBuilder(16_384);
+
+        TablesWriter(String packageName, String definitions, List<JdbcDef> jdbcTypes,
+                     List<PrimitiveDef> primitives, List<MappedDef> references) {
+            this.packageName = packageName;
+            this.definitions = definitions;
+            this.jdbcTypes = jdbcTypes;
+            this.primitives = primitives;
+            this.references = references;
+        }
+
+        String write() {
+            List<JdbcDef> core = jdbcTypes.stream().filter(JdbcDef::core).toList();
+
+            line("package " + packageName + ";");
+            line("");
+            line("import org.metaxava.model.JDBCTypeMetadata;");
+            line("");
+            line("import javax.annotation.processing.Generated;");
+            line("import java.sql.JDBCType;");
+            line("import java.util.ArrayList;");
+            line("import java.util.List;");
+            line("");
+            line("/**");
+            line(" * " + TABLES_CLASS + " - Built-in type facts, generated from " + definitions);
+            line(" *");
+            line(" * DO NOT EDIT: change " + definitions + " and recompile.");
+            line(" * Checked at compile time by BuiltInTypesProcessor.");
+            line(" */");
+            line("@Generated(\"" + BuiltInTypesProcessor.class.getName() + "\")");
+            line("public final class " + TABLES_CLASS + " {");
+            line("");
+            line("    public static final int JDBC_TYPE_COUNT = " + jdbcTypes.size() + ";");
+            line("    public static final int CORE_JDBC_TYPE_COUNT = " + core.size() + ";");
+            line("    public static final int PRIMITIVE_COUNT = " + primitives.size() + ";");
+            line("    public static final int REFERENCE_TYPE_COUNT = " + references.size() + ";");
+            line("");
+            line("    public static final String WRAPPER_PACKAGE_NAME = \"java.lang\";");
+            for (PrimitiveDef primitive : primitives) {
+                String constant = "WRAPPER_" + primitive.wrapper().toUpperCase(Locale.ROOT);
+                line("    public static final String " + constant + "_SIMPLE_NAME = " + literal(primitive.wrapper()) + ";");
+                line("    public static final String " + constant + "_QUALIFIED_NAME = " +
+                     literal("java.lang." + primitive.wrapper()) + ";");
+            }
+            line("");
+            line("    public static final List<JDBCType> JDBC_TYPES = " +
+                 jdbcList(jdbcTypes.stream().map(JdbcDef::type).toList()) + ";");
+            line("    public static final List<JDBCType> CORE_JDBC_TYPES = " +
+                 jdbcList(core.stream().map(JdbcDef::type).toList()) + ";");
+            line("    public static final List<String> PRIMITIVE_NAMES = " +
+                 stringList(primitives.stream().map(p -> p.mapping().name()).toList()) + ";");
+            line("    public static final List<String> REFERENCE_TYPE_NAMES = " +
+                 stringList(references.stream().map(MappedDef::name).toList()) + ";");
+            line("");
+            for (MappedDef mapping : mappings()) {
+                line("    private static final List<JDBCType> " + constant(mapping.name()) + " = " +
+                     jdbcList(mapping.compatible()) + ";");
+            }
+            line("");
+            line("    private " + TABLES_CLASS + "() {");
+            line("    }");
+            line("");
+
+            line("    /**");
+            line("     * Compatible JDBC types of a built-in type, in declaration order");
+            line("     *");
+            line("     * @param typeName Primitive name (\"int\"), wrapper or class qualified name");
+            line("     * @throws IllegalStateException if typeName is not a built-in type");
+            line("     */");
+            line("    public static List<JDBCType> compatibleJdbcTypes(String typeName) {");
+            line("        return switch (typeName) {");
+            lookupCases(mapping -> constant(mapping.name()));
+            line("            default -> throw new IllegalStateException(\"Not a built-in type: \" + typeName);");
+            line("        };");
+            line("    }");
+            line("");
+            line("    /**");
+            line("     * Preferred JDBC type of a built-in type (always one of compatibleJdbcTypes)");
+            line("     *");
+            line("     * @throws IllegalStateException if typeName is not a built-in type");
+            line("     */");
+            line("    public static JDBCType preferredJdbcType(String typeName) {");
+            line("        return switch (typeName) {");
+            lookupCases(mapping -> "JDBCType." + mapping.preferred());
+            line("            default -> throw new IllegalStateException(\"Not a built-in type: \" + typeName);");
+            line("        };");
+            line("    }");
+            line("");
+            line("    /**");
+            line("     * Wrapper simple name of a primitive (\"int\" -> \"Integer\")");
+            line("     *");
+            line("     * @throws IllegalStateException if primitive is not a Java primitive");
+            line("     */");
+            line("    public static String wrapperSimpleName(String primitive) {");
+            line("        return switch (primitive) {");
+            for (PrimitiveDef primitive : primitives) {
+                line("            case " + literal(primitive.mapping().name()) + " -> WRAPPER_" +
+                     primitive.wrapper().toUpperCase(Locale.ROOT) + "_SIMPLE_NAME;");
+            }
+            line("            default -> throw new IllegalStateException(\"Unknown primitive type: \" + primitive);");
+            line("        };");
+            line("    }");
+            line("");
+
+            line("    /**");
+            line("     * New (unpersisted) metadata for every defined JDBC type - JDBCTypeBootstrap");
+            line("     */");
+            line("    public static List<JDBCTypeMetadata> newJdbcTypeMetadata() {");
+            line("        List<JDBCTypeMetadata> types = new ArrayList<>(JDBC_TYPE_COUNT);");
+            for (JdbcDef def : jdbcTypes) {
+                line("        types.add(" + factory(def) + "());");
+            }
+            line("        return types;");
+            line("    }");
+            line("");
+            line("    /**");
+            line("     * New (unpersisted) metadata for the core JDBC types - TypeSystemBootstrap");
+            line("     */");
+            line("    public static List<JDBCTypeMetadata> newCoreJdbcTypeMetadata() {");
+            line("        List<JDBCTypeMetadata> types = new ArrayList<>(CORE_JDBC_TYPE_COUNT);");
+            for (JdbcDef def : core) {
+                line("        types.add(" + factory(def) + "());");
+            }
+            line("        return types;");
+            line("    }");
+            for (JdbcDef def : jdbcTypes) {
+                line("");
+                line("    private static JDBCTypeMetadata " + factory(def) + "() {");
+                line("        return new JDBCTypeMetadata(JDBCType." + def.type() + ", " + literal(def.category()) +
+                     ", " + literal(def.description()) + ")");
+                if (def.maxPrecision() > 0) {
+                    line("            .withPrecisionScale(true, " + def.maxPrecision() + ", " + def.maxScale() + ")");
+                } else {
+                    line("            .withLength(" + (def.maxLength() > 0) + ", " +
+                         (def.maxLength() > 0 ? String.valueOf(def.maxLength()) : "null") + ")");
+                }
+                line("            .withUsage(" + def.common() + ", " + def.portable() + ")" +
+                     (def.notes().isEmpty() && def.jpaPattern().isEmpty() ? ";" : ""));
+                if (!def.notes().isEmpty()) {
+                    line("            .withPortabilityNotes(" + literal(def.notes()) + ")" +
+                         (def.jpaPattern().isEmpty() ? ";" : ""));
+                }
+                if (!def.jpaPattern().isEmpty()) {
+                    line("            .withJpaPattern(" + literal(def.jpaPattern()) + ");");
+                }
+                line("    }");
+            }
+            line("}");
+            return out.toString();
+        }
+
+        /**
+         * Primitives, then reference types (wrappers share their primitive's constant)
+         */
+        private List<MappedDef> mappings() {
+            List<MappedDef> mappings = new ArrayList<>();
+            primitives.forEach(primitive -> mappings.add(primitive.mapping()));
+            mappings.addAll(references);
+            return mappings;
+        }
+
+        private void lookupCases(Function<MappedDef, String> result) {
+            for (PrimitiveDef primitive : primitives) {
+                line("            case " + literal(primitive.mapping().name()) + ", " +
+                     literal("java.lang." + primitive.wrapper()) + " -> " + result.apply(primitive.mapping()) + ";");
+            }
+            for (MappedDef reference : references) {
+                line("            case " + literal(reference.name()) + " -> " + result.apply(reference) + ";");
+            }
+        }
+
+        /**
+         * "java.sql.Timestamp" -> JAVA_SQL_TIMESTAMP_COMPATIBLE, "int" -> INT_COMPATIBLE
+         */
+        private static String constant(String typeName) {
+            return typeName.replace('.', '_').toUpperCase(Locale.ROOT) + "_COMPATIBLE";
+        }
+
+        /**
+         * TIMESTAMP_WITH_TIMEZONE -> timestampWithTimezoneMetadata (CHAR alone would be a keyword)
+         */
+        private static String factory(JdbcDef def) {
+            StringBuilder name = new StringBuilder();
+            for (String part : def.type().toLowerCase(Locale.ROOT).split("_")) {
+                name.append(name.length() == 0 ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+            }
+            return name.append("Metadata").toString();
+        }
+
+        private static String jdbcList(List<String> types) {
+            StringBuilder list = new StringBuilder("List.of(");
+            for (int i = 0; i < types.size(); i++) {
+                list.append(i == 0 ? "" : ", ").append("JDBCType.").append(types.get(i));
+            }
+            return list.append(')').toString();
+        }
+
+        private static String stringList(List<String> values) {
+            StringBuilder list = new StringBuilder("List.of(");
+            for (int i = 0; i < values.size(); i++) {
+                list.append(i == 0 ? "" : ", ").append(literal(values.get(i)));
+            }
+            return list.append(')').toString();
+        }
+
+        private static String literal(String value) {
+            StringBuilder literal = new StringBuilder("\"");
+            for (char c : value.toCharArray()) {
+                switch (c) {
+                    case '"' -> literal.append("\\\"");
+                    case '\\' -> literal.append("\\\\");
+                    case '\n' -> literal.append("\\n");
+                    case '\t' -> literal.append("\\t");
+                    default -> literal.append(c < 0x20 ? String.format("\\u%04x", (int) c) : String.valueOf(c));
+                }
+            }
+            return literal.append('"').toString();
+        }
+
+        private void line(String text) {
+            out.append(text).append('\n');
+        }
+    }
+}
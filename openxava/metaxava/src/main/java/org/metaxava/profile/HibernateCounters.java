@@ -0,0 +1,54 @@
+package org.metaxava.profile;
+
+/**
+ * HibernateCounters - Hibernate work done by one operation
+ *
+ * Counted by OperationStatistics as the work happens, on the operation's
+ * thread; Counter lists the components in declaration order.
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+public record HibernateCounters(
+    long entityLoads,
+    long entityFetches,
+    long entityInserts,
+    long entityUpdates,
+    long entityDeletes,
+    long collectionLoads,
+    long collectionFetches,
+    long queries,
+    long flushes,
+    long secondLevelHits,
+    long secondLevelMisses,
+    long preparedStatements
+) {
+
+    public static final HibernateCounters ZERO = new HibernateCounters(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Record components, in order
+     */
+    public enum Counter {
+        ENTITY_LOADS, ENTITY_FETCHES, ENTITY_INSERTS, ENTITY_UPDATES, ENTITY_DELETES,
+        COLLECTION_LOADS, COLLECTION_FETCHES, QUERIES, FLUSHES,
+        SECOND_LEVEL_HITS, SECOND_LEVEL_MISSES, PREPARED_STATEMENTS
+    }
+
+    /**
+     * @param values One value per Counter, indexed by ordinal
+     */
+    static HibernateCounters of(long[] values) {
+        return new HibernateCounters(values[0], values[1], values[2], values[3], values[4], values[5],
+                                     values[6], values[7], values[8], values[9], values[10], values[11]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("loads=%d fetches=%d inserts=%d updates=%d deletes=%d " +
+                             "collectionLoads=%d collectionFetches=%d queries=%d flushes=%d " +
+                             "l2Hits=%d l2Misses=%d statements=%d",
+                             entityLoads, entityFetches, entityInserts, entityUpdates, entityDeletes,
+                             collectionLoads, collectionFetches, queries, flushes,
+                             secondLevelHits, secondLevelMisses, preparedStatements);
+    }
+}
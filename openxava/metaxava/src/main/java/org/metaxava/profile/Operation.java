@@ -0,0 +1,115 @@
+package org.metaxava.profile;
+
+import java.util.Optional;
+
+/**
+ * Operation - One profiled unit of work (request, bootstrap, generation)
+ *
+ * LIFECYCLE:
+ *   try (Operation op = OperationProfiler.begin("bootstrap", "TypeSystemBootstrap", em)) {
+ *       ...
+ *   }
+ *   op.summary()  // available after close
+ *
+ * Operations nest per thread: an inner operation's JDBC and Hibernate
+ * work is also counted in its parent, and the parent becomes current again on close.
+ * An Operation is confined to the thread that began it.
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+public class Operation implements AutoCloseable {
+
+    private final String category;
+    private final String name;
+    private final Optional<Operation> parent;
+    private final boolean hibernateTracked;
+    private final OperationEvent event = new OperationEvent();
+    private final long startNanos;
+
+    private long jdbcStatements;
+    private long jdbcNanos;
+    private final long[] hibernate = new long[HibernateCounters.Counter.values().length];
+    private Optional<OperationSummary> summary = Optional.empty();
+
+    Operation(String category, String name, Optional<Operation> parent,
+              boolean hibernateTracked) {
+        this.category = category;
+        this.name = name;
+        this.parent = parent;
+        this.hibernateTracked = hibernateTracked;
+        this.event.begin();
+        this.startNanos = System.nanoTime();
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void recordStatement(long nanos) {
+        jdbcStatements++;
+        jdbcNanos += nanos;
+    }
+
+    void recordHibernate(HibernateCounters.Counter counter) {
+        hibernate[counter.ordinal()]++;
+    }
+
+    /**
+     * Result of the operation (empty until closed)
+     */
+    public Optional<OperationSummary> summary() {
+        return summary;
+    }
+
+    @Override
+    public void close() {
+        if (summary.isPresent()) {
+            return;
+        }
+        long duration = System.nanoTime() - startNanos;
+        Optional<HibernateCounters> counted = hibernateTracked
+            ? Optional.of(HibernateCounters.of(hibernate))
+            : Optional.empty();
+        OperationSummary result = new OperationSummary(category, name, duration, jdbcStatements, jdbcNanos, counted);
+        summary = Optional.of(result);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.category = category;
+            event.operation = name;
+            event.jdbcStatements = jdbcStatements;
+            event.jdbcNanos = jdbcNanos;
+            HibernateCounters counters = counted.orElse(HibernateCounters.ZERO);
+            event.entityLoads = counters.entityLoads();
+            event.entityFetches = counters.entityFetches();
+            event.entityInserts = counters.entityInserts();
+            event.entityUpdates = counters.entityUpdates();
+            event.entityDeletes = counters.entityDeletes();
+            event.collectionLoads = counters.collectionLoads();
+            event.collectionFetches = counters.collectionFetches();
+            event.queries = counters.queries();
+            event.flushes = counters.flushes();
+            event.secondLevelHits = counters.secondLevelHits();
+            event.secondLevelMisses = counters.secondLevelMisses();
+            event.preparedStatements = counters.preparedStatements();
+            event.commit();
+        }
+
+        parent.ifPresent(outer -> {
+            outer.jdbcStatements += jdbcStatements;
+            outer.jdbcNanos += jdbcNanos;
+            for (int i = 0; i < hibernate.length; i++) {
+                outer.hibernate[i] += hibernate[i];
+            }
+        });
+        OperationProfiler.closed(this, result);
+    }
+
+    Optional<Operation> getParent() {
+        return parent;
+    }
+}
@@ -0,0 +1,76 @@
+package org.metaxava.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * OperationEvent - JFR event for one profiled MetaXava operation
+ *
+ * Recorded whenever a JFR recording is running, e.g.
+ *   java -XX:StartFlightRecording=filename=metaxava.jfr ...
+ *   jcmd <pid> JFR.start name=metaxava
+ * and shown in JDK Mission Control under "MetaXava".
+ *
+ * Hibernate counters come from OperationStatistics and JDBC counters from
+ * InstrumentedDataSource; both count on the operation's thread only.
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+@Name("org.metaxava.Operation")
+@Label("MetaXava Operation")
+@Category("MetaXava")
+@Description("A module request, bootstrap or generation call with its persistence work")
+@StackTrace(false)
+public class OperationEvent extends jdk.jfr.Event {
+
+    @Label("Category")
+    String category;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("JDBC Statements")
+    long jdbcStatements;
+
+    @Label("JDBC Time (ns)")
+    long jdbcNanos;
+
+    @Label("Entity Loads")
+    long entityLoads;
+
+    @Label("Entity Fetches")
+    long entityFetches;
+
+    @Label("Entity Inserts")
+    long entityInserts;
+
+    @Label("Entity Updates")
+    long entityUpdates;
+
+    @Label("Entity Deletes")
+    long entityDeletes;
+
+    @Label("Collection Loads")
+    long collectionLoads;
+
+    @Label("Collection Fetches")
+    long collectionFetches;
+
+    @Label("Queries")
+    long queries;
+
+    @Label("Flushes")
+    long flushes;
+
+    @Label("L2 Cache Hits")
+    long secondLevelHits;
+
+    @Label("L2 Cache Misses")
+    long secondLevelMisses;
+
+    @Label("Prepared Statements")
+    long preparedStatements;
+}
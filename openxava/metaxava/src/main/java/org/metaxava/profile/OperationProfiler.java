@@ -0,0 +1,136 @@
+package org.metaxava.profile;
+
+import org.metaxava.metrics.LatencyHistogram;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OperationProfiler - Attribute persistence work to MetaXava operations
+ *
+ * WHY:
+ * When a screen is slow we need to know whether it was flush cost, lazy
+ * loads of compatibleJdbcTypes, or polymorphic ox_type scans - in
+ * production, without an APM agent.
+ *
+ * SOURCES:
+ * - Hibernate work (entity/collection loads and fetches, queries, flushes,
+ *   L2 hits): counted by OperationStatistics on the thread running the
+ *   session, so exact per operation. Needs hibernate.generate_statistics
+ *   and hibernate.stats.factory in the persistence unit.
+ * - JDBC statements and time: reported by InstrumentedDataSource on the
+ *   executing thread, so exact per operation.
+ *
+ * OUTPUTS (on close):
+ * - OperationEvent (JFR) when a recording is active
+ * - Latency histogram per category/name, exported through /metrics
+ * - A one-line summary on stdout for operations slower than
+ *   -Dmetaxava.profile.slowMillis (default 500; 0 logs every operation)
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+public class OperationProfiler {
+
+    /**
+     * Cap on distinct category/name pairs; further names are folded into "other"
+     */
+    public static final int MAX_OPERATION_NAMES = 500;
+
+    private static final ThreadLocal<Operation> CURRENT = new ThreadLocal<>();
+    private static final Map<String, LatencyHistogram> LATENCIES = new ConcurrentHashMap<>();
+    private static final long SLOW_MILLIS = Long.getLong("metaxava.profile.slowMillis", 500);
+
+    /**
+     * Begin an operation that only tracks JDBC work and duration
+     */
+    public static Operation begin(String category, String name) {
+        return start(category, name, false);
+    }
+
+    /**
+     * Begin an operation that also counts Hibernate work (when the unit uses OperationStatistics)
+     */
+    public static Operation begin(String category, String name, EntityManager em) {
+        return begin(category, name, em.getEntityManagerFactory());
+    }
+
+    public static Operation begin(String category, String name, EntityManagerFactory emf) {
+        return start(category, name, OperationStatistics.collects(emf));
+    }
+
+    private static Operation start(String category, String name, boolean hibernateTracked) {
+        Operation operation = new Operation(category, name, Optional.ofNullable(CURRENT.get()), hibernateTracked);
+        CURRENT.set(operation);
+        return operation;
+    }
+
+    /**
+     * Innermost operation running on this thread
+     */
+    public static Optional<Operation> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Called by InstrumentedDataSource after each statement execution
+     */
+    public static void recordStatement(long nanos) {
+        Operation operation = CURRENT.get();
+        if (operation != null) {
+            operation.recordStatement(nanos);
+        }
+    }
+
+    /**
+     * Called by OperationStatistics for each Hibernate event on this thread
+     */
+    static void recordHibernate(HibernateCounters.Counter counter) {
+        Operation operation = CURRENT.get();
+        if (operation != null) {
+            operation.recordHibernate(counter);
+        }
+    }
+
+    static void closed(Operation operation, OperationSummary summary) {
+        if (CURRENT.get() == operation) {
+            Optional<Operation> parent = operation.getParent();
+            if (parent.isPresent()) {
+                CURRENT.set(parent.get());
+            } else {
+                CURRENT.remove();
+            }
+        }
+
+        String key = summary.category() + "/" + summary.name();
+        LatencyHistogram histogram = LATENCIES.get(key);
+        if (histogram == null) {
+            if (LATENCIES.size() >= MAX_OPERATION_NAMES) {
+                key = summary.category() + "/other";
+            }
+            histogram = LATENCIES.computeIfAbsent(key, ignored -> new LatencyHistogram());
+        }
+        histogram.record(summary.durationNanos());
+
+        if (summary.durationMillis() >= SLOW_MILLIS) {
+            System.out.println("⏱ " + summary);
+        }
+    }
+
+    /**
+     * Append per-operation latency histograms in Prometheus text format
+     */
+    public static void writePrometheus(StringBuilder out) {
+        if (!LATENCIES.isEmpty()) {
+            LatencyHistogram.writePrometheusType(out, "metaxava_operation_seconds");
+        }
+        LATENCIES.forEach((key, histogram) -> {
+            int slash = key.indexOf('/');
+            String labels = "category=\"" + key.substring(0, slash) + "\",operation=\"" +
+                            key.substring(slash + 1).replace("\"", "'") + "\"";
+            histogram.writePrometheus(out, "metaxava_operation_seconds", labels);
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package org.metaxava.profile;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+
+/**
+ * OperationStatistics - Hibernate statistics that also count into the current Operation
+ *
+ * WHY:
+ * The factory's Statistics are shared by every session, so a before/after
+ * delta around an operation also counts whatever other requests did in the
+ * meantime. Hibernate reports each load, insert, query and flush to the
+ * factory's StatisticsImplementor on the thread that runs the session, so
+ * this subclass keeps the factory-wide totals and adds the same event to
+ * OperationProfiler.current() - only the operation's own work is counted.
+ *
+ * WHY NOT SessionEventListener:
+ * It only sees JDBC, flush and second-level cache calls; queries and
+ * entity/collection loads never reach it.
+ *
+ * USAGE (persistence.xml, with hibernate.generate_statistics=true):
+ *   <property name="hibernate.stats.factory"
+ *             value="org.metaxava.profile.OperationStatisticsFactory"/>
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+public class OperationStatistics extends StatisticsImpl {
+
+    public OperationStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    /**
+     * True if the factory counts per operation (OperationStatistics installed and enabled)
+     */
+    public static boolean collects(EntityManagerFactory emf) {
+        if (!emf.isOpen()) {
+            return false;
+        }
+        try {
+            StatisticsImplementor statistics = emf.unwrap(SessionFactoryImplementor.class).getStatistics();
+            return statistics instanceof OperationStatistics && statistics.isStatisticsEnabled();
+        } catch (PersistenceException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.ENTITY_LOADS);
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.ENTITY_FETCHES);
+    }
+
+    @Override
+    public void insertEntity(String entityName) {
+        super.insertEntity(entityName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.ENTITY_INSERTS);
+    }
+
+    @Override
+    public void updateEntity(String entityName) {
+        super.updateEntity(entityName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.ENTITY_UPDATES);
+    }
+
+    @Override
+    public void deleteEntity(String entityName) {
+        super.deleteEntity(entityName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.ENTITY_DELETES);
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        super.loadCollection(role);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.COLLECTION_LOADS);
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.COLLECTION_FETCHES);
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.QUERIES);
+    }
+
+    @Override
+    public void flush() {
+        super.flush();
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.FLUSHES);
+    }
+
+    @Override
+    public void entityCacheHit(NavigableRole entityName, String regionName) {
+        super.entityCacheHit(entityName, regionName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.SECOND_LEVEL_HITS);
+    }
+
+    @Override
+    public void entityCacheMiss(NavigableRole entityName, String regionName) {
+        super.entityCacheMiss(entityName, regionName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.SECOND_LEVEL_MISSES);
+    }
+
+    @Override
+    public void collectionCacheHit(NavigableRole role, String regionName) {
+        super.collectionCacheHit(role, regionName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.SECOND_LEVEL_HITS);
+    }
+
+    @Override
+    public void collectionCacheMiss(NavigableRole role, String regionName) {
+        super.collectionCacheMiss(role, regionName);
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.SECOND_LEVEL_MISSES);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        OperationProfiler.recordHibernate(HibernateCounters.Counter.PREPARED_STATEMENTS);
+    }
+}
@@ -0,0 +1,18 @@
+package org.metaxava.profile;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * OperationStatisticsFactory - Installs OperationStatistics (hibernate.stats.factory)
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+public class OperationStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new OperationStatistics(sessionFactory);
+    }
+}
@@ -0,0 +1,34 @@
+package org.metaxava.profile;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OperationSummary - Immutable result of a profiled operation
+ *
+ * @param hibernate Hibernate work of this operation and its nested ones (empty when
+ *                  the unit doesn't use OperationStatistics or statistics are off)
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+public record OperationSummary(
+    String category,
+    String name,
+    long durationNanos,
+    long jdbcStatements,
+    long jdbcNanos,
+    Optional<HibernateCounters> hibernate
+) {
+
+    public long durationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %dms: jdbc=%d (%dms)%s",
+                             category, name, durationMillis(), jdbcStatements,
+                             TimeUnit.NANOSECONDS.toMillis(jdbcNanos),
+                             hibernate.map(counters -> " " + counters).orElse(""));
+    }
+}
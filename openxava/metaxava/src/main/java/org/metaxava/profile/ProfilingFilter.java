@@ -0,0 +1,166 @@
+package org.metaxava.profile;
+
+import org.metaxava.run.JdbcPermitFilter;
+import org.openxava.jpa.XPersistence;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * ProfilingFilter - One profiled Operation per OpenXava request
+ *
+ * OPERATION NAMES (bounded, so metrics don't explode):
+ * - /m/OXPrimitiveType                 → "OXPrimitiveType"
+ * - /dwr/call/plaincall/Module.request.dwr from that module's page
+ *                                      → "OXPrimitiveType Module.request"
+ *   (OpenXava actions arrive as DWR calls; the module comes from the
+ *   Referer because reading the POST body would break DWR)
+ * - anything else                      → first path segment
+ *
+ * Path and Referer come from the client, so a name is only used as is if
+ * it looks like one (letters, digits, '_', '.', at most MAX_NAME_LENGTH
+ * characters; else "invalid") and if it is among the first
+ * MAX_OPERATION_NAMES distinct names seen (later ones are "other"). Real
+ * modules and DWR calls are far fewer; a client inventing paths can't
+ * grow the metrics beyond the cap.
+ *
+ * The request body is never read. Static resources are not profiled.
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+public class ProfilingFilter implements Filter {
+
+    public static final int MAX_OPERATION_NAMES = 500;
+    public static final int MAX_NAME_LENGTH = 64;
+
+    /**
+     * After a failed lookup of OpenXava's factory, requests are profiled without it until then
+     */
+    private static final long FACTORY_RETRY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_.]{1," + MAX_NAME_LENGTH + "}");
+
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+    private volatile Optional<EntityManagerFactory> factory = Optional.empty();
+    private volatile long factoryRetryAt = System.nanoTime();
+
+    @Override
+    public void init(FilterConfig config) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest http = (HttpServletRequest) request;
+        if (JdbcPermitFilter.isStaticResource(http)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String name = operationName(http.getRequestURI().substring(http.getContextPath().length()),
+                                    Optional.ofNullable(http.getHeader("Referer")));
+        Optional<EntityManagerFactory> emf = factory();
+        try (Operation operation = emf.isPresent()
+                ? OperationProfiler.begin("request", name, emf.get())
+                : OperationProfiler.begin("request", name)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Bounded operation name for a request path (relative to the context)
+     */
+    public String operationName(String path, Optional<String> referer) {
+        String[] segments = path.split("/");
+        if (segments.length > 2 && segments[1].equals("m")) {
+            return bounded(segments[2]);
+        }
+        if (segments.length > 1 && segments[1].equals("dwr")) {
+            String call = bounded(segments[segments.length - 1].replace(".dwr", ""));
+            return referer.flatMap(ProfilingFilter::moduleOf)
+                          .map(module -> bounded(module) + " " + call)
+                          .orElse("dwr " + call);
+        }
+        return segments.length > 1 && !segments[1].isEmpty() ? bounded(segments[1]) : "/";
+    }
+
+    /**
+     * name if it looks like a module or call name and the cap isn't reached, else "invalid" or "other"
+     */
+    private String bounded(String name) {
+        if (!NAME.matcher(name).matches()) {
+            return "invalid";
+        }
+        if (names.contains(name)) {
+            return name;
+        }
+        synchronized (names) {
+            if (names.size() >= MAX_OPERATION_NAMES) {
+                return "other";
+            }
+            names.add(name);
+            return name;
+        }
+    }
+
+    private static Optional<String> moduleOf(String referer) {
+        int marker = referer.indexOf("/m/");
+        if (marker < 0) {
+            return Optional.empty();
+        }
+        String rest = referer.substring(marker + 3);
+        int end = rest.length();
+        for (char stop : new char[]{'/', '?', '#'}) {
+            int index = rest.indexOf(stop);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        return end == 0 ? Optional.empty() : Optional.of(rest.substring(0, end));
+    }
+
+    /**
+     * OpenXava's factory, resolved on a request (the DB may not be up at init)
+     *
+     * A failed lookup is retried FACTORY_RETRY_NANOS later, not on every
+     * request; once found, the factory is kept.
+     */
+    private Optional<EntityManagerFactory> factory() {
+        if (factory.isPresent() || System.nanoTime() - factoryRetryAt < 0) {
+            return factory;
+        }
+        synchronized (this) {
+            if (factory.isEmpty() && System.nanoTime() - factoryRetryAt >= 0) {
+                try {
+                    EntityManager em = XPersistence.createManager();
+                    try {
+                        factory = Optional.of(em.getEntityManagerFactory());
+                    } finally {
+                        em.close();
+                    }
+                } catch (RuntimeException e) {
+                    factoryRetryAt = System.nanoTime() + FACTORY_RETRY_NANOS;
+                    System.out.println("Request profiling without Hibernate statistics, retrying in " +
+                                       TimeUnit.NANOSECONDS.toSeconds(FACTORY_RETRY_NANOS) + "s: " + e.getMessage());
+                }
+            }
+        }
+        return factory;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,254 @@
+package org.metaxava.project;
+
+import org.metaxava.codegen.CodeGenerator;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.GeneratedFile;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.PreparedModel;
+import org.metaxava.codegen.SchemaGenerator;
+import org.metaxava.dialect.CompiledDialect;
+import org.metaxava.registry.TypeModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ProjectArchive - A generated OpenXava project, streamed as a ZIP
+ *
+ * ENTRIES (in this order):
+ *   pom.xml                                      OpenXava war project, Lombok annotation processing
+ *   src/main/resources/META-INF/persistence.xml  the entities, data source, dialect if given
+ *   src/main/webapp/META-INF/context.xml         the data source (see DATA SOURCE)
+ *   src/main/resources/schema.sql                SchemaGenerator DDL, if a dialect is given
+ *   src/main/java/...                            CodeGenerator output
+ *
+ * DATA SOURCE:
+ * Like an OpenXava project, the unit uses the container's
+ * java:comp/env/jdbc/<artifactId>DS. context.xml defines it for Tomcat
+ * against OpenXava's embedded HSQLDB (jdbc:hsqldb:hsql://localhost:1666);
+ * point driverClassName/url/username/password at the real database
+ * before deploying.
+ *
+ * STREAMING:
+ * Everything that can fail on the model (prepare, schema) runs before the
+ * first byte is written, so a caller can still answer with an error. Then
+ * each Java file goes into the ZIP as the generator renders it: memory
+ * holds one file, not the archive, and a slow reader blocks the generator
+ * in its next write (backpressure). The stream is finished, not closed.
+ *
+ * RECORDING:
+ * The overload with a Consumer<GeneratedFile> also hands it every entry,
+ * under its ZIP path, right after writing it: ProjectServlet passes an
+ * ArtifactStore.Recorder, so the project can be fetched again from
+ * /artifacts/runs/<run>/ without regenerating it.
+ *
+ * @author MetaXava Project Archive Session 2026-10-19
+ */
+public final class ProjectArchive {
+
+    public static final String OPENXAVA_VERSION = "7.6";
+
+    /**
+     * Same Lombok as MetaXava's own build (the entities use @Getter/@Setter)
+     */
+    public static final String LOMBOK_VERSION = "1.18.40";
+
+    private static final Pattern COORDINATE = Pattern.compile("[A-Za-z0-9_.-]+");
+
+    private ProjectArchive() {
+    }
+
+    /**
+     * Maven coordinates of the generated project
+     */
+    public record Coordinates(String groupId, String artifactId, String version) {
+
+        /**
+         * @throws IllegalArgumentException unless each is [A-Za-z0-9_.-]+
+         */
+        public Coordinates {
+            for (String coordinate : List.of(groupId, artifactId, version)) {
+                if (!COORDINATE.matcher(coordinate).matches()) {
+                    throw new IllegalArgumentException("Invalid Maven coordinate '" + coordinate + "'");
+                }
+            }
+        }
+    }
+
+    /**
+     * @param bytes Uncompressed bytes of all entries
+     */
+    public record Summary(int entries, long bytes) {
+    }
+
+    /**
+     * Generate and stream the project
+     *
+     * @throws IllegalArgumentException on an invalid model (before anything is written)
+     */
+    public static Summary write(TypeModel types, List<EntityDefinition> entities, JavaTarget target,
+                                Optional<CompiledDialect> dialect, Coordinates coordinates, OutputStream out)
+            throws IOException {
+        return write(types, entities, target, dialect, coordinates, out, file -> { });
+    }
+
+    /**
+     * Generate and stream the project, handing each entry to record as well
+     *
+     * @throws IllegalArgumentException on an invalid model (before anything is written)
+     */
+    public static Summary write(TypeModel types, List<EntityDefinition> entities, JavaTarget target,
+                                Optional<CompiledDialect> dialect, Coordinates coordinates, OutputStream out,
+                                Consumer<GeneratedFile> record) throws IOException {
+        PreparedModel model = CodeGenerator.prepare(types, entities);
+        Optional<SchemaGenerator.Schema> schema = dialect.map(d -> SchemaGenerator.generate(types, entities, d, 1));
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        long[] bytes = {0};
+        int[] count = {0};
+        bytes[0] += entry(zip, "pom.xml", pom(coordinates, target), record);
+        bytes[0] += entry(zip, "src/main/resources/META-INF/persistence.xml",
+                          persistence(entities, dialect, coordinates), record);
+        bytes[0] += entry(zip, "src/main/webapp/META-INF/context.xml", context(coordinates), record);
+        count[0] = 3;
+        if (schema.isPresent()) {
+            bytes[0] += entry(zip, "src/main/resources/schema.sql",
+                              String.join(";\n", schema.get().statements()) + ";\n", record);
+            count[0]++;
+        }
+        try {
+            CodeGenerator.generate(model, target, file -> {
+                try {
+                    bytes[0] += entry(zip, "src/main/java/" + file.path(), file.content(), record);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        zip.finish();
+        zip.flush();
+        return new Summary(count[0], bytes[0]);
+    }
+
+    private static int entry(ZipOutputStream zip, String name, String content, Consumer<GeneratedFile> record)
+            throws IOException {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(data);
+        zip.closeEntry();
+        record.accept(new GeneratedFile(name, content));
+        return data.length;
+    }
+
+    static String pom(Coordinates coordinates, JavaTarget target) {
+        return """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0"
+                     xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                     xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+            \t<modelVersion>4.0.0</modelVersion>
+            \t<!-- Generated by MetaXava -->
+            \t<groupId>%s</groupId>
+            \t<artifactId>%s</artifactId>
+            \t<version>%s</version>
+            \t<packaging>war</packaging>
+
+            \t<properties>
+            \t\t<openxava.version>%s</openxava.version>
+            \t\t<lombok.version>%s</lombok.version>
+            \t\t<maven.compiler.release>%d</maven.compiler.release>
+            \t\t<project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+            \t</properties>
+
+            \t<dependencies>
+            \t\t<dependency>
+            \t\t\t<groupId>org.openxava</groupId>
+            \t\t\t<artifactId>openxava</artifactId>
+            \t\t\t<version>${openxava.version}</version>
+            \t\t</dependency>
+            \t</dependencies>
+
+            \t<build>
+            \t\t<plugins>
+            \t\t\t<plugin>
+            \t\t\t\t<groupId>org.apache.maven.plugins</groupId>
+            \t\t\t\t<artifactId>maven-compiler-plugin</artifactId>
+            \t\t\t\t<version>3.12.0</version>
+            \t\t\t\t<configuration>
+            \t\t\t\t\t<annotationProcessorPaths>
+            \t\t\t\t\t\t<path>
+            \t\t\t\t\t\t\t<groupId>org.projectlombok</groupId>
+            \t\t\t\t\t\t\t<artifactId>lombok</artifactId>
+            \t\t\t\t\t\t\t<version>${lombok.version}</version>
+            \t\t\t\t\t\t</path>
+            \t\t\t\t\t</annotationProcessorPaths>
+            \t\t\t\t</configuration>
+            \t\t\t</plugin>
+            \t\t</plugins>
+            \t</build>
+            </project>
+            """.formatted(coordinates.groupId(), coordinates.artifactId(), coordinates.version(),
+                          OPENXAVA_VERSION, LOMBOK_VERSION, target.release());
+    }
+
+    static String persistence(List<EntityDefinition> entities, Optional<CompiledDialect> dialect,
+                              Coordinates coordinates) {
+        StringBuilder out = new StringBuilder(512 + entities.size() * 64);
+        out.append("""
+            <?xml version="1.0" encoding="UTF-8"?>
+            <persistence xmlns="http://java.sun.com/xml/ns/persistence"
+                         xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://java.sun.com/xml/ns/persistence http://java.sun.com/xml/ns/persistence/persistence_1_0.xsd"
+                         version="1.0">
+                <persistence-unit name="default">
+                    <provider>org.hibernate.jpa.HibernatePersistenceProvider</provider>
+            """);
+        out.append("        <non-jta-data-source>java://comp/env/").append(dataSource(coordinates))
+           .append("</non-jta-data-source>\n");
+        for (EntityDefinition entity : entities) {
+            out.append("        <class>").append(entity.qualifiedName()).append("</class>\n");
+        }
+        out.append("        <properties>\n");
+        dialect.flatMap(CompiledDialect::hibernateDialect).ifPresent(hibernateDialect ->
+            out.append("            <property name=\"hibernate.dialect\" value=\"").append(hibernateDialect)
+               .append("\"/>\n"));
+        out.append("""
+                        <property name="javax.persistence.schema-generation.database.action" value="update"/>
+                    </properties>
+                </persistence-unit>
+            </persistence>
+            """);
+        return out.toString();
+    }
+
+    static String context(Coordinates coordinates) {
+        return """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Context>
+
+            \t<!-- Generated by MetaXava: OpenXava's embedded HSQLDB; replace with your database -->
+            \t<Resource name="%s" auth="Container" type="javax.sql.DataSource"
+            \t\tdriverClassName="org.hsqldb.jdbc.JDBCDriver"
+            \t\turl="jdbc:hsqldb:hsql://localhost:1666"
+            \t\tusername="sa" password=""
+            \t\tmaxTotal="20" maxIdle="5" maxWaitMillis="10000"/>
+
+            </Context>
+            """.formatted(dataSource(coordinates));
+    }
+
+    private static String dataSource(Coordinates coordinates) {
+        return "jdbc/" + coordinates.artifactId() + "DS";
+    }
+}
@@ -0,0 +1,163 @@
+package org.metaxava.project;
+
+import org.metaxava.artifact.ArtifactStore;
+import org.metaxava.codegen.CompileCheck;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.ModelText;
+import org.metaxava.dialect.CompiledDialect;
+import org.metaxava.dialect.DialectCatalog;
+import org.metaxava.registry.TypeModel;
+import org.openxava.jpa.XPersistence;
+
+import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProjectServlet - Generate a project and stream it as a ZIP
+ *
+ * Mapped to /project in web.xml. Like /metrics, only loopback clients are
+ * served: the endpoint bypasses OpenXava's login. The request body is the
+ * model as ModelText; the response is ProjectArchive's ZIP, written while
+ * the files are generated (chunked, no Content-Length).
+ *
+ *   curl -s -H 'Content-Type: text/plain' --data-binary @sales.model \
+ *        'http://localhost:8080/metaxava/project?artifactId=sales&target=21&dialect=H2' | jar x
+ *
+ * PARAMETERS:
+ *   target=21            Java release (JavaTarget)
+ *   dialect=<name>       dialect (OXDBType; the built-in ones before bootstrap)
+ *                        for schema.sql and hibernate.dialect; none by default
+ *   groupId=com.example artifactId=generated version=1.0-SNAPSHOT
+ *
+ * Model errors answer 400 before any ZIP byte is sent. Types come from the
+ * database (TypeModel.load), read once per request.
+ *
+ * Every ZIP is also recorded into ArtifactStore.shared() as run
+ * project-<artifactId>-<millis>-<n>, named in the X-MetaXava-Run header:
+ * its files are then at /artifacts/runs/<run>/<ZIP path>, and unchanged
+ * files across projects are stored once. A failed generation leaves no run.
+ *
+ * CHECK MODE (?check): instead of the ZIP, compile the generated sources
+ * in-process (CompileCheck) against the webapp's class path and answer a
+ * text report, 200 when it compiles, 422 with one line per error otherwise:
+ *
+ *   curl -s --data-binary @sales.model 'http://localhost:8080/metaxava/project?check'
+ *
+ * @author MetaXava Project Archive Session 2026-10-19
+ */
+public class ProjectServlet extends HttpServlet {
+
+    private static final int MAX_MODEL_CHARS = 8 * 1024 * 1024;
+    private static final int MAX_RUN_ARTIFACT_ID = 80;
+
+    private static final AtomicLong runs = new AtomicLong();
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Projects are only served to localhost");
+            return;
+        }
+        request.setCharacterEncoding("UTF-8");
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        for (int n = request.getReader().read(buffer); n >= 0; n = request.getReader().read(buffer)) {
+            text.append(buffer, 0, n);
+            if (text.length() > MAX_MODEL_CHARS) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Model text over 8M characters");
+                return;
+            }
+        }
+
+        List<EntityDefinition> entities;
+        JavaTarget target;
+        ProjectArchive.Coordinates coordinates;
+        TypeModel types;
+        Optional<CompiledDialect> dialect;
+        try {
+            entities = ModelText.parse(new StringReader(text.toString()));
+            if (entities.isEmpty()) {
+                throw new IllegalArgumentException("The model has no entities");
+            }
+            target = JavaTarget.of(Integer.parseInt(parameter(request, "target", "21")));
+            coordinates = new ProjectArchive.Coordinates(parameter(request, "groupId", "com.example"),
+                                                         parameter(request, "artifactId", "generated"),
+                                                         parameter(request, "version", "1.0-SNAPSHOT"));
+            EntityManager em = XPersistence.createManager();
+            try {
+                types = TypeModel.load(em);
+                String dialectName = request.getParameter("dialect");
+                if (dialectName == null) {
+                    dialect = Optional.empty();
+                } else {
+                    DialectCatalog catalog = DialectCatalog.load(em);
+                    dialect = Optional.of((catalog.size() > 0 ? catalog : DialectCatalog.builtIn()).require(dialectName));
+                }
+            } finally {
+                em.close();
+            }
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        if (request.getParameter("check") != null) {
+            check(types, entities, target, response);
+            return;
+        }
+
+        String artifactId = coordinates.artifactId();
+        String run = "project-" + artifactId.substring(0, Math.min(artifactId.length(), MAX_RUN_ARTIFACT_ID))
+                     + "-" + System.currentTimeMillis() + "-" + runs.incrementAndGet();
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + artifactId + ".zip\"");
+        response.setHeader("Cache-Control", "no-store");
+        response.setHeader("X-MetaXava-Run", run);
+        try (ArtifactStore.Recorder recorder = ArtifactStore.shared().recorder(run)) {
+            ProjectArchive.write(types, entities, target, dialect, coordinates, response.getOutputStream(), recorder);
+            recorder.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalArgumentException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void check(TypeModel types, List<EntityDefinition> entities, JavaTarget target,
+                       HttpServletResponse response) throws IOException {
+        CompileCheck.Report report;
+        try {
+            report = CompileCheck.check(types, entities, target, CompileCheck.classPath(getClass().getClassLoader()),
+                                        Runtime.getRuntime().availableProcessors());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        response.setStatus(report.ok() ? HttpServletResponse.SC_OK : 422);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+        out.println(report);
+        report.errors().forEach(out::println);
+    }
+
+    private static String parameter(HttpServletRequest request, String name, String defaultValue) {
+        String value = request.getParameter(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,279 @@
+package org.metaxava.registry;
+
+import org.metaxava.model.OXBasicType;
+import org.metaxava.model.OXType;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JdbcCompatibilityMatrix - Type × JDBCType compatibility compiled into bitsets
+ *
+ * WHY:
+ * "Can this Java type hold this column?" is a List.contains over a freshly
+ * allocated declareCompatibleJdbcTypes() list, or a query against the
+ * type_jdbc_mappings bag. Schema import and type-change validation ask it
+ * millions of times.
+ *
+ * LAYOUT:
+ * JDBCType has 39 constants, so one type's compatible set is one long
+ * (bit = JDBCType ordinal). Types get dense ids 0..n-1 (sorted by name).
+ * - rows[typeId]           compatible JDBC types of a type
+ * - preferred[typeId]      preferred JDBCType ordinal (NONE if absent)
+ * - ranked[...]            compatible ordinals in declared order
+ *                          (offsets in rankStart), for best-preferred picks
+ * - columns[ordinal][word] type ids accepting a JDBC type (64 per long)
+ *
+ * QUERIES (no allocation, no locking; the matrix is immutable):
+ * - isCompatible(type, jdbc)      one shift + mask
+ * - intersection(a, b)            one AND (widening/narrowing checks)
+ * - best(type, candidates)        preferred if allowed, else first declared match
+ * - nextTypeAccepting(jdbc, from) BitSet-style iteration over types for a column
+ *
+ * RANKING:
+ * From declarations, rank is declareCompatibleJdbcTypes() order. From a
+ * TypeModel, it is the snapshot's list order, which comes from the
+ * persisted bag and is not guaranteed; the preferred type always ranks first.
+ *
+ * @author MetaXava Compatibility Matrix Session 2026-10-19
+ */
+public final class JdbcCompatibilityMatrix {
+
+    public static final int NONE = -1;
+
+    private static final JDBCType[] JDBC_TYPES = JDBCType.values();
+
+    static {
+        if (JDBC_TYPES.length > Long.SIZE) {
+            throw new IllegalStateException("JDBCType has " + JDBC_TYPES.length +
+                                            " constants; one long per row no longer fits");
+        }
+    }
+
+    private final long version;
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final long[] rows;
+    private final int[] preferred;
+    private final byte[] ranked;
+    private final int[] rankStart;
+    private final long[][] columns;
+
+    private JdbcCompatibilityMatrix(long version, List<Row> sortedRows) {
+        int n = sortedRows.size();
+        this.version = version;
+        this.names = new String[n];
+        this.ids = new HashMap<>(n * 4 / 3 + 1);
+        this.rows = new long[n];
+        this.preferred = new int[n];
+        this.rankStart = new int[n + 1];
+        this.columns = new long[JDBC_TYPES.length][(n + Long.SIZE - 1) / Long.SIZE];
+
+        int rankedSize = 0;
+        for (Row row : sortedRows) {
+            rankedSize += row.compatible.size();
+        }
+        this.ranked = new byte[rankedSize];
+
+        int r = 0;
+        for (int id = 0; id < n; id++) {
+            Row row = sortedRows.get(id);
+            names[id] = row.name;
+            if (ids.putIfAbsent(row.name, id) != null) {
+                throw new IllegalArgumentException("Duplicate type name in matrix: " + row.name);
+            }
+            preferred[id] = row.preferred == null ? NONE : row.preferred.ordinal();
+            rankStart[id] = r;
+            for (JDBCType jdbc : row.compatible) {
+                int ordinal = jdbc.ordinal();
+                if ((rows[id] & (1L << ordinal)) == 0) {
+                    rows[id] |= 1L << ordinal;
+                    ranked[r++] = (byte) ordinal;
+                    columns[ordinal][id >>> 6] |= 1L << id;
+                }
+            }
+        }
+        rankStart[n] = r;
+    }
+
+    // ========== Construction ==========
+
+    /**
+     * Compile a published (or edited) model; carries the model's version
+     */
+    public static JdbcCompatibilityMatrix of(TypeModel model) {
+        List<Row> rows = new ArrayList<>(model.types().size());
+        for (TypeSnapshot type : model.types().values()) {
+            rows.add(new Row(type.name(), type.preferredJdbcType().orElse(null), type.compatibleJdbcTypes()));
+        }
+        return compile(model.version(), rows);
+    }
+
+    /**
+     * Compile from self-declared mappings (declareCompatibleJdbcTypes order is the rank)
+     */
+    public static JdbcCompatibilityMatrix fromDeclarations(Collection<? extends OXBasicType> types) {
+        List<Row> rows = new ArrayList<>(types.size());
+        for (OXBasicType type : types) {
+            rows.add(new Row(((OXType) type).getName(), type.declarePreferredJdbcType(),
+                             type.declareCompatibleJdbcTypes()));
+        }
+        return compile(0, rows);
+    }
+
+    private static JdbcCompatibilityMatrix compile(long version, List<Row> rows) {
+        rows.sort(Comparator.comparing(Row::name));
+        return new JdbcCompatibilityMatrix(version, rows);
+    }
+
+    private record Row(String name, JDBCType preferred, List<JDBCType> compatible) {
+    }
+
+    // ========== Type ids ==========
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Dense id of a type, or NONE
+     */
+    public int typeId(String name) {
+        Integer id = ids.get(name);
+        return id == null ? NONE : id;
+    }
+
+    public String typeName(int typeId) {
+        return names[typeId];
+    }
+
+    // ========== Row queries ==========
+
+    /**
+     * Compatible JDBC types of a type as a bitset (bit = JDBCType ordinal)
+     */
+    public long mask(int typeId) {
+        return rows[typeId];
+    }
+
+    public boolean isCompatible(int typeId, JDBCType jdbcType) {
+        return (rows[typeId] & (1L << jdbcType.ordinal())) != 0;
+    }
+
+    /**
+     * JDBC types both types accept (e.g. columns that survive an int → long change)
+     */
+    public long intersection(int typeIdA, int typeIdB) {
+        return rows[typeIdA] & rows[typeIdB];
+    }
+
+    /**
+     * Every column of {@code from} can also be held by {@code to}
+     */
+    public boolean isWidening(int from, int to) {
+        return (rows[from] & ~rows[to]) == 0;
+    }
+
+    /**
+     * Preferred JDBC type of a type, or null if the type declares none
+     */
+    public JDBCType preferred(int typeId) {
+        int ordinal = preferred[typeId];
+        return ordinal == NONE ? null : JDBC_TYPES[ordinal];
+    }
+
+    /**
+     * Best JDBC type for a type among allowed candidates
+     *
+     * @param candidates Bitset of acceptable JDBC types (e.g. what a dialect supports)
+     * @return Preferred type if allowed, else the first allowed in rank order, else null
+     */
+    public JDBCType best(int typeId, long candidates) {
+        int preferredOrdinal = preferred[typeId];
+        if (preferredOrdinal != NONE && (candidates & (1L << preferredOrdinal)) != 0) {
+            return JDBC_TYPES[preferredOrdinal];
+        }
+        long allowed = rows[typeId] & candidates;
+        if (allowed == 0) {
+            return null;
+        }
+        for (int r = rankStart[typeId]; r < rankStart[typeId + 1]; r++) {
+            if ((allowed & (1L << ranked[r])) != 0) {
+                return JDBC_TYPES[ranked[r]];
+            }
+        }
+        return null;
+    }
+
+    // ========== Column queries ==========
+
+    /**
+     * Next type id >= fromTypeId that accepts the JDBC type, or NONE
+     *
+     * for (int id = m.nextTypeAccepting(VARCHAR, 0); id != NONE; id = m.nextTypeAccepting(VARCHAR, id + 1))
+     */
+    public int nextTypeAccepting(JDBCType jdbcType, int fromTypeId) {
+        long[] column = columns[jdbcType.ordinal()];
+        int word = fromTypeId >>> 6;
+        if (word >= column.length) {
+            return NONE;
+        }
+        long bits = column[word] & (-1L << fromTypeId);
+        while (true) {
+            if (bits != 0) {
+                return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == column.length) {
+                return NONE;
+            }
+            bits = column[word];
+        }
+    }
+
+    public int countTypesAccepting(JDBCType jdbcType) {
+        int count = 0;
+        for (long bits : columns[jdbcType.ordinal()]) {
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    // ========== Bitset helpers ==========
+
+    public static long maskOf(JDBCType... jdbcTypes) {
+        long mask = 0;
+        for (JDBCType jdbcType : jdbcTypes) {
+            mask |= 1L << jdbcType.ordinal();
+        }
+        return mask;
+    }
+
+    public static boolean contains(long mask, JDBCType jdbcType) {
+        return (mask & (1L << jdbcType.ordinal())) != 0;
+    }
+
+    /**
+     * Decode a bitset (allocates; for display and tests)
+     */
+    public static List<JDBCType> toList(long mask) {
+        List<JDBCType> list = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            list.add(JDBC_TYPES[Long.numberOfTrailingZeros(bits)]);
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcCompatibilityMatrix[v" + version + ", " + names.length + " types]";
+    }
+}
@@ -0,0 +1,48 @@
+package org.metaxava.registry;
+
+import org.metaxava.model.JDBCTypeMetadata;
+import java.sql.JDBCType;
+import java.util.Optional;
+
+/**
+ * JdbcTypeSnapshot - Immutable copy of a JDBCTypeMetadata row
+ *
+ * Detached from JPA: safe to share across threads and to keep after the
+ * EntityManager that loaded it is closed.
+ *
+ * Nullable sizing columns are exposed as Optional (NEVER null).
+ *
+ * @author MetaXava Type Registry Session 2026-10-19
+ */
+public record JdbcTypeSnapshot(
+        JDBCType jdbcType,
+        String category,
+        String description,
+        boolean supportsLength,
+        boolean supportsPrecision,
+        boolean supportsScale,
+        Optional<Integer> typicalMaxLength,
+        Optional<Integer> typicalMaxPrecision,
+        Optional<Integer> typicalMaxScale,
+        boolean commonlyUsed,
+        boolean portable,
+        Optional<String> portabilityNotes,
+        Optional<String> jpaAnnotationPattern) {
+
+    public static JdbcTypeSnapshot of(JDBCTypeMetadata metadata) {
+        return new JdbcTypeSnapshot(
+            metadata.getJdbcType(),
+            metadata.getCategory(),
+            metadata.getDescription(),
+            metadata.isSupportsLength(),
+            metadata.isSupportsPrecision(),
+            metadata.isSupportsScale(),
+            Optional.ofNullable(metadata.getTypicalMaxLength()),
+            Optional.ofNullable(metadata.getTypicalMaxPrecision()),
+            Optional.ofNullable(metadata.getTypicalMaxScale()),
+            metadata.isCommonlyUsed(),
+            metadata.isPortable(),
+            Optional.ofNullable(metadata.getPortabilityNotes()),
+            Optional.ofNullable(metadata.getJpaAnnotationPattern()));
+    }
+}
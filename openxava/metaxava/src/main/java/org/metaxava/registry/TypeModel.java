@@ -0,0 +1,104 @@
+package org.metaxava.registry;
+
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXType;
+import javax.persistence.EntityManager;
+import java.sql.JDBCType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * TypeModel - One immutable, versioned version of the type system
+ *
+ * DESIGN:
+ * - Value object: maps are copied on construction and never mutated
+ * - "with"/"without" methods return a NEW model (copy-on-write)
+ * - version is assigned by TypeRegistry at publication time;
+ *   models built by edits carry their parent's version until published
+ *
+ * A reader holding a TypeModel sees exactly one consistent version for as
+ * long as it keeps the reference, no matter how many edits are published.
+ *
+ * @author MetaXava Type Registry Session 2026-10-19
+ */
+public record TypeModel(
+        long version,
+        Map<String, TypeSnapshot> types,
+        Map<JDBCType, JdbcTypeSnapshot> jdbcTypes) {
+
+    public static final TypeModel EMPTY = new TypeModel(0, Map.of(), Map.of());
+
+    public TypeModel {
+        types = Map.copyOf(types);
+        jdbcTypes = Map.copyOf(jdbcTypes);
+    }
+
+    /**
+     * Load a model from the database (version 0 until published)
+     */
+    public static TypeModel load(EntityManager em) {
+        Map<JDBCType, JdbcTypeSnapshot> jdbcTypes = new HashMap<>();
+        for (JDBCTypeMetadata metadata : em.createQuery(
+                "SELECT t FROM JDBCTypeMetadata t", JDBCTypeMetadata.class).getResultList()) {
+            jdbcTypes.put(metadata.getJdbcType(), JdbcTypeSnapshot.of(metadata));
+        }
+
+        Map<String, TypeSnapshot> types = new HashMap<>();
+        for (OXType type : em.createQuery("SELECT t FROM OXType t", OXType.class).getResultList()) {
+            types.put(type.getName(), TypeSnapshot.of(type));
+        }
+
+        return new TypeModel(0, types, jdbcTypes);
+    }
+
+    public Optional<TypeSnapshot> type(String name) {
+        return Optional.ofNullable(types.get(name));
+    }
+
+    public Optional<JdbcTypeSnapshot> jdbcType(JDBCType jdbcType) {
+        return Optional.ofNullable(jdbcTypes.get(jdbcType));
+    }
+
+    // ========== Copy-on-write edits ==========
+
+    public TypeModel withType(TypeSnapshot type) {
+        Map<String, TypeSnapshot> next = new HashMap<>(types);
+        next.put(type.name(), type);
+        return new TypeModel(version, next, jdbcTypes);
+    }
+
+    public TypeModel withTypes(Collection<TypeSnapshot> added) {
+        Map<String, TypeSnapshot> next = new HashMap<>(types);
+        for (TypeSnapshot type : added) {
+            next.put(type.name(), type);
+        }
+        return new TypeModel(version, next, jdbcTypes);
+    }
+
+    public TypeModel withoutType(String name) {
+        if (!types.containsKey(name)) {
+            return this;
+        }
+        Map<String, TypeSnapshot> next = new HashMap<>(types);
+        next.remove(name);
+        return new TypeModel(version, next, jdbcTypes);
+    }
+
+    public TypeModel withJdbcType(JdbcTypeSnapshot jdbcType) {
+        Map<JDBCType, JdbcTypeSnapshot> next = new HashMap<>(jdbcTypes);
+        next.put(jdbcType.jdbcType(), jdbcType);
+        return new TypeModel(version, types, next);
+    }
+
+    TypeModel withVersion(long newVersion) {
+        return new TypeModel(newVersion, types, jdbcTypes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TypeModel[v%d, %d types, %d JDBC types]",
+                version, types.size(), jdbcTypes.size());
+    }
+}
@@ -0,0 +1,146 @@
+package org.metaxava.registry;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * TypeRegistry - Copy-on-write, versioned in-memory type system
+ *
+ * DESIGN RATIONALE:
+ * MetaXava is multi-user: while one modeler edits OXTypes, the UI,
+ * validators and generators of other users keep reading. Locks would
+ * serialize those readers behind every edit; re-querying the DB on every
+ * read repeats work that almost never changes.
+ *
+ * READERS (wait-free):
+ *   TypeModel model = registry.current();   // one volatile read
+ * The returned model is immutable and tagged with its version. A generation
+ * run that grabs one model at the start can never see a half-applied edit.
+ *
+ * WRITERS (off-thread, serialized):
+ *   registry.submit(model -> model.withType(...));
+ * Edits run on a single writer thread, build the next model off the
+ * current one, and publish it with compareAndSet. Serializing writers keeps
+ * expensive model builds from racing and retrying against each other.
+ *
+ * update() applies an edit on the calling thread instead. It retries on
+ * contention, so edits MUST be pure functions of the model they receive.
+ *
+ * VERSIONING:
+ * Every successful publication gets version = previous + 1.
+ * Edits returning the same instance are no-ops (no new version).
+ *
+ * DERIVED INDEXES:
+ * compatibility() compiles the current model into a JdbcCompatibilityMatrix
+ * once per version; readers of the same version share it.
+ *
+ * @author MetaXava Type Registry Session 2026-10-19
+ */
+public class TypeRegistry implements AutoCloseable {
+
+    private final AtomicReference<TypeModel> current;
+    private final ExecutorService writer;
+    private final AtomicReference<JdbcCompatibilityMatrix> compatibility = new AtomicReference<>();
+
+    public TypeRegistry() {
+        this(TypeModel.EMPTY);
+    }
+
+    public TypeRegistry(TypeModel initial) {
+        this.current = new AtomicReference<>(initial);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metaxava-type-registry-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Current model version (wait-free)
+     */
+    public TypeModel current() {
+        return current.get();
+    }
+
+    public long version() {
+        return current.get().version();
+    }
+
+    /**
+     * Compatibility matrix of the current model (compiled on first use per version)
+     *
+     * Racing readers may both compile; either result is equivalent. A reader
+     * that compiled an older version than the cached one (it read the model
+     * before a publication) keeps its matrix to itself: the cache only moves
+     * forward.
+     */
+    public JdbcCompatibilityMatrix compatibility() {
+        TypeModel model = current.get();
+        JdbcCompatibilityMatrix cached = compatibility.get();
+        if (cached != null && cached.version() == model.version()) {
+            return cached;
+        }
+        JdbcCompatibilityMatrix compiled = JdbcCompatibilityMatrix.of(model);
+        while (cached == null || cached.version() < compiled.version()) {
+            if (compatibility.compareAndSet(cached, compiled)) {
+                return compiled;
+            }
+            cached = compatibility.get();
+        }
+        return cached.version() == compiled.version() ? cached : compiled;
+    }
+
+    /**
+     * Apply an edit on the calling thread and publish the result
+     *
+     * @param edit Pure function from current model to next model (may be re-run)
+     * @return The published model (or the current one if the edit was a no-op)
+     */
+    public TypeModel update(UnaryOperator<TypeModel> edit) {
+        while (true) {
+            TypeModel base = current.get();
+            TypeModel next = edit.apply(base);
+            if (next == base) {
+                return base;
+            }
+            TypeModel published = next.withVersion(base.version() + 1);
+            if (current.compareAndSet(base, published)) {
+                return published;
+            }
+        }
+    }
+
+    /**
+     * Apply an edit on the registry's writer thread
+     *
+     * @return Future completed with the published model
+     */
+    public CompletableFuture<TypeModel> submit(UnaryOperator<TypeModel> edit) {
+        return CompletableFuture.supplyAsync(() -> update(edit), writer);
+    }
+
+    /**
+     * Replace the whole model with a fresh load from the database
+     *
+     * Loading runs on the caller's thread (EntityManager is not thread-safe);
+     * only the swap goes through update().
+     */
+    public TypeModel reload(EntityManager em) {
+        TypeModel loaded = TypeModel.load(em);
+        return update(ignored -> loaded);
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "TypeRegistry[" + current.get() + "]";
+    }
+}
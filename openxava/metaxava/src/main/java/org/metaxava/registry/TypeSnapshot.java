@@ -0,0 +1,74 @@
+package org.metaxava.registry;
+
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXBasicReferenceType;
+import org.metaxava.model.OXBasicType;
+import org.metaxava.model.OXPrimitiveType;
+import org.metaxava.model.OXReferenceType;
+import org.metaxava.model.OXType;
+import java.sql.JDBCType;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TypeSnapshot - Immutable copy of an OXType
+ *
+ * DESIGN:
+ * Relationships are flattened to values (JDBCType enums, counterpart name)
+ * so a snapshot never drags a persistence context along with it.
+ *
+ * - kind: discriminator value ("PRIMITIVE", "WRAPPER", "STRING", ...)
+ * - packageName/simpleName: present for reference types only
+ * - preferredJdbcType/compatibleJdbcTypes: present for OXBasicType implementations
+ * - counterpart: wrapper name for primitives, primitive name for wrappers
+ *
+ * @author MetaXava Type Registry Session 2026-10-19
+ */
+public record TypeSnapshot(
+        String name,
+        String kind,
+        Optional<String> packageName,
+        Optional<String> simpleName,
+        Optional<JDBCType> preferredJdbcType,
+        List<JDBCType> compatibleJdbcTypes,
+        Optional<String> counterpart) {
+
+    public TypeSnapshot {
+        compatibleJdbcTypes = List.copyOf(compatibleJdbcTypes);
+    }
+
+    public static TypeSnapshot of(OXType type) {
+        Optional<String> packageName = Optional.empty();
+        Optional<String> simpleName = Optional.empty();
+        if (type instanceof OXReferenceType reference) {
+            packageName = Optional.ofNullable(reference.getPackageName());
+            simpleName = Optional.ofNullable(reference.getSimpleName());
+        }
+
+        Optional<JDBCType> preferred = Optional.empty();
+        List<JDBCType> compatible = List.of();
+        if (type instanceof OXBasicType basic) {
+            preferred = Optional.ofNullable(basic.getPreferredJdbcType())
+                                .map(JDBCTypeMetadata::getJdbcType);
+            if (basic.getCompatibleJdbcTypes() != null) {
+                compatible = basic.getCompatibleJdbcTypes().stream()
+                                  .map(JDBCTypeMetadata::getJdbcType)
+                                  .toList();
+            }
+        }
+
+        Optional<String> counterpart = Optional.empty();
+        if (type instanceof OXPrimitiveType primitive && primitive.getWrapperType() != null) {
+            counterpart = Optional.of(primitive.getWrapperType().getName());
+        } else if (type instanceof OXBasicReferenceType reference && reference.getPrimitiveType() != null) {
+            counterpart = Optional.of(reference.getPrimitiveType().getName());
+        }
+
+        return new TypeSnapshot(type.getName(), type.kind(), packageName, simpleName,
+                                preferred, compatible, counterpart);
+    }
+
+    public boolean isCompatibleWith(JDBCType jdbcType) {
+        return compatibleJdbcTypes.contains(jdbcType);
+    }
+}
@@ -0,0 +1,138 @@
+package org.metaxava.run;
+
+import org.metaxava.pool.InstrumentedDataSource;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * JdbcPermitFilter - Bound concurrent JDBC borrowers under virtual threads
+ *
+ * WHY:
+ * With platform threads the connector's 200-thread pool implicitly capped how
+ * many requests could block on JDBC at once. Virtual threads remove that cap,
+ * so thousands of requests can pile into the connection pool and fail with
+ * pool-exhaustion errors deep inside Hibernate.
+ *
+ * DESIGN:
+ * - The gate sits where a connection is borrowed, not around the request:
+ *   init() calls InstrumentedDataSource.gateBorrowers() on the data source
+ *   (init-param "dataSource"), a fair Semaphore sized "permits". A permit is
+ *   held only while a connection is leased, so DWR calls, long-polls and
+ *   pages that never touch JDBC hold none however long they stay open
+ * - Waiting virtual threads park on the semaphore without pinning a carrier
+ * - A borrower that can't get a permit within "waitMillis" fails with
+ *   PermitTimeoutException; if it reaches this filter before the response
+ *   is committed, the client gets 503 + Retry-After instead of a stack trace
+ *
+ * @author MetaXava Virtual Threads Session 2026-10-19
+ */
+public class JdbcPermitFilter implements Filter {
+
+    public static final String PERMITS_PARAM = "permits";
+    public static final String WAIT_MILLIS_PARAM = "waitMillis";
+    public static final String DATA_SOURCE_PARAM = "dataSource";
+
+    private static final String DEFAULT_DATA_SOURCE = "java:comp/env/jdbc/metaxavaDS";
+
+    private static final Set<String> STATIC_EXTENSIONS = Set.of(
+        "css", "js", "map", "png", "gif", "jpg", "jpeg", "svg", "ico",
+        "woff", "woff2", "ttf", "eot", "html");
+
+    private InstrumentedDataSource dataSource;
+
+    @Override
+    public void init(FilterConfig config) throws ServletException {
+        int count = parse(config, PERMITS_PARAM, 20);
+        if (count < 1) {
+            throw new ServletException("JdbcPermitFilter needs at least 1 permit, got " + count);
+        }
+        long waitMillis = parse(config, WAIT_MILLIS_PARAM, 10_000);
+        String name = Optional.ofNullable(config.getInitParameter(DATA_SOURCE_PARAM))
+                              .filter(value -> !value.isBlank())
+                              .orElse(DEFAULT_DATA_SOURCE);
+        try {
+            DataSource found = (DataSource) new InitialContext().lookup(name);
+            if (!found.isWrapperFor(InstrumentedDataSource.class)) {
+                throw new ServletException(name + " is not an InstrumentedDataSource; " +
+                                           "use InstrumentedDataSourceFactory in context.xml");
+            }
+            dataSource = found.unwrap(InstrumentedDataSource.class);
+        } catch (NamingException | SQLException e) {
+            throw new ServletException("No data source " + name + " to gate", e);
+        }
+        dataSource.gateBorrowers(count, Duration.ofMillis(waitMillis));
+        System.out.println("✓ JDBC permit gate on " + dataSource.getName() + ": " + count +
+                           " concurrent borrowers, " + waitMillis + "ms max wait");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (!permitTimeout(e) || response.isCommitted()) {
+                throw e;
+            }
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setHeader("Retry-After", "1");
+            http.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Database busy, retry shortly");
+        }
+    }
+
+    /**
+     * Permits currently free (for diagnostics)
+     */
+    public int availablePermits() {
+        return dataSource.availablePermits().orElse(0);
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private static boolean permitTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InstrumentedDataSource.PermitTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True for css/js/images/fonts and other files that never touch JDBC (for ProfilingFilter)
+     */
+    public static boolean isStaticResource(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int dot = uri.lastIndexOf('.');
+        return dot > uri.lastIndexOf('/') && STATIC_EXTENSIONS.contains(uri.substring(dot + 1).toLowerCase());
+    }
+
+    private static int parse(FilterConfig config, String name, int defaultValue) throws ServletException {
+        String value = config.getInitParameter(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServletException("Invalid " + name + " for JdbcPermitFilter: " + value, e);
+        }
+    }
+}
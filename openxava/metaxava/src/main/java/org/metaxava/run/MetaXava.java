@@ -1,5 +1,9 @@
 package org.metaxava.run;
 
+import java.util.Arrays;
+
+import org.metaxava.codegen.TemplateCatalog;
+import org.metaxava.dialect.DialectCatalog;
 import org.openxava.util.*;
 
 /**
@@ -29,12 +33,32 @@ import org.openxava.util.*;
  *    - Primitives ≠ Wrappers (distinct types)
  *    - Design considerations in code comments
  *    - Optional<T> for optionality (NEVER null)
+ *
+ * STARTUP MODES:
+ *    - Default: AppServer.run() on the platform-thread connector
+ *    - -Dmetaxava.virtualThreads=true (or --virtual-threads): MetaXavaServer on
+ *      virtual threads, with connection borrows gated to the pool size
+ *      (-Dmetaxava.jdbc.permits, default 20). Compare modes with LatencyProbe.
+ *    - -Dmetaxava.parentFirst=true: MetaXavaServer with parent-first class loading,
+ *      the mode a startup cache (AOT cache / AppCDS) is trained for
+ *    - --aot-training: StartupTraining run that exits when done (see StartupCache)
  */
 public class MetaXava {
 
 	public static void main(String[] args) throws Exception {
 		DBServer.start("metaxava-db");
-		AppServer.run("metaxava"); // Use AppServer.run() to deploy in an internal web server
+		System.out.println("✓ Compiled " + DialectCatalog.builtIn()); // Dialect renderers compiled once, up front
+		System.out.println("✓ Parsed code templates for " + TemplateCatalog.preload() + " Java targets");
+		boolean virtualThreads = Boolean.getBoolean("metaxava.virtualThreads") || Arrays.asList(args).contains("--virtual-threads");
+		if (Arrays.asList(args).contains(StartupTraining.ARGUMENT)) {
+			StartupTraining.run("metaxava"); // Exits the JVM, which writes the startup cache
+		}
+		else if (virtualThreads || Boolean.getBoolean(MetaXavaServer.PARENT_FIRST_PROPERTY)) {
+			MetaXavaServer.run("metaxava", virtualThreads); // Opt-in: virtual threads and/or parent-first loading
+		}
+		else {
+			AppServer.run("metaxava"); // Use AppServer.run() to deploy in an internal web server
+		}
 	}
 
 }
@@ -0,0 +1,189 @@
+package org.metaxava.run;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.core.StandardVirtualThreadExecutor;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.catalina.webresources.DirResourceSet;
+import org.apache.catalina.webresources.StandardRoot;
+import org.apache.tomcat.util.descriptor.web.ErrorPage;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.apache.tomcat.util.http.Rfc6265CookieProcessor;
+import org.openxava.util.XavaPreferences;
+
+import java.io.File;
+
+/**
+ * MetaXavaServer - Embedded Tomcat startup with an opt-in virtual-thread mode
+ *
+ * DESIGN RATIONALE:
+ * OpenXava's AppServer.run() builds its Tomcat privately, so the connector's
+ * executor can't be changed. This class mirrors AppServer's setup (same base
+ * dir, docBase, target/classes overlay, SameSite cookies, error pages, JAR
+ * scan filter) but keeps the Tomcat instance in our hands.
+ *
+ * VIRTUAL THREADS (opt-in):
+ * - Connector requests run on a StandardVirtualThreadExecutor instead of the
+ *   200-thread platform pool. Long-polling browser connections then cost a
+ *   parked virtual thread, not an OS thread.
+ * - Virtual threads remove the thread ceiling but NOT the connection ceiling:
+ *   JdbcPermitFilter gates connection borrows to the JDBC pool size, so
+ *   waiting happens cheaply on a semaphore rather than as pool timeouts
+ *   inside Hibernate, and only while a connection is actually leased.
+ *
+ * PARENT-FIRST CLASS LOADING (-Dmetaxava.parentFirst=true):
+ * The webapp loader delegates to the application class loader before
+ * looking in WEB-INF. With the dependencies and MetaXava's classes on the
+ * JVM class path, everything then loads through a built-in loader, which
+ * is what AppCDS and the JDK AOT cache can archive (classes defined by
+ * WebappClassLoader are never archived). StartupCache sets it for the
+ * training run and for every cached or measured start.
+ *
+ * NOT MIRRORED:
+ * AppServer's first-run creation of default i18n files. Start once with the
+ * standard mode (or copy them by hand) on a fresh checkout.
+ *
+ * @author MetaXava Virtual Threads Session 2026-10-19
+ */
+public class MetaXavaServer {
+
+    /**
+     * System property: JDBC permits for JdbcPermitFilter (default 20, matches maxTotal)
+     */
+    public static final String JDBC_PERMITS_PROPERTY = "metaxava.jdbc.permits";
+
+    /**
+     * System property: max milliseconds a borrower waits for a JDBC permit (default 10000)
+     */
+    public static final String JDBC_PERMIT_WAIT_PROPERTY = "metaxava.jdbc.permitWaitMillis";
+
+    /**
+     * System property: load classes parent-first, so a startup cache can cover them (default false)
+     */
+    public static final String PARENT_FIRST_PROPERTY = "metaxava.parentFirst";
+
+    private static final int PORTS_TO_TRY = 10;
+
+    // Same list AppServer uses: skip TLD/annotation scanning of library JARs
+    private static final String JARS_TO_SKIP =
+        "activation-*.jar,antlr-*.jar,aopalliance-repackaged-*.jar,bcprov-jdk15on-*.jar,byte-buddy-*.jar," +
+        "castor-*.jar,classmate-*.jar,commons-*.jar,curvesapi-*.jar,dom4j-*.jar,dwr-*.jar,ecj-*.jar," +
+        "ejb-api-*.jar,fontbox-*.jar,groovy-all-*.jar,hibernate-*.jar,hk2-*.jar,hsqldb-*.jar,htmlunit-*.jar," +
+        "httpclient-*.jar,httpcore-*.jar,httpmime-*.jar,icu4j-*.jar,itext-*.jar,jackson-*.jar," +
+        "jakarta.activation-*.jar,jakarta.annotation-api-*.jar,jakarta.inject-*.jar,jakarta.json-*.jar," +
+        "jakarta.ws.rs-api-*.jar,jandex-*.jar,jasperreports-*.jar,javassist-*.jar,javax.activation-api-*.jar," +
+        "javax.inject-*.jar,javax.mail-*.jar,javax.persistence-api-*.jar,jaxb-*.jar,jboss-logging-*.jar," +
+        "jboss-transaction-*.jar,jcommon-*.jar,jersey-*.jar,jetty-*.jar,jfreechart-*.jar,jsoup-*.jar,junit-*.jar," +
+        "lombok-*.jar,neko-htmlunit-*.jar,osgi-resource-locator-*.jar,pdfbox-*.jar,poi-*.jar,serializer-*.jar," +
+        "stax-*.jar,tomcat-*.jar,validation-api-*.jar,websocket-*.jar,xalan-*.jar,xercesImpl-*.jar," +
+        "xml-apis-*.jar,xmlbeans-*.jar,yasson-*.jar";
+
+    /**
+     * Start the application and block until the server shuts down
+     */
+    public static void run(String applicationName, boolean virtualThreads) throws Exception {
+        Tomcat tomcat = start(applicationName, virtualThreads);
+        System.out.println("MetaXava started (" + (virtualThreads ? "virtual" : "platform") +
+                           " threads): http://localhost:" + tomcat.getConnector().getLocalPort() +
+                           "/" + applicationName);
+        tomcat.getServer().await();
+    }
+
+    /**
+     * Start the application on the first free port from XavaPreferences' applicationPort
+     *
+     * @return Started Tomcat (caller owns shutdown)
+     */
+    public static Tomcat start(String applicationName, boolean virtualThreads) throws Exception {
+        System.setProperty("tomcat.util.scan.StandardJarScanFilter.jarsToSkip", JARS_TO_SKIP);
+        String contextPath = applicationName.isEmpty() ? "" : "/" + applicationName;
+        String docBase = new File("target/" + applicationName).getAbsolutePath();
+        int firstPort = XavaPreferences.getInstance().getApplicationPort();
+
+        for (int port = firstPort; port < firstPort + PORTS_TO_TRY; port++) {
+            Tomcat tomcat = startTomcat(contextPath, docBase, port, virtualThreads);
+            if (tomcat != null) {
+                return tomcat;
+            }
+        }
+        throw new IllegalStateException("Could not start MetaXava on ports " +
+                                        firstPort + "-" + (firstPort + PORTS_TO_TRY - 1));
+    }
+
+    private static Tomcat startTomcat(String contextPath, String docBase, int port,
+                                      boolean virtualThreads) throws Exception {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir("temp");
+        tomcat.setPort(port);
+        Connector connector = tomcat.getConnector();
+        if (virtualThreads) {
+            useVirtualThreads(tomcat, connector);
+        }
+        tomcat.enableNaming();
+
+        StandardContext context = (StandardContext) tomcat.addWebapp(contextPath, docBase);
+        Rfc6265CookieProcessor cookies = new Rfc6265CookieProcessor();
+        cookies.setSameSiteCookies("Lax");
+        context.setCookieProcessor(cookies);
+        addErrorPage(context, 404);
+        addErrorPage(context, 500);
+
+        StandardRoot resources = new StandardRoot(context);
+        resources.addPreResources(new DirResourceSet(resources, "/WEB-INF/classes",
+                                                     new File("target/classes").getAbsolutePath(), "/"));
+        context.setResources(resources);
+        context.setParentClassLoader(Thread.currentThread().getContextClassLoader());
+        context.setDelegate(Boolean.getBoolean(PARENT_FIRST_PROPERTY));
+
+        if (virtualThreads) {
+            addJdbcPermitFilter(context);
+        }
+
+        tomcat.start();
+        if (connector.getLocalPort() < 0) {
+            tomcat.stop();
+            tomcat.destroy();
+            return null;
+        }
+        return tomcat;
+    }
+
+    /**
+     * Route connector work to virtual threads
+     *
+     * maxConnections is raised so thousands of idle keep-alive/long-poll
+     * connections don't queue in the acceptor.
+     */
+    private static void useVirtualThreads(Tomcat tomcat, Connector connector) {
+        StandardVirtualThreadExecutor executor = new StandardVirtualThreadExecutor();
+        executor.setName("metaxavaVirtualThreads");
+        executor.setNamePrefix("metaxava-vt-");
+        tomcat.getService().addExecutor(executor);
+        connector.getProtocolHandler().setExecutor(executor);
+        connector.setProperty("maxConnections", "20000");
+    }
+
+    private static void addJdbcPermitFilter(StandardContext context) {
+        FilterDef def = new FilterDef();
+        def.setFilterName("jdbcPermits");
+        def.setFilterClass(JdbcPermitFilter.class.getName());
+        def.addInitParameter(JdbcPermitFilter.PERMITS_PARAM,
+                             System.getProperty(JDBC_PERMITS_PROPERTY, "20"));
+        def.addInitParameter(JdbcPermitFilter.WAIT_MILLIS_PARAM,
+                             System.getProperty(JDBC_PERMIT_WAIT_PROPERTY, "10000"));
+        context.addFilterDef(def);
+
+        FilterMap map = new FilterMap();
+        map.setFilterName("jdbcPermits");
+        map.addURLPattern("/*");
+        context.addFilterMap(map);
+    }
+
+    private static void addErrorPage(StandardContext context, int code) {
+        ErrorPage page = new ErrorPage();
+        page.setErrorCode(code);
+        page.setLocation("/WEB-INF/error" + code + ".html");
+        context.addErrorPage(page);
+    }
+}
@@ -0,0 +1,453 @@
+package org.metaxava.run;
+
+import org.openxava.util.XavaPreferences;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * StartupCache - Train, use and measure a startup archive for MetaXava
+ *
+ * WHY:
+ * Cold start (H2 server, Hibernate EntityManagerFactory for the MetaXava and
+ * OpenXava/naviox entities, Tomcat + OpenXava) is dominated by class loading
+ * and linking. We start MetaXava per branch for review, so we pay it often.
+ *
+ * WORKFLOW (run from the project directory after mvn package, with the same
+ * class path MetaXava runs with; the running JDK picks the mechanism):
+ *   mvn -q dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ *   CP=target/classes:$(cat target/classpath.txt)
+ *   java -cp $CP org.metaxava.run.StartupCache train            # once per build
+ *   java -cp $CP org.metaxava.run.StartupCache run              # start with the cache
+ *   java -cp $CP org.metaxava.run.StartupCache benchmark [runs] # default vs baseline vs cached
+ *
+ * MECHANISM:
+ * - JDK 25+: AOT cache (JEP 483/514/515) - classes loaded and linked ahead of
+ *   time plus method profiles. Trained with -XX:AOTCacheOutput, used with
+ *   -XX:AOTCache and -XX:AOTMode=on (a cache that doesn't match is an error,
+ *   not a silent cold start).
+ * - Older JDKs: dynamic AppCDS archive (-XX:ArchiveClassesAtExit, then
+ *   -XX:SharedArchiveFile with -Xshare:on).
+ *
+ * CLASS PATH RULES (both mechanisms):
+ * - Only classes from JAR files and the built-in class loaders are archived.
+ *   train packs class path directories (target/classes) into target/aot/*.jar,
+ *   and every start uses -Dmetaxava.parentFirst=true so webapp classes load
+ *   through the application class loader.
+ * - The class path must not change between training and use. train records
+ *   it in target/aot/classpath.txt; run and benchmark read it back and refuse
+ *   to start if target/classes is newer than its packed jar (re-run train).
+ *
+ * BENCHMARK:
+ * Time-to-first-request: from process launch until the first module request
+ * (StartupTraining.TRAINING_PATHS[0]) answers below 400, for three starts:
+ * - default: how MetaXava normally starts - AppServer.run() with child-first
+ *   webapp loading, on the benchmark's own class path (directories as is)
+ * - baseline: the cached start's command without the cache (packed jars,
+ *   parent-first), which isolates what the archive itself buys
+ * - cached: baseline plus the archive
+ * One discarded warm-up start, then the three rotate so disk cache and
+ * machine load affect all equally. Child output goes to target/aot/*.log.
+ *
+ * RESULTS (1 CPU, JDK 21.0.1, APP_CDS archive of 66 MB trained in 21.7s,
+ * 5 starts each, time-to-first-request of /m/OXPrimitiveType):
+ *   default    median 16.1 s  (12.3 - 17.8)   AppServer.run, child-first
+ *   baseline   median 13.7 s  (13.4 - 14.5)   parent-first, packed jars
+ *   cached     median 10.5 s  (9.6 - 11.7)
+ * The archive saves 3.2 s (1.31x) over the same start without it and 5.6 s
+ * (1.53x) over the default start; parent-first loading of packed jars
+ * accounts for the rest. The AOT cache of JDK 25 was not measured (no JDK
+ * 25 on that machine).
+ *
+ * @author MetaXava Startup Session 2026-10-19
+ */
+public final class StartupCache {
+
+    public static final Path DIRECTORY = Path.of("target", "aot");
+
+    static final String APPLICATION = "metaxava";
+    static final Path CLASS_PATH_FILE = DIRECTORY.resolve("classpath.txt");
+    static final Path PACKED_FILE = DIRECTORY.resolve("packed.txt");
+
+    private static final long TRAINING_TIMEOUT_MINUTES = 10;
+    private static final long FIRST_REQUEST_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final long POLL_MILLIS = 25;
+
+    /**
+     * How the running JDK archives startup work
+     */
+    public enum Mechanism {
+        AOT_CACHE("metaxava.aot"),
+        APP_CDS("metaxava.jsa");
+
+        private final String fileName;
+
+        Mechanism(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public static Mechanism forRelease(int feature) {
+            return feature >= 25 ? AOT_CACHE : APP_CDS;
+        }
+
+        public static Mechanism current() {
+            return forRelease(Runtime.version().feature());
+        }
+
+        public Path file(Path directory) {
+            return directory.resolve(fileName);
+        }
+
+        /**
+         * JVM options of the training run (the archive is written at exit)
+         */
+        public List<String> trainingOptions(Path cache) {
+            return switch (this) {
+                case AOT_CACHE -> List.of("-XX:AOTCacheOutput=" + cache);
+                case APP_CDS -> List.of("-XX:ArchiveClassesAtExit=" + cache);
+            };
+        }
+
+        /**
+         * JVM options of a cached start; the JVM refuses to start if the archive doesn't match
+         */
+        public List<String> runtimeOptions(Path cache) {
+            return switch (this) {
+                case AOT_CACHE -> List.of("-XX:AOTCache=" + cache, "-XX:AOTMode=on");
+                case APP_CDS -> List.of("-XX:SharedArchiveFile=" + cache, "-Xshare:on");
+            };
+        }
+    }
+
+    private StartupCache() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String command = args.length > 0 ? args[0] : "";
+        switch (command) {
+            case "train" -> train();
+            case "run" -> System.exit(run());
+            case "benchmark" -> System.out.println(benchmark(args.length > 1 ? Integer.parseInt(args[1]) : 5).report());
+            default -> System.out.println("Usage: StartupCache train | run | benchmark [runs=5]");
+        }
+    }
+
+    // ========== Commands ==========
+
+    /**
+     * Pack the class path, run StartupTraining under the training options, check the archive
+     *
+     * @return The archive
+     * @throws IllegalStateException if the training run fails or writes no archive
+     */
+    public static Path train() throws Exception {
+        Files.createDirectories(DIRECTORY);
+        Mechanism mechanism = Mechanism.current();
+        Path cache = mechanism.file(DIRECTORY);
+        Files.deleteIfExists(cache);
+
+        List<String> classPath = pack(Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator)),
+                                      DIRECTORY);
+        Files.writeString(CLASS_PATH_FILE, String.join(File.pathSeparator, classPath));
+
+        System.out.println("Training " + mechanism + " on JDK " + Runtime.version() + " → " + cache);
+        long start = System.nanoTime();
+        Process training = new ProcessBuilder(command(classPath, mechanism.trainingOptions(cache),
+                                                      StartupTraining.ARGUMENT))
+            .inheritIO()
+            .start();
+        if (!training.waitFor(TRAINING_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            training.destroyForcibly();
+            throw new IllegalStateException("Training run exceeded " + TRAINING_TIMEOUT_MINUTES + " minutes");
+        }
+        if (training.exitValue() != 0 || !Files.exists(cache)) {
+            throw new IllegalStateException("Training run failed (exit " + training.exitValue() + "), no usable " +
+                                            cache);
+        }
+        System.out.printf("✓ Trained %s: %.1f MB in %.1fs%n", cache, Files.size(cache) / 1e6,
+                          (System.nanoTime() - start) / 1e9);
+        return cache;
+    }
+
+    /**
+     * Start MetaXava with the cache and wait for it (Ctrl+C stops both)
+     *
+     * @return MetaXava's exit status
+     */
+    public static int run() throws Exception {
+        Mechanism mechanism = Mechanism.current();
+        Process server = new ProcessBuilder(command(trainedClassPath(), mechanism.runtimeOptions(trainedCache())))
+            .inheritIO()
+            .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::destroy));
+        return server.waitFor();
+    }
+
+    /**
+     * Time-to-first-request of the default, baseline and cached starts
+     *
+     * @param runs Measured starts per variant (after one discarded warm-up start)
+     */
+    public static Result benchmark(int runs) throws Exception {
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs must be >= 1");
+        }
+        List<String> classPath = trainedClassPath();
+        List<String> defaultStart = command(Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator)),
+                                            List.of(), false);
+        List<String> baselineStart = command(classPath, List.of());
+        List<String> cachedStart = command(classPath, Mechanism.current().runtimeOptions(trainedCache()));
+        int port = XavaPreferences.getInstance().getApplicationPort();
+        URI firstRequest = URI.create("http://localhost:" + port + "/" + APPLICATION +
+                                      StartupTraining.TRAINING_PATHS.get(0));
+
+        System.out.println("Warm-up start (not measured) ...");
+        timeToFirstRequest(defaultStart, firstRequest, port, "warmup");
+
+        long[] defaults = new long[runs];
+        long[] baseline = new long[runs];
+        long[] withCache = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            defaults[run] = timeToFirstRequest(defaultStart, firstRequest, port, "default-" + (run + 1));
+            baseline[run] = timeToFirstRequest(baselineStart, firstRequest, port, "baseline-" + (run + 1));
+            withCache[run] = timeToFirstRequest(cachedStart, firstRequest, port, "cached-" + (run + 1));
+            System.out.printf("  run %d: default %,d ms, baseline %,d ms, cached %,d ms%n", run + 1,
+                              defaults[run] / 1_000_000, baseline[run] / 1_000_000, withCache[run] / 1_000_000);
+        }
+        return new Result(Mechanism.current(), Runtime.version().toString(), defaults, baseline, withCache);
+    }
+
+    /**
+     * Launch MetaXava, poll until the first request is served, stop it
+     *
+     * @return Nanoseconds from process launch to the first response below 400
+     */
+    static long timeToFirstRequest(List<String> command, URI firstRequest, int port,
+                                   String label) throws Exception {
+        if (listening(port)) {
+            throw new IllegalStateException("Port " + port + " is busy - stop the running MetaXava first");
+        }
+        Path log = DIRECTORY.resolve("benchmark-" + label + ".log");
+        HttpClient client = StartupTraining.client();
+
+        long start = System.nanoTime();
+        Process server = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        try {
+            while (System.nanoTime() - start < FIRST_REQUEST_TIMEOUT_NANOS) {
+                if (!server.isAlive()) {
+                    throw new IllegalStateException(label + ": MetaXava exited with " + server.exitValue() +
+                                                    ", see " + log);
+                }
+                try {
+                    int status = StartupTraining.get(client, firstRequest);
+                    if (status >= 400) {
+                        throw new IllegalStateException(label + ": first request answered " + status + ", see " + log);
+                    }
+                    return System.nanoTime() - start;
+                } catch (ConnectException | HttpConnectTimeoutException e) {
+                    Thread.sleep(POLL_MILLIS);  // not listening yet
+                }
+            }
+            throw new IllegalStateException(label + ": no response within 5 minutes, see " + log);
+        } finally {
+            stop(server, port);
+        }
+    }
+
+    // ========== Class path ==========
+
+    /**
+     * Replace directory entries by jars (archives only cover jar contents); drop missing entries
+     *
+     * @return Class path of jars, in the original order
+     */
+    public static List<String> pack(List<String> entries, Path directory) throws IOException {
+        List<String> packed = new ArrayList<>(entries.size());
+        StringBuilder sources = new StringBuilder();
+        for (int i = 0; i < entries.size(); i++) {
+            Path entry = Path.of(entries.get(i));
+            if (Files.isDirectory(entry)) {
+                Path jar = directory.resolve(String.format("%02d-%s.jar", i, entry.getFileName())).toAbsolutePath();
+                jar(entry, jar);
+                packed.add(jar.toString());
+                sources.append(entry.toAbsolutePath()).append('\t').append(jar).append('\n');
+            } else if (Files.isRegularFile(entry)) {
+                packed.add(entry.toAbsolutePath().toString());
+            }
+        }
+        Files.writeString(directory.resolve(PACKED_FILE.getFileName()), sources);
+        return packed;
+    }
+
+    /**
+     * The class path recorded by train, after checking no packed directory changed since
+     */
+    static List<String> trainedClassPath() throws IOException {
+        if (!Files.exists(CLASS_PATH_FILE)) {
+            throw new IllegalStateException("No trained class path: run StartupCache train first");
+        }
+        for (String line : Files.readAllLines(PACKED_FILE)) {
+            String[] sourceAndJar = line.split("\t");
+            FileTime packed = Files.getLastModifiedTime(Path.of(sourceAndJar[1]));
+            if (newest(Path.of(sourceAndJar[0])).compareTo(packed) > 0) {
+                throw new IllegalStateException(sourceAndJar[0] + " changed since training: run StartupCache train");
+            }
+        }
+        return List.of(Files.readString(CLASS_PATH_FILE).split(File.pathSeparator));
+    }
+
+    private static Path trainedCache() {
+        Path cache = Mechanism.current().file(DIRECTORY);
+        if (!Files.exists(cache)) {
+            throw new IllegalStateException("No " + cache + " for JDK " + Runtime.version().feature() +
+                                            ": run StartupCache train with this JDK");
+        }
+        return cache;
+    }
+
+    private static void jar(Path directory, Path jar) throws IOException {
+        Files.createDirectories(jar.getParent());
+        try (Stream<Path> files = Files.walk(directory);
+             JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                JarEntry entry = new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/'));
+                entry.setLastModifiedTime(Files.getLastModifiedTime(file));
+                out.putNextEntry(entry);
+                Files.copy(file, out);
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static FileTime newest(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile)
+                .map(file -> {
+                    try {
+                        return Files.getLastModifiedTime(file);
+                    } catch (IOException e) {
+                        return FileTime.fromMillis(0);
+                    }
+                })
+                .max(FileTime::compareTo)
+                .orElse(FileTime.fromMillis(0));
+        }
+    }
+
+    // ========== Processes ==========
+
+    /**
+     * A parent-first start, the mode archives are trained for and used with
+     */
+    public static List<String> command(List<String> classPath, List<String> options, String... arguments) {
+        return command(classPath, options, true, arguments);
+    }
+
+    /**
+     * @param parentFirst false for MetaXava's default start (AppServer.run, child-first)
+     */
+    public static List<String> command(List<String> classPath, List<String> options, boolean parentFirst,
+                                       String... arguments) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options);
+        if (parentFirst) {
+            command.add("-D" + MetaXavaServer.PARENT_FIRST_PROPERTY + "=true");
+        }
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, classPath));
+        command.add(MetaXava.class.getName());
+        command.addAll(Arrays.asList(arguments));
+        return command;
+    }
+
+    private static void stop(Process server, int port) throws InterruptedException {
+        server.destroy();
+        if (!server.waitFor(30, TimeUnit.SECONDS)) {
+            server.destroyForcibly().waitFor();
+        }
+        for (int i = 0; i < 200 && listening(port); i++) {
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    private static boolean listening(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // ========== Result ==========
+
+    /**
+     * Startup benchmark outcome (nanoseconds per start)
+     */
+    public record Result(Mechanism mechanism, String jdk, long[] defaultNanos, long[] baselineNanos,
+                         long[] cachedNanos) {
+
+        public static long medianNanos(long[] nanos) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            int middle = sorted.length / 2;
+            return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+
+        /**
+         * What the archive buys over the same start without it
+         */
+        public double speedup() {
+            return (double) medianNanos(baselineNanos) / Math.max(1, medianNanos(cachedNanos));
+        }
+
+        /**
+         * What `StartupCache run` buys over MetaXava's default start
+         */
+        public double speedupOverDefault() {
+            return (double) medianNanos(defaultNanos) / Math.max(1, medianNanos(cachedNanos));
+        }
+
+        public String report() {
+            return String.format(
+                "Time-to-first-request, %d starts each (JDK %s, %s)%n" +
+                "  default:  median %,d ms (min %,d, max %,d)  AppServer.run, child-first%n" +
+                "  baseline: median %,d ms (min %,d, max %,d)  parent-first, packed jars, no archive%n" +
+                "  cached:   median %,d ms (min %,d, max %,d)%n" +
+                "  speedup:  %.2fx over baseline, %.2fx over default",
+                baselineNanos.length, jdk, mechanism,
+                medianNanos(defaultNanos) / 1_000_000, min(defaultNanos) / 1_000_000, max(defaultNanos) / 1_000_000,
+                medianNanos(baselineNanos) / 1_000_000, min(baselineNanos) / 1_000_000, max(baselineNanos) / 1_000_000,
+                medianNanos(cachedNanos) / 1_000_000, min(cachedNanos) / 1_000_000, max(cachedNanos) / 1_000_000,
+                speedup(), speedupOverDefault());
+        }
+
+        private static long min(long[] nanos) {
+            return Arrays.stream(nanos).min().orElse(0);
+        }
+
+        private static long max(long[] nanos) {
+            return Arrays.stream(nanos).max().orElse(0);
+        }
+    }
+}
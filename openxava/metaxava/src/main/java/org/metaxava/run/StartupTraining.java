@@ -0,0 +1,95 @@
+package org.metaxava.run;
+
+import org.apache.catalina.startup.Tomcat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * StartupTraining - The training run behind the startup cache
+ *
+ * WHAT IT DOES (MetaXava --aot-training, launched by StartupCache train):
+ * 1. Starts MetaXava exactly as a cached run does (MetaXavaServer, parent-first)
+ * 2. Requests each TRAINING_PATHS module a few times: this loads and links
+ *    what a real first request needs - OpenXava controllers and views,
+ *    Hibernate's EntityManagerFactory for every entity, JSP/servlet classes
+ * 3. Stops Tomcat and exits with status 0, at which point the JVM writes the
+ *    AOT cache (-XX:AOTCacheOutput) or CDS archive (-XX:ArchiveClassesAtExit)
+ *
+ * Any request answering 400 or above, or failing with an I/O error, exits
+ * with status 1: a cache trained on error pages (a context that failed to
+ * start answers 404 to every module) would miss the classes a good request
+ * needs.
+ *
+ * @author MetaXava Startup Session 2026-10-19
+ */
+public class StartupTraining {
+
+    /**
+     * Command-line switch of MetaXava.main
+     */
+    public static final String ARGUMENT = "--aot-training";
+
+    /**
+     * Module paths (under the context path) requested during training
+     */
+    public static final List<String> TRAINING_PATHS = List.of(
+        "/m/OXPrimitiveType",
+        "/m/OXStringType",
+        "/m/JDBCTypeMetadata",
+        "/m/OXDBType");
+
+    private static final int ROUNDS = 3;
+
+    /**
+     * Run the training workload against a freshly started server, then exit the JVM
+     */
+    public static void run(String applicationName) throws Exception {
+        System.setProperty(MetaXavaServer.PARENT_FIRST_PROPERTY, "true");  // train what cached starts will load
+        Tomcat tomcat = MetaXavaServer.start(applicationName, false);
+        int status = 0;
+        try {
+            String base = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/" + applicationName;
+            HttpClient client = client();
+            for (int round = 1; round <= ROUNDS; round++) {
+                for (String path : TRAINING_PATHS) {
+                    int code = get(client, URI.create(base + path));
+                    System.out.println("  training round " + round + " " + path + " → " + code);
+                    if (code >= 400) {
+                        status = 1;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("✗ Training request failed: " + e);
+            status = 1;
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+        System.out.println(status == 0 ? "✓ Training run complete, JVM exit writes the startup cache"
+                                       : "✗ Training run failed, discard the cache");
+        System.exit(status);  // H2's server threads would keep the JVM (and the cache dump) waiting
+    }
+
+    static HttpClient client() {
+        return HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    /**
+     * GET and discard the body
+     *
+     * @return HTTP status
+     */
+    static int get(HttpClient client, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(2)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
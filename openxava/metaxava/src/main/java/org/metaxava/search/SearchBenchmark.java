@@ -0,0 +1,133 @@
+package org.metaxava.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * SearchBenchmark - Indexing time, heap and query latency of ModelSearchIndex at scale
+ *
+ * USAGE:
+ *   java -Xmx4g -cp ... org.metaxava.search.SearchBenchmark [documents] [runs]
+ *   defaults: 1,000,000 documents, 200 runs per query
+ *
+ * Indexes synthetic OXType documents (com.acme.module0..499.Customer<i>Record)
+ * in parallel, then times each query kind after warm-up. Every run checks
+ * its hits; a wrong answer fails with IllegalStateException.
+ *
+ * RESULTS (1 CPU, JDK 21, -Xmx4g, 200 runs; median / p99 in ms):
+ *   documents                       100,000           1,000,000
+ *   indexing                        2.8 s             25.6 s
+ *   heap                            120 MB            1,245 MB
+ *   terms                           0.2M              2.0M
+ *   prefix, 1 hit                   0.04 / 2.8        0.07 / 4.3
+ *   prefix customer1*               0.44 / 7.7        0.53 / 7.7  (MAX_EXPANSIONS stops at 1,024)
+ *   fuzzy ~ (2 edits)               1.7 / 13          6.5 / 18
+ *   exact, documents / 500 hits     0.05 / 4.2        1.9 / 11
+ * Heap grows linearly, about 1.25 KB per document; query latency barely
+ * moves with size. The p99s include GC pauses of the one-CPU runner.
+ *
+ * @author MetaXava Search Session 2026-10-19
+ */
+public class SearchBenchmark {
+
+    /**
+     * Per-query latency over the measured runs
+     */
+    public record Latency(String query, int hits, double medianMillis, double p99Millis) {
+    }
+
+    public record Result(int documents, long indexMillis, long heapBytes, int terms, List<Latency> latencies) {
+
+        public Result {
+            latencies = List.copyOf(latencies);
+        }
+    }
+
+    public static void main(String[] args) {
+        int documents = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        Result result = run(documents, runs);
+        System.out.printf("✓ %,d documents indexed in %,d ms, %,d MB heap, %,d terms%n",
+                          result.documents(), result.indexMillis(), result.heapBytes() >> 20, result.terms());
+        for (Latency latency : result.latencies()) {
+            System.out.printf("  %-45s %6d hits  median %7.3f ms  p99 %7.3f ms%n",
+                              latency.query(), latency.hits(), latency.medianMillis(), latency.p99Millis());
+        }
+    }
+
+    /**
+     * @param documents At least 12,346 (the queries look for document 12,345)
+     * @throws IllegalStateException if a query returns the wrong hits
+     */
+    public static Result run(int documents, int runs) {
+        if (documents <= 12_345 || runs < 1) {
+            throw new IllegalArgumentException("Need more than 12,345 documents and at least one run");
+        }
+        long heapBefore = usedHeap();
+        ModelSearchIndex index = new ModelSearchIndex();
+        long start = System.nanoTime();
+        IntStream.range(0, documents).parallel().forEach(i -> index.index(document(i)));
+        long indexMillis = (System.nanoTime() - start) / 1_000_000;
+        long heapBytes = usedHeap() - heapBefore;
+
+        String expected = "com.acme.module345.Customer12345Record";
+        int perModule = documents / 500;
+        List<Latency> latencies = List.of(
+            time("com.acme.module345.customer12345*", runs,
+                 () -> expect(index.search("com.acme.module345.customer12345*", 10), 1, expected)),
+            time("customer1*", runs, () -> expect(index.search("customer1*", 10), 10, null)),
+            time("custmer12345record~", runs, () -> expect(index.search("custmer12345record~", 10), 10, expected)),
+            time("module7 (limit " + perModule + ")", runs,
+                 () -> expect(index.search("module7", perModule), perModule, null)));
+        return new Result(index.size(), indexMillis, heapBytes, index.termCount(), latencies);
+    }
+
+    /**
+     * Synthetic OXType document i
+     */
+    public static SearchDocument document(int i) {
+        String packageName = "com.acme.module" + (i % 500);
+        String simpleName = "Customer" + i + "Record";
+        String name = packageName + "." + simpleName;
+        return new SearchDocument("OXType#" + i, SearchDocument.Kind.TYPE, name, List.of(
+            new SearchDocument.Field("name", name, true),
+            new SearchDocument.Field("kind", "CLASS", true),
+            new SearchDocument.Field("packageName", packageName, true),
+            new SearchDocument.Field("simpleName", simpleName, true)));
+    }
+
+    private static int expect(List<SearchHit> hits, int count, String first) {
+        if (hits.size() != count || (first != null && !hits.get(0).label().equals(first))) {
+            throw new IllegalStateException("Expected " + count + " hits" + (first == null ? "" : " led by " + first) +
+                                            ", got " + hits.stream().limit(3).map(SearchHit::label).toList());
+        }
+        return hits.size();
+    }
+
+    /**
+     * runs / 10 warm-up runs, then runs timed ones
+     */
+    private static Latency time(String query, int runs, Supplier<Integer> search) {
+        for (int i = 0; i < Math.max(1, runs / 10); i++) {
+            search.get();
+        }
+        long[] nanos = new long[runs];
+        int hits = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            hits = search.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Latency(query, hits, nanos[runs / 2] / 1e6, nanos[Math.min(runs - 1, runs * 99 / 100)] / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
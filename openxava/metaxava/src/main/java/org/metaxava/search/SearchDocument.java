@@ -0,0 +1,74 @@
+package org.metaxava.search;
+
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXReferenceType;
+import org.metaxava.model.OXType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SearchDocument - Immutable, indexable copy of a model element
+ *
+ * DESIGN:
+ * Like TypeSnapshot, a document holds plain values only, so it can be built
+ * inside a JPA callback and indexed from any thread.
+ *
+ * - key: "<entity>#<id>", stable across renames (the id never changes)
+ * - label: what a hit shows (type name, JDBC type name)
+ * - fields: searchable text; identifier fields rank above prose
+ *
+ * @author MetaXava Search Session 2026-10-19
+ */
+public record SearchDocument(String key, Kind kind, String label, List<Field> fields) {
+
+    public enum Kind { TYPE, JDBC_TYPE }
+
+    /**
+     * One searchable value
+     *
+     * @param identifier true for names (also indexed whole and split at camelCase),
+     *                   false for prose (indexed word by word)
+     */
+    public record Field(String name, String value, boolean identifier) {
+    }
+
+    public SearchDocument {
+        fields = List.copyOf(fields);
+    }
+
+    public static String key(OXType type) {
+        return "OXType#" + type.getId();
+    }
+
+    public static String key(JDBCTypeMetadata type) {
+        return "JDBCTypeMetadata#" + type.getId();
+    }
+
+    public static SearchDocument of(OXType type) {
+        List<Field> fields = new ArrayList<>(4);
+        add(fields, "name", type.getName(), true);
+        add(fields, "kind", type.kind(), true);
+        if (type instanceof OXReferenceType reference) {
+            add(fields, "packageName", reference.getPackageName(), true);
+            add(fields, "simpleName", reference.getSimpleName(), true);
+        }
+        return new SearchDocument(key(type), Kind.TYPE, type.getName(), fields);
+    }
+
+    public static SearchDocument of(JDBCTypeMetadata type) {
+        String name = String.valueOf(type.getJdbcType());
+        List<Field> fields = new ArrayList<>(4);
+        add(fields, "jdbcType", name, true);
+        add(fields, "category", type.getCategory(), true);
+        add(fields, "description", type.getDescription(), false);
+        add(fields, "portabilityNotes", type.getPortabilityNotes(), false);
+        return new SearchDocument(key(type), Kind.JDBC_TYPE, name, fields);
+    }
+
+    private static void add(List<Field> fields, String name, String value, boolean identifier) {
+        if (value != null && !value.isBlank()) {
+            fields.add(new Field(name, value, identifier));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.metaxava.search;
+
+/**
+ * SearchHit - One ranked result of ModelSearchIndex
+ *
+ * Ordering: higher score first, then label, then key (stable across runs).
+ *
+ * @author MetaXava Search Session 2026-10-19
+ */
+public record SearchHit(SearchDocument document, double score) implements Comparable<SearchHit> {
+
+    public String key() {
+        return document.key();
+    }
+
+    public String label() {
+        return document.label();
+    }
+
+    @Override
+    public int compareTo(SearchHit other) {
+        int byScore = Double.compare(other.score, score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        int byLabel = document.label().compareTo(other.document.label());
+        return byLabel != 0 ? byLabel : document.key().compareTo(other.document.key());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s, %.2f)", document.label(), document.kind(), score);
+    }
+}
@@ -0,0 +1,141 @@
+package org.metaxava.search;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * SearchIndexListener - Keeps ModelSearchIndex.shared() in step with the database
+ *
+ * A Hibernate event listener, registered for every session by
+ * ModelEventIntegrator (hibernate.integrator_provider in persistence.xml).
+ * Callbacks run at flush, inside the editing transaction: each one
+ * snapshots the entity into a SearchDocument on the flushing thread
+ * (nothing lazy is touched) and buffers it per session. The buffer reaches
+ * the index after the transaction commits; a rollback discards it, so
+ * flushed-then-rolled-back edits never show up in search results.
+ *
+ * BULK IMPORTS:
+ * -Dmetaxava.search.incremental=false turns the callbacks off; call
+ * ModelSearchIndex.rebuild() once the import is committed.
+ *
+ * @author MetaXava Search Session 2026-10-19
+ */
+public class SearchIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public static final String INCREMENTAL_PROPERTY = "metaxava.search.incremental";
+
+    private static final boolean INCREMENTAL =
+        Boolean.parseBoolean(System.getProperty(INCREMENTAL_PROPERTY, "true"));
+
+    /**
+     * Open batches by session; weak, so a session abandoned mid-transaction isn't pinned
+     */
+    private static final Map<Object, Batch> BATCHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * One session's index changes in its current transaction: the latest
+     * document per key, empty for a removal
+     */
+    private static final class Batch implements AfterTransactionCompletionProcess {
+
+        private final Map<String, Optional<SearchDocument>> changes = new LinkedHashMap<>();
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            if (!BATCHES.remove(session, this) || !success) {
+                return;
+            }
+            ModelSearchIndex index = ModelSearchIndex.shared();
+            changes.forEach((key, document) -> {
+                if (document.isPresent()) {
+                    index.index(document.get());
+                } else {
+                    index.remove(key);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        indexed(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        indexed(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!INCREMENTAL) {
+            return;
+        }
+        if (event.getEntity() instanceof OXType type) {
+            batch(event.getSession()).changes.put(SearchDocument.key(type), Optional.empty());
+        } else if (event.getEntity() instanceof JDBCTypeMetadata type) {
+            batch(event.getSession()).changes.put(SearchDocument.key(type), Optional.empty());
+        }
+    }
+
+    /**
+     * The index is only touched after the commit, by Batch
+     */
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Still abstract in Hibernate 5.6; Hibernate itself calls requiresPostCommitHandling
+     */
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    private static void indexed(SessionImplementor session, Object entity) {
+        if (!INCREMENTAL) {
+            return;
+        }
+        SearchDocument document;
+        if (entity instanceof OXType type) {
+            document = SearchDocument.of(type);
+        } else if (entity instanceof JDBCTypeMetadata type) {
+            document = SearchDocument.of(type);
+        } else {
+            return;
+        }
+        batch(session).changes.put(document.key(), Optional.of(document));
+    }
+
+    /**
+     * The first change in a transaction registers its Batch with the session's ActionQueue
+     */
+    private static Batch batch(SessionImplementor session) {
+        Batch batch = BATCHES.get(session);
+        if (batch == null) {
+            batch = new Batch();
+            BATCHES.put(session, batch);
+            session.getActionQueue().registerProcess(batch);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,98 @@
+package org.metaxava.search;
+
+import org.openxava.jpa.XPersistence;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.List;
+
+/**
+ * SearchServlet - Local query endpoint of ModelSearchIndex
+ *
+ * Mapped to /search in web.xml. Like /metrics, only loopback clients are
+ * served: the endpoint bypasses OpenXava's login.
+ *
+ *   curl 'http://localhost:8080/metaxava/search?q=bigdec*&limit=20'
+ *   curl -X POST http://localhost:8080/metaxava/search        # rebuild
+ *
+ * The first query rebuilds the index from the database (the listener only
+ * sees changes made after startup). Output: one hit per line,
+ * label TAB kind TAB key TAB score.
+ *
+ * @author MetaXava Search Session 2026-10-19
+ */
+public class SearchServlet extends HttpServlet {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 1000;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!local(request, response)) {
+            return;
+        }
+        String query = request.getParameter("q");
+        if (query == null || query.isBlank()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Missing q");
+            return;
+        }
+        int limit;
+        try {
+            String parameter = request.getParameter("limit");
+            limit = parameter == null ? DEFAULT_LIMIT : Math.min(MAX_LIMIT, Integer.parseInt(parameter));
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "limit must be a number");
+            return;
+        }
+
+        ModelSearchIndex index = ModelSearchIndex.shared();
+        if (index.rebuilds() == 0) {
+            synchronized (this) {
+                if (index.rebuilds() == 0) {
+                    rebuild(index);
+                }
+            }
+        }
+        List<SearchHit> hits;
+        try {
+            hits = index.search(query, limit);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        StringBuilder out = new StringBuilder(hits.size() * 64);
+        for (SearchHit hit : hits) {
+            out.append(hit.label()).append('\t').append(hit.document().kind()).append('\t')
+               .append(hit.key()).append('\t').append(String.format("%.3f", hit.score())).append('\n');
+        }
+        response.setContentType("text/plain; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(out.toString());
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!local(request, response)) {
+            return;
+        }
+        int documents = rebuild(ModelSearchIndex.shared());
+        response.setContentType("text/plain; charset=UTF-8");
+        response.getWriter().write(documents + " documents\n");
+    }
+
+    private static int rebuild(ModelSearchIndex index) {
+        return index.rebuild(XPersistence::createManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static boolean local(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Search is only served to localhost");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,172 @@
+package org.metaxava.types;
+
+import static java.sql.JDBCType.*;
+
+/**
+ * BuiltInTypeDefinitions - JDBC types, primitives and built-in classes MetaXava ships with
+ *
+ * EDITING:
+ * This annotation is the single source. Add a JDBC type here and both
+ * bootstraps pick it up (JDBCTypeBootstrap always, TypeSystemBootstrap when
+ * core = true); change a mapping here and OXPrimitiveType, the wrappers and
+ * the reference types follow. BuiltInTypesProcessor rejects inconsistent
+ * edits when the module compiles.
+ *
+ * @author MetaXava Build Session 2026-10-19
+ */
+@BuiltInTypes(
+    jdbcTypes = {
+        // ===== STRING TYPES =====
+        @JdbcTypeDefinition(type = VARCHAR, category = "STRING", core = true,
+            description = "Variable-length character string. Most common text type. Specify maximum length.",
+            maxLength = 4000, common = true, portable = true,
+            jpaPattern = "@Column(length = %d)"),
+        @JdbcTypeDefinition(type = CHAR, category = "STRING", core = true,
+            description = "Fixed-length character string. Pads with spaces to specified length.",
+            maxLength = 2000, common = false, portable = true,
+            notes = "Less efficient than VARCHAR for variable-length data",
+            jpaPattern = "@Column(length = %d)"),
+        @JdbcTypeDefinition(type = LONGVARCHAR, category = "STRING",
+            description = "Very long variable-length character string. Use for large text.",
+            maxLength = 2_000_000_000, common = false, portable = true,
+            jpaPattern = "@Column(length = %d)"),
+        @JdbcTypeDefinition(type = CLOB, category = "STRING", core = true,
+            description = "Character Large Object. For very large text (articles, documents).",
+            common = true, portable = false,
+            notes = "Oracle: CLOB, SQL Server: VARCHAR(MAX), MySQL: TEXT",
+            jpaPattern = "@Lob @Column"),
+
+        // ===== NUMERIC TYPES =====
+        @JdbcTypeDefinition(type = INTEGER, category = "NUMERIC", core = true,
+            description = "32-bit signed integer. Range: -2,147,483,648 to 2,147,483,647.",
+            common = true, portable = true, jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = BIGINT, category = "NUMERIC", core = true,
+            description = "64-bit signed integer. Range: -9,223,372,036,854,775,808 to 9,223,372,036,854,775,807.",
+            common = true, portable = true, jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = SMALLINT, category = "NUMERIC", core = true,
+            description = "16-bit signed integer. Range: -32,768 to 32,767.",
+            common = false, portable = true, jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = TINYINT, category = "NUMERIC", core = true,
+            description = "8-bit signed integer. Range: -128 to 127.",
+            common = false, portable = false,
+            notes = "MySQL: 0-255 (unsigned), SQL Server: -128-127 (signed)",
+            jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = NUMERIC, category = "NUMERIC", core = true,
+            description = "Exact numeric with precision and scale. Use for money, precise calculations.",
+            maxPrecision = 38, maxScale = 10, common = true, portable = true,
+            jpaPattern = "@Column(precision = %d, scale = %d)"),
+        @JdbcTypeDefinition(type = DECIMAL, category = "NUMERIC", core = true,
+            description = "Exact numeric with precision and scale. Equivalent to NUMERIC.",
+            maxPrecision = 38, maxScale = 10, common = true, portable = true,
+            jpaPattern = "@Column(precision = %d, scale = %d)"),
+        @JdbcTypeDefinition(type = FLOAT, category = "NUMERIC", core = true,
+            description = "Approximate floating-point number (IEEE 754 double precision).",
+            common = false, portable = true,
+            notes = "Approximate arithmetic - not suitable for money",
+            jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = DOUBLE, category = "NUMERIC", core = true,
+            description = "Double precision floating-point number.",
+            common = false, portable = true,
+            notes = "Approximate arithmetic - not suitable for money",
+            jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = REAL, category = "NUMERIC",
+            description = "Single precision floating-point number.",
+            common = false, portable = true, jpaPattern = "@Column"),
+
+        // ===== TEMPORAL TYPES =====
+        @JdbcTypeDefinition(type = DATE, category = "TEMPORAL", core = true,
+            description = "Date without time. Format: YYYY-MM-DD.",
+            common = true, portable = true, jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = TIME, category = "TEMPORAL", core = true,
+            description = "Time without date. Format: HH:MM:SS.",
+            common = false, portable = true, jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = TIMESTAMP, category = "TEMPORAL", core = true,
+            description = "Date and time with fractional seconds. Most common temporal type.",
+            common = true, portable = true, jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = TIMESTAMP_WITH_TIMEZONE, category = "TEMPORAL",
+            description = "Timestamp with timezone offset. Use for international applications.",
+            common = false, portable = false,
+            notes = "PostgreSQL: TIMESTAMPTZ, Oracle 9i+, not in MySQL",
+            jpaPattern = "@Column"),
+
+        // ===== BINARY TYPES =====
+        @JdbcTypeDefinition(type = BINARY, category = "BINARY",
+            description = "Fixed-length binary data.",
+            maxLength = 8000, common = false, portable = true,
+            jpaPattern = "@Column(length = %d)"),
+        @JdbcTypeDefinition(type = VARBINARY, category = "BINARY", core = true,
+            description = "Variable-length binary data. Use for small files, hashes, UUIDs.",
+            maxLength = 8000, common = true, portable = true,
+            jpaPattern = "@Column(length = %d)"),
+        @JdbcTypeDefinition(type = LONGVARBINARY, category = "BINARY",
+            description = "Very long variable-length binary data.",
+            maxLength = 2_000_000_000, common = false, portable = true,
+            jpaPattern = "@Column(length = %d)"),
+        @JdbcTypeDefinition(type = BLOB, category = "BINARY",
+            description = "Binary Large Object. For large files, images, documents.",
+            common = true, portable = false,
+            notes = "Oracle: BLOB, SQL Server: VARBINARY(MAX), MySQL: BLOB",
+            jpaPattern = "@Lob @Column"),
+
+        // ===== BOOLEAN TYPES =====
+        @JdbcTypeDefinition(type = BOOLEAN, category = "BOOLEAN", core = true,
+            description = "Boolean true/false value.",
+            common = true, portable = false,
+            notes = "Oracle: Use NUMBER(1), SQL Server: BIT, PostgreSQL/MySQL: BOOLEAN",
+            jpaPattern = "@Column"),
+        @JdbcTypeDefinition(type = BIT, category = "BOOLEAN",
+            description = "Single bit (0 or 1). Database-specific semantics.",
+            common = false, portable = false,
+            notes = "SQL Server: BIT, MySQL: BIT(n), avoid in portable code",
+            jpaPattern = "@Column"),
+
+        // ===== OTHER TYPES (Advanced, less common) =====
+        @JdbcTypeDefinition(type = ARRAY, category = "OTHER",
+            description = "SQL array type. Database-specific.",
+            common = false, portable = false,
+            notes = "PostgreSQL only. Not in standard SQL."),
+        @JdbcTypeDefinition(type = REF, category = "OTHER",
+            description = "Object reference. Rarely used.",
+            common = false, portable = false,
+            notes = "Oracle object-relational feature. Avoid in portable code.")
+    },
+    primitives = {
+        @PrimitiveDefinition(name = "byte", wrapper = "Byte",
+            compatible = {TINYINT, SMALLINT, INTEGER}, preferred = TINYINT),
+        @PrimitiveDefinition(name = "short", wrapper = "Short",
+            compatible = {SMALLINT, INTEGER, BIGINT}, preferred = SMALLINT),
+        @PrimitiveDefinition(name = "int", wrapper = "Integer",
+            compatible = {INTEGER, BIGINT, SMALLINT}, preferred = INTEGER),
+        @PrimitiveDefinition(name = "long", wrapper = "Long",
+            compatible = {BIGINT, INTEGER}, preferred = BIGINT),
+        @PrimitiveDefinition(name = "float", wrapper = "Float",
+            compatible = {FLOAT, DOUBLE, NUMERIC}, preferred = FLOAT),
+        @PrimitiveDefinition(name = "double", wrapper = "Double",
+            compatible = {DOUBLE, FLOAT, NUMERIC}, preferred = DOUBLE),
+        @PrimitiveDefinition(name = "char", wrapper = "Character",
+            compatible = {CHAR, VARCHAR}, preferred = CHAR),
+        @PrimitiveDefinition(name = "boolean", wrapper = "Boolean",
+            compatible = {BOOLEAN, TINYINT}, preferred = BOOLEAN)
+    },
+    referenceTypes = {
+        @ReferenceTypeDefinition(qualifiedName = "java.lang.String",
+            compatible = {VARCHAR, CHAR, CLOB}, preferred = VARCHAR),
+        @ReferenceTypeDefinition(qualifiedName = "java.math.BigDecimal",
+            compatible = {NUMERIC, DECIMAL}, preferred = NUMERIC),
+        @ReferenceTypeDefinition(qualifiedName = "java.math.BigInteger",
+            compatible = {NUMERIC, DECIMAL, BIGINT}, preferred = NUMERIC),
+        @ReferenceTypeDefinition(qualifiedName = "java.util.Date",
+            compatible = {TIMESTAMP, DATE, TIME}, preferred = TIMESTAMP),
+        @ReferenceTypeDefinition(qualifiedName = "java.sql.Date",
+            compatible = {DATE, TIMESTAMP}, preferred = DATE),
+        @ReferenceTypeDefinition(qualifiedName = "java.sql.Time",
+            compatible = {TIME, TIMESTAMP}, preferred = TIME),
+        @ReferenceTypeDefinition(qualifiedName = "java.sql.Timestamp",
+            compatible = {TIMESTAMP, DATE, TIME}, preferred = TIMESTAMP)
+    }
+)
+final class BuiltInTypeDefinitions {
+
+    private BuiltInTypeDefinitions() {
+    }
+}
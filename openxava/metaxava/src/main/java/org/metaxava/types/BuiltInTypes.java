@@ -0,0 +1,40 @@
+package org.metaxava.types;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * BuiltInTypes - The one declaration of MetaXava's built-in type facts
+ *
+ * DESIGN:
+ * Placed once, on BuiltInTypeDefinitions. BuiltInTypesProcessor reads it
+ * at compile time and generates:
+ * - BuiltInTypeTables: static final lookup tables (compatible/preferred
+ *   JDBC types, wrapper names) and JDBCTypeMetadata factories used by
+ *   JDBCTypeBootstrap and TypeSystemBootstrap
+ * No SQL is generated: the bootstraps persist the factory rows through JPA,
+ * so generated ids, ModelJournal entries and the search index apply to them.
+ *
+ * WHY:
+ * These facts used to live in switch statements, constant classes and two
+ * hand-written bootstraps that had already drifted apart (different
+ * descriptions, FLOAT/DOUBLE notes, 16 vs 25 types). Now a mistake -
+ * preferred type not compatible, mapping to a JDBC type the type-system
+ * bootstrap doesn't create - is a compile error.
+ *
+ * SOURCE retention: nothing of this annotation survives into class files.
+ *
+ * @author MetaXava Build Session 2026-10-19
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface BuiltInTypes {
+
+    JdbcTypeDefinition[] jdbcTypes();
+
+    PrimitiveDefinition[] primitives();
+
+    ReferenceTypeDefinition[] referenceTypes();
+}
@@ -0,0 +1,52 @@
+package org.metaxava.types;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.sql.JDBCType;
+
+/**
+ * JdbcTypeDefinition - One jdbc_type_metadata row
+ *
+ * SIZES:
+ * - maxLength > 0: supportsLength, typicalMaxLength = maxLength
+ * - maxPrecision > 0: supportsPrecision/supportsScale with maxScale
+ * - 0 (default): not supported, stored as NULL
+ * The jpaPattern's %d placeholders must match (one for length, two for
+ * precision and scale) - checked at compile time.
+ *
+ * CORE:
+ * core = true marks the types TypeSystemBootstrap creates. Every JDBC type
+ * a primitive or reference type maps to must be core.
+ *
+ * @author MetaXava Build Session 2026-10-19
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface JdbcTypeDefinition {
+
+    JDBCType type();
+
+    /**
+     * STRING, NUMERIC, TEMPORAL, BINARY, BOOLEAN or OTHER
+     */
+    String category();
+
+    String description();
+
+    int maxLength() default 0;
+
+    int maxPrecision() default 0;
+
+    int maxScale() default 0;
+
+    boolean common();
+
+    boolean portable();
+
+    String notes() default "";
+
+    String jpaPattern() default "";
+
+    boolean core() default false;
+}
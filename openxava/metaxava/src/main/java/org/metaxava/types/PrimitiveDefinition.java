@@ -0,0 +1,27 @@
+package org.metaxava.types;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.sql.JDBCType;
+
+/**
+ * PrimitiveDefinition - A Java primitive, its wrapper and its JDBC mappings
+ *
+ * The wrapper (simple name in java.lang) shares the primitive's mappings.
+ * compatible is ordered: generated lists keep the declared order.
+ *
+ * @author MetaXava Build Session 2026-10-19
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface PrimitiveDefinition {
+
+    String name();
+
+    String wrapper();
+
+    JDBCType[] compatible();
+
+    JDBCType preferred();
+}
@@ -0,0 +1,22 @@
+package org.metaxava.types;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.sql.JDBCType;
+
+/**
+ * ReferenceTypeDefinition - A built-in class (String, BigDecimal, Date...) and its JDBC mappings
+ *
+ * @author MetaXava Build Session 2026-10-19
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface ReferenceTypeDefinition {
+
+    String qualifiedName();
+
+    JDBCType[] compatible();
+
+    JDBCType preferred();
+}
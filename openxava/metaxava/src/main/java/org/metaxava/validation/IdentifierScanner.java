@@ -0,0 +1,124 @@
+package org.metaxava.validation;
+
+/**
+ * IdentifierScanner - Hand-rolled checks for Java package and class names
+ *
+ * WHY NOT REGEX:
+ * OXReferenceType validates with @Pattern at persist time. For bulk
+ * validation of 100k types, a compiled Pattern still allocates a Matcher
+ * per call and backtracks through alternations. These scanners walk the
+ * characters once, allocate nothing, and are trivially thread-safe.
+ *
+ * PARITY:
+ * - isPackageName  ≡ ^[a-z][a-z0-9_]*(\.[a-z][a-z0-9_]*)*$  plus no keyword segments
+ * - isSimpleName   ≡ ^[A-Z][a-zA-Z0-9_]*$
+ * Keyword segments ("com.acme.int") match the @Pattern but cannot compile,
+ * so the scanner is deliberately stricter there.
+ *
+ * @author MetaXava Validation Session 2026-10-19
+ */
+public final class IdentifierScanner {
+
+    /**
+     * Reserved words and literals that can't be package segments (all lowercase)
+     */
+    private static final String[] KEYWORDS = {
+        "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+        "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+        "for", "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native",
+        "new", "package", "private", "protected", "public", "return", "short", "static", "strictfp",
+        "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void",
+        "volatile", "while", "true", "false", "null", "_"};
+
+    private IdentifierScanner() {
+    }
+
+    /**
+     * Lowercase dot-separated package name, no empty or keyword segments
+     */
+    public static boolean isPackageName(CharSequence s) {
+        int length = s.length();
+        if (length == 0) {
+            return false;
+        }
+        int segmentStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || s.charAt(i) == '.') {
+                if (!isPackageSegment(s, segmentStart, i)) {
+                    return false;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPackageSegment(CharSequence s, int start, int end) {
+        if (start == end || !isLower(s.charAt(start))) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            char c = s.charAt(i);
+            if (!isLower(c) && !isDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return !isKeyword(s, start, end);
+    }
+
+    private static boolean isKeyword(CharSequence s, int start, int end) {
+        int length = end - start;
+        for (String keyword : KEYWORDS) {
+            if (keyword.length() != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && keyword.charAt(i) == s.charAt(start + i)) {
+                i++;
+            }
+            if (i == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Class name starting with an uppercase ASCII letter, then letters/digits/underscore
+     */
+    public static boolean isSimpleName(CharSequence s) {
+        int length = s.length();
+        if (length == 0 || !isUpper(s.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = s.charAt(i);
+            if (!isLower(c) && !isUpper(c) && !isDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Java primitive keyword (the 8 OXPrimitiveType names)
+     */
+    public static boolean isPrimitiveName(String s) {
+        return switch (s) {
+            case "byte", "short", "int", "long", "float", "double", "char", "boolean" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isLower(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,201 @@
+package org.metaxava.validation;
+
+import org.metaxava.model.OXType;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+import org.metaxava.validation.Violation.Rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ModelValidator - Parallel, whole-model validation in one pass
+ *
+ * WHY:
+ * Bean Validation on OXReferenceType runs inside the JPA lifecycle, one
+ * persist at a time, and stops at the first failing entity. A bulk import
+ * of 100k types then fails late (at flush) and slowly. This validator
+ * checks the whole model up front, on all cores, and reports every
+ * violation at once - the fail-fast validation the OXReferenceType TODO
+ * asks for, without coupling it to construction.
+ *
+ * INPUT:
+ * Immutable TypeSnapshots (safe to share across threads). Entities are
+ * converted on the caller's thread first, since lazy JPA collections
+ * must not be touched from pool threads.
+ *
+ * TWO PHASES (both parallel streams on the common ForkJoinPool):
+ * 1. Index (one pass, presized maps): name → type, qualified name → occurrences
+ * 2. Rules per type, against the index:
+ *    - Package/simple names (IdentifierScanner, no regex)
+ *    - name == packageName + "." + simpleName for reference types
+ *    - Primitive names are Java keywords
+ *    - Primitive nullability: every primitive needs a wrapper counterpart,
+ *      otherwise nullable properties of that type can't be generated
+ *    - Counterparts exist and point back
+ *    - Basic types declare compatible + preferred JDBC types,
+ *      and preferred ∈ compatible
+ *    - Qualified names are unique
+ *
+ * @author MetaXava Validation Session 2026-10-19
+ */
+public class ModelValidator {
+
+    /**
+     * Discriminators of OXBasicType implementations (must carry JDBC mappings)
+     */
+    public static final Set<String> BASIC_KINDS = Set.of(
+        "PRIMITIVE", "WRAPPER", "BASIC_REF", "STRING", "BIG_DECIMAL", "BIG_INTEGER",
+        "DATE", "SQL_DATE", "SQL_TIME", "SQL_TIMESTAMP");
+
+    private static final String PRIMITIVE = "PRIMITIVE";
+
+    public static ValidationReport validate(TypeModel model) {
+        return validate(model.types().values());
+    }
+
+    /**
+     * Validate entities (snapshotted sequentially on the caller's thread)
+     */
+    public static ValidationReport validateEntities(Collection<? extends OXType> types) {
+        List<TypeSnapshot> snapshots = new ArrayList<>(types.size());
+        for (OXType type : types) {
+            snapshots.add(TypeSnapshot.of(type));
+        }
+        return validate(snapshots);
+    }
+
+    public static ValidationReport validate(Collection<TypeSnapshot> types) {
+        long start = System.nanoTime();
+
+        // Presized: no rehashing while worker threads insert
+        int capacity = types.size() * 4 / 3 + 16;
+        ConcurrentHashMap<String, TypeSnapshot> byName = new ConcurrentHashMap<>(capacity);
+        ConcurrentHashMap<String, Integer> qualifiedCounts = new ConcurrentHashMap<>(capacity);
+        types.parallelStream().forEach(type -> {
+            byName.putIfAbsent(type.name(), type);
+            qualifiedCounts.merge(qualifiedName(type), 1, Integer::sum);
+        });
+
+        List<Violation> violations = types.parallelStream()
+            .flatMap(type -> check(type, byName, qualifiedCounts).stream())
+            .sorted()
+            .toList();
+
+        return new ValidationReport(types.size(), violations, System.nanoTime() - start);
+    }
+
+    private static List<Violation> check(TypeSnapshot type, Map<String, TypeSnapshot> byName,
+                                         Map<String, Integer> qualifiedCounts) {
+        List<Violation> violations = new ArrayList<>(0);
+
+        if (PRIMITIVE.equals(type.kind())) {
+            checkPrimitive(type, byName, violations);
+        } else {
+            checkReference(type, byName, violations);
+        }
+        checkJdbcMappings(type, violations);
+
+        String qualifiedName = qualifiedName(type);
+        int occurrences = qualifiedCounts.getOrDefault(qualifiedName, 0);
+        if (occurrences > 1) {
+            violations.add(new Violation(type.name(), Rule.DUPLICATE_QUALIFIED_NAME,
+                                         qualifiedName + " is declared " + occurrences + " times"));
+        }
+        return violations;
+    }
+
+    private static void checkPrimitive(TypeSnapshot type, Map<String, TypeSnapshot> byName,
+                                       List<Violation> violations) {
+        if (!IdentifierScanner.isPrimitiveName(type.name())) {
+            violations.add(new Violation(type.name(), Rule.INVALID_PRIMITIVE_NAME,
+                                         "'" + type.name() + "' is not a Java primitive"));
+        }
+        if (type.counterpart().isEmpty()) {
+            violations.add(new Violation(type.name(), Rule.PRIMITIVE_NULLABILITY,
+                                         "Primitive has no wrapper; nullable properties of this type can't be generated"));
+        } else {
+            checkCounterpart(type, byName, violations);
+        }
+    }
+
+    private static void checkReference(TypeSnapshot type, Map<String, TypeSnapshot> byName,
+                                       List<Violation> violations) {
+        Optional<String> packageName = type.packageName();
+        Optional<String> simpleName = type.simpleName();
+
+        if (packageName.isEmpty() || !IdentifierScanner.isPackageName(packageName.get())) {
+            violations.add(new Violation(type.name(), Rule.INVALID_PACKAGE_NAME,
+                                         "Invalid Java package name: " + packageName.orElse("<missing>")));
+        }
+        if (simpleName.isEmpty() || !IdentifierScanner.isSimpleName(simpleName.get())) {
+            violations.add(new Violation(type.name(), Rule.INVALID_SIMPLE_NAME,
+                                         "Invalid Java class name: " + simpleName.orElse("<missing>")));
+        }
+        if (packageName.isPresent() && simpleName.isPresent() &&
+            !isQualified(type.name(), packageName.get(), simpleName.get())) {
+            violations.add(new Violation(type.name(), Rule.NAME_MISMATCH,
+                                         "Name should be " + packageName.get() + "." + simpleName.get()));
+        }
+        if (type.counterpart().isPresent()) {
+            checkCounterpart(type, byName, violations);
+        }
+    }
+
+    private static void checkCounterpart(TypeSnapshot type, Map<String, TypeSnapshot> byName,
+                                         List<Violation> violations) {
+        String counterpartName = type.counterpart().get();
+        TypeSnapshot counterpart = byName.get(counterpartName);
+        if (counterpart == null) {
+            violations.add(new Violation(type.name(), Rule.COUNTERPART_MISMATCH,
+                                         "Counterpart " + counterpartName + " is not in the model"));
+        } else if (!counterpart.counterpart().equals(Optional.of(type.name()))) {
+            violations.add(new Violation(type.name(), Rule.COUNTERPART_MISMATCH,
+                                         "Counterpart " + counterpartName + " points to " +
+                                         counterpart.counterpart().orElse("<nothing>")));
+        }
+    }
+
+    private static void checkJdbcMappings(TypeSnapshot type, List<Violation> violations) {
+        boolean basic = BASIC_KINDS.contains(type.kind());
+        if (basic && type.compatibleJdbcTypes().isEmpty()) {
+            violations.add(new Violation(type.name(), Rule.MISSING_JDBC_MAPPING,
+                                         "Basic type declares no compatible JDBC types"));
+        }
+        if (basic && type.preferredJdbcType().isEmpty()) {
+            violations.add(new Violation(type.name(), Rule.MISSING_JDBC_MAPPING,
+                                         "Basic type declares no preferred JDBC type"));
+        }
+        if (type.preferredJdbcType().isPresent() && !type.isCompatibleWith(type.preferredJdbcType().get())) {
+            violations.add(new Violation(type.name(), Rule.PREFERRED_NOT_COMPATIBLE,
+                                         "Preferred " + type.preferredJdbcType().get() +
+                                         " is not in " + type.compatibleJdbcTypes()));
+        }
+    }
+
+    /**
+     * name equals packageName + "." + simpleName, compared without concatenating
+     */
+    private static boolean isQualified(String name, String packageName, String simpleName) {
+        return name.length() == packageName.length() + 1 + simpleName.length()
+            && name.startsWith(packageName)
+            && name.charAt(packageName.length()) == '.'
+            && name.endsWith(simpleName);
+    }
+
+    /**
+     * Qualified name; reuses name (no concatenation) when it is already qualified
+     */
+    private static String qualifiedName(TypeSnapshot type) {
+        if (type.packageName().isPresent() && type.simpleName().isPresent() &&
+            !isQualified(type.name(), type.packageName().get(), type.simpleName().get())) {
+            return type.packageName().get() + "." + type.simpleName().get();
+        }
+        return type.name();
+    }
+}
@@ -0,0 +1,53 @@
+package org.metaxava.validation;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidationReport - Every violation found in one validation pass
+ *
+ * @param violations Sorted by type name, then rule
+ *
+ * @author MetaXava Validation Session 2026-10-19
+ */
+public record ValidationReport(int typesChecked, List<Violation> violations, long elapsedNanos) {
+
+    public ValidationReport {
+        violations = List.copyOf(violations);
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public Map<Violation.Rule, Integer> countsByRule() {
+        Map<Violation.Rule, Integer> counts = new EnumMap<>(Violation.Rule.class);
+        for (Violation violation : violations) {
+            counts.merge(violation.rule(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public List<Violation> violationsOf(String typeName) {
+        return violations.stream().filter(v -> v.typeName().equals(typeName)).toList();
+    }
+
+    /**
+     * Fail fast for callers that must not continue with an invalid model
+     */
+    public void throwIfInvalid() {
+        if (!isValid()) {
+            throw new IllegalArgumentException("Model has " + violations.size() + " violations " +
+                                               countsByRule() + ", first: " + violations.get(0));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ValidationReport[%d types, %d violations %s, %dms]",
+                             typesChecked, violations.size(), countsByRule(),
+                             TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+}
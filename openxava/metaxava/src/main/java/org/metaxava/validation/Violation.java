@@ -0,0 +1,37 @@
+package org.metaxava.validation;
+
+/**
+ * Violation - One broken rule on one type
+ *
+ * @param typeName Name of the offending type (as in TypeSnapshot.name)
+ *
+ * @author MetaXava Validation Session 2026-10-19
+ */
+public record Violation(String typeName, Rule rule, String message) implements Comparable<Violation> {
+
+    /**
+     * Rules checked by ModelValidator
+     */
+    public enum Rule {
+        INVALID_PACKAGE_NAME,
+        INVALID_SIMPLE_NAME,
+        INVALID_PRIMITIVE_NAME,
+        NAME_MISMATCH,
+        MISSING_JDBC_MAPPING,
+        PREFERRED_NOT_COMPATIBLE,
+        PRIMITIVE_NULLABILITY,
+        COUNTERPART_MISMATCH,
+        DUPLICATE_QUALIFIED_NAME
+    }
+
+    @Override
+    public int compareTo(Violation other) {
+        int byType = typeName.compareTo(other.typeName);
+        return byType != 0 ? byType : rule.compareTo(other.rule);
+    }
+
+    @Override
+    public String toString() {
+        return typeName + ": " + rule + " - " + message;
+    }
+}
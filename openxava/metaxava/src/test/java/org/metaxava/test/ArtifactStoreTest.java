@@ -0,0 +1,234 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.artifact.ArtifactServlet;
+import org.metaxava.artifact.ArtifactStore;
+import org.metaxava.codegen.CodeGenerator;
+import org.metaxava.codegen.GeneratedFile;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.PreparedModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ArtifactStoreTest - Validates content-addressed storage of generated files
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Content is stored once, gzip-compressed, under its SHA-256
+ * 2. Repeated runs record manifests only; identical files are shared across runs
+ * 3. Manifests survive reopening the store; run names are validated and immutable
+ * 4. Garbage collection keeps every object a manifest references
+ * 5. ETags are the content hash, distinct per encoding; If-None-Match matches either
+ * 6. Accept-Encoding q-values decide gzip (gzip;q=0 refuses it)
+ * 7. Garbage collection keeps what an unfinished recorder stored, until it is closed
+ *
+ * @author MetaXava Artifact Store Session 2026-10-19
+ */
+class ArtifactStoreTest {
+
+    /**
+     * TEST 1: put is idempotent and the object is a gzip of the content
+     */
+    @Test
+    void storesContentOnceCompressed() throws IOException {
+        ArtifactStore store = ArtifactStore.open(Files.createTempDirectory("artifacts"));
+        String content = "public class Invoice {\n}\n".repeat(50);
+
+        String hash = store.put(content);
+        assertEquals(hash, store.put(content));
+        assertEquals(ArtifactStore.hash(content.getBytes(StandardCharsets.UTF_8)), hash);
+        assertEquals(64, hash.length());
+        assertEquals(content, new String(store.read(hash).orElseThrow(), StandardCharsets.UTF_8));
+
+        Path object = store.compressed(hash).orElseThrow();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(object))) {
+            assertEquals(content, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(Files.size(object) < content.length() / 10, Files.size(object) + " bytes stored");
+        assertEquals(1, store.stats().objects());
+        assertFalse(store.contains("0".repeat(64)));
+        assertFalse(store.contains("../" + hash));
+        System.out.println("✓ " + content.length() + " bytes stored as " + Files.size(object));
+    }
+
+    /**
+     * TEST 2: A second run of the same model adds no objects, one entity changed adds two
+     */
+    @Test
+    void runsShareIdenticalFiles() throws IOException {
+        ArtifactStore store = ArtifactStore.open(Files.createTempDirectory("artifacts"));
+        PreparedModel model = CodeGenerator.prepare(GenerationBenchmark.typeModel(), GenerationBenchmark.entities(50));
+
+        ArtifactStore.Manifest first = store.generate("sales-1", model, JavaTarget.JAVA_21);
+        int objects = store.stats().objects();
+        ArtifactStore.Manifest second = store.generate("sales-2", model, JavaTarget.JAVA_21);
+        assertEquals(100, first.entries().size());
+        assertEquals(first.entries(), second.entries());
+        assertEquals(objects, store.stats().objects(), "Nothing new to store");
+
+        List<GeneratedFile> files = new ArrayList<>();
+        CodeGenerator.generate(model, JavaTarget.JAVA_21, files::add);
+        ArtifactStore.Recorder recorder = store.recorder("sales-3");
+        files.set(0, new GeneratedFile(files.get(0).path(), files.get(0).content() + "// edited\n"));
+        files.set(1, new GeneratedFile(files.get(1).path(), files.get(1).content() + "// edited\n"));
+        files.forEach(recorder);
+        recorder.finish();
+
+        ArtifactStore.Stats stats = store.stats();
+        assertEquals(3, stats.runs());
+        assertEquals(objects + 2, stats.objects());
+        assertEquals(3 * first.logicalBytes() + 2 * "// edited\n".length(), stats.logicalBytes());
+        assertTrue(stats.storedBytes() < first.logicalBytes(), "Three runs take less than one uncompressed: " + stats);
+        System.out.println("✓ " + stats);
+    }
+
+    /**
+     * TEST 3: A reopened store reads the same manifests back
+     */
+    @Test
+    void manifestsArePersistent() throws IOException {
+        Path root = Files.createTempDirectory("artifacts");
+        ArtifactStore store = ArtifactStore.open(root);
+        PreparedModel model = CodeGenerator.prepare(GenerationBenchmark.typeModel(), GenerationBenchmark.entities(3));
+        ArtifactStore.Manifest recorded = store.generate("billing.v1", model, JavaTarget.JAVA_17);
+
+        ArtifactStore reopened = ArtifactStore.open(root);
+        ArtifactStore.Manifest read = reopened.manifest("billing.v1").orElseThrow();
+        assertEquals(recorded, read);
+        assertEquals(List.of("billing.v1"), reopened.runs());
+
+        ArtifactStore.Entry entry = read.entries().get(0);
+        assertEquals(entry, read.find(entry.path()).orElseThrow());
+        assertEquals(entry.size(), reopened.read(entry.hash()).orElseThrow().length);
+
+        assertThrows(IllegalStateException.class, () -> reopened.recorder("billing.v1"));
+        assertThrows(IllegalArgumentException.class, () -> reopened.recorder("../billing"));
+        assertThrows(IllegalArgumentException.class, () -> reopened.recorder(""));
+        assertTrue(reopened.manifest("../runs/billing.v1").isEmpty());
+        System.out.println("✓ " + read.run() + ": " + read.entries().size() + " files, " + read.logicalBytes() + " bytes");
+    }
+
+    /**
+     * TEST 4: Deleting a run frees only the objects no other run uses
+     */
+    @Test
+    void collectsUnreferencedObjects() throws Exception {
+        ArtifactStore store = ArtifactStore.open(Files.createTempDirectory("artifacts"));
+        String shared = store.put("shared");
+        String orphan = store.put("orphan");
+        recordRun(store, "keep", "Shared.java", "shared");
+        recordRun(store, "drop", "Shared.java", "shared", "Dropped.java", "dropped");
+        Thread.sleep(20);  // objects must be older than the collection
+
+        assertTrue(store.delete("drop"));
+        assertFalse(store.delete("drop"));
+        assertEquals(2, store.collectGarbage(), "The orphan and Dropped.java's object");
+        assertTrue(store.contains(shared));
+        assertFalse(store.contains(orphan));
+        assertEquals(List.of("keep"), store.runs());
+        assertEquals(0, store.collectGarbage());
+        System.out.println("✓ " + store.stats());
+    }
+
+    /**
+     * TEST 5: Same content, same ETag, whichever run produced it
+     */
+    @Test
+    void etagsAreContentHashes() throws IOException {
+        ArtifactStore store = ArtifactStore.open(Files.createTempDirectory("artifacts"));
+        ArtifactStore.Manifest sales = recordRun(store, "sales", "com/acme/Customer.java", "class Customer {}");
+        ArtifactStore.Manifest crm = recordRun(store, "crm", "org/crm/Customer.java", "class Customer {}");
+        String hash = sales.entries().get(0).hash();
+        assertEquals(hash, crm.entries().get(0).hash());
+
+        String etag = ArtifactServlet.etag(hash);
+        assertEquals('"' + hash + '"', etag);
+        assertTrue(ArtifactServlet.notModified(etag, hash));
+        assertTrue(ArtifactServlet.notModified("\"other\", W/" + etag, hash));
+        assertTrue(ArtifactServlet.notModified("*", hash));
+        assertFalse(ArtifactServlet.notModified(null, hash));
+        assertFalse(ArtifactServlet.notModified(hash, hash), "ETags are quoted");
+        assertFalse(ArtifactServlet.notModified(ArtifactServlet.etag(store.put("class Customer { }")), hash));
+
+        String gzipped = ArtifactServlet.etag(hash, true);
+        assertEquals('"' + hash + "-gz\"", gzipped);
+        assertNotEquals(etag, gzipped, "Different bytes, different strong validator");
+        assertTrue(ArtifactServlet.notModified(gzipped, hash), "Either encoding revalidates");
+        System.out.println("✓ ETags " + etag + ", " + gzipped);
+    }
+
+    /**
+     * TEST 6: gzip only when Accept-Encoding gives it a non-zero quality
+     */
+    @Test
+    void acceptEncodingQualities() {
+        assertTrue(ArtifactServlet.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ArtifactServlet.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(ArtifactServlet.acceptsGzip("x-gzip"));
+        assertTrue(ArtifactServlet.acceptsGzip("*"), "Wildcard covers gzip");
+        assertFalse(ArtifactServlet.acceptsGzip("gzip;q=0"));
+        assertFalse(ArtifactServlet.acceptsGzip("gzip; q=0.0, identity"));
+        assertFalse(ArtifactServlet.acceptsGzip("*, gzip;q=0"), "Explicit refusal beats the wildcard");
+        assertFalse(ArtifactServlet.acceptsGzip("*;q=0"));
+        assertFalse(ArtifactServlet.acceptsGzip("deflate, br"));
+        assertFalse(ArtifactServlet.acceptsGzip("gzip;q=abc"), "Malformed quality counts as 0");
+        assertFalse(ArtifactServlet.acceptsGzip(null));
+        System.out.println("✓ Accept-Encoding q-values honoured");
+    }
+
+    /**
+     * TEST 7: A run still recording (no manifest yet) keeps its objects through GC
+     */
+    @Test
+    void recordingRunsArePinned() throws Exception {
+        ArtifactStore store = ArtifactStore.open(Files.createTempDirectory("artifacts"));
+        String hash;
+        try (ArtifactStore.Recorder recorder = store.recorder("slow")) {
+            recorder.accept(new GeneratedFile("Early.java", "class Early {}"));
+            hash = ArtifactStore.hash("class Early {}".getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(20);  // older than the collection: only the pin keeps it
+
+            assertEquals(0, store.collectGarbage());
+            assertTrue(store.contains(hash), "Stored before GC started, before the manifest");
+            recorder.accept(new GeneratedFile("Late.java", "class Late {}"));
+            ArtifactStore.Manifest manifest = recorder.finish();
+            assertEquals(2, manifest.entries().size());
+            assertThrows(IllegalStateException.class, () -> recorder.accept(new GeneratedFile("X.java", "x")));
+        }
+        Thread.sleep(20);
+        assertEquals(0, store.collectGarbage(), "The manifest references them now");
+
+        try (ArtifactStore.Recorder abandoned = store.recorder("abandoned")) {
+            abandoned.accept(new GeneratedFile("Gone.java", "class Gone {}"));
+        }
+        Thread.sleep(20);
+        assertEquals(1, store.collectGarbage(), "A closed, unfinished run pins nothing");
+        assertTrue(store.contains(hash));
+        assertTrue(store.manifest("abandoned").isEmpty());
+        System.out.println("✓ In-flight run kept through GC, abandoned run collected");
+    }
+
+    // ===== Helper Methods =====
+
+    /**
+     * @param files path, content, path, content...
+     */
+    private static ArtifactStore.Manifest recordRun(ArtifactStore store, String run, String... files)
+            throws IOException {
+        ArtifactStore.Recorder recorder = store.recorder(run);
+        for (int i = 0; i < files.length; i += 2) {
+            recorder.accept(new GeneratedFile(files[i], files[i + 1]));
+        }
+        return recorder.finish();
+    }
+}
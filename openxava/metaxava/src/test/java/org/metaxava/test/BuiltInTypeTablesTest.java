@@ -0,0 +1,173 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXPrimitiveType;
+import org.metaxava.model.OXPrimitiveWrapperType;
+import org.metaxava.model.OXStringType;
+import org.metaxava.processor.BuiltInTypesProcessor;
+import org.metaxava.types.BuiltInTypeTables;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.JDBCType;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BuiltInTypeTablesTest - Validates the tables generated from BuiltInTypeDefinitions
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Model classes answer from the generated tables (wrappers without wiring);
+ *    other wrappers fall back to their primitive, then to their persisted mappings
+ * 2. TypeSystemBootstrap persists exactly the core rows of JDBCTypeBootstrap
+ * 3. An inconsistent definition fails compilation
+ *
+ * @author MetaXava Build Session 2026-10-19
+ */
+class BuiltInTypeTablesTest extends JpaTestBase {
+
+    /**
+     * TEST 1: Primitives, wrappers and String read the generated tables
+     */
+    @Test
+    void modelClassesUseGeneratedTables() {
+        assertEquals(8, BuiltInTypeTables.PRIMITIVE_COUNT);
+        for (String name : BuiltInTypeTables.PRIMITIVE_NAMES) {
+            OXPrimitiveType primitive = new OXPrimitiveType();
+            primitive.setName(name);
+            assertTrue(primitive.declareCompatibleJdbcTypes().contains(primitive.declarePreferredJdbcType()));
+
+            OXPrimitiveWrapperType wrapper = new OXPrimitiveWrapperType();
+            wrapper.setPackageName(OXPrimitiveWrapperType.PACKAGE_NAME);
+            wrapper.setSimpleName(BuiltInTypeTables.wrapperSimpleName(name));
+            assertNull(wrapper.getPrimitiveType(), "Wrapper lookups no longer need the primitive wired");
+            assertSame(primitive.declareCompatibleJdbcTypes(), wrapper.declareCompatibleJdbcTypes());
+            assertEquals(primitive.declarePreferredJdbcType(), wrapper.declarePreferredJdbcType());
+        }
+
+        OXPrimitiveWrapperType custom = new OXPrimitiveWrapperType();
+        custom.setPackageName("com.acme.types");
+        custom.setSimpleName("Code");
+        assertThrows(IllegalStateException.class, custom::declareCompatibleJdbcTypes, "Not built in, wired nor mapped");
+        JDBCTypeMetadata varchar = new JDBCTypeMetadata(JDBCType.VARCHAR, "STRING", "Variable-length string");
+        custom.setCompatibleJdbcTypes(List.of(new JDBCTypeMetadata(JDBCType.CLOB, "STRING", "Large text"), varchar,
+                                              new JDBCTypeMetadata(JDBCType.CHAR, "STRING", "Fixed-length string")));
+        custom.setPreferredJdbcType(varchar);
+        assertEquals(List.of(JDBCType.VARCHAR, JDBCType.CHAR, JDBCType.CLOB), custom.declareCompatibleJdbcTypes());
+        assertEquals(JDBCType.VARCHAR, custom.declarePreferredJdbcType());
+        OXPrimitiveType primitiveLong = new OXPrimitiveType();
+        primitiveLong.setName("long");
+        custom.setPrimitiveType(primitiveLong);
+        assertEquals(JDBCType.BIGINT, custom.declarePreferredJdbcType(), "A wired primitive wins");
+
+        assertEquals("java.lang.Integer", OXPrimitiveWrapperType.INTEGER_QUALIFIED_NAME);
+        assertEquals(List.of(JDBCType.VARCHAR, JDBCType.CHAR, JDBCType.CLOB),
+                     new OXStringType().declareCompatibleJdbcTypes());
+        assertThrows(IllegalStateException.class, () -> BuiltInTypeTables.compatibleJdbcTypes("java.time.Instant"));
+        System.out.println("✓ " + BuiltInTypeTables.PRIMITIVE_COUNT + " primitives, wrappers and " +
+                           BuiltInTypeTables.REFERENCE_TYPE_COUNT + " reference types from generated tables");
+    }
+
+    /**
+     * TEST 2: Both bootstraps come from one definition and can't drift
+     */
+    @Test
+    void typeSystemBootstrapPersistsCoreRows() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+
+        List<String> persisted = em.createQuery("SELECT t FROM JDBCTypeMetadata t", JDBCTypeMetadata.class)
+            .getResultList().stream().map(BuiltInTypeTablesTest::row).sorted().toList();
+        List<String> core = BuiltInTypeTables.newJdbcTypeMetadata().stream()
+            .filter(type -> BuiltInTypeTables.CORE_JDBC_TYPES.contains(type.getJdbcType()))
+            .map(BuiltInTypeTablesTest::row).sorted().toList();
+
+        assertEquals(BuiltInTypeTables.CORE_JDBC_TYPE_COUNT, persisted.size());
+        assertEquals(core, persisted, "Same rows as JDBCTypeBootstrap, core subset");
+        assertEquals(25, BuiltInTypeTables.newJdbcTypeMetadata().size());
+        System.out.println("✓ TypeSystemBootstrap rows == core rows of JDBCTypeBootstrap (" + persisted.size() + ")");
+    }
+
+    /**
+     * TEST 3: The processor turns definition mistakes into compile errors
+     */
+    @Test
+    void inconsistentDefinitionFailsCompilation() throws IOException {
+        String source = """
+            package com.acme.types;
+
+            import org.metaxava.types.*;
+            import static java.sql.JDBCType.*;
+
+            @BuiltInTypes(
+                jdbcTypes = {
+                    @JdbcTypeDefinition(type = INTEGER, category = "NUMERIC", description = "int", core = true,
+                                        common = true, portable = true),
+                    @JdbcTypeDefinition(type = BIGINT, category = "NUMERIC", description = "long",
+                                        common = true, portable = true, jpaPattern = "@Column(length = %d)")
+                },
+                primitives = {
+                    @PrimitiveDefinition(name = "int", wrapper = "Integer", compatible = {INTEGER}, preferred = BIGINT),
+                    @PrimitiveDefinition(name = "long", wrapper = "Long", compatible = {BIGINT}, preferred = BIGINT)
+                },
+                referenceTypes = {
+                    @ReferenceTypeDefinition(qualifiedName = "java.lang.Strnig", compatible = {INTEGER},
+                                             preferred = INTEGER)
+                })
+            class Definitions {
+            }
+            """;
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path output = Files.createTempDirectory("builtin-types");
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+            List.of("-proc:only", "-d", output.toString(), "-s", output.toString(),
+                    "-cp", System.getProperty("java.class.path")),
+            null, List.of(new SimpleJavaFileObject(URI.create("string:///com/acme/types/Definitions.java"),
+                                                   JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            }));
+        task.setProcessors(List.of(new BuiltInTypesProcessor()));
+
+        assertFalse(task.call());
+        String errors = diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .map(diagnostic -> diagnostic.getMessage(null))
+            .collect(Collectors.joining("\n"));
+        assertTrue(errors.contains("int: preferred BIGINT is not one of its compatible types"), errors);
+        assertTrue(errors.contains("long: JDBC type BIGINT is not core"), errors);
+        assertTrue(errors.contains("BIGINT: jpaPattern '@Column(length = %d)' has 1 %d placeholder(s)"), errors);
+        assertTrue(errors.contains("Class java.lang.Strnig not found"), errors);
+        assertTrue(errors.contains("Primitive boolean is not declared"), errors);
+        assertFalse(Files.exists(output.resolve("com/acme/types/BuiltInTypeTables.java")), "Nothing generated");
+        System.out.println("✓ Definition mistakes are compile errors:\n" + errors);
+    }
+
+    // ===== Helper Methods =====
+
+    private static String row(JDBCTypeMetadata type) {
+        return String.join("|", String.valueOf(type.getJdbcType()), type.getCategory(), type.getDescription(),
+                           String.valueOf(type.isSupportsLength()), String.valueOf(type.isSupportsPrecision()),
+                           String.valueOf(type.isSupportsScale()), String.valueOf(type.getTypicalMaxLength()),
+                           String.valueOf(type.getTypicalMaxPrecision()), String.valueOf(type.getTypicalMaxScale()),
+                           String.valueOf(type.isCommonlyUsed()), String.valueOf(type.isPortable()),
+                           String.valueOf(type.getPortabilityNotes()), String.valueOf(type.getJpaAnnotationPattern()));
+    }
+}
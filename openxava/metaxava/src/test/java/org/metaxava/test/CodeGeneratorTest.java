@@ -0,0 +1,250 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.codegen.CodeGenerator;
+import org.metaxava.codegen.CollectionDefinition;
+import org.metaxava.codegen.CompileCheck;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.FetchHints;
+import org.metaxava.codegen.FetchStrategy;
+import org.metaxava.codegen.GeneratedFile;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.PreparedModel;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.codegen.Template;
+import org.metaxava.codegen.TemplateCatalog;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CodeGeneratorTest - Validates target-specific generation from precompiled templates
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Entities resolve against the bootstrapped type model
+ * 2. Java 17+ gets records, Java 8/11 get value classes
+ * 3. Template mistakes fail at parse time
+ * 4. 5k entities × 5 targets: no re-parsing, types resolved once
+ * 5. Fetch hints become FK indexes, batch sizes, extra-lazy collections and list queries
+ * 6. Types sharing a simple name within a file: one imported, the others qualified
+ *
+ * @author MetaXava Code Generation Session 2026-10-19
+ */
+class CodeGeneratorTest extends JpaTestBase {
+
+    /**
+     * TEST 1: Types come from the database model; imports skip java.lang
+     */
+    @Test
+    void generatesAgainstBootstrappedModel() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+        TypeModel model = TypeModel.load(em);
+
+        EntityDefinition invoice = new EntityDefinition("com.acme.billing", "Invoice", List.of(
+            new PropertyDefinition("number", "java.lang.String", true, 20),
+            PropertyDefinition.of("total", "java.math.BigDecimal"),
+            PropertyDefinition.of("paid", "boolean"),
+            PropertyDefinition.of("lines", "java.lang.Integer")));
+
+        Map<String, String> files = generate(CodeGenerator.prepare(model, List.of(invoice)), JavaTarget.JAVA_21);
+        String entity = files.get("com/acme/billing/Invoice.java");
+
+        assertTrue(entity.startsWith("package com.acme.billing;\n\nimport java.math.BigDecimal;\n"));
+        assertFalse(entity.contains("import java.lang."), "java.lang needs no import");
+        assertTrue(entity.contains("    @Required\n    @Column(length = 20)\n    private String number;"));
+        assertTrue(entity.contains("    private boolean paid;"));
+        assertTrue(entity.contains("    private Integer lines;"));
+        assertTrue(entity.contains("(Java 21)"));
+
+        assertThrows(IllegalArgumentException.class, () -> CodeGenerator.prepare(model, List.of(
+            new EntityDefinition("com.acme", "Bad", List.of(PropertyDefinition.of("when", "java.time.Instant"))))));
+        System.out.println("✓ Generated " + files.keySet());
+    }
+
+    /**
+     * TEST 2: Records where available, classes otherwise
+     */
+    @Test
+    void summaryShapeFollowsTarget() {
+        PreparedModel prepared = CodeGenerator.prepare(GenerationBenchmark.typeModel(),
+                                                       GenerationBenchmark.entities(2));
+
+        String java8 = generate(prepared, JavaTarget.JAVA_8).get("com/acme/module1/Entity1Summary.java");
+        String java11 = generate(prepared, JavaTarget.JAVA_11).get("com/acme/module1/Entity1Summary.java");
+        String java17 = generate(prepared, JavaTarget.JAVA_17).get("com/acme/module1/Entity1Summary.java");
+
+        assertTrue(java8.contains("public final class Entity1Summary implements Serializable"));
+        assertTrue(java8.contains("public boolean isActive()"), "Lombok-style getter for boolean");
+        assertTrue(java8.contains("import com.acme.module0.Entity0;"), "Cross-package entity reference");
+        assertEquals(java8.replace("Java 8", "Java 11"), java11);
+        assertTrue(java17.contains("public record Entity1Summary(Long id, String name, String code, int quantity, " +
+                                   "boolean active, BigDecimal amount, Date created, Entity0 parent)"));
+        assertFalse(java17.contains("Objects"));
+        assertTrue(JavaTarget.JAVA_17.supportsRecords());
+        assertFalse(JavaTarget.JAVA_11.supportsRecords());
+        System.out.println("✓ Java 8: class, Java 17: record");
+    }
+
+    /**
+     * TEST 3: Unknown or misplaced slots fail when the template is parsed
+     */
+    @Test
+    void templateErrorsFailAtParseTime() {
+        assertThrows(IllegalArgumentException.class, () -> Template.parse("t", "class {{clasName}} {}"));
+        assertThrows(IllegalArgumentException.class, () -> Template.parse("t", "private {{type}} x;"),
+                     "{{type}} outside {{#properties}}");
+        assertThrows(IllegalArgumentException.class, () -> Template.parse("t", "{{#properties}}{{name}}"));
+        assertThrows(IllegalArgumentException.class, () -> Template.parse("t", "{{#imports}}{{/properties}}"));
+        assertThrows(IllegalArgumentException.class, () -> Template.parse("t", "{{package"));
+        assertEquals(JavaTarget.JAVA_21, JavaTarget.of(21));
+        assertThrows(IllegalArgumentException.class, () -> JavaTarget.of(9));
+        System.out.println("✓ Template errors surface at parse time");
+    }
+
+    /**
+     * TEST 4: Regenerating 5k entities for every target re-parses nothing
+     */
+    @Test
+    void regeneratesLargeModelWithoutReparsing() {
+        TemplateCatalog.preload();
+        int parses = TemplateCatalog.parses();
+
+        PreparedModel prepared = CodeGenerator.prepare(GenerationBenchmark.typeModel(),
+                                                       GenerationBenchmark.entities(5000));
+        assertEquals(5 + 4999, prepared.resolvedTypes(), "5 basic types + 4999 referenced entities, once each");
+
+        long files = 0;
+        long nanos = 0;
+        for (JavaTarget target : JavaTarget.values()) {
+            GenerationBenchmark.Result result = GenerationBenchmark.run(prepared, target);
+            assertEquals(10_000, result.files());
+            files += result.files();
+            nanos += result.elapsedNanos();
+        }
+
+        assertEquals(parses, TemplateCatalog.parses(), "Generation must not re-parse templates");
+        assertEquals(3, parses, "Entity + class summary + record summary, shared across targets");
+        System.out.printf("✓ %d files for %d targets, %.0f files/sec%n",
+                          files, JavaTarget.values().length, files * 1e9 / nanos);
+    }
+
+    /**
+     * TEST 5: Master-detail fetch mappings from cardinality and access hints
+     */
+    @Test
+    void fetchHintsShapeMasterDetailMappings() {
+        EntityDefinition customer = new EntityDefinition("com.acme.sales", "Customer",
+            List.of(PropertyDefinition.of("name", "java.lang.String")),
+            List.of(new CollectionDefinition("orders", "com.acme.sales.SalesOrder", "customer", FetchHints.detail(5000))));
+        EntityDefinition order = new EntityDefinition("com.acme.sales", "SalesOrder",
+            List.of(PropertyDefinition.of("number", "java.lang.String"),
+                    PropertyDefinition.reference("customer", "com.acme.sales.Customer", FetchHints.list(0))),
+            List.of(new CollectionDefinition("lines", "com.acme.sales.OrderLine", "order", FetchHints.list(40))));
+        EntityDefinition line = new EntityDefinition("com.acme.sales", "OrderLine", List.of(
+            PropertyDefinition.of("quantity", "int"),
+            PropertyDefinition.reference("order", "com.acme.sales.SalesOrder", FetchHints.rare()),
+            PropertyDefinition.reference("product", "com.acme.catalog.Product", FetchHints.list(0))));
+        EntityDefinition product = new EntityDefinition("com.acme.catalog", "Product",
+            List.of(PropertyDefinition.of("name", "java.lang.String")));
+
+        Map<String, String> files = generate(CodeGenerator.prepare(GenerationBenchmark.typeModel(),
+                                                                   List.of(customer, order, line, product)),
+                                             JavaTarget.JAVA_21);
+        String customerJava = files.get("com/acme/sales/Customer.java");
+        String orderJava = files.get("com/acme/sales/SalesOrder.java");
+        String lineJava = files.get("com/acme/sales/OrderLine.java");
+
+        assertTrue(customerJava.contains("@Entity\n@BatchSize(size = 32)\n@Getter"), "Shown on order rows");
+        assertTrue(customerJava.contains("    @OneToMany(mappedBy = \"customer\")\n" +
+                                         "    @LazyCollection(LazyCollectionOption.EXTRA)\n" +
+                                         "    private Collection<SalesOrder> orders;\n}"));
+        assertTrue(customerJava.contains("import java.util.Collection;\nimport org.hibernate.annotations.BatchSize;\n"));
+
+        assertTrue(orderJava.contains("@Table(indexes = {@Index(columnList = \"customer_id\")})\n"));
+        assertTrue(orderJava.contains("    @ManyToOne(fetch = FetchType.LAZY)\n    @JoinColumn(name = \"customer_id\")\n" +
+                                      "    private Customer customer;"), "The indexed column is the mapped one");
+        assertFalse(orderJava.contains("@NamedQuery"), "OpenXava lists build their own query");
+        assertTrue(orderJava.contains("    @OneToMany(mappedBy = \"order\")\n    @BatchSize(size = 25)\n" +
+                                      "    private Collection<OrderLine> lines;"), "1000-row budget / 40 lines");
+        assertFalse(files.get("com/acme/sales/SalesOrderSummary.java").contains("Collection"),
+                    "Summaries carry properties only");
+
+        assertTrue(lineJava.contains("@Table(indexes = {@Index(columnList = \"order_id\"), " +
+                                     "@Index(columnList = \"product_id\")})"), "order_id indexed for SalesOrder.lines");
+        assertTrue(lineJava.contains("@JoinColumn(name = \"order_id\")"), "Rare references declare their column too");
+        assertTrue(files.get("com/acme/catalog/Product.java").contains("@BatchSize(size = 32)"));
+
+        assertEquals(new FetchStrategy(0, true, true), FetchStrategy.forCollection(FetchHints.list(2000)),
+                     "Too large to batch");
+        assertEquals(new FetchStrategy(0, false, false), FetchStrategy.forCollection(FetchHints.rare()));
+        assertThrows(IllegalArgumentException.class, () -> CodeGenerator.prepare(GenerationBenchmark.typeModel(),
+            List.of(product, new EntityDefinition("com.acme", "Shelf", List.of(),
+                List.of(CollectionDefinition.of("products", "com.acme.catalog.Product", "shelf"))))),
+            "Product has no reference back to Shelf");
+        assertThrows(IllegalArgumentException.class, () -> FetchHints.list(-1));
+        System.out.println("✓ Fetch mappings:\n" + orderJava);
+    }
+
+    /**
+     * TEST 6: Clashing simple names are written qualified and the result compiles
+     */
+    @Test
+    void clashingSimpleNamesAreQualified() {
+        TypeModel types = GenerationBenchmark.typeModel().withType(
+            new TypeSnapshot("java.sql.Date", "SQL_DATE", Optional.of("java.sql"), Optional.of("Date"),
+                             Optional.of(JDBCType.DATE), List.of(JDBCType.DATE), Optional.empty()));
+        EntityDefinition product = new EntityDefinition("com.acme.catalog", "Product",
+            List.of(PropertyDefinition.of("name", "java.lang.String"),
+                    PropertyDefinition.of("order", "com.acme.sales.SalesOrder")));
+        EntityDefinition localProduct = new EntityDefinition("com.acme.sales", "Product",
+            List.of(PropertyDefinition.of("name", "java.lang.String")));
+        EntityDefinition order = new EntityDefinition("com.acme.sales", "SalesOrder",
+            List.of(PropertyDefinition.of("created", "java.util.Date"),
+                    PropertyDefinition.of("shipped", "java.sql.Date"),
+                    PropertyDefinition.of("catalogProduct", "com.acme.catalog.Product"),
+                    PropertyDefinition.of("localProduct", "com.acme.sales.Product")),
+            List.of(CollectionDefinition.of("products", "com.acme.catalog.Product", "order")));
+        List<EntityDefinition> entities = List.of(product, localProduct, order);
+
+        Map<String, String> files = generate(CodeGenerator.prepare(types, entities), JavaTarget.JAVA_21);
+        String orderJava = files.get("com/acme/sales/SalesOrder.java");
+        String summaryJava = files.get("com/acme/sales/SalesOrderSummary.java");
+
+        assertTrue(orderJava.contains("import java.util.Date;\n"), "First Date in property order is imported");
+        assertFalse(orderJava.contains("import java.sql.Date;"));
+        assertTrue(orderJava.contains("    private Date created;"));
+        assertTrue(orderJava.contains("    private java.sql.Date shipped;"));
+        assertFalse(orderJava.contains("import com.acme.catalog.Product;"), "Same-package Product owns the name");
+        assertTrue(orderJava.contains("    private com.acme.catalog.Product catalogProduct;"));
+        assertTrue(orderJava.contains("    private Product localProduct;"));
+        assertTrue(orderJava.contains("    private Collection<com.acme.catalog.Product> products;"));
+        assertTrue(summaryJava.contains("java.sql.Date shipped") && summaryJava.contains("Date created"),
+                   "Summary spells types as the entity does");
+
+        CompileCheck.Report report = CompileCheck.check(types, entities, JavaTarget.JAVA_21,
+                                                        CompileCheck.classPath(getClass().getClassLoader()), 1);
+        assertTrue(report.ok(), () -> "Generated sources compile: " + report.errors());
+        System.out.println("✓ Clashing names:\n" + orderJava);
+    }
+
+    // ===== Helper Methods =====
+
+    private static Map<String, String> generate(PreparedModel prepared, JavaTarget target) {
+        List<GeneratedFile> files = new ArrayList<>();
+        CodeGenerator.generate(prepared, target, files::add);
+        return files.stream().collect(Collectors.toMap(GeneratedFile::path, GeneratedFile::content));
+    }
+}
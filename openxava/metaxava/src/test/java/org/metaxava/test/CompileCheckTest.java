@@ -0,0 +1,124 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.codegen.CollectionDefinition;
+import org.metaxava.codegen.CompileCheck;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompileCheckTest - Validates the in-process compile check of generated sources
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Generated entities compile against OpenXava, javax.persistence and Lombok
+ * 2. Batches resolve entities of other batches from the in-memory source path
+ * 3. Errors map back to entity, property and model type
+ * 4. Thousands of classes are checked in parallel batches (timing: CompileCheckBenchmark)
+ *
+ * @author MetaXava Compile Check Session 2026-10-19
+ */
+class CompileCheckTest {
+
+    private static final TypeModel TYPES = GenerationBenchmark.typeModel();
+    private static final String CLASS_PATH = CompileCheck.classPath(CompileCheckTest.class.getClassLoader());
+
+    /**
+     * TEST 1: Summary classes call Lombok getters: the processor ran
+     */
+    @Test
+    void generatedSourcesCompile() {
+        CompileCheck.Report report = CompileCheck.check(TYPES, sales(), JavaTarget.JAVA_17, CLASS_PATH, 2);
+
+        assertTrue(report.ok(), report.errors().toString());
+        assertEquals(6, report.units());
+        assertEquals(1, report.batches());
+        System.out.println(report);
+    }
+
+    /**
+     * TEST 2: One entity per batch: references and collections cross batches
+     */
+    @Test
+    void batchesSeeEachOther() {
+        CompileCheck.Report report = CompileCheck.check(TYPES, sales(), JavaTarget.JAVA_21, CLASS_PATH, 3, 1);
+
+        assertTrue(report.ok(), report.errors().toString());
+        assertEquals(3, report.batches());
+        assertEquals(3, report.threads());
+        System.out.println(report);
+    }
+
+    /**
+     * TEST 3: A type the class path doesn't have is reported at the property that uses it
+     */
+    @Test
+    void errorsMapToTheModel() {
+        TypeModel types = TYPES.withType(new TypeSnapshot("com.acme.money.Money", "BASIC", Optional.of("com.acme.money"),
+                                                          Optional.of("Money"), Optional.of(JDBCType.DECIMAL),
+                                                          List.of(JDBCType.DECIMAL), Optional.empty()));
+        List<EntityDefinition> entities = List.of(
+            new EntityDefinition("com.acme.sales", "Customer", List.of(
+                new PropertyDefinition("name", "java.lang.String", true, 100))),
+            new EntityDefinition("com.acme.sales", "Invoice", List.of(
+                new PropertyDefinition("number", "java.lang.String", true, 20),
+                PropertyDefinition.of("customer", "com.acme.sales.Customer"),
+                PropertyDefinition.of("total", "com.acme.money.Money"))));
+
+        CompileCheck.Report report = CompileCheck.check(types, entities, JavaTarget.JAVA_21, CLASS_PATH, 2, 1);
+
+        assertFalse(report.ok());
+        assertTrue(report.errors().stream().allMatch(error -> error.origin().entity().equals("com.acme.sales.Invoice")),
+                   report.errors().toString());
+        CompileCheck.Problem field = report.errors().stream()
+            .filter(error -> error.origin().property().isPresent())
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No error mapped to a property: " + report.errors()));
+        assertEquals(Optional.of("total"), field.origin().property());
+        assertEquals(Optional.of("com.acme.money.Money"), field.origin().typeName());
+        assertTrue(field.path().startsWith("com/acme/sales/Invoice"), field.path());
+        System.out.println("✓ " + report.errors().size() + " errors, e.g. " + field);
+    }
+
+    /**
+     * TEST 4: 1000 entities, 2000 classes
+     */
+    @Test
+    void checksThousandsOfClassesInBatches() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        CompileCheck.Report report = CompileCheck.check(TYPES, GenerationBenchmark.entities(1_000), JavaTarget.JAVA_21,
+                                                        CLASS_PATH, threads, 125);
+
+        assertTrue(report.ok(), report.errors().stream().limit(5).toList().toString());
+        assertEquals(2_000, report.units());
+        assertEquals(8, report.batches());
+        System.out.println(report);
+    }
+
+    // ===== Helper Methods =====
+
+    private static List<EntityDefinition> sales() {
+        return List.of(
+            new EntityDefinition("com.acme.sales", "Customer", List.of(
+                new PropertyDefinition("name", "java.lang.String", true, 100),
+                PropertyDefinition.of("since", "java.util.Date"))),
+            new EntityDefinition("com.acme.sales", "Invoice", List.of(
+                new PropertyDefinition("number", "java.lang.String", true, 20),
+                PropertyDefinition.of("customer", "com.acme.sales.Customer"),
+                PropertyDefinition.of("total", "java.math.BigDecimal"),
+                PropertyDefinition.of("paid", "boolean")),
+                List.of(CollectionDefinition.of("lines", "com.acme.sales.InvoiceLine", "invoice"))),
+            new EntityDefinition("com.acme.sales", "InvoiceLine", List.of(
+                PropertyDefinition.of("invoice", "com.acme.sales.Invoice"),
+                PropertyDefinition.of("quantity", "int"))));
+    }
+}
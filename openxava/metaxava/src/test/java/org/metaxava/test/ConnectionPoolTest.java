@@ -0,0 +1,240 @@
+package org.metaxava.test;
+
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.metaxava.pool.InstrumentedDataSource;
+import org.metaxava.pool.InstrumentedDataSourceFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ConnectionPoolTest - Validates pool instrumentation under starvation
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Saturated pool: extra borrowers time out and are counted as timeouts
+ * 2. Acquire histogram records waits; pool recovers once connections return
+ * 3. Long-held connections are reported as leak suspects until closed
+ * 4. Statement caching is on by default and metrics render in Prometheus format
+ * 5. A borrow gate holds a permit per leased connection, not per caller
+ * 6. Leases unused for removeAbandonedTimeout expire and give their permit back;
+ *    a lease still in use keeps it, however old
+ *
+ * @author MetaXava Connection Pool Session 2026-10-19
+ */
+class ConnectionPoolTest {
+
+    private static final int MAX_TOTAL = 4;
+    private static final int EXTRA_BORROWERS = 8;
+
+    private InstrumentedDataSource pool;
+
+    @BeforeEach
+    void createPool() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("driverClassName", "org.h2.Driver");
+        properties.setProperty("url", "jdbc:h2:mem:metaxava_pool;DB_CLOSE_DELAY=-1");
+        properties.setProperty("username", "sa");
+        properties.setProperty("password", "");
+        properties.setProperty("maxTotal", String.valueOf(MAX_TOTAL));
+        properties.setProperty("maxIdle", String.valueOf(MAX_TOTAL));
+        properties.setProperty("minIdle", "0");
+        properties.setProperty("maxWaitMillis", "200");
+        properties.setProperty(InstrumentedDataSourceFactory.LEAK_THRESHOLD, "100");
+        pool = InstrumentedDataSourceFactory.create("testPool", properties);
+    }
+
+    @AfterEach
+    void closePool() throws SQLException {
+        pool.close();
+    }
+
+    /**
+     * TEST 1 & 2: Holders exhaust the pool; extra borrowers time out, then it recovers
+     */
+    @Test
+    void saturatedPoolCountsTimeouts() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(MAX_TOTAL + EXTRA_BORROWERS);
+        CountDownLatch held = new CountDownLatch(MAX_TOTAL);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            List<Future<?>> holders = new ArrayList<>();
+            for (int i = 0; i < MAX_TOTAL; i++) {
+                holders.add(threads.submit(() -> {
+                    try (Connection connection = pool.getConnection()) {
+                        held.countDown();
+                        release.await();
+                    }
+                    return null;
+                }));
+            }
+            assertTrue(held.await(5, TimeUnit.SECONDS), "Holders should get every connection");
+            assertEquals(MAX_TOTAL, pool.getActive());
+
+            List<Future<Boolean>> borrowers = new ArrayList<>();
+            for (int i = 0; i < EXTRA_BORROWERS; i++) {
+                borrowers.add(threads.submit(() -> {
+                    try (Connection connection = pool.getConnection()) {
+                        return true;
+                    } catch (SQLException e) {
+                        return false;
+                    }
+                }));
+            }
+            for (Future<Boolean> borrower : borrowers) {
+                assertFalse(borrower.get(5, TimeUnit.SECONDS), "Saturated pool should time out");
+            }
+
+            assertEquals(EXTRA_BORROWERS, pool.getTimeouts());
+            assertEquals(0, pool.getFailures());
+            assertEquals(0, pool.getWaiting());
+            assertTrue(pool.getAcquireLatency().percentileMicros(99) >= 200_000,
+                       "Timed-out waits (200ms) should show in the histogram");
+
+            release.countDown();
+            for (Future<?> holder : holders) {
+                holder.get(5, TimeUnit.SECONDS);
+            }
+            try (Connection connection = pool.getConnection()) {
+                assertTrue(connection.isValid(1));
+            }
+
+            assertEquals(MAX_TOTAL + 1, pool.getAcquired());
+            assertEquals(MAX_TOTAL + 1, pool.getHoldTime().count());
+            System.out.println("✓ " + pool);
+        } finally {
+            release.countDown();
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * TEST 3: Connections held past the leak threshold are flagged until closed
+     */
+    @Test
+    void longHeldConnectionIsLeakSuspect() throws Exception {
+        Connection leaked = pool.getConnection();
+        try {
+            assertEquals(0, pool.getLeakSuspects(), "Fresh lease is not a suspect");
+            Thread.sleep(150);
+            assertEquals(1, pool.getLeakSuspects());
+            assertTrue(pool.getOldestLeaseMillis() >= 100);
+        } finally {
+            leaked.close();
+        }
+        assertEquals(0, pool.getLeakSuspects(), "Closed lease is no longer a suspect");
+        System.out.println("✓ Leak suspect detected and cleared");
+    }
+
+    /**
+     * TEST 4: Statement cache defaults and Prometheus export
+     */
+    @Test
+    void statementCachingAndExport() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+                statement.setInt(1, i);
+                try (ResultSet result = statement.executeQuery()) {
+                    assertTrue(result.next());
+                    assertEquals(i, result.getInt(1));
+                }
+            }
+        }
+
+        assertTrue(pool.unwrap(BasicDataSource.class).isPoolPreparedStatements(),
+                   "Statement caching should be on by default");
+        assertTrue(InstrumentedDataSource.pools().contains(pool));
+
+        StringBuilder out = new StringBuilder();
+        InstrumentedDataSource.writePrometheus(out, List.of(pool));
+        String metrics = out.toString();
+        assertTrue(metrics.contains("metaxava_pool_acquire_seconds_count{pool=\"testPool\"} 3"));
+        assertTrue(metrics.contains("metaxava_pool_acquire_seconds_bucket{pool=\"testPool\",le=\"+Inf\"} 3"));
+        assertTrue(metrics.contains("metaxava_pool_max{pool=\"testPool\"} " + MAX_TOTAL));
+        assertTrue(metrics.contains("metaxava_pool_timeouts_total{pool=\"testPool\"} 0"));
+        assertTrue(metrics.contains("# TYPE metaxava_pool_acquired_total counter\n"));
+        assertTrue(metrics.contains("# TYPE metaxava_pool_active gauge\n"));
+        assertTrue(metrics.contains("# TYPE metaxava_pool_acquire_seconds histogram\n"));
+        assertEquals(1, metrics.lines().filter(line -> line.equals("# TYPE metaxava_pool_max gauge")).count());
+        System.out.println("✓ Exported " + metrics.lines().count() + " metric lines");
+    }
+
+    /**
+     * TEST 5: Gated borrowers time out on the gate; closing a lease frees its permit
+     */
+    @Test
+    void borrowGateHoldsPermitsPerLease() throws Exception {
+        pool.gateBorrowers(2, Duration.ofMillis(100));
+        assertEquals(Optional.of(2), pool.availablePermits());
+
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        assertEquals(Optional.of(0), pool.availablePermits());
+        assertThrows(InstrumentedDataSource.PermitTimeoutException.class, pool::getConnection,
+                     "A third borrower waits on the gate, not inside DBCP2");
+        assertEquals(2, pool.getActive());
+        assertEquals(1, pool.getTimeouts());
+
+        first.close();
+        first.close();
+        assertEquals(Optional.of(1), pool.availablePermits(), "A second close() returns nothing twice");
+        try (Connection third = pool.getConnection()) {
+            assertTrue(third.isValid(1));
+        }
+        second.close();
+        assertEquals(Optional.of(2), pool.availablePermits());
+        System.out.println("✓ Gated " + pool);
+    }
+
+    /**
+     * TEST 6: A lease unused past removeAbandonedTimeout expires and frees its permit; a busy one doesn't
+     */
+    @Test
+    void abandonedLeaseExpires() throws Exception {
+        BasicDataSource dbcp = pool.unwrap(BasicDataSource.class);
+        dbcp.setRemoveAbandonedTimeout(Duration.ofMillis(300));
+        pool.gateBorrowers(2, Duration.ofMillis(100));
+
+        Connection abandoned = pool.getConnection();
+        Connection busy = pool.getConnection();
+        assertEquals(Optional.of(0), pool.availablePermits());
+        assertEquals(0, pool.getAbandoned());
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(100);
+            try (Statement statement = busy.createStatement()) {
+                statement.execute("SELECT 1");
+            }
+        }
+
+        assertEquals(1, pool.getAbandoned(), "Only the unused lease expired");
+        assertEquals(1, pool.getLeakSuspects(), "Only the busy lease is still open");
+        assertEquals(Optional.of(1), pool.availablePermits(), "The expired lease gave its permit back");
+        try (Connection next = pool.getConnection()) {
+            assertTrue(next.isValid(1));
+        }
+
+        abandoned.close();
+        busy.close();
+        assertEquals(Optional.of(2), pool.availablePermits(), "A late close() returns nothing twice");
+        assertTrue(pool.getHoldTime().count() >= 3, "The expired lease recorded its hold time");
+        System.out.println("✓ Abandoned lease expired, busy lease kept: " + pool);
+    }
+}
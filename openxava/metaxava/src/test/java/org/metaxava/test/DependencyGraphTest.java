@@ -0,0 +1,310 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.codegen.CodeGenerator;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.EntityGraph;
+import org.metaxava.codegen.GeneratedFile;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.PreparedModel;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.codegen.SchemaGenerator;
+import org.metaxava.dialect.DialectCatalog;
+import org.metaxava.graph.DependencyGraph;
+import org.metaxava.graph.LevelScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DependencyGraphTest - Validates dependency levels, level scheduling and ordered DDL
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Levels put every dependency first; cycles share a level and are reported
+ * 2. A million-node graph is levelled in linear time without recursion
+ * 3. The scheduler never starts a task before its dependencies finish
+ * 4. Parallel generation produces exactly the sequential output
+ * 5. DDL creates referenced tables first and defers cyclic foreign keys
+ * 6. The DDL executes on H2 in the order given, without retries
+ *
+ * @author MetaXava Scheduling Session 2026-10-19
+ */
+class DependencyGraphTest extends JpaTestBase {
+
+    /**
+     * TEST 1: Level = one above the highest dependency; a cycle is one component
+     */
+    @Test
+    void levelsAndCycles() {
+        DependencyGraph graph = DependencyGraph.builder()
+            .node("Customer")
+            .dependsOn("Invoice", "Customer")
+            .dependsOn("InvoiceLine", "Invoice")
+            .dependsOn("InvoiceLine", "Product")
+            .dependsOn("InvoiceLine", "Product")
+            .dependsOn("Employee", "Department")
+            .dependsOn("Department", "Employee")
+            .dependsOn("Category", "Category")
+            .dependsOn("Product", "Category")
+            .build();
+        DependencyGraph.Levels levels = graph.levels();
+
+        assertEquals(7, graph.size());
+        assertEquals(7, graph.edgeCount(), "Duplicate edges are kept once");
+        assertEquals(0, levelOf(levels, "Customer"));
+        assertEquals(1, levelOf(levels, "Invoice"));
+        assertEquals(0, levelOf(levels, "Category"), "A self-reference doesn't raise the level");
+        assertEquals(1, levelOf(levels, "Product"));
+        assertEquals(2, levelOf(levels, "InvoiceLine"));
+        assertEquals(levelOf(levels, "Employee"), levelOf(levels, "Department"));
+        assertEquals(3, levels.count());
+
+        assertFalse(levels.acyclic());
+        assertEquals(2, levels.cycles().size());
+        assertTrue(levels.cycles().contains(List.of("Category")));
+        assertTrue(levels.cycles().stream().anyMatch(cycle -> cycle.containsAll(List.of("Employee", "Department"))));
+        assertTrue(levels.deferred(node(graph, "Employee"), node(graph, "Department")));
+        assertFalse(levels.deferred(node(graph, "Invoice"), node(graph, "Customer")));
+
+        int[] order = levels.order();
+        assertEquals(graph.size(), order.length);
+        for (int i = 0; i < order.length; i++) {
+            for (int dependency : graph.dependencies(order[i])) {
+                assertTrue(levels.deferred(order[i], dependency) || position(order, dependency) < i,
+                           graph.name(order[i]) + " after " + graph.name(dependency));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> DependencyGraph.builder().node(""));
+        System.out.println("✓ " + levels + " " + levels.cycles());
+    }
+
+    /**
+     * TEST 2: 1M nodes, ~3M edges, plus a 1M-long chain (no stack overflow)
+     */
+    @Test
+    void levelsLargeGraphsInLinearTime() {
+        int n = 1_000_000;
+        DependencyGraph.Builder wide = DependencyGraph.builder();
+        for (int i = 0; i < n; i++) {
+            wide.node("E" + i);
+        }
+        for (int i = 1; i < n; i++) {
+            wide.dependsOn("E" + i, "E" + (i / 2));
+            wide.dependsOn("E" + i, "E" + (i / 3));
+            wide.dependsOn("E" + i, "E" + (i - 1) / 1000);
+        }
+        DependencyGraph graph = wide.build();
+        long start = System.nanoTime();
+        DependencyGraph.Levels levels = graph.levels();
+        long wideMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(levels.acyclic());
+        for (int i = 0; i < n; i++) {
+            for (int dependency : graph.dependencies(i)) {
+                assertTrue(levels.levelOf(dependency) < levels.levelOf(i));
+            }
+        }
+        assertEquals(21, levels.count(), "Longest path halves i down to E0: 20 edges");
+
+        DependencyGraph.Builder chain = DependencyGraph.builder();
+        for (int i = 1; i < n; i++) {
+            chain.dependsOn("C" + i, "C" + (i - 1));
+        }
+        chain.dependsOn("C0", "C" + (n - 1));
+        DependencyGraph.Levels ring = chain.build().levels();
+        assertEquals(1, ring.count(), "One cycle through every node");
+        assertEquals(n, ring.cycles().get(0).size());
+
+        assertTrue(wideMillis < 5_000, "Levels of 1M nodes took " + wideMillis + " ms");
+        System.out.println("✓ " + levels + ": " + wideMillis + " ms");
+    }
+
+    /**
+     * TEST 3: Every task sees its dependencies done; failures surface unchanged
+     */
+    @Test
+    void schedulerRespectsLevels() {
+        DependencyGraph graph = EntityGraph.of(treeEntities(2_000));
+        DependencyGraph.Levels levels = graph.levels();
+        AtomicIntegerArray done = new AtomicIntegerArray(graph.size());
+        AtomicIntegerArray violations = new AtomicIntegerArray(1);
+
+        LevelScheduler.Report report = LevelScheduler.run(levels, node -> {
+            for (int dependency : graph.dependencies(node)) {
+                if (done.get(dependency) == 0) {
+                    violations.incrementAndGet(0);
+                }
+            }
+            done.set(node, 1);
+        }, 8);
+
+        assertEquals(0, violations.get(0));
+        assertEquals(graph.size(), report.tasks());
+        assertEquals(levels.count(), report.levels());
+        for (int i = 0; i < graph.size(); i++) {
+            assertEquals(1, done.get(i));
+        }
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class, () ->
+            LevelScheduler.run(levels, node -> {
+                throw new IllegalArgumentException("task " + node);
+            }, 4));
+        assertTrue(failure.getMessage().startsWith("task "));
+        assertThrows(IllegalArgumentException.class, () -> LevelScheduler.run(levels, node -> { }, 0));
+        System.out.println("✓ " + report);
+    }
+
+    /**
+     * TEST 4: Same files, same order, whatever the thread count
+     */
+    @Test
+    void parallelGenerationMatchesSequential() {
+        PreparedModel prepared = CodeGenerator.prepare(GenerationBenchmark.typeModel(), treeEntities(2_000));
+        assertEquals(prepared.entities().size(), prepared.levels().graph().size());
+
+        List<GeneratedFile> sequential = new ArrayList<>();
+        int files = CodeGenerator.generate(prepared, JavaTarget.JAVA_21, sequential::add);
+        List<GeneratedFile> parallel = new ArrayList<>();
+        LevelScheduler.Report report = CodeGenerator.generate(prepared, JavaTarget.JAVA_21, parallel::add, 8);
+
+        assertEquals(files, parallel.size());
+        assertEquals(sequential, parallel);
+        assertEquals(prepared.entities().size(), report.tasks());
+        System.out.println("✓ " + report);
+    }
+
+    /**
+     * TEST 5: Tables follow their references; cyclic foreign keys come last
+     */
+    @Test
+    void schemaFollowsDependencies() {
+        SchemaGenerator.Schema schema = SchemaGenerator.generate(GenerationBenchmark.typeModel(), salesEntities(),
+                                                                 DialectCatalog.builtIn().require("H2"), 4);
+        List<String> statements = schema.statements();
+
+        assertTrue(created(statements, "Customer") < created(statements, "Invoice"));
+        assertTrue(created(statements, "Invoice") < created(statements, "InvoiceLine"));
+        assertTrue(created(statements, "Category") < created(statements, "InvoiceLine"));
+
+        String invoice = statements.get(created(statements, "Invoice"));
+        assertTrue(invoice.contains("    customer_id BIGINT NOT NULL,\n"), invoice);
+        assertTrue(invoice.contains("    number VARCHAR(20) NOT NULL,\n"), invoice);
+        assertTrue(invoice.contains("    paid BOOLEAN NOT NULL,\n"), "Primitive columns are NOT NULL");
+        assertTrue(invoice.contains("CONSTRAINT fk_Invoice_customer FOREIGN KEY (customer_id) REFERENCES Customer (id)"));
+        assertTrue(statements.contains("CREATE INDEX idx_Invoice_customer_id ON Invoice (customer_id)"));
+
+        int firstAlter = statements.indexOf(statements.stream().filter(sql -> sql.startsWith("ALTER")).findFirst()
+                                                      .orElseThrow());
+        assertEquals(List.of(
+            "ALTER TABLE Employee ADD CONSTRAINT fk_Employee_department FOREIGN KEY (department_id) REFERENCES Department (id)",
+            "ALTER TABLE Department ADD CONSTRAINT fk_Department_head FOREIGN KEY (head_id) REFERENCES Employee (id)",
+            "ALTER TABLE Category ADD CONSTRAINT fk_Category_parent FOREIGN KEY (parent_id) REFERENCES Category (id)"),
+            statements.subList(firstAlter, statements.size()));
+        assertFalse(statements.get(created(statements, "Employee")).contains("REFERENCES"));
+
+        assertThrows(IllegalArgumentException.class, () -> SchemaGenerator.generate(
+            GenerationBenchmark.typeModel(),
+            List.of(entity("com.acme.a", "Item"), entity("com.acme.b", "Item")),
+            DialectCatalog.builtIn().require("H2"), 1));
+        System.out.println("✓ " + statements.size() + " statements, " + schema.levels());
+    }
+
+    /**
+     * TEST 6: The generated order runs as-is against the database
+     */
+    @Test
+    void schemaExecutesInOrder() {
+        SchemaGenerator.Schema schema = SchemaGenerator.generate(GenerationBenchmark.typeModel(), salesEntities(),
+                                                                 DialectCatalog.builtIn().require("H2"), 4);
+        beginTransaction();
+        em.createNativeQuery("CREATE SCHEMA IF NOT EXISTS ddl_order").executeUpdate();
+        em.createNativeQuery("SET SCHEMA ddl_order").executeUpdate();
+        for (String sql : schema.statements()) {
+            em.createNativeQuery(sql).executeUpdate();
+        }
+        em.createNativeQuery("SET SCHEMA PUBLIC").executeUpdate();
+        em.createNativeQuery("DROP SCHEMA ddl_order CASCADE").executeUpdate();
+        commit();
+        System.out.println("✓ Executed " + schema.statements().size() + " statements");
+    }
+
+    // ===== Helper Methods =====
+
+    /**
+     * Entity i references entities i / 2 and i / 3: wide levels, log(n) deep
+     */
+    private static List<EntityDefinition> treeEntities(int count) {
+        List<EntityDefinition> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<PropertyDefinition> properties = new ArrayList<>();
+            properties.add(new PropertyDefinition("name", "java.lang.String", true, 100));
+            properties.add(PropertyDefinition.of("amount", "java.math.BigDecimal"));
+            if (i > 0) {
+                properties.add(PropertyDefinition.of("half", entities.get(i / 2).qualifiedName()));
+                properties.add(PropertyDefinition.of("third", entities.get(i / 3).qualifiedName()));
+            }
+            entities.add(new EntityDefinition("com.acme.module" + (i % 50), "Entity" + i, properties));
+        }
+        return entities;
+    }
+
+    /**
+     * Listed dependents first; Employee/Department and Category/Category are cycles
+     */
+    private static List<EntityDefinition> salesEntities() {
+        return List.of(
+            new EntityDefinition("com.acme.sales", "InvoiceLine", List.of(
+                new PropertyDefinition("invoice", "com.acme.sales.Invoice", true, 0),
+                PropertyDefinition.of("category", "com.acme.sales.Category"),
+                PropertyDefinition.of("quantity", "int"))),
+            new EntityDefinition("com.acme.sales", "Invoice", List.of(
+                new PropertyDefinition("number", "java.lang.String", true, 20),
+                new PropertyDefinition("customer", "com.acme.sales.Customer", true, 0),
+                PropertyDefinition.of("paid", "boolean"),
+                PropertyDefinition.of("issued", "java.util.Date"))),
+            new EntityDefinition("com.acme.sales", "Employee", List.of(
+                PropertyDefinition.of("name", "java.lang.String"),
+                PropertyDefinition.of("department", "com.acme.sales.Department"))),
+            new EntityDefinition("com.acme.sales", "Department", List.of(
+                PropertyDefinition.of("head", "com.acme.sales.Employee"))),
+            new EntityDefinition("com.acme.sales", "Category", List.of(
+                PropertyDefinition.of("name", "java.lang.String"),
+                PropertyDefinition.of("parent", "com.acme.sales.Category"))),
+            entity("com.acme.sales", "Customer"));
+    }
+
+    private static EntityDefinition entity(String packageName, String simpleName) {
+        return new EntityDefinition(packageName, simpleName, List.of(new PropertyDefinition(
+            "name", "java.lang.String", true, 100)));
+    }
+
+    private static int node(DependencyGraph graph, String name) {
+        return graph.indexOf(name).orElseThrow();
+    }
+
+    private static int levelOf(DependencyGraph.Levels levels, String name) {
+        return levels.levelOf(node(levels.graph(), name));
+    }
+
+    private static int position(int[] order, int node) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int created(List<String> statements, String table) {
+        for (int i = 0; i < statements.size(); i++) {
+            if (statements.get(i).startsWith("CREATE TABLE " + table + " (")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
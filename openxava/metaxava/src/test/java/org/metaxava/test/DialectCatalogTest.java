@@ -0,0 +1,141 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.DialectBootstrap;
+import org.metaxava.dialect.CompiledDialect;
+import org.metaxava.dialect.DialectCatalog;
+import org.metaxava.dialect.Renderer;
+import org.metaxava.model.OXDBType;
+
+import java.sql.JDBCType;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DialectCatalogTest - Validates compiled per-dialect DDL rendering
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Each dialect renders its own column types
+ * 2. Size limits overflow to LOBs or fail fast
+ * 3. Persisted dialects compile to the same renderings as the built-ins
+ * 4. Bulk-load capabilities are exposed per dialect
+ * 5. Malformed templates are rejected at compile time
+ *
+ * @author MetaXava Dialect Catalog Session 2026-10-19
+ */
+class DialectCatalogTest extends JpaTestBase {
+
+    private static final DialectCatalog CATALOG = DialectCatalog.builtIn();
+
+    /**
+     * TEST 1: Same JDBC type, five spellings
+     */
+    @Test
+    void rendersPerDialect() {
+        assertEquals(List.of("H2", "MySQL", "Oracle", "PostgreSQL", "SQLServer"), List.copyOf(CATALOG.names()));
+
+        assertEquals("VARCHAR2(100 CHAR)", CATALOG.require("Oracle").columnType(JDBCType.VARCHAR, 100, 0, 0));
+        assertEquals("VARCHAR(255)", CATALOG.require("PostgreSQL").columnType(JDBCType.VARCHAR),
+                     "JPA default length");
+        assertEquals("NUMERIC(19,4)", CATALOG.require("PostgreSQL").columnType(JDBCType.NUMERIC, 0, 19, 4));
+        assertEquals("DECIMAL(19,2)", CATALOG.require("MySQL").columnType(JDBCType.NUMERIC),
+                     "Hibernate default precision/scale");
+        assertEquals("NUMBER(1,0)", CATALOG.require("Oracle").columnType(JDBCType.BOOLEAN));
+        assertEquals("BIT", CATALOG.require("SQLServer").columnType(JDBCType.BOOLEAN));
+        assertEquals("BYTEA", CATALOG.require("postgresql").columnType(JDBCType.VARBINARY, 16, 0, 0),
+                     "Names are case-insensitive");
+
+        CompiledDialect h2 = CATALOG.require("H2");
+        assertFalse(h2.supports(JDBCType.ARRAY));
+        assertThrows(IllegalArgumentException.class, () -> h2.columnType(JDBCType.ARRAY));
+        assertThrows(IllegalArgumentException.class, () -> CATALOG.require("DB2"));
+        System.out.println("✓ " + CATALOG);
+    }
+
+    /**
+     * TEST 2: Oversized VARCHAR becomes a LOB; oversized CHAR/NUMERIC fail
+     */
+    @Test
+    void sizeLimitsOverflowOrFail() {
+        assertEquals("VARCHAR2(4000 CHAR)", CATALOG.require("Oracle").columnType(JDBCType.VARCHAR, 4000, 0, 0));
+        assertEquals("CLOB", CATALOG.require("Oracle").columnType(JDBCType.VARCHAR, 4001, 0, 0));
+        assertEquals("VARCHAR(MAX)", CATALOG.require("SQLServer").columnType(JDBCType.VARCHAR, 9000, 0, 0));
+        assertEquals("LONGTEXT", CATALOG.require("MySQL").columnType(JDBCType.VARCHAR, 20_000, 0, 0));
+        assertEquals("BLOB", CATALOG.require("Oracle").columnType(JDBCType.VARBINARY, 4000, 0, 0));
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> CATALOG.require("MySQL").columnType(JDBCType.CHAR, 300, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> CATALOG.require("Oracle").columnType(JDBCType.NUMERIC, 0, 50, 2));
+        assertEquals("DECIMAL(50,2)", CATALOG.require("MySQL").columnType(JDBCType.NUMERIC, 0, 50, 2));
+        assertThrows(IllegalArgumentException.class,
+                     () -> CATALOG.require("H2").columnType(JDBCType.NUMERIC, 0, 5, 6), "scale > precision");
+        System.out.println("✓ Limits folded into renderers");
+    }
+
+    /**
+     * TEST 3: Bootstrap persists the definitions; loading compiles them identically
+     */
+    @Test
+    void persistedDialectsMatchBuiltIns() {
+        assertEquals(5, DialectBootstrap.bootstrap(em));
+        assertEquals(0, DialectBootstrap.bootstrap(em), "Second run is a no-op");
+        em.clear();
+
+        DialectCatalog loaded = DialectCatalog.load(em);
+        assertEquals(CATALOG.names(), loaded.names());
+        for (String name : CATALOG.names()) {
+            CompiledDialect builtIn = CATALOG.require(name);
+            CompiledDialect persisted = loaded.require(name);
+            for (JDBCType jdbcType : JDBCType.values()) {
+                assertEquals(builtIn.supports(jdbcType), persisted.supports(jdbcType), name + " " + jdbcType);
+                if (builtIn.supports(jdbcType)) {
+                    assertEquals(builtIn.columnType(jdbcType, 100, 10, 2),
+                                 persisted.columnType(jdbcType, 100, 10, 2), name + " " + jdbcType);
+                }
+            }
+            assertEquals(builtIn.maxVarcharLength(), persisted.maxVarcharLength());
+        }
+        System.out.println("✓ " + loaded + " loaded from ox_db_type");
+    }
+
+    /**
+     * TEST 4: Bulk-load paths and multi-row INSERT width
+     */
+    @Test
+    void exposesBulkLoadCapabilities() {
+        CompiledDialect postgres = CATALOG.require("PostgreSQL");
+        CompiledDialect oracle = CATALOG.require("Oracle");
+        CompiledDialect sqlServer = CATALOG.require("SQLServer");
+
+        assertEquals(Optional.of("COPY ox_type FROM STDIN WITH (FORMAT csv)"),
+                     postgres.bulkLoadStatement("ox_type", "-"));
+        assertEquals(Optional.of("reWriteBatchedInserts=true"), postgres.batchRewriteProperty());
+        assertTrue(oracle.bulkLoadStatement("ox_type", "types.csv").isEmpty());
+        assertEquals(1, oracle.maxRowsPerInsert(10), "No multi-row INSERT");
+        assertEquals(210, sqlServer.maxRowsPerInsert(10), "2100 bind parameters / 10 columns");
+
+        assertTrue(postgres.fitsIdentifier("x".repeat(63)));
+        assertFalse(postgres.fitsIdentifier("x".repeat(64)));
+        System.out.println("✓ Bulk load: " + postgres.bulkLoadStatement("ox_type", "-").orElseThrow());
+    }
+
+    /**
+     * TEST 5: Templates are parsed at compile time, not at render time
+     */
+    @Test
+    void rejectsMalformedTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> Renderer.compile("VARCHAR({len})"));
+        assertThrows(IllegalArgumentException.class, () -> Renderer.compile("VARCHAR({length)"));
+
+        OXDBType broken = new OXDBType("Broken", null).withTemplate(JDBCType.VARCHAR, "VARCHAR({size})");
+        assertThrows(IllegalArgumentException.class, () -> DialectCatalog.compile(List.of(broken)));
+
+        StringBuilder out = new StringBuilder();
+        Renderer.compile("NUMBER({precision},{scale})").render(out, 0, 12, 3);
+        assertEquals("NUMBER(12,3)", out.toString());
+        System.out.println("✓ Malformed templates rejected");
+    }
+}
@@ -0,0 +1,445 @@
+package org.metaxava.test;
+
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.codegen.SchemaGenerator;
+import org.metaxava.deploy.HotDeployment;
+import org.metaxava.dialect.DialectCatalog;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.spi.PersistenceUnitInfo;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HotDeploymentTest - Validates swapping regenerated entities into a running server
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Each generation's classes load in their own class loader, invisible to the parent
+ * 2. Schema deltas add tables and columns in place; rows survive, removals are only reported
+ * 3. A model that doesn't compile leaves the running generation and the schema untouched
+ * 4. Retired factories close only after their last lease; requests never see a closed one
+ * 5. Pooled connections go back in their own schema; the data source's schema is never deployed to
+ * 6. The real provider (HotDeployment.jpa(), Hibernate) persists and queries generated
+ *    entities over a pooled data source, across a redeploy
+ * 7. A schema made outside MetaXava gets its sequence; kept columns that differ from the
+ *    model are reported, a retained NOT NULL column is relaxed
+ *
+ * Runs on HSQLDB in memory (MetaXava's own database). Tests 1-5 and 7 use a
+ * stand-in JPA provider: the factory records the persistence unit it was
+ * built from.
+ *
+ * @author MetaXava Hot Deploy Session 2026-10-19
+ */
+class HotDeploymentTest {
+
+    private static final TypeModel TYPES = GenerationBenchmark.typeModel();
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private JDBCDataSource dataSource;
+    private final List<RecordingFactory> factories = new CopyOnWriteArrayList<>();
+    private HotDeployment deployment;
+
+    @BeforeEach
+    void createDeployment() {
+        dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:hotdeploy" + DATABASES.incrementAndGet());
+        dataSource.setUser("SA");
+        dataSource.setPassword("");
+        deployment = new HotDeployment(dataSource, "sales", DialectCatalog.builtIn().require("H2"),
+                                       HotDeploymentTest.class.getClassLoader(), (unit, properties) -> {
+            RecordingFactory factory = new RecordingFactory(unit);
+            factories.add(factory);
+            return factory.proxy();
+        });
+    }
+
+    @AfterEach
+    void shutdown() throws SQLException {
+        deployment.close();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    /**
+     * TEST 1: Two deploys, two loaders, two distinct Invoice classes
+     */
+    @Test
+    void generationsLoadInIsolation() throws Exception {
+        HotDeployment.Deployment first = deployment.deploy(TYPES, sales(false), JavaTarget.JAVA_21);
+        assertTrue(first.deployed(), first.toString());
+        HotDeployment.Generation v1 = deployment.current().orElseThrow();
+        Class<?> invoice1 = v1.entityClass("com.acme.sales.Invoice");
+        assertSame(v1.classLoader(), invoice1.getClassLoader());
+        assertNotNull(invoice1.getMethod("getTotal"), "Lombok ran on the generated sources");
+        assertThrows(ClassNotFoundException.class,
+                     () -> Class.forName("com.acme.sales.Invoice", false, HotDeploymentTest.class.getClassLoader()));
+
+        PersistenceUnitInfo unit = factories.get(0).unit;
+        assertEquals(List.of("com.acme.sales.Customer", "com.acme.sales.Invoice", "com.acme.sales.InvoiceLine"),
+                     unit.getManagedClassNames());
+        assertSame(v1.classLoader(), unit.getClassLoader());
+        assertSame(dataSource, unit.getNonJtaDataSource());
+        assertSame(v1.classLoader(), factories.get(0).contextLoader, "Provider ran with the generation's loader");
+
+        HotDeployment.Deployment second = deployment.deploy(TYPES, sales(true), JavaTarget.JAVA_21);
+        assertTrue(second.deployed(), second.toString());
+        HotDeployment.Generation v2 = deployment.current().orElseThrow();
+        Class<?> invoice2 = v2.entityClass("com.acme.sales.Invoice");
+        assertEquals(2, v2.version());
+        assertNotSame(invoice1, invoice2);
+        assertNotNull(invoice2.getMethod("isPaid"));
+        assertThrows(NoSuchMethodException.class, () -> invoice1.getMethod("isPaid"));
+        assertTrue(v1.isClosed(), "Retired without leases: closed at the swap");
+        System.out.println(first);
+        System.out.println(second);
+    }
+
+    /**
+     * TEST 2: Data survives a redeploy that adds a table and columns and drops a property
+     */
+    @Test
+    void schemaDeltaKeepsData() throws SQLException {
+        assertTrue(deployment.deploy(TYPES, sales(false), JavaTarget.JAVA_21).deployed());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO SALES.Customer (id, name) VALUES (1, 'Acme')");
+            statement.execute("INSERT INTO SALES.Invoice (id, number, customer_id, total) VALUES (1, 'A-1', 1, 10.50)");
+        }
+
+        List<EntityDefinition> changed = new ArrayList<>(sales(true));
+        changed.set(1, new EntityDefinition("com.acme.sales", "Invoice", List.of(
+            new PropertyDefinition("number", "java.lang.String", true, 20),
+            PropertyDefinition.of("customer", "com.acme.sales.Customer"),
+            PropertyDefinition.of("paid", "boolean"),
+            PropertyDefinition.of("copies", "int"))));
+        changed.add(new EntityDefinition("com.acme.sales", "Product", List.of(
+            new PropertyDefinition("name", "java.lang.String", true, 60))));
+        HotDeployment.Deployment redeploy = deployment.deploy(TYPES, changed, JavaTarget.JAVA_21);
+
+        assertTrue(redeploy.deployed(), redeploy.toString());
+        List<String> statements = redeploy.schema().orElseThrow().statements();
+        assertTrue(statements.get(0).startsWith("CREATE TABLE Product"), statements.toString());
+        assertTrue(statements.contains("ALTER TABLE Invoice ADD copies INTEGER DEFAULT 0 NOT NULL"), statements.toString());
+        assertTrue(statements.contains("ALTER TABLE Invoice ADD paid BOOLEAN DEFAULT FALSE NOT NULL"), statements.toString());
+        assertTrue(redeploy.schema().get().notes().contains("Invoice.TOTAL retained: not in the model"),
+                   redeploy.schema().get().notes().toString());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT number, total, copies FROM SALES.Invoice WHERE id = 1")) {
+            assertTrue(row.next());
+            assertEquals("A-1", row.getString(1));
+            assertEquals(0, row.getBigDecimal(2).compareTo(new BigDecimal("10.50")));
+            assertEquals(0, row.getInt(3));
+        }
+
+        HotDeployment.Deployment again = deployment.deploy(TYPES, changed, JavaTarget.JAVA_21);
+        assertEquals(List.of(), again.schema().orElseThrow().statements());
+        assertEquals(3, again.version());
+        System.out.println(redeploy);
+    }
+
+    /**
+     * TEST 3: Compile errors are reported; v1 keeps serving and no table is created
+     */
+    @Test
+    void brokenModelKeepsTheRunningGeneration() throws SQLException {
+        assertTrue(deployment.deploy(TYPES, sales(false), JavaTarget.JAVA_21).deployed());
+        TypeModel types = TYPES.withType(new TypeSnapshot("com.acme.money.Money", "BASIC", Optional.of("com.acme.money"),
+                                                          Optional.of("Money"), Optional.of(JDBCType.DECIMAL),
+                                                          List.of(JDBCType.DECIMAL), Optional.empty()));
+        List<EntityDefinition> broken = new ArrayList<>(sales(false));
+        broken.add(new EntityDefinition("com.acme.sales", "Refund", List.of(
+            PropertyDefinition.of("amount", "com.acme.money.Money"))));
+
+        HotDeployment.Deployment failed = deployment.deploy(types, broken, JavaTarget.JAVA_21);
+
+        assertFalse(failed.deployed());
+        assertEquals(1, failed.version());
+        assertTrue(failed.schema().isEmpty());
+        assertTrue(failed.compile().errors().stream().anyMatch(error -> error.origin().property().equals(Optional.of("amount"))),
+                   failed.toString());
+        assertEquals(1, deployment.current().orElseThrow().version());
+        assertFalse(deployment.current().get().isClosed());
+        assertEquals(1, factories.size(), "No factory built for a model that doesn't compile");
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, "SALES", "REFUND", null)) {
+            assertFalse(tables.next());
+        }
+        System.out.println(failed);
+    }
+
+    /**
+     * TEST 4: Readers lease continuously while three redeploys swap generations under them
+     */
+    @Test
+    void leasesKeepRetiredFactoriesOpen() throws Exception {
+        deployment.deploy(TYPES, sales(false), JavaTarget.JAVA_21);
+        HotDeployment.Lease held = deployment.lease();
+        held.entityManager();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger leases = new AtomicInteger();
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int r = 0; r < 4; r++) {
+                futures.add(readers.submit(() -> {
+                    while (running.get()) {
+                        try (HotDeployment.Lease lease = deployment.lease()) {
+                            lease.entityManager();  // RecordingFactory throws if already closed
+                            leases.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int deploy = 0; deploy < 3; deploy++) {
+                assertTrue(deployment.deploy(TYPES, sales(deploy % 2 == 0), JavaTarget.JAVA_21).deployed());
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        assertEquals(4, deployment.current().orElseThrow().version());
+        assertEquals(1, held.generation().version());
+        assertFalse(factories.get(0).closed.get(), "v1 still leased");
+        held.close();
+        assertTrue(factories.get(0).closed.get());
+        assertTrue(held.generation().isClosed());
+        assertTrue(factories.get(1).closed.get() && factories.get(2).closed.get());
+        assertFalse(factories.get(3).closed.get(), "Current generation stays open");
+        System.out.println("✓ " + leases.get() + " leases across 3 swaps, none on a closed factory");
+    }
+
+    /**
+     * TEST 5: One pooled connection runs the DDL and is then borrowed again by "MetaXava"
+     */
+    @Test
+    void pooledConnectionsKeepTheirSchema() throws SQLException {
+        try (BasicDataSource pool = new BasicDataSource()) {
+            pool.setUrl("jdbc:hsqldb:mem:hotdeploy" + DATABASES.incrementAndGet());
+            pool.setUsername("SA");
+            pool.setPassword("");
+            pool.setMaxTotal(1);
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE ox_type (id BIGINT PRIMARY KEY)");
+            }
+            HotDeployment pooled = new HotDeployment(pool, "sales", DialectCatalog.builtIn().require("H2"),
+                                                     HotDeploymentTest.class.getClassLoader(),
+                                                     (unit, properties) -> new RecordingFactory(unit).proxy());
+            assertTrue(pooled.deploy(TYPES, sales(false), JavaTarget.JAVA_21).deployed());
+            pooled.close();
+
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                assertEquals("PUBLIC", connection.getSchema());
+                statement.executeQuery("SELECT COUNT(*) FROM ox_type").close();
+                statement.execute("SHUTDOWN");
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new HotDeployment(
+            dataSource, "public", DialectCatalog.builtIn().require("H2"), HotDeploymentTest.class.getClassLoader(),
+            (unit, properties) -> new RecordingFactory(unit).proxy()));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA metaxava");
+            statement.execute("ALTER USER SA SET INITIAL SCHEMA metaxava");
+        }
+        HotDeployment own = new HotDeployment(dataSource, "metaxava", DialectCatalog.builtIn().require("H2"),
+                                              HotDeploymentTest.class.getClassLoader(),
+                                              (unit, properties) -> new RecordingFactory(unit).proxy());
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                                                      () -> own.deploy(TYPES, sales(false), JavaTarget.JAVA_21));
+        assertTrue(error.getMessage().contains("data source's own schema"), error.getMessage());
+        assertTrue(own.current().isEmpty());
+        System.out.println("✓ Pool connection back in PUBLIC; " + error.getMessage());
+    }
+
+    /**
+     * TEST 6: Hibernate builds each generation's factory from the in-memory classes
+     */
+    @Test
+    void hibernatePersistsGeneratedEntities() throws Exception {
+        try (BasicDataSource pool = new BasicDataSource()) {
+            pool.setUrl("jdbc:hsqldb:mem:hotdeploy" + DATABASES.incrementAndGet());
+            pool.setUsername("SA");
+            pool.setPassword("");
+            pool.setMaxTotal(4);
+            HotDeployment real = new HotDeployment(pool, "sales", DialectCatalog.builtIn().require("H2"),
+                                                   HotDeploymentTest.class.getClassLoader(), HotDeployment.jpa());
+            try {
+                assertTrue(real.deploy(TYPES, sales(false), JavaTarget.JAVA_21).deployed());
+                try (HotDeployment.Lease lease = real.lease()) {
+                    Class<?> customerClass = lease.generation().entityClass("com.acme.sales.Customer");
+                    Class<?> invoiceClass = lease.generation().entityClass("com.acme.sales.Invoice");
+                    Object customer = customerClass.getConstructor().newInstance();
+                    customerClass.getMethod("setName", String.class).invoke(customer, "Acme");
+                    Object invoice = invoiceClass.getConstructor().newInstance();
+                    invoiceClass.getMethod("setNumber", String.class).invoke(invoice, "A-1");
+                    invoiceClass.getMethod("setCustomer", customerClass).invoke(invoice, customer);
+                    invoiceClass.getMethod("setTotal", BigDecimal.class).invoke(invoice, new BigDecimal("10.50"));
+
+                    EntityManager em = lease.entityManager();
+                    em.getTransaction().begin();
+                    em.persist(customer);
+                    em.persist(invoice);
+                    em.getTransaction().commit();
+                    assertNotNull(invoiceClass.getMethod("getId").invoke(invoice), "Id from hibernate_sequence");
+                }
+
+                assertTrue(real.deploy(TYPES, sales(true), JavaTarget.JAVA_21).deployed());
+                try (HotDeployment.Lease lease = real.lease()) {
+                    assertEquals(2, lease.generation().version());
+                    List<?> invoices = lease.entityManager()
+                                            .createQuery("SELECT i FROM Invoice i WHERE i.customer.name = 'Acme'")
+                                            .getResultList();
+                    assertEquals(1, invoices.size());
+                    Object invoice = invoices.get(0);
+                    assertSame(lease.generation().entityClass("com.acme.sales.Invoice"), invoice.getClass());
+                    assertEquals("A-1", invoice.getClass().getMethod("getNumber").invoke(invoice));
+                    assertEquals(Boolean.FALSE, invoice.getClass().getMethod("isPaid").invoke(invoice));
+                }
+            } finally {
+                real.close();
+            }
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                assertEquals("PUBLIC", connection.getSchema());
+                statement.execute("SHUTDOWN");
+            }
+            System.out.println("✓ Hibernate persisted v1 entities and read them back through v2 classes");
+        }
+    }
+
+    /**
+     * TEST 7: An existing schema is compared column by column, not only by name
+     */
+    @Test
+    void existingColumnsAreCompared() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA SALES");
+            statement.execute("CREATE TABLE SALES.Customer (id BIGINT NOT NULL PRIMARY KEY, " +
+                              "name VARCHAR(40) NOT NULL, legacy INTEGER NOT NULL)");
+            statement.execute("CREATE TABLE SALES.InvoiceLine (id BIGINT NOT NULL PRIMARY KEY, quantity VARCHAR(10))");
+        }
+
+        HotDeployment.Deployment deployed = deployment.deploy(TYPES, sales(false), JavaTarget.JAVA_21);
+
+        assertTrue(deployed.deployed(), deployed.toString());
+        SchemaGenerator.Delta delta = deployed.schema().orElseThrow();
+        assertTrue(delta.statements().contains("ALTER TABLE Customer ALTER COLUMN LEGACY SET NULL"),
+                   delta.statements().toString());
+        assertTrue(delta.notes().containsAll(List.of(
+            "Customer.LEGACY retained, made nullable: not in the model",
+            "Customer.NAME has length 40 in the database, 100 in the model: not altered",
+            "InvoiceLine.QUANTITY is VARCHAR in the database, INTEGER in the model: not altered",
+            "InvoiceLine.QUANTITY is nullable in the database, required in the model: not altered")),
+                   delta.notes().toString());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO SALES.Customer (id, name) VALUES (1, 'Acme')");
+            try (ResultSet next = statement.executeQuery("CALL NEXT VALUE FOR SALES.hibernate_sequence")) {
+                assertTrue(next.next(), "Sequence created in a schema that already existed");
+            }
+        }
+
+        HotDeployment.Deployment again = deployment.deploy(TYPES, sales(false), JavaTarget.JAVA_21);
+        assertEquals(List.of(), again.schema().orElseThrow().statements());
+        assertTrue(again.schema().get().notes().contains("Customer.LEGACY retained: not in the model"));
+        delta.notes().forEach(note -> System.out.println("✓ " + note));
+    }
+
+    // ===== Helper Methods =====
+
+    private static List<EntityDefinition> sales(boolean paid) {
+        List<PropertyDefinition> invoice = new ArrayList<>(List.of(
+            new PropertyDefinition("number", "java.lang.String", true, 20),
+            PropertyDefinition.of("customer", "com.acme.sales.Customer"),
+            PropertyDefinition.of("total", "java.math.BigDecimal")));
+        if (paid) {
+            invoice.add(PropertyDefinition.of("paid", "boolean"));
+        }
+        return List.of(
+            new EntityDefinition("com.acme.sales", "Customer", List.of(
+                new PropertyDefinition("name", "java.lang.String", true, 100))),
+            new EntityDefinition("com.acme.sales", "Invoice", invoice),
+            new EntityDefinition("com.acme.sales", "InvoiceLine", List.of(
+                PropertyDefinition.of("invoice", "com.acme.sales.Invoice"),
+                PropertyDefinition.of("quantity", "int"))));
+    }
+
+    /**
+     * Stand-in for the JPA provider's factory: remembers its unit, fails if used after close
+     */
+    private static final class RecordingFactory {
+
+        final PersistenceUnitInfo unit;
+        final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        RecordingFactory(PersistenceUnitInfo unit) {
+            this.unit = unit;
+        }
+
+        EntityManagerFactory proxy() {
+            return (EntityManagerFactory) Proxy.newProxyInstance(
+                HotDeploymentTest.class.getClassLoader(), new Class<?>[] {EntityManagerFactory.class},
+                (self, method, args) -> switch (method.getName()) {
+                    case "createEntityManager" -> {
+                        if (closed.get()) {
+                            throw new IllegalStateException("EntityManagerFactory is closed");
+                        }
+                        yield entityManager();
+                    }
+                    case "close" -> {
+                        closed.set(true);
+                        yield null;
+                    }
+                    case "isOpen" -> !closed.get();
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> "RecordingFactory(" + unit.getPersistenceUnitName() + ")";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        }
+
+        private EntityManager entityManager() {
+            return (EntityManager) Proxy.newProxyInstance(
+                HotDeploymentTest.class.getClassLoader(), new Class<?>[] {EntityManager.class},
+                (self, method, args) -> switch (method.getName()) {
+                    case "isOpen" -> !closed.get();
+                    case "close" -> null;
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.model.OXPrimitiveType;
+import org.metaxava.registry.JdbcCompatibilityMatrix;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeRegistry;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.metaxava.registry.JdbcCompatibilityMatrix.NONE;
+
+/**
+ * JdbcCompatibilityMatrixTest - Validates bitset-compiled JDBC compatibility
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Matrix compiled from the database model agrees with TypeSnapshot
+ * 2. Intersection and widening answer type-change questions
+ * 3. Best-preferred honors preferred type, then declaration order
+ * 4. Column iteration finds every type accepting a JDBC type
+ * 5. Registry compiles once per model version
+ *
+ * @author MetaXava Compatibility Matrix Session 2026-10-19
+ */
+class JdbcCompatibilityMatrixTest extends JpaTestBase {
+
+    /**
+     * TEST 1: Every (type, JDBC type) pair matches the snapshot
+     */
+    @Test
+    void matrixAgreesWithDatabaseModel() {
+        TypeModel model = loadBootstrappedModel();
+        JdbcCompatibilityMatrix matrix = JdbcCompatibilityMatrix.of(model);
+
+        assertEquals(23, matrix.size());
+        for (TypeSnapshot type : model.types().values()) {
+            int id = matrix.typeId(type.name());
+            assertNotEquals(NONE, id, type.name());
+            for (JDBCType jdbcType : JDBCType.values()) {
+                assertEquals(type.isCompatibleWith(jdbcType), matrix.isCompatible(id, jdbcType),
+                             type.name() + " / " + jdbcType);
+            }
+            assertEquals(type.preferredJdbcType().orElse(null), matrix.preferred(id));
+        }
+
+        int intId = matrix.typeId("int");
+        assertTrue(matrix.isCompatible(intId, JDBCType.BIGINT));
+        assertFalse(matrix.isCompatible(intId, JDBCType.VARCHAR));
+        assertEquals(NONE, matrix.typeId("com.acme.Missing"));
+        System.out.println("✓ " + matrix + " agrees with " + model);
+    }
+
+    /**
+     * TEST 2: int → long keeps INTEGER/BIGINT columns, loses SMALLINT
+     */
+    @Test
+    void intersectionAndWidening() {
+        JdbcCompatibilityMatrix matrix = JdbcCompatibilityMatrix.fromDeclarations(primitives());
+        int intId = matrix.typeId("int");
+        int longId = matrix.typeId("long");
+
+        long common = matrix.intersection(intId, longId);
+        assertEquals(JdbcCompatibilityMatrix.maskOf(JDBCType.INTEGER, JDBCType.BIGINT), common);
+        assertTrue(JdbcCompatibilityMatrix.contains(common, JDBCType.BIGINT));
+        assertFalse(JdbcCompatibilityMatrix.contains(common, JDBCType.SMALLINT));
+        assertFalse(matrix.isWidening(intId, longId), "SMALLINT columns can't hold long");
+        assertTrue(matrix.isWidening(longId, intId), "Every long column can hold int");
+        assertTrue(matrix.isWidening(intId, intId));
+        System.out.println("✓ int ∩ long = " + JdbcCompatibilityMatrix.toList(common));
+    }
+
+    /**
+     * TEST 3: Preferred if allowed, otherwise first declared match
+     */
+    @Test
+    void bestPrefersPreferredThenDeclarationOrder() {
+        JdbcCompatibilityMatrix matrix = JdbcCompatibilityMatrix.fromDeclarations(primitives());
+        int intId = matrix.typeId("int");
+        int doubleId = matrix.typeId("double");
+
+        assertEquals(JDBCType.INTEGER, matrix.best(intId, -1L));
+        assertEquals(JDBCType.BIGINT,
+                     matrix.best(intId, JdbcCompatibilityMatrix.maskOf(JDBCType.SMALLINT, JDBCType.BIGINT)),
+                     "BIGINT is declared before SMALLINT");
+        assertEquals(JDBCType.NUMERIC,
+                     matrix.best(doubleId, JdbcCompatibilityMatrix.maskOf(JDBCType.NUMERIC, JDBCType.VARCHAR)));
+        assertNull(matrix.best(intId, JdbcCompatibilityMatrix.maskOf(JDBCType.VARCHAR)));
+        System.out.println("✓ best(int, {SMALLINT, BIGINT}) = BIGINT");
+    }
+
+    /**
+     * TEST 4: Column iteration over more than one 64-type word
+     */
+    @Test
+    void iteratesTypesAcceptingJdbcType() {
+        List<TypeSnapshot> types = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            JDBCType jdbcType = i % 3 == 0 ? JDBCType.VARCHAR : JDBCType.INTEGER;
+            types.add(new TypeSnapshot(String.format("com.acme.T%03d", i), "BASIC_REF",
+                                       Optional.of("com.acme"), Optional.of(String.format("T%03d", i)),
+                                       Optional.of(jdbcType), List.of(jdbcType), Optional.empty()));
+        }
+        JdbcCompatibilityMatrix matrix = JdbcCompatibilityMatrix.of(TypeModel.EMPTY.withTypes(types));
+
+        int found = 0;
+        for (int id = matrix.nextTypeAccepting(JDBCType.VARCHAR, 0); id != NONE;
+             id = matrix.nextTypeAccepting(JDBCType.VARCHAR, id + 1)) {
+            assertTrue(matrix.isCompatible(id, JDBCType.VARCHAR), matrix.typeName(id));
+            found++;
+        }
+        assertEquals(67, found);
+        assertEquals(67, matrix.countTypesAccepting(JDBCType.VARCHAR));
+        assertEquals(133, matrix.countTypesAccepting(JDBCType.INTEGER));
+        assertEquals(0, matrix.countTypesAccepting(JDBCType.CLOB));
+        assertEquals(NONE, matrix.nextTypeAccepting(JDBCType.VARCHAR, 200));
+        System.out.println("✓ 67 of 200 types accept VARCHAR");
+    }
+
+    /**
+     * TEST 5: Cached per version, recompiled after an edit
+     */
+    @Test
+    void registryCachesMatrixPerVersion() {
+        TypeModel model = loadBootstrappedModel();
+        try (TypeRegistry registry = new TypeRegistry()) {
+            registry.update(ignored -> model);
+
+            JdbcCompatibilityMatrix first = registry.compatibility();
+            assertSame(first, registry.compatibility(), "Same version shares the matrix");
+
+            registry.update(m -> m.withoutType("int"));
+            JdbcCompatibilityMatrix second = registry.compatibility();
+            assertNotSame(first, second);
+            assertEquals(registry.version(), second.version());
+            assertEquals(NONE, second.typeId("int"));
+            System.out.println("✓ " + first + " → " + second);
+        }
+    }
+
+    // ===== Helper Methods =====
+
+    private TypeModel loadBootstrappedModel() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+        return TypeModel.load(em);
+    }
+
+    private static List<OXPrimitiveType> primitives() {
+        List<OXPrimitiveType> primitives = new ArrayList<>();
+        for (String name : List.of("byte", "short", "int", "long", "float", "double", "char", "boolean")) {
+            OXPrimitiveType primitive = new OXPrimitiveType();
+            primitive.setName(name);
+            primitives.add(primitive);
+        }
+        return primitives;
+    }
+}
@@ -0,0 +1,139 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.load.LoadOperation;
+import org.metaxava.load.LoadReport;
+import org.metaxava.load.LoadTest;
+import org.metaxava.metrics.LatencyHistogram;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoadReportTest - Validates the load-test histogram, report and regression gate
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. LatencyHistogram.precise() percentiles are within 1/64 of the exact value
+ * 2. A report written to disk reads back identical (usable as a baseline)
+ * 3. Latency, throughput and error-rate regressions beyond the threshold fail the run
+ * 4. Small absolute latency changes and changes within the threshold pass
+ * 5. The mix expands into the per-pass script
+ *
+ * @author MetaXava Load Test Session 2026-10-19
+ */
+class LoadReportTest {
+
+    /**
+     * TEST 1: Log-normal latencies from 50µs to seconds, compared with exact percentiles
+     */
+    @Test
+    void percentilesAreAccurate() {
+        Random random = new Random(42);
+        long[] micros = new long[200_000];
+        LatencyHistogram histogram = LatencyHistogram.precise();
+        for (int i = 0; i < micros.length; i++) {
+            micros[i] = 50 + (long) Math.exp(random.nextGaussian() * 2 + 8);
+            histogram.record(micros[i] * 1_000);
+        }
+        Arrays.sort(micros);
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = micros[(int) Math.ceil(percentile / 100 * micros.length) - 1];
+            long reported = histogram.percentileMicros(percentile);
+            assertTrue(reported >= exact, "p" + percentile + " never under-reports");
+            assertTrue(reported <= exact + exact / LatencyHistogram.PRECISE_SUB_BUCKETS + 1,
+                       "p" + percentile + ": " + reported + " vs exact " + exact);
+        }
+        assertEquals(micros.length, histogram.count());
+        assertEquals(micros[micros.length - 1], histogram.maxNanos() / 1_000);
+
+        StringBuilder precise = new StringBuilder();
+        histogram.writePrometheus(precise, "load", "");
+        StringBuilder coarse = new StringBuilder();
+        new LatencyHistogram().writePrometheus(coarse, "load", "");
+        assertTrue(precise.toString().contains("load_bucket{le=\"0.001024\"} "), "Same power-of-two bounds as the default");
+        assertTrue(precise.toString().contains("load_bucket{le=\"+Inf\"} " + micros.length));
+        assertTrue(coarse.toString().contains("load_bucket{le=\"0.001024\"} 0"));
+        System.out.println("✓ " + histogram);
+    }
+
+    /**
+     * TEST 2: Write, read, compare equal
+     */
+    @Test
+    void reportRoundTrips() throws Exception {
+        LoadReport report = report(12_000, 35_000, 95_000, 400.5, 3);
+        Path file = Files.createTempDirectory("load-report").resolve("reports/load-report.properties");
+        report.write(file);
+
+        assertEquals(report, LoadReport.read(file));
+        String text = report.format();
+        assertTrue(text.indexOf("through the server") < text.indexOf("browse")
+                   && text.indexOf("browse") < text.indexOf("in-process")
+                   && text.indexOf("in-process") < text.indexOf("edit"), "Server and in-process apart: " + text);
+        System.out.print("✓ Round trip\n" + report.format());
+    }
+
+    /**
+     * TEST 3: Slower p99, lower throughput and more errors are each reported
+     */
+    @Test
+    void detectsRegressions() {
+        LoadReport baseline = report(12_000, 35_000, 95_000, 400, 0);
+        LoadReport slower = report(12_500, 60_000, 95_000, 400, 0);
+        LoadReport fewer = report(12_000, 35_000, 95_000, 250, 0);
+        LoadReport failing = report(12_000, 35_000, 95_000, 400, 500);
+
+        assertEquals(List.of("edit p99 35.0 ms -> 60.0 ms (+71%)"), slower.regressionsFrom(baseline, 0.2));
+        assertEquals(List.of("edit throughput 400.0/s -> 250.0/s (-38%)"), fewer.regressionsFrom(baseline, 0.2));
+        assertEquals(List.of("edit errors 0.00% -> 4.17%"), failing.regressionsFrom(baseline, 0.2));
+        System.out.println("✓ " + slower.regressionsFrom(baseline, 0.2));
+    }
+
+    /**
+     * TEST 4: Noise stays under the gate
+     */
+    @Test
+    void toleratesNoise() {
+        LoadReport baseline = report(300, 800, 95_000, 400, 0);
+        LoadReport noisy = report(600, 1_600, 110_000, 350, 10);
+
+        assertEquals(List.of(), noisy.regressionsFrom(baseline, 0.2),
+                     "p50/p99 doubled by < 1 ms, browse +16%, throughput -12.5%, errors < 1%");
+        assertEquals(List.of(), baseline.regressionsFrom(noisy, 0.2), "Improvements never fail a run");
+        System.out.println("✓ Within thresholds");
+    }
+
+    /**
+     * TEST 5: Mix → script
+     */
+    @Test
+    void expandsTheMix() {
+        LoadTest.Settings settings = LoadTest.Settings.of(Map.of("mix", "generate=1, edit=2,browse=1", "sessions", "5"));
+        assertEquals(List.of(LoadOperation.BROWSE, LoadOperation.EDIT_MAPPINGS, LoadOperation.EDIT_MAPPINGS,
+                             LoadOperation.GENERATE), settings.script());
+        assertEquals(5, settings.sessions());
+        assertThrows(IllegalArgumentException.class, () -> LoadTest.Settings.of(Map.of("mix", "delete=1")));
+        System.out.println("✓ " + settings.script());
+    }
+
+    // ===== Helper Methods =====
+
+    /**
+     * Edit operations with the given numbers, plus a constant browse operation
+     */
+    private static LoadReport report(long p50, long p99, long browseP99, double throughput, long errors) {
+        long count = 12_000;
+        return new LoadReport(1000, 10, 30.0, Map.of(
+            LoadOperation.EDIT_MAPPINGS,
+            new LoadReport.Stats(count, errors, p50, p99 - 1, p99, p99 * 2, p99 * 3, throughput),
+            LoadOperation.BROWSE,
+            new LoadReport.Stats(48_000, 0, 20_000, 60_000, browseP99, 120_000, 400_000, 1600)));
+    }
+}
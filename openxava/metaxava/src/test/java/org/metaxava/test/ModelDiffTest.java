@@ -0,0 +1,190 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.codegen.CollectionDefinition;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.FetchHints;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.diff.Change;
+import org.metaxava.diff.DiffBenchmark;
+import org.metaxava.diff.ModelDiff;
+import org.metaxava.diff.ModelTree;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ModelDiffTest - Validates the Merkle-hashed structural diff
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Equal models hash equally regardless of order; the diff is empty
+ * 2. Added, removed, retyped and changed elements are reported once each
+ * 3. Renames are recognized by identical or similar content
+ * 4. Type changes in the TypeModel are diffed like entities
+ * 5. Diffing 200k-element versions visits a few hundred nodes at most
+ *
+ * @author MetaXava Model Diff Session 2026-10-19
+ */
+class ModelDiffTest {
+
+    private static final TypeModel TYPES = GenerationBenchmark.typeModel();
+
+    /**
+     * TEST 1: Content defines the hash, not insertion order
+     */
+    @Test
+    void equalModelsHaveEqualHashes() {
+        List<EntityDefinition> entities = GenerationBenchmark.entities(500);
+        List<EntityDefinition> shuffled = new ArrayList<>(entities);
+        Collections.reverse(shuffled);
+
+        ModelTree before = ModelTree.of(TYPES, entities);
+        ModelTree after = ModelTree.of(TYPES, shuffled);
+        assertEquals(before.hash(), after.hash());
+        assertEquals(500 + 500 * 6 + 499 + TYPES.types().size(), before.size());
+
+        ModelDiff diff = ModelDiff.between(before, after);
+        assertTrue(diff.isEmpty());
+        assertEquals(0, diff.nodesVisited(), "Equal roots: nothing compared");
+        System.out.println("✓ " + before);
+    }
+
+    /**
+     * TEST 2: One entry per change, at the deepest element that changed
+     */
+    @Test
+    void reportsAddedRemovedRetypedAndChanged() {
+        List<EntityDefinition> before = sales();
+        List<EntityDefinition> after = List.of(
+            new EntityDefinition("com.acme.sales", "Customer", List.of(
+                new PropertyDefinition("name", "java.lang.String", true, 200),
+                PropertyDefinition.of("since", "java.util.Date"))),
+            new EntityDefinition("com.acme.sales", "Invoice", List.of(
+                new PropertyDefinition("number", "java.lang.String", true, 20),
+                PropertyDefinition.reference("customer", "com.acme.sales.Customer", FetchHints.list(0)),
+                PropertyDefinition.of("total", "int"))),
+            new EntityDefinition("com.acme.sales", "Payment", List.of(
+                PropertyDefinition.of("amount", "java.math.BigDecimal"))));
+
+        List<Change> changes = ModelDiff.between(ModelTree.of(TYPES, before), ModelTree.of(TYPES, after)).changes();
+        assertEquals(List.of(
+            "CHANGED property com.acme.sales.Customer.name: java.lang.String, required, length 100, fetch DETAIL/0 " +
+            "-> java.lang.String, required, length 200, fetch DETAIL/0",
+            "ADDED property com.acme.sales.Customer.since: - -> java.util.Date, fetch DETAIL/0",
+            "CHANGED property com.acme.sales.Invoice.customer: com.acme.sales.Customer, fetch DETAIL/0 " +
+            "-> com.acme.sales.Customer, fetch LIST/0",
+            "REMOVED collection com.acme.sales.Invoice.lines: com.acme.sales.InvoiceLine, mappedBy invoice, " +
+            "fetch DETAIL/0 -> -",
+            "REMOVED property com.acme.sales.Invoice.paid: boolean, fetch DETAIL/0 -> -",
+            "RETYPED property com.acme.sales.Invoice.total: java.math.BigDecimal -> int",
+            "REMOVED entity com.acme.sales.InvoiceLine: 2 members -> -",
+            "ADDED entity com.acme.sales.Payment: - -> 1 members"),
+            changes.stream().map(Change::toString).toList());
+        System.out.println("✓ " + changes.size() + " changes");
+    }
+
+    /**
+     * TEST 3: Same content under a new name is a rename, not remove + add
+     */
+    @Test
+    void recognizesRenames() {
+        List<EntityDefinition> before = sales();
+        List<EntityDefinition> after = List.of(
+            before.get(0),
+            new EntityDefinition("com.acme.sales", "Invoice", List.of(
+                new PropertyDefinition("code", "java.lang.String", true, 20),
+                PropertyDefinition.of("customer", "com.acme.sales.Customer"),
+                PropertyDefinition.of("total", "java.math.BigDecimal"),
+                PropertyDefinition.of("paid", "boolean")),
+                List.of(CollectionDefinition.of("lines", "com.acme.sales.OrderLine", "invoice"))),
+            new EntityDefinition("com.acme.sales", "OrderLine", List.of(
+                PropertyDefinition.of("invoice", "com.acme.sales.Invoice"),
+                PropertyDefinition.of("quantity", "int"),
+                PropertyDefinition.of("discount", "java.math.BigDecimal"))));
+
+        ModelDiff diff = ModelDiff.between(ModelTree.of(TYPES, before), ModelTree.of(TYPES, after));
+        assertEquals(List.of(
+            "RENAMED property com.acme.sales.Invoice.code: com.acme.sales.Invoice.number -> com.acme.sales.Invoice.code",
+            "RETYPED collection com.acme.sales.Invoice.lines: com.acme.sales.InvoiceLine -> com.acme.sales.OrderLine",
+            "RENAMED entity com.acme.sales.OrderLine: com.acme.sales.InvoiceLine -> com.acme.sales.OrderLine",
+            "ADDED property com.acme.sales.OrderLine.discount: - -> java.math.BigDecimal, fetch DETAIL/0"),
+            diff.changes().stream().map(Change::toString).toList());
+        assertEquals(2, diff.count(Change.Kind.RENAMED));
+        System.out.println("✓ " + diff.changes());
+    }
+
+    /**
+     * TEST 4: ox_type snapshots: new JDBC mapping, new type, dropped type
+     */
+    @Test
+    void diffsTypeModels() {
+        TypeModel after = TYPES.withoutType("java.util.Date")
+                               .withType(basic("java.time", "LocalDate", JDBCType.DATE))
+                               .withType(basic("java.math", "BigDecimal", JDBCType.DECIMAL));
+
+        List<Change> changes = ModelDiff.between(ModelTree.of(TYPES, List.of()), ModelTree.of(after, List.of()))
+                                        .changes();
+        assertEquals(List.of(
+            "RETYPED type java.math.BigDecimal: NUMERIC -> DECIMAL",
+            "ADDED type java.time.LocalDate: - -> BASIC, DATE, compatible [DATE]",
+            "REMOVED type java.util.Date: DATE, TIMESTAMP, compatible [TIMESTAMP] -> -"),
+            changes.stream().map(Change::toString).toList());
+        System.out.println("✓ " + changes);
+    }
+
+    /**
+     * TEST 5: Cost follows the change, not the model (timings: DiffBenchmark)
+     */
+    @Test
+    void diffsLargeModelsQuickly() {
+        List<EntityDefinition> before = GenerationBenchmark.entities(25_000);
+        List<EntityDefinition> after = DiffBenchmark.edited(before);
+
+        long start = System.nanoTime();
+        ModelTree oldTree = ModelTree.of(TYPES, before);
+        ModelTree newTree = ModelTree.of(TYPES, after);
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        ModelDiff diff = ModelDiff.between(oldTree, newTree);
+        long diffMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(oldTree.size() > 200_000, oldTree.toString());
+        assertEquals(10, diff.count(Change.Kind.RETYPED));
+        assertEquals(1, diff.count(Change.Kind.ADDED));
+        assertEquals(1, diff.count(Change.Kind.REMOVED));
+        assertEquals(12, diff.changes().size());
+        assertTrue(diff.nodesVisited() < 200, diff.nodesVisited() + " nodes visited");
+        System.out.println("✓ " + oldTree.size() + " elements: hashed twice in " + buildMillis + " ms, diffed in " +
+                           diffMillis + " ms (" + diff.nodesVisited() + " nodes visited)");
+    }
+
+    // ===== Helper Methods =====
+
+    private static List<EntityDefinition> sales() {
+        return List.of(
+            new EntityDefinition("com.acme.sales", "Customer", List.of(
+                new PropertyDefinition("name", "java.lang.String", true, 100))),
+            new EntityDefinition("com.acme.sales", "Invoice", List.of(
+                new PropertyDefinition("number", "java.lang.String", true, 20),
+                PropertyDefinition.of("customer", "com.acme.sales.Customer"),
+                PropertyDefinition.of("total", "java.math.BigDecimal"),
+                PropertyDefinition.of("paid", "boolean")),
+                List.of(CollectionDefinition.of("lines", "com.acme.sales.InvoiceLine", "invoice"))),
+            new EntityDefinition("com.acme.sales", "InvoiceLine", List.of(
+                PropertyDefinition.of("invoice", "com.acme.sales.Invoice"),
+                PropertyDefinition.of("quantity", "int"))));
+    }
+
+    private static TypeSnapshot basic(String packageName, String simpleName, JDBCType jdbcType) {
+        return new TypeSnapshot(packageName + "." + simpleName, "BASIC", Optional.of(packageName),
+                                Optional.of(simpleName), Optional.of(jdbcType), List.of(jdbcType), Optional.empty());
+    }
+}
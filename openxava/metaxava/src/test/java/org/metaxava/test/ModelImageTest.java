@@ -0,0 +1,149 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.image.ModelImage;
+import org.metaxava.image.ModelImageWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.sql.JDBCType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ModelImageTest - Validates the memory-mapped model image round trip
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Image contains every bootstrapped type, JDBC type and mapping
+ * 2. Lookups by name and JDBCType work without JPA
+ * 3. Primitive ↔ wrapper counterparts survive the encoding
+ * 4. Truncated or corrupt images (sections, strings, stored indexes) are rejected when opened
+ *
+ * @author MetaXava Model Image Session 2026-10-19
+ */
+class ModelImageTest extends JpaTestBase {
+
+    @TempDir
+    Path tempDir;
+
+    private ModelImage publish() throws Exception {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+
+        Path file = tempDir.resolve("model.mxim");
+        int size = ModelImageWriter.write(em, file);
+        assertTrue(size > 0, "Image should not be empty");
+        return ModelImage.open(file);
+    }
+
+    /**
+     * TEST 1: Counts match the bootstrapped model
+     */
+    @Test
+    void imageContainsWholeModel() throws Exception {
+        ModelImage image = publish();
+
+        assertEquals(16, image.jdbcCount(), "Should have 16 JDBC types");
+        assertEquals(23, image.typeCount(), "Should have 8 primitives + 8 wrappers + 7 other types");
+        assertEquals(60, image.mappingCount(), "Should have 60 total mappings");
+
+        System.out.println("✓ " + image);
+    }
+
+    /**
+     * TEST 2: Navigate int → INTEGER/BIGINT/SMALLINT from the image alone
+     */
+    @Test
+    void primitiveNavigation() throws Exception {
+        ModelImage image = publish();
+
+        int intType = image.indexOfType("int");
+        assertNotEquals(ModelImage.NONE, intType, "int should be in image");
+        assertEquals("PRIMITIVE", image.typeKind(intType));
+        assertEquals(JDBCType.INTEGER, image.jdbcType(image.preferredJdbc(intType)));
+        assertEquals(3, image.compatibleJdbcCount(intType));
+        assertTrue(image.isCompatible(intType, JDBCType.BIGINT), "int compatible with BIGINT");
+        assertFalse(image.isCompatible(intType, JDBCType.VARCHAR), "int not compatible with VARCHAR");
+
+        int wrapper = image.counterpart(intType);
+        assertEquals("java.lang.Integer", image.typeName(wrapper));
+        assertEquals(intType, image.counterpart(wrapper), "Counterpart should be bidirectional");
+
+        System.out.println("✓ int ↔ Integer navigable from image");
+    }
+
+    /**
+     * TEST 3: Reference types and JDBC metadata carry their strings and flags
+     */
+    @Test
+    void referenceTypesAndJdbcMetadata() throws Exception {
+        ModelImage image = publish();
+
+        int string = image.indexOfType("java.lang.String");
+        assertEquals("STRING", image.typeKind(string));
+        assertEquals("java.lang", image.typePackageName(string));
+        assertEquals("String", image.typeSimpleName(string));
+        assertEquals(ModelImage.NONE, image.counterpart(string), "String has no primitive");
+
+        int varchar = image.indexOfJdbcType(JDBCType.VARCHAR);
+        assertEquals("STRING", image.jdbcCategory(varchar));
+        assertEquals(4000, image.jdbcTypicalMaxLength(varchar));
+        assertTrue(image.jdbcHasFlag(varchar, ModelImage.FLAG_SUPPORTS_LENGTH));
+
+        int integer = image.indexOfJdbcType(JDBCType.INTEGER);
+        assertEquals(ModelImage.NONE, image.jdbcTypicalMaxLength(integer));
+
+        assertEquals(ModelImage.NONE, image.indexOfType("com.acme.Missing"));
+        assertEquals(ModelImage.NONE, image.indexOfJdbcType(JDBCType.ARRAY));
+
+        System.out.println("✓ String and VARCHAR metadata read from image");
+    }
+
+    /**
+     * TEST 4: A truncated file, an out-of-range string entry or an out-of-range stored index
+     * (string reference, JDBC ordinal, mapping) fails at open, not on a later read
+     */
+    @Test
+    void corruptImagesAreRejected() throws Exception {
+        publish();
+        byte[] bytes = Files.readAllBytes(tempDir.resolve("model.mxim"));
+
+        for (int length : new int[] {0, 20, bytes.length / 2, bytes.length - 1}) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, length));
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> ModelImage.wrap(truncated),
+                                                   "Image truncated to " + length + " bytes");
+            assertTrue(e.getMessage().startsWith("Not a MetaXava model image"), e.getMessage());
+        }
+
+        ByteBuffer corrupt = ByteBuffer.wrap(bytes.clone());
+        int firstStringLength = corrupt.getInt(12) + Integer.BYTES;
+        corrupt.putInt(firstStringLength, bytes.length);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ModelImage.wrap(corrupt));
+        assertTrue(e.getMessage().contains("string 0"), e.getMessage());
+        System.out.println("✓ " + e.getMessage());
+
+        int jdbcOffset = ByteBuffer.wrap(bytes).getInt(24);
+        int typeOffset = ByteBuffer.wrap(bytes).getInt(32);
+        int mappingOffset = ByteBuffer.wrap(bytes).getInt(40);
+        assertRejected(bytes, typeOffset + Integer.BYTES, Integer.MAX_VALUE, "type 0 name");
+        assertRejected(bytes, jdbcOffset, 10_000, "JDBC record 0 type ordinal");
+        assertRejected(bytes, jdbcOffset + Integer.BYTES, -2, "JDBC record 0 string field 1");
+        assertRejected(bytes, mappingOffset, ByteBuffer.wrap(bytes).getInt(20), "mapping 0");
+    }
+
+    // ===== Helper Methods =====
+
+    private static void assertRejected(byte[] bytes, int position, int value, String field) {
+        ByteBuffer corrupt = ByteBuffer.wrap(bytes.clone());
+        corrupt.putInt(position, value);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ModelImage.wrap(corrupt));
+        assertTrue(e.getMessage().contains(field), e.getMessage());
+        System.out.println("✓ " + e.getMessage());
+    }
+}
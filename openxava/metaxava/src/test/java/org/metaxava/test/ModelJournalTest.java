@@ -0,0 +1,230 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.DialectBootstrap;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.dialect.CompiledDialect;
+import org.metaxava.dialect.DialectCatalog;
+import org.metaxava.edit.OptimisticEditor;
+import org.metaxava.journal.ModelJournal;
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXPrimitiveType;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ModelJournalTest - Validates the append-only model journal
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Every transaction appends gap-free entries with its edits, plain JPA ones too; rollback appends nothing
+ * 2. Several changes to one row in a transaction collapse into one entry
+ * 3. Consumers tail from an offset, page by page
+ * 4. OptimisticEditor edits are journaled
+ * 5. Compaction snapshots the model, dialects included, and redirects stale consumers to the snapshot
+ *
+ * @author MetaXava Model Journal Session 2026-10-19
+ */
+class ModelJournalTest extends JpaTestBase {
+
+    /**
+     * TEST 1: One entry per edit, committed with it - or not at all
+     *
+     * The second transaction is plain JPA, as an OpenXava module commits it.
+     */
+    @Test
+    void journaledEditsAppendInOrder() {
+        bootstrap();
+        long offset = head();
+
+        ModelJournal.begin(em);
+        metadata(JDBCType.VARCHAR).setDescription("Variable-length text");
+        metadata(JDBCType.CLOB).setDescription("Large text");
+        assertEquals(2, ModelJournal.commit(em));
+
+        beginTransaction();
+        metadata(JDBCType.CHAR).setDescription("Edited in a module");
+        commit();
+
+        beginTransaction();
+        metadata(JDBCType.DATE).setDescription("Never committed");
+        em.flush();
+        rollback();
+        em.clear();
+
+        ModelJournal.Tail tail = ModelJournal.tail(em, offset, 10);
+        assertFalse(tail.compacted());
+        assertEquals(List.of("UPDATE JDBCTypeMetadata VARCHAR", "UPDATE JDBCTypeMetadata CLOB",
+                             "UPDATE JDBCTypeMetadata CHAR"), describe(tail));
+        assertEquals(offset + 1, tail.entries().get(0).sequence());
+        assertEquals(offset + 3, tail.offset());
+
+        beginTransaction();
+        metadata(JDBCType.DATE).setDescription("Committed after a rollback");
+        commit();
+        assertEquals(List.of("UPDATE JDBCTypeMetadata DATE"), describe(ModelJournal.tail(em, offset + 3, 10)),
+                     "A rolled-back batch leaves nothing behind for the session's next transaction");
+        System.out.println("✓ " + describe(tail) + " at " + (offset + 1) + ".." + tail.offset());
+    }
+
+    /**
+     * TEST 2: CREATE + UPDATE is a CREATE, UPDATE + UPDATE an UPDATE, CREATE + DELETE nothing
+     */
+    @Test
+    void changesToOneRowCollapse() {
+        bootstrap();
+        long offset = head();
+
+        ModelJournal.begin(em);
+        OXPrimitiveType created = OXPrimitiveType.builder().name("jnlNew").build();
+        em.persist(created);
+        em.flush();
+        created.setName("jnlRen");
+
+        OXPrimitiveType transientType = OXPrimitiveType.builder().name("jnlTmp").build();
+        em.persist(transientType);
+        em.flush();
+        em.remove(transientType);
+
+        JDBCTypeMetadata integer = metadata(JDBCType.INTEGER);
+        integer.setDescription("First");
+        em.flush();
+        integer.setDescription("Second");
+        assertEquals(2, ModelJournal.commit(em));
+
+        assertEquals(List.of("CREATE OXPrimitiveType jnlRen", "UPDATE JDBCTypeMetadata INTEGER"),
+                     describe(ModelJournal.tail(em, offset, 10)));
+        System.out.println("✓ 5 flushed changes journaled as 2 entries");
+    }
+
+    /**
+     * TEST 3: A consumer reads from its offset and never sees an entry twice
+     */
+    @Test
+    void tailsFromOffset() {
+        bootstrap();
+        long offset = head();
+        JDBCType[] edited = {JDBCType.CHAR, JDBCType.DATE, JDBCType.TIME, JDBCType.BIGINT, JDBCType.DOUBLE};
+        for (JDBCType jdbcType : edited) {
+            ModelJournal.inTransaction(emf, editing -> {
+                editing.createQuery("SELECT t FROM JDBCTypeMetadata t WHERE t.jdbcType = :type", JDBCTypeMetadata.class)
+                    .setParameter("type", jdbcType)
+                    .getSingleResult()
+                    .setDescription("Tailed " + jdbcType);
+                return null;
+            });
+        }
+
+        List<String> seen = new ArrayList<>();
+        long position = offset;
+        ModelJournal.Tail page;
+        do {
+            page = ModelJournal.tail(em, position, 2);
+            seen.addAll(describe(page));
+            position = page.offset();
+        } while (!page.entries().isEmpty());
+
+        assertEquals(5, seen.size());
+        assertEquals("UPDATE JDBCTypeMetadata CHAR", seen.get(0));
+        assertEquals("UPDATE JDBCTypeMetadata DOUBLE", seen.get(4));
+        assertEquals(offset + 5, position);
+
+        List<String> replayed = new ArrayList<>();
+        assertEquals(position, ModelJournal.replay(em, offset + 3, entry -> replayed.add(entry.entityKey())));
+        assertEquals(List.of("BIGINT", "DOUBLE"), replayed);
+        System.out.println("✓ Tailed " + seen.size() + " entries in pages of 2");
+    }
+
+    /**
+     * TEST 4: The editor's retry loop commits through the journal
+     */
+    @Test
+    void optimisticEditorIsJournaled() {
+        bootstrap();
+        long offset = head();
+        Long id = metadata(JDBCType.NUMERIC).getId();
+        em.clear();
+
+        OptimisticEditor.edit(emf, JDBCTypeMetadata.class, id, metadata -> metadata.setDescription("Exact numbers"));
+
+        ModelJournal.Tail tail = ModelJournal.tail(em, offset, 10);
+        assertEquals(List.of("UPDATE JDBCTypeMetadata NUMERIC"), describe(tail));
+        assertEquals(id.longValue(), tail.entries().get(0).entityId());
+        assertEquals(em.find(JDBCTypeMetadata.class, id).getVersion().longValue(), tail.entries().get(0).entityVersion());
+        System.out.println("✓ " + tail.entries().get(0));
+    }
+
+    /**
+     * TEST 5: Snapshot + short tail replaces the entries before it
+     */
+    @Test
+    void compactionSnapshotsTheModel() {
+        bootstrap();
+        long offset = head();
+        for (String description : List.of("One", "Two", "Three")) {
+            ModelJournal.inTransaction(emf, editing -> {
+                editing.createQuery("SELECT t FROM JDBCTypeMetadata t WHERE t.jdbcType = :type", JDBCTypeMetadata.class)
+                    .setParameter("type", JDBCType.SMALLINT)
+                    .getSingleResult()
+                    .setDescription(description);
+                return null;
+            });
+        }
+
+        beginTransaction();
+        ModelJournal.Snapshot snapshot = ModelJournal.compact(em, 1);
+        commit();
+
+        assertEquals(offset + 3, snapshot.sequence());
+        assertEquals("Three", snapshot.image().jdbcDescription(snapshot.image().indexOfJdbcType(JDBCType.SMALLINT)));
+        assertEquals(snapshot.sequence(), ModelJournal.latestSnapshot(em).orElseThrow().sequence());
+        CompiledDialect oracle = DialectCatalog.compile(ModelJournal.latestSnapshot(em).orElseThrow().dialects())
+            .require("Oracle");
+        assertEquals(DialectCatalog.builtIn().require("Oracle").columnType(JDBCType.VARCHAR, 8000, 0, 0),
+                     oracle.columnType(JDBCType.VARCHAR, 8000, 0, 0), "Dialects survive the snapshot");
+
+        ModelJournal.Tail stale = ModelJournal.tail(em, offset, 10);
+        assertTrue(stale.compacted(), "Entries before the retained tail are gone");
+        assertTrue(stale.entries().isEmpty());
+        assertThrows(IllegalStateException.class, () -> ModelJournal.replay(em, offset, entry -> { }));
+
+        ModelJournal.Tail retained = ModelJournal.tail(em, offset + 2, 10);
+        assertFalse(retained.compacted());
+        assertEquals(1, retained.entries().size());
+        assertTrue(ModelJournal.tail(em, snapshot.sequence(), 10).entries().isEmpty());
+        System.out.println("✓ Snapshot at " + snapshot.sequence() + ": " + snapshot.image());
+    }
+
+    // ===== Helper Methods =====
+
+    private void bootstrap() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        DialectBootstrap.bootstrap(em);
+        em.clear();
+    }
+
+    /**
+     * Current end of the journal (tests share the database)
+     */
+    private long head() {
+        return ModelJournal.replay(em, ModelJournal.latestSnapshot(em).map(ModelJournal.Snapshot::sequence).orElse(0L),
+                                   entry -> { });
+    }
+
+    private JDBCTypeMetadata metadata(JDBCType jdbcType) {
+        return em.createQuery("SELECT t FROM JDBCTypeMetadata t WHERE t.jdbcType = :type", JDBCTypeMetadata.class)
+            .setParameter("type", jdbcType)
+            .getSingleResult();
+    }
+
+    private static List<String> describe(ModelJournal.Tail tail) {
+        return tail.entries().stream()
+            .map(entry -> entry.kind() + " " + entry.entityType() + " " + entry.entityKey())
+            .toList();
+    }
+}
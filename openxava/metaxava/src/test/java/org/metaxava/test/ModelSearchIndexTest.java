@@ -0,0 +1,179 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.search.ModelSearchIndex;
+import org.metaxava.search.SearchBenchmark;
+import org.metaxava.search.SearchDocument;
+import org.metaxava.search.SearchDocument.Field;
+import org.metaxava.search.SearchDocument.Kind;
+import org.metaxava.search.SearchHit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.JDBCType;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ModelSearchIndexTest - Validates the in-memory model search index
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Exact, prefix and fuzzy clauses; clauses are ANDed; identifiers outrank prose
+ * 2. Committed inserts, updates and deletes reach the index; rolled-back ones don't
+ * 3. Parallel rebuild loads every OXType and JDBCTypeMetadata row
+ * 4. Large models: parallel indexing and millisecond queries (SearchBenchmark; 1M in its Javadoc)
+ *
+ * @author MetaXava Search Session 2026-10-19
+ */
+class ModelSearchIndexTest extends JpaTestBase {
+
+    /**
+     * TEST 1: Query syntax and ranking
+     */
+    @Test
+    void exactPrefixAndFuzzyClauses() {
+        ModelSearchIndex index = new ModelSearchIndex();
+        index.index(type(1, "java.lang.Integer", "WRAPPER", "java.lang", "Integer"));
+        index.index(type(2, "java.sql.Timestamp", "SQL_TIMESTAMP", "java.sql", "Timestamp"));
+        index.index(type(3, "com.acme.BigDecimalRange", "CLASS", "com.acme", "BigDecimalRange"));
+        index.index(new SearchDocument("JDBCTypeMetadata#1", Kind.JDBC_TYPE, "TIMESTAMP", List.of(
+            new Field("jdbcType", "TIMESTAMP", true),
+            new Field("description", "Date and time with fractional seconds", false))));
+
+        assertEquals(List.of("java.lang.Integer"), labels(index.search("integer", 10)));
+        assertEquals(List.of("java.lang.Integer"), labels(index.search("Java.Lang.Int*", 10)), "Whole-name prefix");
+        assertEquals(List.of("com.acme.BigDecimalRange"), labels(index.search("decimal", 10)), "camelCase part");
+        assertEquals(List.of("TIMESTAMP", "java.sql.Timestamp"), labels(index.search("timestmp~", 10)),
+                     "Equal scores, ordered by label");
+        assertEquals(List.of("TIMESTAMP"), labels(index.search("timestamp fractional", 10)), "Clauses are ANDed");
+        assertEquals(List.of(), index.search("imestamp~1", 10), "Fuzzy keeps the first character");
+        assertEquals(List.of("java.sql.Timestamp", "java.lang.Integer"), labels(index.prefix("java.", 10)),
+                     "Shorter completion (java.sql) first");
+        assertEquals(1, index.search("java*", 1).size(), "limit");
+
+        index.remove("OXType#1");
+        assertEquals(List.of(), index.search("integer", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("   ", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("time~x", 10));
+        System.out.println("✓ " + index.size() + " documents, " + index.termCount() + " terms: " +
+                           index.search("time*", 10));
+    }
+
+    /**
+     * TEST 2: Committed persist, update and remove reach the shared index through SearchIndexListener
+     */
+    @Test
+    void listenerFollowsLifecycleEvents() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        ModelSearchIndex shared = ModelSearchIndex.shared();
+        assertTrue(labels(shared.search("java.math.bigdec*", 10)).contains("java.math.BigDecimal"));
+
+        beginTransaction();
+        JDBCTypeMetadata rowId = new JDBCTypeMetadata();
+        rowId.setJdbcType(JDBCType.ROWID);
+        rowId.setCategory("OTHER");
+        rowId.setDescription("Row locator");
+        em.persist(rowId);
+        commit();
+        String key = SearchDocument.key(rowId);
+        assertEquals(List.of(key), keys(shared.search("locator", 10)));
+
+        beginTransaction();
+        rowId.setDescription("Phantom row pointer");
+        em.flush();
+        assertEquals(List.of(), shared.search("phantom", 10), "Flushed, not committed");
+        rollback();
+        em.clear();
+        rowId = em.find(JDBCTypeMetadata.class, rowId.getId());
+        assertEquals(List.of(), shared.search("phantom", 10), "Rolled back edit never indexed");
+        assertEquals(List.of(key), keys(shared.search("locator", 10)));
+
+        beginTransaction();
+        rowId.setDescription("Physical row address");
+        commit();
+        assertEquals(List.of(), shared.search("locator", 10), "Old text unindexed");
+        assertEquals(List.of(key), keys(shared.search("physical address", 10)));
+
+        beginTransaction();
+        em.remove(rowId);
+        commit();
+        assertEquals(List.of(), shared.search("physical", 10));
+        System.out.println("✓ Persist, update and remove mirrored in the shared index");
+    }
+
+    /**
+     * TEST 3: Rebuild from the database with several loader threads
+     */
+    @Test
+    void parallelRebuildLoadsAllRows() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        long rows = em.createQuery("SELECT COUNT(t) FROM OXType t", Long.class).getSingleResult()
+                    + em.createQuery("SELECT COUNT(t) FROM JDBCTypeMetadata t", Long.class).getSingleResult();
+
+        ModelSearchIndex index = new ModelSearchIndex();
+        index.index(type(-1, "com.acme.Stale", "CLASS", "com.acme", "Stale"));
+        // One connection per loader thread (the shared test factory has pool_size=1)
+        EntityManagerFactory pooled = Persistence.createEntityManagerFactory("metaxava-test", Map.of(
+            "hibernate.connection.pool_size", "5",
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.show_sql", "false"));
+        int documents;
+        try {
+            documents = index.rebuild(pooled::createEntityManager, 4);
+        } finally {
+            pooled.close();
+        }
+
+        assertEquals(rows, documents);
+        assertEquals(rows, index.size());
+        assertEquals(1, index.rebuilds());
+        assertEquals(List.of(), index.search("stale", 10), "Rebuild replaces the previous contents");
+        assertEquals("VARCHAR", labels(index.search("varchar", 10).stream()
+            .filter(hit -> hit.document().kind() == Kind.JDBC_TYPE).toList()).get(0),
+                     "The type itself outranks descriptions mentioning it");
+        assertFalse(index.search("int", 10).isEmpty());
+        System.out.println("✓ Rebuilt " + documents + " documents");
+    }
+
+    /**
+     * TEST 4: Large model scale
+     */
+    @Test
+    void largeModelAnswersInMilliseconds() {
+        int size = 200_000;
+        SearchBenchmark.Result result = SearchBenchmark.run(size, 20);  // checks every query's hits
+
+        assertEquals(size, result.documents());
+        assertEquals(4, result.latencies().size());
+        System.out.printf("✓ %,d documents indexed in %,d ms, %,d MB heap%n",
+                          size, result.indexMillis(), result.heapBytes() >> 20);
+        result.latencies().forEach(latency -> System.out.printf("  %s: %d hits, median %.2f ms%n",
+            latency.query(), latency.hits(), latency.medianMillis()));
+    }
+
+    // ===== Helper Methods =====
+
+    private static SearchDocument type(long id, String name, String kind, String packageName, String simpleName) {
+        return new SearchDocument("OXType#" + id, Kind.TYPE, name, List.of(
+            new Field("name", name, true),
+            new Field("kind", kind, true),
+            new Field("packageName", packageName, true),
+            new Field("simpleName", simpleName, true)));
+    }
+
+    private static List<String> labels(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::label).toList();
+    }
+
+    private static List<String> keys(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::key).toList();
+    }
+}
@@ -0,0 +1,162 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.model.OXType;
+import org.metaxava.registry.TypeSnapshot;
+import org.metaxava.validation.IdentifierScanner;
+import org.metaxava.validation.ModelValidator;
+import org.metaxava.validation.ValidationReport;
+import org.metaxava.validation.Violation.Rule;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ModelValidatorTest - Validates bulk, parallel model validation
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Bootstrapped type system is valid
+ * 2. Every broken rule is reported in a single pass
+ * 3. Identifier scanners agree with OXReferenceType's @Pattern regexes
+ * 4. 100k-type model validates in one parallel pass
+ *
+ * @author MetaXava Validation Session 2026-10-19
+ */
+class ModelValidatorTest extends JpaTestBase {
+
+    private static final Pattern PACKAGE_REGEX = Pattern.compile("^[a-z][a-z0-9_]*(\\.[a-z][a-z0-9_]*)*$");
+    private static final Pattern SIMPLE_REGEX = Pattern.compile("^[A-Z][a-zA-Z0-9_]*$");
+
+    /**
+     * TEST 1: The bootstrap produces a valid model
+     */
+    @Test
+    void bootstrappedModelIsValid() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+
+        List<OXType> types = em.createQuery("SELECT t FROM OXType t", OXType.class).getResultList();
+        ValidationReport report = ModelValidator.validateEntities(types);
+
+        assertEquals(23, report.typesChecked());
+        assertTrue(report.isValid(), "Unexpected violations: " + report.violations());
+        System.out.println("✓ " + report);
+    }
+
+    /**
+     * TEST 2: All violations surface at once
+     */
+    @Test
+    void reportsEveryViolationInOnePass() {
+        List<TypeSnapshot> types = List.of(
+            primitive("int", Optional.of("java.lang.Integer")),
+            wrapper("java.lang.Integer", "int"),
+            primitive("integer", Optional.empty()),                               // not a primitive, no wrapper
+            primitive("long", Optional.of("java.lang.Long")),                     // counterpart missing
+            reference("com.Acme.Bad", "com.Acme", "Bad"),                         // package uppercase
+            reference("com.acme.bad", "com.acme", "bad"),                         // class lowercase
+            reference("com.acme.Alias", "com.acme", "Customer"),                  // name ≠ qualified
+            reference("com.acme.Customer", "com.acme", "Customer"),               // duplicate of Alias
+            reference("com.acme.int.Thing", "com.acme.int", "Thing"),             // keyword segment
+            new TypeSnapshot("com.acme.Money", "BIG_DECIMAL", Optional.of("com.acme"), Optional.of("Money"),
+                             Optional.of(JDBCType.VARCHAR), List.of(JDBCType.NUMERIC), Optional.empty()),
+            new TypeSnapshot("com.acme.Text", "STRING", Optional.of("com.acme"), Optional.of("Text"),
+                             Optional.empty(), List.of(), Optional.empty()));
+
+        ValidationReport report = ModelValidator.validate(types);
+        Map<Rule, Integer> counts = report.countsByRule();
+
+        assertEquals(2, counts.get(Rule.INVALID_PACKAGE_NAME), "com.Acme and com.acme.int");
+        assertEquals(1, counts.get(Rule.INVALID_SIMPLE_NAME));
+        assertEquals(1, counts.get(Rule.INVALID_PRIMITIVE_NAME));
+        assertEquals(1, counts.get(Rule.PRIMITIVE_NULLABILITY));
+        assertEquals(1, counts.get(Rule.COUNTERPART_MISMATCH));
+        assertEquals(1, counts.get(Rule.NAME_MISMATCH));
+        assertEquals(2, counts.get(Rule.DUPLICATE_QUALIFIED_NAME), "Both declarations are reported");
+        assertEquals(1, counts.get(Rule.PREFERRED_NOT_COMPATIBLE));
+        assertEquals(2, counts.get(Rule.MISSING_JDBC_MAPPING), "Text has neither compatible nor preferred");
+        assertTrue(report.violationsOf("int").isEmpty());
+        assertTrue(report.violationsOf("java.lang.Integer").isEmpty());
+
+        assertThrows(IllegalArgumentException.class, report::throwIfInvalid);
+        report.violations().forEach(v -> System.out.println("  " + v));
+        System.out.println("✓ " + report);
+    }
+
+    /**
+     * TEST 3: Scanners match the persist-time regexes (keywords aside)
+     */
+    @Test
+    void scannersMatchBeanValidationPatterns() {
+        List<String> packages = List.of("java.lang", "com.acme_2.domain", "a", "a.b.c", "", ".", "a.",
+                                        ".a", "a..b", "A.b", "a.B", "1a", "a.1b", "a-b", "com.acme.é");
+        for (String candidate : packages) {
+            assertEquals(PACKAGE_REGEX.matcher(candidate).matches(), IdentifierScanner.isPackageName(candidate),
+                         "Package: '" + candidate + "'");
+        }
+        assertFalse(IdentifierScanner.isPackageName("com.acme.class"), "Keyword segment");
+
+        List<String> classes = List.of("String", "LocalDate", "A", "A_1", "", "string", "1A", "_A",
+                                       "A-B", "A.B", "Ä");
+        for (String candidate : classes) {
+            assertEquals(SIMPLE_REGEX.matcher(candidate).matches(), IdentifierScanner.isSimpleName(candidate),
+                         "Class: '" + candidate + "'");
+        }
+        System.out.println("✓ Scanners agree with @Pattern on " + (packages.size() + classes.size()) + " samples");
+    }
+
+    /**
+     * TEST 4: Bulk import scale
+     */
+    @Test
+    void validatesLargeModelInParallel() {
+        int size = 100_000;
+        List<TypeSnapshot> types = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String packageName = "com.acme.module" + (i % 500);
+            types.add(reference(packageName + ".Type" + i, packageName, "Type" + i));
+        }
+        // Plant 3 bad names and 1 duplicate pair
+        types.set(10, reference("com.acme.Bad.Type10", "com.acme.Bad", "Type10"));
+        types.set(20, reference("com.acme.module20.type20", "com.acme.module20", "type20"));
+        types.set(30, reference("com.acme.module30.Type30", "com.acme.module30", "Type30$"));
+        types.set(40, reference("com.acme.module41.Type41", "com.acme.module41", "Type41"));
+
+        ValidationReport report = ModelValidator.validate(types);
+
+        assertEquals(size, report.typesChecked());
+        Map<Rule, Integer> counts = report.countsByRule();
+        assertEquals(1, counts.get(Rule.INVALID_PACKAGE_NAME));
+        assertEquals(2, counts.get(Rule.INVALID_SIMPLE_NAME));
+        assertEquals(2, counts.get(Rule.DUPLICATE_QUALIFIED_NAME));
+        System.out.println("✓ " + report + " on " + Runtime.getRuntime().availableProcessors() + " cores");
+    }
+
+    // ===== Helper Methods =====
+
+    private static TypeSnapshot primitive(String name, Optional<String> wrapper) {
+        return new TypeSnapshot(name, "PRIMITIVE", Optional.empty(), Optional.empty(),
+                                Optional.of(JDBCType.INTEGER), List.of(JDBCType.INTEGER), wrapper);
+    }
+
+    private static TypeSnapshot wrapper(String name, String primitive) {
+        int dot = name.lastIndexOf('.');
+        return new TypeSnapshot(name, "WRAPPER", Optional.of(name.substring(0, dot)),
+                                Optional.of(name.substring(dot + 1)),
+                                Optional.of(JDBCType.INTEGER), List.of(JDBCType.INTEGER), Optional.of(primitive));
+    }
+
+    private static TypeSnapshot reference(String name, String packageName, String simpleName) {
+        return new TypeSnapshot(name, "CLASS", Optional.of(packageName), Optional.of(simpleName),
+                                Optional.empty(), List.of(), Optional.empty());
+    }
+}
@@ -0,0 +1,209 @@
+package org.metaxava.test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.model.OXPrimitiveType;
+import org.metaxava.profile.HibernateCounters;
+import org.metaxava.profile.Operation;
+import org.metaxava.profile.OperationEvent;
+import org.metaxava.profile.OperationProfiler;
+import org.metaxava.profile.OperationSummary;
+import org.metaxava.profile.ProfilingFilter;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OperationProfilerTest - Validates per-operation Hibernate attribution and JFR events
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Bootstrap emits a JFR event; its inserts and flush are attributed
+ * 2. Lazy compatibleJdbcTypes loads show up as collection loads, not queries
+ * 3. Nested operations roll JDBC work up and restore the parent
+ * 4. Another thread's Hibernate work is not counted in a running operation
+ * 5. Request operation names from path and Referer are validated and capped
+ *
+ * @author MetaXava Profiling Session 2026-10-19
+ */
+class OperationProfilerTest extends JpaTestBase {
+
+    /**
+     * TEST 1: Bootstrap is recorded as a JFR event with its persistence work
+     */
+    @Test
+    void bootstrapEmitsJfrEvent() throws Exception {
+        Path file = Files.createTempFile("metaxava-profile", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(OperationEvent.class);
+            recording.start();
+
+            long journalHead = em.createQuery("SELECT COUNT(h) FROM ModelJournalHead h", Long.class)
+                                 .getSingleResult() == 0 ? 1 : 0;
+            Operation outer = OperationProfiler.begin("test", "bootstrapAndCommit", em);
+            try (outer) {
+                beginTransaction();
+                TypeSystemBootstrap.bootstrap(em);
+                commit();
+            }
+
+            recording.stop();
+            recording.dump(file);
+
+            HibernateCounters counters = outer.summary().orElseThrow().hibernate().orElseThrow();
+            assertEquals(39 + 39 + journalHead, counters.entityInserts(),
+                         "16 JDBC types + 23 OX types, a journal entry for each (and the journal head on first use)");
+            assertTrue(counters.flushes() >= 1, "Commit flushes inside the operation");
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent bootstrap = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.metaxava.Operation"))
+                .filter(e -> "TypeSystemBootstrap".equals(e.getString("operation")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No bootstrap event in " + events));
+            assertEquals("bootstrap", bootstrap.getString("category"));
+            assertTrue(bootstrap.getLong("queries") >= 1, "Bootstrap counts existing types first");
+            assertTrue(bootstrap.getLong("preparedStatements") >= 1, "Bootstrap statements are counted");
+            RecordedEvent whole = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.metaxava.Operation"))
+                .filter(e -> "bootstrapAndCommit".equals(e.getString("operation")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No outer event in " + events));
+            assertEquals(counters.preparedStatements(), whole.getLong("preparedStatements"));
+            assertEquals(0, whole.getLong("entityDeletes"), "Deletes are a field of the event too");
+            assertFalse(bootstrap.getDuration().isNegative());
+
+            System.out.println("✓ " + outer.summary().orElseThrow());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * TEST 2: Lazy collection initialization is visible per operation
+     */
+    @Test
+    void lazyCollectionLoadsAreAttributed() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+
+        Operation operation = OperationProfiler.begin("test", "touchPrimitiveMappings", em);
+        try (operation) {
+            List<OXPrimitiveType> primitives = em.createQuery(
+                    "SELECT p FROM OXPrimitiveType p", OXPrimitiveType.class)
+                .getResultList();
+            int mappings = 0;
+            for (OXPrimitiveType primitive : primitives) {
+                mappings += primitive.getCompatibleJdbcTypes().size();
+            }
+            assertTrue(mappings > 0);
+        }
+
+        OperationSummary summary = operation.summary().orElseThrow();
+        HibernateCounters counters = summary.hibernate().orElseThrow();
+        assertEquals(1, counters.queries(), "One JPQL query");
+        assertTrue(counters.collectionLoads() >= 8, "One lazy load per primitive: " + counters);
+        assertTrue(counters.entityLoads() >= 8);
+        System.out.println("✓ " + summary);
+    }
+
+    /**
+     * TEST 3: Nesting restores the parent and rolls JDBC work up
+     */
+    @Test
+    void nestedOperationsRollUp() {
+        Operation outer = OperationProfiler.begin("test", "outer");
+        Operation inner = OperationProfiler.begin("test", "inner");
+        assertSame(inner, OperationProfiler.current().orElseThrow());
+
+        OperationProfiler.recordStatement(1_000);
+        OperationProfiler.recordStatement(2_000);
+        inner.close();
+        assertSame(outer, OperationProfiler.current().orElseThrow(), "Parent is current again");
+
+        OperationProfiler.recordStatement(4_000);
+        outer.close();
+        assertTrue(OperationProfiler.current().isEmpty());
+
+        assertEquals(2, inner.summary().orElseThrow().jdbcStatements());
+        assertEquals(3, outer.summary().orElseThrow().jdbcStatements());
+        assertEquals(7_000, outer.summary().orElseThrow().jdbcNanos());
+        assertTrue(outer.summary().orElseThrow().hibernate().isEmpty(), "No factory, no Hibernate counters");
+
+        StringBuilder out = new StringBuilder();
+        OperationProfiler.writePrometheus(out);
+        assertTrue(out.toString().contains("metaxava_operation_seconds_count{category=\"test\",operation=\"outer\"}"));
+        System.out.println("✓ " + outer.summary().orElseThrow());
+    }
+
+    /**
+     * TEST 4: Work done on another thread while the operation runs is not counted
+     */
+    @Test
+    void concurrentWorkIsNotCounted() throws Exception {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+
+        Operation operation = OperationProfiler.begin("test", "oneQuery", em);
+        try (operation) {
+            Thread other = new Thread(() -> {
+                EntityManager otherEm = emf.createEntityManager();
+                try {
+                    for (int i = 0; i < 5; i++) {
+                        otherEm.createQuery("SELECT p FROM OXPrimitiveType p", OXPrimitiveType.class)
+                               .getResultList();
+                        otherEm.clear();
+                    }
+                } finally {
+                    otherEm.close();
+                }
+            });
+            other.start();
+            other.join();
+
+            em.createQuery("SELECT COUNT(p) FROM OXPrimitiveType p", Long.class).getSingleResult();
+        }
+
+        HibernateCounters counters = operation.summary().orElseThrow().hibernate().orElseThrow();
+        assertEquals(1, counters.queries(), "Only this thread's query: " + counters);
+        assertEquals(0, counters.entityLoads(), "The other thread's loads are not ours");
+        System.out.println("✓ " + operation.summary().orElseThrow());
+    }
+
+    /**
+     * TEST 5: Names taken from the client are validated and their number capped
+     */
+    @Test
+    void operationNamesAreBounded() {
+        ProfilingFilter filter = new ProfilingFilter();
+        Optional<String> fromModule = Optional.of("http://localhost:8080/metaxava/m/OXPrimitiveType?retainOrder=true");
+
+        assertEquals("OXPrimitiveType", filter.operationName("/m/OXPrimitiveType", Optional.empty()));
+        assertEquals("OXPrimitiveType Module.request",
+                     filter.operationName("/dwr/call/plaincall/Module.request.dwr", fromModule));
+        assertEquals("invalid", filter.operationName("/m/%3Cscript%3E", Optional.empty()));
+        assertEquals("invalid Module.request", filter.operationName("/dwr/call/plaincall/Module.request.dwr",
+                                                                    Optional.of("http://evil/m/a%20b")));
+        assertEquals("invalid", filter.operationName("/m/" + "x".repeat(ProfilingFilter.MAX_NAME_LENGTH + 1),
+                                                     Optional.empty()));
+
+        for (int i = 0; i < ProfilingFilter.MAX_OPERATION_NAMES; i++) {
+            filter.operationName("/m/Invented" + i, Optional.empty());
+        }
+        assertEquals("other", filter.operationName("/m/OneMore", Optional.empty()), "Cap reached");
+        assertEquals("OXPrimitiveType", filter.operationName("/m/OXPrimitiveType", Optional.empty()),
+                     "Names seen before the cap keep their own series");
+        System.out.println("✓ Operation names capped at " + ProfilingFilter.MAX_OPERATION_NAMES);
+    }
+}
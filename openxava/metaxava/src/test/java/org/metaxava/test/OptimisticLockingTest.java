@@ -0,0 +1,241 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.edit.EditConflictException;
+import org.metaxava.edit.OptimisticEditor;
+import org.metaxava.model.JDBCTypeMetadata;
+import org.metaxava.model.OXPrimitiveType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.RollbackException;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OptimisticLockingTest - Validates @Version conflict detection and retry
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Concurrent edits of the same row: second commit fails (no lost update)
+ * 2. Changing type_jdbc_mappings bumps the owning type's version
+ * 3. OptimisticEditor retries until every edit lands; throughput under contention
+ * 4. Exhausted retries surface EditConflictException
+ * 5. Rows that predate the version column are backfilled and editable
+ *
+ * @author MetaXava Optimistic Locking Session 2026-10-19
+ */
+class OptimisticLockingTest extends JpaTestBase {
+
+    private static final int THREADS = 8;
+    private static final int EDITS_PER_THREAD = 25;
+
+    /**
+     * TEST 1: Stale edit fails at commit instead of overwriting
+     */
+    @Test
+    void concurrentEditIsDetected() {
+        Long id = bootstrapAndFind(JDBCType.VARCHAR);
+
+        EntityManagerFactory pooled = concurrentFactory();
+        EntityManager first = pooled.createEntityManager();
+        EntityManager second = pooled.createEntityManager();
+        try {
+            first.getTransaction().begin();
+            JDBCTypeMetadata a = first.find(JDBCTypeMetadata.class, id);
+            second.getTransaction().begin();
+            JDBCTypeMetadata b = second.find(JDBCTypeMetadata.class, id);
+
+            a.setDescription("Edited by first modeler");
+            first.getTransaction().commit();
+
+            b.setDescription("Edited by second modeler");
+            RollbackException e = assertThrows(RollbackException.class, () -> second.getTransaction().commit());
+            assertTrue(OptimisticEditor.isConflict(e), "Should be reported as optimistic-lock conflict");
+        } finally {
+            if (second.getTransaction().isActive()) {
+                second.getTransaction().rollback();
+            }
+            first.close();
+            second.close();
+            pooled.close();
+        }
+
+        em.clear();
+        assertEquals("Edited by first modeler", em.find(JDBCTypeMetadata.class, id).getDescription());
+        System.out.println("✓ Second (stale) edit rejected at commit");
+    }
+
+    /**
+     * TEST 2: Mapping collection changes version the owning type
+     */
+    @Test
+    void mappingChangeBumpsTypeVersion() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+
+        beginTransaction();
+        OXPrimitiveType intType = em.createQuery(
+                "SELECT p FROM OXPrimitiveType p WHERE p.name = 'int'", OXPrimitiveType.class)
+            .getSingleResult();
+        Long before = intType.getVersion();
+        JDBCTypeMetadata numeric = em.createQuery(
+                "SELECT t FROM JDBCTypeMetadata t WHERE t.jdbcType = :type", JDBCTypeMetadata.class)
+            .setParameter("type", JDBCType.NUMERIC)
+            .getSingleResult();
+        intType.getCompatibleJdbcTypes().add(numeric);
+        commit();
+
+        assertTrue(intType.getVersion() > before, "type_jdbc_mappings change should bump version");
+        System.out.println("✓ int version " + before + " → " + intType.getVersion());
+    }
+
+    /**
+     * TEST 3: Many editors hammering one shared row all succeed via retry
+     */
+    @Test
+    void retryUnderContention() throws Exception {
+        Long id = bootstrapAndFind(JDBCType.INTEGER);
+        Long startVersion = em.find(JDBCTypeMetadata.class, id).getVersion();
+
+        EntityManagerFactory pooled = concurrentFactory();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int attempts = 0;
+                    for (int i = 0; i < EDITS_PER_THREAD; i++) {
+                        String note = "thread " + thread + " edit " + i;
+                        attempts += OptimisticEditor.edit(pooled, JDBCTypeMetadata.class, id,
+                                m -> m.setPortabilityNotes(note), 50);
+                    }
+                    return attempts;
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            int totalAttempts = 0;
+            for (Future<Integer> result : results) {
+                totalAttempts += result.get(60, TimeUnit.SECONDS);
+            }
+            double seconds = (System.nanoTime() - began) / 1e9;
+
+            int edits = THREADS * EDITS_PER_THREAD;
+            em.clear();
+            Long endVersion = em.find(JDBCTypeMetadata.class, id).getVersion();
+            assertEquals(startVersion + edits, endVersion, "Every edit should land exactly once");
+
+            System.out.printf("✓ %d edits by %d threads in %.2fs: %.0f commits/s, %d attempts (%.2f per edit)%n",
+                              edits, THREADS, seconds, edits / seconds,
+                              totalAttempts, (double) totalAttempts / edits);
+        } finally {
+            pool.shutdownNow();
+            pooled.close();
+        }
+    }
+
+    /**
+     * TEST 4: Conflicts that outlast the retry budget reach the editor
+     */
+    @Test
+    void exhaustedRetriesSurfaceConflict() {
+        Long id = bootstrapAndFind(JDBCType.BIGINT);
+
+        EntityManagerFactory pooled = concurrentFactory();
+        EntityManager rival = pooled.createEntityManager();
+        try {
+            EditConflictException e = assertThrows(EditConflictException.class, () ->
+                OptimisticEditor.edit(pooled, JDBCTypeMetadata.class, id, m -> {
+                    // A rival commits between our read and our flush, every time
+                    rival.getTransaction().begin();
+                    JDBCTypeMetadata other = rival.find(JDBCTypeMetadata.class, id);
+                    other.setDescription("rival " + System.nanoTime());
+                    rival.getTransaction().commit();
+                    rival.clear();
+                    m.setDescription("loser");
+                }, 3));
+
+            assertEquals(JDBCTypeMetadata.class, e.getEntityType());
+            assertEquals(id, e.getEntityId());
+            assertEquals(3, e.getAttempts());
+            System.out.println("✓ " + e.getMessage());
+        } finally {
+            rival.close();
+            pooled.close();
+        }
+    }
+
+    /**
+     * TEST 5: NULL versions from a pre-@Version schema are backfilled at bootstrap
+     */
+    @Test
+    void nullVersionsAreBackfilled() {
+        Long id = bootstrapAndFind(JDBCType.SMALLINT);
+
+        // Rows as hbm2ddl update leaves them when it adds the version column
+        beginTransaction();
+        int legacy = em.createNativeQuery("UPDATE jdbc_type_metadata SET version = NULL").executeUpdate();
+        commit();
+        em.clear();
+
+        beginTransaction();
+        String result = TypeSystemBootstrap.bootstrap(em);
+        commit();
+        assertTrue(result.contains(legacy + " versions backfilled"), result);
+        em.clear();
+        assertEquals(0L, em.find(JDBCTypeMetadata.class, id).getVersion());
+
+        EntityManagerFactory pooled = concurrentFactory();
+        try {
+            OptimisticEditor.edit(pooled, JDBCTypeMetadata.class, id, m -> m.setDescription("after backfill"), 1);
+        } finally {
+            pooled.close();
+        }
+        em.clear();
+        JDBCTypeMetadata edited = em.find(JDBCTypeMetadata.class, id);
+        assertEquals("after backfill", edited.getDescription());
+        assertEquals(1L, edited.getVersion());
+        System.out.println("✓ " + result);
+    }
+
+    // ===== Helper Methods =====
+
+    private Long bootstrapAndFind(JDBCType jdbcType) {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+        return em.createQuery(
+                "SELECT t.id FROM JDBCTypeMetadata t WHERE t.jdbcType = :type", Long.class)
+            .setParameter("type", jdbcType)
+            .getSingleResult();
+    }
+
+    /**
+     * Second factory on the same in-memory DB with room for one connection per thread
+     * (the shared test factory is configured with pool_size=1)
+     */
+    private static EntityManagerFactory concurrentFactory() {
+        return Persistence.createEntityManagerFactory("metaxava-test", Map.of(
+            "hibernate.connection.pool_size", String.valueOf(THREADS + 1),
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.show_sql", "false"));
+    }
+}
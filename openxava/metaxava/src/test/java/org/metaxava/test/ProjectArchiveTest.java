@@ -0,0 +1,216 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.codegen.CollectionDefinition;
+import org.metaxava.codegen.EntityDefinition;
+import org.metaxava.codegen.FetchHints;
+import org.metaxava.codegen.GenerationBenchmark;
+import org.metaxava.codegen.JavaTarget;
+import org.metaxava.codegen.ModelText;
+import org.metaxava.codegen.PropertyDefinition;
+import org.metaxava.dialect.DialectCatalog;
+import org.metaxava.project.ProjectArchive;
+import org.metaxava.registry.TypeModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProjectArchiveTest - Validates the streamed ZIP of a generated project
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. ModelText round-trips entities, collections and fetch hints; bad lines name their number
+ * 2. The archive holds pom.xml, persistence.xml, context.xml, schema.sql and every generated file
+ * 3. An invalid model fails before a single byte is written
+ * 4. A slow reader holds the generator back through a small fixed buffer
+ * 5. A reader that goes away stops generation with an IOException
+ *
+ * @author MetaXava Project Archive Session 2026-10-19
+ */
+class ProjectArchiveTest {
+
+    private static final TypeModel TYPES = GenerationBenchmark.typeModel();
+    private static final ProjectArchive.Coordinates SALES =
+        new ProjectArchive.Coordinates("com.acme", "sales", "1.0-SNAPSHOT");
+
+    /**
+     * TEST 1: format, then parse, gives the same definitions
+     */
+    @Test
+    void modelTextRoundTrips() throws IOException {
+        List<EntityDefinition> entities = sales();
+        String text = ModelText.format(entities);
+        assertEquals(entities, ModelText.parse(new StringReader(text)));
+        assertTrue(text.contains("  lines com.acme.sales.InvoiceLine mappedBy=invoice fetch=list:20\n"), text);
+
+        assertEquals(entities, ModelText.parse(new StringReader("# sales\n\n" + text.replace("  ", "\t"))));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> ModelText.parse(new StringReader("entity com.acme.A\n  name java.lang.String fetch=sometimes\n")));
+        assertTrue(error.getMessage().startsWith("Line 2:"), error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ModelText.parse(new StringReader("  name java.lang.String\n")));
+        assertThrows(IllegalArgumentException.class, () -> ModelText.parse(new StringReader("entity Unpackaged\n")));
+        System.out.println("✓ " + text.lines().count() + " lines round-trip");
+    }
+
+    /**
+     * TEST 2: Project files first, then the sources in generation order
+     */
+    @Test
+    void archivesTheWholeProject() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProjectArchive.Summary summary = ProjectArchive.write(
+            TYPES, sales(), JavaTarget.JAVA_17, Optional.of(DialectCatalog.builtIn().require("H2")), SALES, out);
+
+        Map<String, String> entries = unzip(new ByteArrayInputStream(out.toByteArray()));
+        List<String> names = new ArrayList<>(entries.keySet());
+        assertEquals(4 + 2 * 3, summary.entries());
+        assertEquals(summary.entries(), names.size());
+        assertEquals(List.of("pom.xml", "src/main/resources/META-INF/persistence.xml",
+                             "src/main/webapp/META-INF/context.xml", "src/main/resources/schema.sql"),
+                     names.subList(0, 4));
+        assertTrue(names.contains("src/main/java/com/acme/sales/Invoice.java"), names.toString());
+        assertTrue(names.contains("src/main/java/com/acme/sales/InvoiceSummary.java"), names.toString());
+
+        assertTrue(entries.get("pom.xml").contains("<artifactId>sales</artifactId>"));
+        assertTrue(entries.get("pom.xml").contains("<maven.compiler.release>17</maven.compiler.release>"));
+        assertTrue(entries.get("pom.xml").contains("<artifactId>lombok</artifactId>\n\t\t\t\t\t\t\t<version>${lombok.version}"),
+                   "Lombok on the annotation processor path");
+        String persistence = entries.get("src/main/resources/META-INF/persistence.xml");
+        assertTrue(persistence.contains("<class>com.acme.sales.InvoiceLine</class>"), persistence);
+        assertTrue(persistence.contains("<non-jta-data-source>java://comp/env/jdbc/salesDS</non-jta-data-source>"),
+                   persistence);
+        assertTrue(entries.get("src/main/webapp/META-INF/context.xml").contains("<Resource name=\"jdbc/salesDS\""));
+        assertTrue(persistence.contains("org.hibernate.dialect.H2Dialect"), persistence);
+        assertTrue(entries.get("src/main/resources/schema.sql").contains("CREATE TABLE Invoice"));
+        assertEquals(entries.values().stream().mapToLong(content -> content.getBytes(StandardCharsets.UTF_8).length).sum(),
+                     summary.bytes());
+        System.out.println("✓ " + summary.entries() + " entries, " + summary.bytes() + " bytes, " +
+                           out.size() + " zipped");
+    }
+
+    /**
+     * TEST 3: Model errors surface while the response can still become a 400
+     */
+    @Test
+    void invalidModelWritesNothing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<EntityDefinition> invalid = List.of(new EntityDefinition("com.acme", "Broken", List.of(
+            PropertyDefinition.of("amount", "com.acme.Unknown"))));
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> ProjectArchive.write(TYPES, invalid, JavaTarget.JAVA_21, Optional.empty(), SALES, out));
+        assertEquals(0, out.size());
+        assertThrows(IllegalArgumentException.class, () -> new ProjectArchive.Coordinates("com.acme", "../sales", "1"));
+        System.out.println("✓ Nothing written for an invalid model");
+    }
+
+    /**
+     * TEST 4: 2000 entities through a 64 KB pipe, unzipped as they arrive
+     */
+    @Test
+    void slowReaderAppliesBackpressure() throws Exception {
+        List<EntityDefinition> entities = GenerationBenchmark.entities(2_000);
+        PipedInputStream in = new PipedInputStream(64 * 1024);
+        PipedOutputStream pipe = new PipedOutputStream(in);
+
+        CompletableFuture<ProjectArchive.Summary> writer = CompletableFuture.supplyAsync(() -> {
+            try (OutputStream out = pipe) {
+                return ProjectArchive.write(TYPES, entities, JavaTarget.JAVA_21, Optional.empty(), SALES, out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        int read = 0;
+        boolean overlapped = false;
+        try (ZipInputStream zip = new ZipInputStream(in)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                zip.readAllBytes();
+                read++;
+                if (read == 100) {
+                    overlapped = !writer.isDone();
+                    Thread.sleep(50);  // slow reader: the writer must wait
+                }
+            }
+            in.transferTo(OutputStream.nullOutputStream());  // central directory
+        }
+
+        assertEquals(3 + 2 * 2_000, read);
+        assertEquals(read, writer.get().entries());
+        assertTrue(overlapped, "The first entries were read while generation was still running");
+        System.out.println("✓ " + read + " entries streamed through a 64 KB pipe, " + writer.get().bytes() + " bytes");
+    }
+
+    /**
+     * TEST 5: A disconnected client stops the generator instead of it running to the end
+     */
+    @Test
+    void disconnectStopsGeneration() {
+        int[] writes = {0};
+        OutputStream disconnecting = new OutputStream() {
+            private long written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writes[0]++;
+                written += len;
+                if (written > 32 * 1024) {
+                    throw new IOException("Connection reset by peer");
+                }
+            }
+        };
+
+        IOException error = assertThrows(IOException.class, () -> ProjectArchive.write(
+            TYPES, GenerationBenchmark.entities(2_000), JavaTarget.JAVA_21, Optional.empty(), SALES, disconnecting));
+        assertEquals("Connection reset by peer", error.getMessage());
+        System.out.println("✓ Stopped after " + writes[0] + " writes: " + error.getMessage());
+    }
+
+    // ===== Helper Methods =====
+
+    private static List<EntityDefinition> sales() {
+        return List.of(
+            new EntityDefinition("com.acme.sales", "Customer", List.of(
+                new PropertyDefinition("name", "java.lang.String", true, 100))),
+            new EntityDefinition("com.acme.sales", "Invoice", List.of(
+                new PropertyDefinition("number", "java.lang.String", true, 20),
+                PropertyDefinition.reference("customer", "com.acme.sales.Customer", FetchHints.list(0)),
+                PropertyDefinition.of("total", "java.math.BigDecimal")),
+                List.of(new CollectionDefinition("lines", "com.acme.sales.InvoiceLine", "invoice", FetchHints.list(20)))),
+            new EntityDefinition("com.acme.sales", "InvoiceLine", List.of(
+                PropertyDefinition.of("invoice", "com.acme.sales.Invoice"),
+                PropertyDefinition.reference("product", "java.lang.String", FetchHints.rare()),
+                PropertyDefinition.of("quantity", "int"))));
+    }
+
+    private static Map<String, String> unzip(InputStream in) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(in)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,125 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.run.MetaXava;
+import org.metaxava.run.MetaXavaServer;
+import org.metaxava.run.StartupCache;
+import org.metaxava.run.StartupCache.Mechanism;
+import org.metaxava.run.StartupCache.Result;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StartupCacheTest - Validates the startup cache workflow without starting servers
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. The JDK release picks AOT cache or AppCDS, with matching JVM options
+ * 2. Class path directories are packed into jars, order kept, missing entries dropped
+ * 3. Training and cached starts load webapp classes parent-first; the default start doesn't
+ * 4. Benchmark statistics (median, speedup over baseline and over the default start)
+ *
+ * @author MetaXava Startup Session 2026-10-19
+ */
+class StartupCacheTest {
+
+    /**
+     * TEST 1: JDK 25+ uses the AOT cache, older JDKs dynamic AppCDS
+     */
+    @Test
+    void mechanismFollowsJdkRelease() {
+        Path directory = Path.of("target", "aot");
+        assertEquals(Mechanism.APP_CDS, Mechanism.forRelease(21));
+        assertEquals(Mechanism.AOT_CACHE, Mechanism.forRelease(25));
+
+        Path aot = Mechanism.AOT_CACHE.file(directory);
+        assertEquals(List.of("-XX:AOTCacheOutput=" + aot), Mechanism.AOT_CACHE.trainingOptions(aot));
+        assertEquals(List.of("-XX:AOTCache=" + aot, "-XX:AOTMode=on"), Mechanism.AOT_CACHE.runtimeOptions(aot));
+
+        Path jsa = Mechanism.APP_CDS.file(directory);
+        assertTrue(jsa.toString().endsWith(".jsa"));
+        assertEquals(List.of("-XX:ArchiveClassesAtExit=" + jsa), Mechanism.APP_CDS.trainingOptions(jsa));
+        assertEquals(List.of("-XX:SharedArchiveFile=" + jsa, "-Xshare:on"), Mechanism.APP_CDS.runtimeOptions(jsa));
+        System.out.println("✓ This JDK (" + Runtime.version().feature() + ") uses " + Mechanism.current());
+    }
+
+    /**
+     * TEST 2: Only jars reach the archive, so directories become jars
+     */
+    @Test
+    void classPathDirectoriesArePacked() throws Exception {
+        Path work = Files.createTempDirectory("startup-cache");
+        Path classes = work.resolve("classes");
+        Files.createDirectories(classes.resolve("org/acme"));
+        Files.writeString(classes.resolve("org/acme/Thing.class"), "not really bytecode");
+        Files.writeString(classes.resolve("app.properties"), "a=1");
+        Path library = Files.writeString(work.resolve("library.jar"), "");
+
+        Path aot = Files.createDirectories(work.resolve("aot"));
+        List<String> packed = StartupCache.pack(List.of(classes.toString(), work.resolve("missing").toString(),
+                                                        library.toString()), aot);
+
+        assertEquals(2, packed.size(), "Missing entry dropped");
+        assertTrue(packed.get(0).endsWith("00-classes.jar"), packed.get(0));
+        assertEquals(library.toAbsolutePath().toString(), packed.get(1), "Jars kept as they are");
+        try (JarFile jar = new JarFile(packed.get(0))) {
+            List<String> entries = Collections.list(jar.entries()).stream().map(Object::toString).toList();
+            assertEquals(List.of("app.properties", "org/acme/Thing.class"), entries);
+        }
+        assertTrue(Files.readString(aot.resolve("packed.txt")).startsWith(classes.toAbsolutePath() + "\t"),
+                   "Packed directories recorded for the staleness check");
+        System.out.println("✓ Packed class path: " + packed);
+    }
+
+    /**
+     * TEST 3: Training and cached starts launch the same parent-first command, the default start child-first
+     */
+    @Test
+    void childCommandIsParentFirst() {
+        List<String> line = StartupCache.command(List.of("a.jar", "b.jar"), List.of("-Xshare:on"), "--aot-training");
+
+        assertTrue(line.get(0).endsWith("java"), line.get(0));
+        assertEquals("-Xshare:on", line.get(1));
+        assertTrue(line.contains("-D" + MetaXavaServer.PARENT_FIRST_PROPERTY + "=true"));
+        int classPath = line.indexOf("-cp");
+        assertEquals(String.join(java.io.File.pathSeparator, "a.jar", "b.jar"), line.get(classPath + 1));
+        assertEquals(List.of(MetaXava.class.getName(), "--aot-training"), line.subList(classPath + 2, line.size()));
+
+        List<String> defaultStart = StartupCache.command(List.of("classes"), List.of(), false);
+        assertTrue(defaultStart.stream().noneMatch(arg -> arg.contains(MetaXavaServer.PARENT_FIRST_PROPERTY)),
+                   "The default start is AppServer.run, child-first");
+        System.out.println("✓ " + String.join(" ", line));
+    }
+
+    /**
+     * TEST 4: Median-based report
+     */
+    @Test
+    void resultReportsMedians() {
+        assertEquals(3, Result.medianNanos(new long[] {5, 1, 3}));
+        assertEquals(2, Result.medianNanos(new long[] {4, 1, 3, 1}));
+
+        Result result = new Result(Mechanism.AOT_CACHE, "25",
+                                   new long[] {ms(4500), ms(5000), ms(5200)},
+                                   new long[] {ms(3800), ms(4000), ms(9000)},
+                                   new long[] {ms(2100), ms(2000), ms(1900)});
+        assertEquals(2.0, result.speedup(), 0.0001, "Outlier doesn't move the median");
+        String report = result.report();
+        assertTrue(report.contains("baseline: median 4,000 ms (min 3,800, max 9,000)"), report);
+        assertEquals(2.5, result.speedupOverDefault(), 0.0001);
+        assertTrue(report.contains("default:  median 5,000 ms"), report);
+        assertTrue(report.contains("speedup:  2.00x over baseline, 2.50x over default"), report);
+        System.out.println("✓ " + report);
+    }
+
+    // ===== Helper Methods =====
+
+    private static long ms(long millis) {
+        return millis * 1_000_000;
+    }
+}
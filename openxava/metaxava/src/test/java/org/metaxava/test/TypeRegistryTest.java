@@ -0,0 +1,145 @@
+package org.metaxava.test;
+
+import org.junit.jupiter.api.Test;
+import org.metaxava.bootstrap.TypeSystemBootstrap;
+import org.metaxava.registry.TypeModel;
+import org.metaxava.registry.TypeRegistry;
+import org.metaxava.registry.TypeSnapshot;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TypeRegistryTest - Validates copy-on-write publication of type models
+ *
+ * CRITICAL VALIDATIONS:
+ * 1. Registry loads the bootstrapped model from the database
+ * 2. Every publication bumps the version; no-op edits don't
+ * 3. Readers never observe a half-applied edit under concurrent writers
+ *
+ * @author MetaXava Type Registry Session 2026-10-19
+ */
+class TypeRegistryTest extends JpaTestBase {
+
+    /**
+     * TEST 1: Reload from DB publishes version 1 with the whole model
+     */
+    @Test
+    void reloadPublishesDatabaseModel() {
+        beginTransaction();
+        TypeSystemBootstrap.bootstrap(em);
+        commit();
+        em.clear();
+
+        try (TypeRegistry registry = new TypeRegistry()) {
+            assertEquals(0, registry.version(), "Empty registry starts at version 0");
+
+            TypeModel model = registry.reload(em);
+
+            assertEquals(1, model.version());
+            assertEquals(23, model.types().size(), "Should have 23 types");
+            assertEquals(16, model.jdbcTypes().size(), "Should have 16 JDBC types");
+
+            TypeSnapshot intType = model.type("int").orElseThrow();
+            assertEquals("PRIMITIVE", intType.kind());
+            assertEquals(Optional.of(JDBCType.INTEGER), intType.preferredJdbcType());
+            assertEquals(Optional.of("java.lang.Integer"), intType.counterpart());
+            assertTrue(intType.isCompatibleWith(JDBCType.BIGINT));
+
+            System.out.println("✓ " + registry);
+        }
+    }
+
+    /**
+     * TEST 2: Versions increase by one per publication
+     */
+    @Test
+    void versionsAreMonotonic() throws Exception {
+        try (TypeRegistry registry = new TypeRegistry()) {
+            TypeModel v1 = registry.update(m -> m.withType(type("com.acme.A")));
+            TypeModel v2 = registry.submit(m -> m.withType(type("com.acme.B"))).get();
+            TypeModel same = registry.update(m -> m.withoutType("com.acme.Missing"));
+
+            assertEquals(1, v1.version());
+            assertEquals(2, v2.version());
+            assertSame(v2, same, "No-op edit should not publish a new version");
+            assertTrue(v1.type("com.acme.B").isEmpty(), "Old versions are never mutated");
+
+            System.out.println("✓ Versions: " + v1.version() + " → " + v2.version());
+        }
+    }
+
+    /**
+     * TEST 3: Edits that touch two types are seen atomically by readers
+     *
+     * Writers always add "com.acme.LeftN" and "com.acme.RightN" in one edit.
+     * Readers check that every snapshot contains both or neither.
+     */
+    @Test
+    void readersSeeConsistentSnapshots() throws Exception {
+        int edits = 500;
+        try (TypeRegistry registry = new TypeRegistry()) {
+            AtomicBoolean done = new AtomicBoolean(false);
+            ExecutorService readers = Executors.newFixedThreadPool(4);
+            List<Future<Long>> results = new ArrayList<>();
+
+            for (int r = 0; r < 4; r++) {
+                results.add(readers.submit(() -> {
+                    long reads = 0;
+                    long lastVersion = 0;
+                    while (!done.get()) {
+                        TypeModel model = registry.current();
+                        assertTrue(model.version() >= lastVersion, "Versions never go backwards");
+                        lastVersion = model.version();
+                        for (String name : model.types().keySet()) {
+                            if (name.startsWith("com.acme.Left")) {
+                                String right = name.replace("Left", "Right");
+                                assertTrue(model.type(right).isPresent(), "Half-applied edit: " + name);
+                            }
+                        }
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            List<CompletableFuture<TypeModel>> writes = new ArrayList<>();
+            for (int i = 0; i < edits; i++) {
+                String suffix = String.valueOf(i);
+                writes.add(registry.submit(m -> m
+                    .withType(type("com.acme.Left" + suffix))
+                    .withType(type("com.acme.Right" + suffix))));
+            }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get();
+            done.set(true);
+
+            long totalReads = 0;
+            for (Future<Long> result : results) {
+                totalReads += result.get();
+            }
+            readers.shutdown();
+
+            assertEquals(edits, registry.version());
+            assertEquals(edits * 2, registry.current().types().size());
+
+            System.out.println("✓ " + totalReads + " consistent reads across " + edits + " versions");
+        }
+    }
+
+    private static TypeSnapshot type(String name) {
+        int dot = name.lastIndexOf('.');
+        return new TypeSnapshot(name, "CLASS",
+                                Optional.of(name.substring(0, dot)),
+                                Optional.of(name.substring(dot + 1)),
+                                Optional.empty(), List.of(), Optional.empty());
+    }
+}
@@ -1,44 +1,95 @@
 #!/bin/bash
 
 # Generate and Run App from Metamodel
-# Usage: ./generate-and-run.sh <app-name>
+# Usage: ./generate-and-run.sh <app-name> [--openxava | --hot]
+#   --openxava: generate an OpenXava project with MetaXava instead (streamed
+#               ZIP from its /project endpoint, unpacked as it arrives)
+#   --hot:      deploy the model into the running MetaXava server instead
+#               (/deploy endpoint): new classes, EntityManagerFactory and
+#               schema delta swapped in, no rebuild and no restart
 
 APP_NAME="${1:-scott}"
 BASE_DIR="/Users/ricardo/Workspace/webdsl-spike"
 METAMODEL_URL="http://localhost:8080/metamodel"
+METAXAVA_URL="${METAXAVA_URL:-http://localhost:8080/metaxava}"
+
+if [ "$2" = "--openxava" ] || [ "$2" = "--hot" ]; then
+  echo "=== Generating $APP_NAME with MetaXava ==="
+  APP_UUID=$(curl -s "$METAMODEL_URL/codeGenerator" | grep -oE 'viewGeneratedCode/[^"]+' | head -1 | cut -d/ -f2)
+  if [ -z "$APP_UUID" ]; then
+    echo "ERROR: No application found in the metamodel"
+    exit 1
+  fi
+
+  # The model as MetaXava ModelText, from the <pre> of openxavaModel
+  curl -s "$METAMODEL_URL/openxavaModel/$APP_UUID" \
+    | awk '/<pre>/{flag=1; sub(/.*<pre>/, "")} /<\/pre>/{sub(/<\/pre>.*/, ""); print; flag=0} flag' \
+    | python3 -c "import sys, html; print(html.unescape(sys.stdin.read()), end='')" \
+    > "/tmp/$APP_NAME.model"
+
+  if [ "$2" = "--hot" ]; then
+    # 200 deployed, 422 compile errors (the previous version keeps serving)
+    curl -s -w '%{http_code}\n' -H 'Content-Type: text/plain' --data-binary "@/tmp/$APP_NAME.model" \
+      "$METAXAVA_URL/deploy/$APP_NAME?target=21" > "/tmp/$APP_NAME.deploy"
+    sed '$d' "/tmp/$APP_NAME.deploy"
+    [ "$(tail -n 1 "/tmp/$APP_NAME.deploy")" = "200" ] || exit 1
+    exit 0
+  fi
+
+  # The ZIP is never stored: jar reads it from the pipe entry by entry
+  PROJECT_DIR="$BASE_DIR/$APP_NAME-openxava"
+  mkdir -p "$PROJECT_DIR"
+  curl -sf -H 'Content-Type: text/plain' --data-binary "@/tmp/$APP_NAME.model" \
+    "$METAXAVA_URL/project?artifactId=$APP_NAME&groupId=$APP_NAME&target=21&dialect=H2" \
+    | (cd "$PROJECT_DIR" && jar x)
+  if [ "${PIPESTATUS[0]}" -ne 0 ] || [ ! -f "$PROJECT_DIR/pom.xml" ]; then
+    echo "ERROR: MetaXava could not generate the project"
+    exit 1
+  fi
+  echo "Project in: $PROJECT_DIR ($(find "$PROJECT_DIR/src/main/java" -name '*.java' | wc -l) Java files)"
+  exit 0
+fi
 
 echo "=== Generating $APP_NAME from metamodel ==="
 
-# Step 1: Trigger code generation
-echo "Triggering code generation..."
-GENERATOR_PAGE=$(curl -s "$METAMODEL_URL/codeGenerator")
-
-# Extract the application dropdown and select the app
-echo "Generating code for application: $APP_NAME"
-GENERATE_RESPONSE=$(curl -s -X POST \
-  -d "codeGenerator_generateCodeForm=1" \
-  "$METAMODEL_URL/codeGenerator")
-
-# Step 2: Extract the generated code UUID from the response
-CODE_UUID=$(echo "$GENERATE_RESPONSE" | grep -oE 'viewGeneratedCode/[^"]+' | head -1 | cut -d/ -f2)
-
-if [ -z "$CODE_UUID" ]; then
-  echo "ERROR: Could not find generated code UUID"
+# Step 1: Find the application
+APP_UUID=$(curl -s "$METAMODEL_URL/codeGenerator" | grep -oE 'viewGeneratedCode/[^"]+' | head -1 | cut -d/ -f2)
+if [ -z "$APP_UUID" ]; then
+  echo "ERROR: No application found in the metamodel"
   echo "Make sure you've bootstrapped the metamodel first!"
   exit 1
 fi
 
-echo "Generated code UUID: $CODE_UUID"
+# Step 2: Submit a generation job (a no-op if the current model version
+# already has one) and poll until the background workers finish it
+echo "Generating code for application: $APP_NAME ($APP_UUID)"
+STATUS=$(curl -s -X POST "$METAMODEL_URL/generationStatus/$APP_UUID")
+for attempt in $(seq 1 150); do
+  STATE=$(echo "$STATUS" | awk '$1 == "status" {print $2}')
+  case "$STATE" in
+    done)
+      break
+      ;;
+    queued|running)
+      echo "  $(echo "$STATUS" | awk '$1 == "progress" {p=$2} $1 == "total" {t=$2} END {print "step " p " of " t}')"
+      sleep 2
+      STATUS=$(curl -s "$METAMODEL_URL/generationStatus/$APP_UUID")
+      ;;
+    *)
+      # none: the model changed meanwhile, or the job was cancelled; submit again
+      sleep 1
+      STATUS=$(curl -s -X POST "$METAMODEL_URL/generationStatus/$APP_UUID")
+      ;;
+  esac
+done
+if [ "$STATE" != "done" ]; then
+  echo "ERROR: Generation did not finish (last status: ${STATE:-no answer})"
+  exit 1
+fi
 
-# Step 3: Fetch the generated code
+# Step 3: Fetch the generated code (plain text, nothing to unescape)
 echo "Fetching generated code..."
-curl -s "$METAMODEL_URL/viewGeneratedCode/$CODE_UUID" > /tmp/generated-page.html
-
-# Step 4: Extract code from <pre> tag and decode HTML entities
-awk '/<pre>/{flag=1; sub(/.*<pre>/, "")} /<\/pre>/{sub(/<\/pre>.*/, ""); print; flag=0} flag' \
-  /tmp/generated-page.html \
-  | python3 -c "import sys, html; print(html.unescape(sys.stdin.read()), end='')" \
-  > "/tmp/$APP_NAME.app"
+curl -s "$METAMODEL_URL/generatedCode/$APP_UUID" > "/tmp/$APP_NAME.app"
 
 # Check if we got valid code
 if [ ! -s "/tmp/$APP_NAME.app" ]; then
@@ -48,21 +99,21 @@ fi
 
 echo "Generated code size: $(wc -l /tmp/$APP_NAME.app | awk '{print $1}') lines"
 
-# Step 5: Create application directory
+# Step 4: Create application directory
 APP_DIR="$BASE_DIR/$APP_NAME"
 mkdir -p "$APP_DIR"
 
-# Step 6: Copy generated code
+# Step 5: Copy generated code
 cp "/tmp/$APP_NAME.app" "$APP_DIR/$APP_NAME.app"
 echo "Saved to: $APP_DIR/$APP_NAME.app"
 
-# Step 7: Clean and compile
+# Step 6: Clean and compile
 echo ""
 echo "=== Compiling $APP_NAME ==="
 cd "$APP_DIR"
 rm -rf .servletapp
 
-# Step 8: Run the application
+# Step 7: Run the application
 echo ""
 echo "=== Running $APP_NAME ==="
 ../webdsl/bin/webdsl run "$APP_NAME"
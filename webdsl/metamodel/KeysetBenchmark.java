@@ -0,0 +1,136 @@
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Compares the derived manage page against the generated keyset listing pages
+ * (generateListPages in metamodel.app) on the SQL they run.
+ *
+ * Table and column names follow WebDSL's mapping (entity Book -> _Book,
+ * property title -> _title). "Render" appends one <p> per row, which is what
+ * both page kinds do per entity.
+ *
+ *   javac KeysetBenchmark.java
+ *   java -cp .:../compiler/share/webdsl/template-java-servlet/lib/h2-2.3.232.jar KeysetBenchmark [rows] [pageSize]
+ */
+public class KeysetBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int pageSize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:keyset;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE;QUERY_CACHE_SIZE=0")) {
+            long start = System.nanoTime();
+            populate(conn, rows);
+            System.out.printf("Loaded %,d rows in %,d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+
+            String first = "SELECT id, _title, _author FROM _Book ORDER BY _title, id LIMIT " + (pageSize + 1);
+            String after = "SELECT id, _title, _author FROM _Book WHERE _title >= ? AND (_title > ? OR id > ?)"
+                + " ORDER BY _title, id LIMIT " + (pageSize + 1);
+
+            // Anchor for a deep page: the row at 90% of the table
+            Object[] deep;
+            try (Statement s = conn.createStatement();
+                 ResultSet rs = s.executeQuery("SELECT _title, id FROM _Book ORDER BY _title, id LIMIT 1 OFFSET " + (rows * 9 / 10))) {
+                rs.next();
+                deep = new Object[] {rs.getString(1), rs.getObject(2)};
+            }
+
+            System.out.println("\nPage kind                                  median ms     rows   html KB");
+            report("Derived manage page (Book.all())", () -> render(conn, "SELECT id, _title, _author FROM _Book", null, Integer.MAX_VALUE));
+            report("Keyset first page", () -> render(conn, first, null, pageSize));
+            report("Keyset page at 90%", () -> render(conn, after, deep, pageSize));
+            report("Offset page at 90% (not generated)", () -> render(conn,
+                "SELECT id, _title, _author FROM _Book ORDER BY _title, id LIMIT " + (pageSize + 1) + " OFFSET " + (rows * 9 / 10),
+                null, pageSize));
+
+            // Follow Next links the way a user would
+            int pages = 200;
+            start = System.nanoTime();
+            Object[] anchor = null;
+            for (int i = 0; i < pages; i++) {
+                Page page = anchor == null ? render(conn, first, null, pageSize) : render(conn, after, anchor, pageSize);
+                anchor = page.next;
+            }
+            System.out.printf("%nFollowed %d Next links: %.2f ms per page%n", pages, (System.nanoTime() - start) / 1e6 / pages);
+        }
+    }
+
+    private static void populate(Connection conn, int rows) throws SQLException {
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE _Book (id UUID PRIMARY KEY, _title VARCHAR(255), _author VARCHAR(255))");
+        }
+        Random random = new Random(42);
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO _Book VALUES (?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setObject(1, new UUID(random.nextLong(), random.nextLong()));
+                // ~1/3 duplicate titles, so the id tie-break matters
+                insert.setString(2, "Title " + random.nextInt(rows * 2 / 3));
+                insert.setString(3, "Author " + random.nextInt(10_000));
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        // Emitted by generateKeysetIndexes
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE INDEX idx_Book_title_id ON _Book (_title, id)");
+        }
+    }
+
+    private static Page render(Connection conn, String sql, Object[] anchor, int pageSize) throws SQLException {
+        try (PreparedStatement query = conn.prepareStatement(sql)) {
+            if (anchor != null) {
+                query.setString(1, (String) anchor[0]);
+                query.setString(2, (String) anchor[0]);
+                query.setObject(3, anchor[1]);
+            }
+            List<Object[]> items = new ArrayList<>();
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    items.add(new Object[] {rs.getObject(1), rs.getString(2), rs.getString(3)});
+                }
+            }
+            StringBuilder html = new StringBuilder();
+            int shown = Math.min(pageSize, items.size());
+            for (int i = 0; i < shown; i++) {
+                Object[] row = items.get(i);
+                html.append("<p><a href=\"/book/").append(row[0]).append("\">").append(row[1])
+                    .append("</a> ").append(row[2]).append("</p>\n");
+            }
+            Object[] next = items.size() > pageSize ? new Object[] {items.get(pageSize - 1)[1], items.get(pageSize - 1)[0]} : null;
+            return new Page(shown, html.length(), next);
+        }
+    }
+
+    private static void report(String label, PageQuery query) throws SQLException {
+        long[] nanos = new long[RUNS];
+        Page page = null;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            page = query.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-40s %12.2f %8d %9d%n", label, nanos[RUNS / 2] / 1e6, page.rows, page.htmlChars / 1024);
+    }
+
+    private interface PageQuery {
+        Page run() throws SQLException;
+    }
+
+    private static class Page {
+        final int rows;
+        final int htmlChars;
+        final Object[] next;
+
+        Page(int rows, int htmlChars, Object[] next) {
+            this.rows = rows;
+            this.htmlChars = htmlChars;
+            this.next = next;
+        }
+    }
+}
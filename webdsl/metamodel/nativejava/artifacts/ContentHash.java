@@ -0,0 +1,27 @@
+package artifacts;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ContentHash - SHA-256 of generated text, the key of a GeneratedArtifact
+ *
+ * WebDSL has no digest function. Same hash as MetaXava's ArtifactStore
+ * (UTF-8 bytes, lowercase hex), so a file has one name in both.
+ */
+public final class ContentHash {
+
+  private ContentHash() {
+  }
+
+  public static String sha256(String content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package depgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EntityLevels - Dependency order for the entities the metamodel generates
+ *
+ * generateApp used to emit entities alphabetically. The metamodel passes
+ * entity names plus one (from, to) pair per foreign key ("from" holds the
+ * column) and gets back indexes into names, level by level: every entity
+ * comes after the entities it references, except inside a reference cycle
+ * (those share a level and are listed by describe()).
+ *
+ * Same algorithm as MetaXava's DependencyGraph: int adjacency arrays,
+ * iterative Tarjan, then levels over the condensed graph. O(V + E).
+ * Pairs naming an unknown entity are ignored.
+ */
+public final class EntityLevels {
+
+  private final String[] names;
+  private final int[] offsets;
+  private final int[] targets;
+  private final int[] component;
+  private final int[] level;
+  private final boolean[] cyclic;
+  private int components;
+  private int levels;
+
+  private EntityLevels(List<String> names, List<String> from, List<String> to) {
+    int n = names.size();
+    this.names = names.toArray(new String[0]);
+    Map<String, Integer> index = new HashMap<String, Integer>(n * 4 / 3 + 1);
+    for (int i = 0; i < n; i++) {
+      index.put(this.names[i], i);
+    }
+    int pairs = Math.min(from.size(), to.size());
+    int[] source = new int[pairs];
+    int[] target = new int[pairs];
+    int edges = 0;
+    for (int e = 0; e < pairs; e++) {
+      Integer s = index.get(from.get(e));
+      Integer t = index.get(to.get(e));
+      if (s != null && t != null) {
+        source[edges] = s;
+        target[edges] = t;
+        edges++;
+      }
+    }
+    offsets = new int[n + 1];
+    for (int e = 0; e < edges; e++) {
+      offsets[source[e] + 1]++;
+    }
+    for (int i = 0; i < n; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+    targets = new int[edges];
+    int[] fill = Arrays.copyOf(offsets, n);
+    for (int e = 0; e < edges; e++) {
+      targets[fill[source[e]]++] = target[e];
+    }
+
+    component = new int[n];
+    tarjan();
+    // Dependencies always close first, so they have lower component numbers
+    int[] componentLevel = new int[components];
+    cyclic = new boolean[components];
+    int[][] members = members();
+    for (int c = 0; c < components; c++) {
+      int l = 0;
+      for (int v : members[c]) {
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+          int d = component[targets[e]];
+          if (d == c) {
+            cyclic[c] = true;
+          } else {
+            l = Math.max(l, componentLevel[d] + 1);
+          }
+        }
+      }
+      componentLevel[c] = l;
+      levels = Math.max(levels, l + 1);
+    }
+    level = new int[n];
+    for (int i = 0; i < n; i++) {
+      level[i] = componentLevel[component[i]];
+    }
+  }
+
+  /**
+   * Indexes into names, level by level (name order within a level)
+   */
+  public static List<Integer> order(List<String> names, List<String> from, List<String> to) {
+    int[] sorted = new EntityLevels(names, from, to).sorted();
+    List<Integer> order = new ArrayList<Integer>(sorted.length);
+    for (int i : sorted) {
+      order.add(i);
+    }
+    return order;
+  }
+
+  /**
+   * "level 0: A, B / level 1: C / cycles: [D, E]" for a comment in the generated code
+   */
+  public static String describe(List<String> names, List<String> from, List<String> to) {
+    EntityLevels graph = new EntityLevels(names, from, to);
+    StringBuilder out = new StringBuilder();
+    int current = -1;
+    for (int i : graph.sorted()) {
+      if (graph.level[i] != current) {
+        current = graph.level[i];
+        out.append(current == 0 ? "" : " / ").append("level ").append(current).append(": ");
+      } else {
+        out.append(", ");
+      }
+      out.append(graph.names[i]);
+    }
+    int[][] members = graph.members();
+    String separator = " / cycles: ";
+    for (int c = 0; c < graph.components; c++) {
+      if (graph.cyclic[c]) {
+        out.append(separator).append('[');
+        for (int m = 0; m < members[c].length; m++) {
+          out.append(m == 0 ? "" : ", ").append(graph.names[members[c][m]]);
+        }
+        out.append(']');
+        separator = " ";
+      }
+    }
+    return out.toString();
+  }
+
+  /**
+   * Counting sort by level
+   */
+  private int[] sorted() {
+    int[] start = new int[levels + 1];
+    for (int l : level) {
+      start[l + 1]++;
+    }
+    for (int l = 0; l < levels; l++) {
+      start[l + 1] += start[l];
+    }
+    int[] sorted = new int[level.length];
+    for (int i = 0; i < level.length; i++) {
+      sorted[start[level[i]]++] = i;
+    }
+    return sorted;
+  }
+
+  private void tarjan() {
+    int n = names.length;
+    int[] index = new int[n];
+    int[] low = new int[n];
+    int[] next = new int[n];
+    int[] call = new int[n];
+    int[] stack = new int[n];
+    boolean[] onStack = new boolean[n];
+    Arrays.fill(index, -1);
+    int counter = 0;
+    int sp = 0;
+    for (int root = 0; root < n; root++) {
+      if (index[root] >= 0) {
+        continue;
+      }
+      int top = 0;
+      call[0] = root;
+      index[root] = low[root] = counter++;
+      next[root] = offsets[root];
+      stack[sp++] = root;
+      onStack[root] = true;
+      while (top >= 0) {
+        int v = call[top];
+        if (next[v] < offsets[v + 1]) {
+          int w = targets[next[v]++];
+          if (index[w] < 0) {
+            index[w] = low[w] = counter++;
+            next[w] = offsets[w];
+            stack[sp++] = w;
+            onStack[w] = true;
+            call[++top] = w;
+          } else if (onStack[w]) {
+            low[v] = Math.min(low[v], index[w]);
+          }
+          continue;
+        }
+        top--;
+        if (top >= 0) {
+          low[call[top]] = Math.min(low[call[top]], low[v]);
+        }
+        if (low[v] == index[v]) {
+          int w;
+          do {
+            w = stack[--sp];
+            onStack[w] = false;
+            component[w] = components;
+          } while (w != v);
+          components++;
+        }
+      }
+    }
+  }
+
+  private int[][] members() {
+    int[] size = new int[components];
+    for (int c : component) {
+      size[c]++;
+    }
+    int[][] members = new int[components][];
+    for (int c = 0; c < components; c++) {
+      members[c] = new int[size[c]];
+    }
+    int[] fill = new int[components];
+    for (int i = 0; i < component.length; i++) {
+      members[component[i]][fill[component[i]]++] = i;
+    }
+    return members;
+  }
+}
@@ -0,0 +1,20 @@
+package jobs;
+
+import utils.AbstractDispatchServletHelper;
+
+/**
+ * RequestMethod - The HTTP method of the current request
+ *
+ * WebDSL's HttpServletRequest declaration has no getMethod(), and a service
+ * that starts work must tell a POST from a GET (a crawler or a prefetch
+ * must not start a generation).
+ */
+public final class RequestMethod {
+
+  private RequestMethod() {
+  }
+
+  public static boolean isPost() {
+    return "POST".equalsIgnoreCase(AbstractDispatchServletHelper.get().getRequest().getMethod());
+  }
+}
@@ -0,0 +1,23 @@
+package journal;
+
+/**
+ * JournalKeys - The app a journal key belongs to
+ *
+ * Journal keys start with the app name ("app", "app.Entity", "app.Entity.member",
+ * "app.page"). WebDSL's String.split takes a regex and its HQL has no LIKE ...
+ * ESCAPE, so neither can isolate the name safely; this does it once, when the
+ * entry is written, and appModelVersion compares it with =.
+ */
+public final class JournalKeys {
+
+  private JournalKeys() {
+  }
+
+  /**
+   * Everything before the first '.', or the whole key
+   */
+  public static String appName(String key) {
+    int dot = key.indexOf('.');
+    return dot < 0 ? key : key.substring(0, dot);
+  }
+}
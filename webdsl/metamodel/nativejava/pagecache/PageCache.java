@@ -0,0 +1,263 @@
+package pagecache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Transaction;
+import org.hibernate.event.EventListeners;
+import org.hibernate.event.PostDeleteEvent;
+import org.hibernate.event.PostDeleteEventListener;
+import org.hibernate.event.PostInsertEvent;
+import org.hibernate.event.PostInsertEventListener;
+import org.hibernate.event.PostUpdateEvent;
+import org.hibernate.event.PostUpdateEventListener;
+import org.hibernate.impl.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+
+import utils.HibernateUtil;
+
+/**
+ * PageCache - Per-page HTML cache for applications generated by the metamodel
+ *
+ * The servlet runtime only offers one global knob (webdsl.numcachedpages), and
+ * any write anywhere empties that cache. Generated pages with a cache policy
+ * (Page.cacheScope / cacheTtlSeconds / invalidatedBy in metamodel.app) call
+ * this class instead:
+ *
+ *   get(page, key)                        - cached HTML or null
+ *   put(page, key, html, ttl, "A,B")      - store; register entity -> page
+ *   invalidate("A")                       - drop every page listing entity A
+ *                                           once the current transaction commits
+ *
+ * The key is "" for shared pages and the session id for per-user pages.
+ * ttl 0 keeps an entry until it is invalidated; otherwise entries expire after
+ * ttl seconds, which also bounds staleness for writes Hibernate reports no
+ * event for (bulk HQL updates).
+ *
+ * Invalidation happens after commit, never before: a page rendered between
+ * the write and the commit would see the old rows and be cached again, and a
+ * rolled-back write has changed nothing. The first put() registers
+ * post-commit insert, update and delete listeners on the session factory, so
+ * creates and deletes invalidate too (the generated extend hooks only see
+ * setters and collection add/remove). invalidate() called by those hooks
+ * inside a transaction waits for its commit.
+ *
+ * Copy nativejava/ next to the generated .app; the servlet build compiles
+ * every nativejava directory.
+ */
+public final class PageCache {
+
+  // Entries per page; per-user pages evict least-recently-used sessions
+  private static final int MAX_ENTRIES_PER_PAGE = 1000;
+
+  private static final Map<String, Map<String, Cached>> pages = new ConcurrentHashMap<String, Map<String, Cached>>();
+  private static final Map<String, Set<String>> pagesByEntity = new ConcurrentHashMap<String, Set<String>>();
+  private static final AtomicBoolean listening = new AtomicBoolean();
+
+  // Entities invalidate() was called for in this thread's open transaction
+  private static final ThreadLocal<Set<String>> pending = new ThreadLocal<Set<String>>() {
+    @Override
+    protected Set<String> initialValue() {
+      return new HashSet<String>();
+    }
+  };
+
+  private PageCache() {
+  }
+
+  public static String get(String page, String key) {
+    Map<String, Cached> entries = pages.get(page);
+    if (entries == null) {
+      return null;
+    }
+    synchronized (entries) {
+      Cached entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.expired(System.currentTimeMillis())) {
+        entries.remove(key);
+        return null;
+      }
+      return entry.html;
+    }
+  }
+
+  public static void put(String page, String key, String html, int ttlSeconds, String invalidatedBy) {
+    if (ttlSeconds < 0) {
+      throw new IllegalArgumentException("ttl must be >= 0 for page " + page);
+    }
+    listen();
+    for (String entity : invalidatedBy.split(",")) {
+      if (!entity.trim().isEmpty()) {
+        pagesByEntity.computeIfAbsent(entity.trim(), e -> ConcurrentHashMap.<String>newKeySet()).add(page);
+      }
+    }
+    long expires = ttlSeconds == 0 ? Long.MAX_VALUE : System.currentTimeMillis() + ttlSeconds * 1000L;
+    Map<String, Cached> entries = pages.computeIfAbsent(page, p -> lru());
+    synchronized (entries) {
+      entries.put(key, new Cached(html, expires));
+    }
+  }
+
+  /**
+   * Invalidates after the current transaction commits (now, outside one);
+   * a rollback keeps the cached pages
+   */
+  public static void invalidate(String entity) {
+    Transaction transaction = activeTransaction();
+    if (transaction == null) {
+      invalidateNow(entity);
+      return;
+    }
+    Set<String> entities = pending.get();
+    if (entities.isEmpty()) {
+      transaction.registerSynchronization(new Synchronization() {
+        public void beforeCompletion() {
+        }
+
+        public void afterCompletion(int status) {
+          List<String> committed = new ArrayList<String>(pending.get());
+          pending.remove();
+          if (status == Status.STATUS_COMMITTED) {
+            for (String e : committed) {
+              invalidateNow(e);
+            }
+          }
+        }
+      });
+    }
+    entities.add(entity);
+  }
+
+  private static void invalidateNow(String entity) {
+    Set<String> affected = pagesByEntity.get(entity);
+    if (affected == null) {
+      return;
+    }
+    for (String page : affected) {
+      Map<String, Cached> entries = pages.get(page);
+      if (entries != null) {
+        synchronized (entries) {
+          entries.clear();
+        }
+      }
+    }
+  }
+
+  public static void invalidateAll() {
+    for (Map<String, Cached> entries : pages.values()) {
+      synchronized (entries) {
+        entries.clear();
+      }
+    }
+  }
+
+  public static int size(String page) {
+    Map<String, Cached> entries = pages.get(page);
+    if (entries == null) {
+      return 0;
+    }
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public static Set<String> pagesInvalidatedBy(String entity) {
+    Set<String> affected = pagesByEntity.get(entity);
+    return affected == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(affected);
+  }
+
+  private static Transaction activeTransaction() {
+    try {
+      Transaction transaction = HibernateUtil.getCurrentSession().getTransaction();
+      return transaction.isActive() ? transaction : null;
+    } catch (HibernateException noSession) {
+      return null;
+    }
+  }
+
+  /**
+   * Appends CommitListener to the session factory's post-commit listeners,
+   * once. Sessions share the factory's EventListeners, so open sessions see
+   * it too.
+   */
+  private static void listen() {
+    if (!listening.compareAndSet(false, true)) {
+      return;
+    }
+    EventListeners listeners = ((SessionFactoryImpl) HibernateUtil.getSessionFactory()).getEventListeners();
+    CommitListener listener = new CommitListener();
+    synchronized (listeners) {
+      listeners.setPostCommitInsertEventListeners(append(listeners.getPostCommitInsertEventListeners(), listener));
+      listeners.setPostCommitUpdateEventListeners(append(listeners.getPostCommitUpdateEventListeners(), listener));
+      listeners.setPostCommitDeleteEventListeners(append(listeners.getPostCommitDeleteEventListeners(), listener));
+    }
+  }
+
+  private static <T> T[] append(T[] listeners, T listener) {
+    T[] appended = Arrays.copyOf(listeners, listeners.length + 1);
+    appended[listeners.length] = listener;
+    return appended;
+  }
+
+  /**
+   * Runs after a successful commit; the entity name's last segment is the
+   * WebDSL entity name (webdsl.generated.domain.Book -> Book)
+   */
+  private static final class CommitListener
+      implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public void onPostInsert(PostInsertEvent event) {
+      invalidateNow(entityName(event.getPersister()));
+    }
+
+    public void onPostUpdate(PostUpdateEvent event) {
+      invalidateNow(entityName(event.getPersister()));
+    }
+
+    public void onPostDelete(PostDeleteEvent event) {
+      invalidateNow(entityName(event.getPersister()));
+    }
+
+    private static String entityName(EntityPersister persister) {
+      String name = persister.getEntityName();
+      return name.substring(name.lastIndexOf('.') + 1);
+    }
+  }
+
+  private static Map<String, Cached> lru() {
+    return new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+        return size() > MAX_ENTRIES_PER_PAGE;
+      }
+    };
+  }
+
+  private static final class Cached {
+    final String html;
+    final long expires;
+
+    Cached(String html, long expires) {
+      this.html = html;
+      this.expires = expires;
+    }
+
+    boolean expired(long now) {
+      return now >= expires;
+    }
+  }
+}